@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# ═══════════════════════════════════════════════════════════════
+# JMH Benchmarks - run and compare between commits
+# ═══════════════════════════════════════════════════════════════
+#
+# Usage: scripts/jmh.sh [include-regex] [baseline-commit]
+#   scripts/jmh.sh                       # all benchmarks
+#   scripts/jmh.sh Grouping              # only OrderGroupingBenchmark
+#   scripts/jmh.sh Grouping a1b2c3d      # ... and compare with a1b2c3d's results
+#
+# Results (JSON, with gc profiler allocation/GC figures) are kept in
+# jmh-results/<commit>.json and copied to target/jmh-latest.json, where the
+# perf-gate profile (perf-store) picks them up; extra JMH options go in JMH_ARGS.
+
+INCLUDE="${1:-com.example.benchmark.*Benchmark}"
+BASELINE="${2:-}"
+RESULTS_DIR="jmh-results"
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo "local")
+if [ -n "$(git status --porcelain --untracked-files=no 2>/dev/null)" ]; then
+    COMMIT="${COMMIT}-dirty"
+fi
+
+echo "╔══════════════════════════════════════════════════════════════╗"
+echo "║              JMH Benchmarks                                  ║"
+echo "╚══════════════════════════════════════════════════════════════╝"
+echo "📊 Benchmarks: ${INCLUDE}"
+echo "🔖 Commit:     ${COMMIT}"
+echo ""
+
+mkdir -p "${RESULTS_DIR}"
+if ! mvn -B -q -Pjmh test-compile exec:exec@jmh \
+        -Djmh.include="${INCLUDE}" \
+        -Djmh.result.name="${COMMIT}" \
+        -Djmh.args="${JMH_ARGS:-}"; then
+    echo "❌ Benchmark run failed"
+    exit 1
+fi
+cp "target/jmh-${COMMIT}.json" "${RESULTS_DIR}/${COMMIT}.json"
+cp "target/jmh-${COMMIT}.json" "target/jmh-latest.json"
+echo "✅ Results saved to ${RESULTS_DIR}/${COMMIT}.json (and target/jmh-latest.json for perf-store)"
+
+if [ -z "${BASELINE}" ]; then
+    exit 0
+fi
+if [ ! -f "${RESULTS_DIR}/${BASELINE}.json" ]; then
+    echo "⚠️  No results for baseline ${BASELINE} in ${RESULTS_DIR}"
+    exit 0
+fi
+if ! command -v jq > /dev/null; then
+    echo "⚠️  jq not found - compare ${RESULTS_DIR}/${BASELINE}.json and ${RESULTS_DIR}/${COMMIT}.json"
+    echo "   with https://jmh.morethan.me"
+    exit 0
+fi
+
+# One line per benchmark + params: score and allocated bytes per op
+summarize() {
+    jq -r '.[] | [
+        (.benchmark | split(".") | last) + "(" + ((.params // {}) | to_entries | map(.key + "=" + .value) | join(",")) + ")",
+        .primaryMetric.score,
+        (.secondaryMetrics["·gc.alloc.rate.norm"].score // 0)
+    ] | @tsv' "$1" | sort
+}
+
+echo ""
+echo "📈 ${BASELINE} → ${COMMIT} (score in each benchmark's unit, lower is better)"
+printf "%-60s %14s %14s %9s %12s\n" "Benchmark" "Baseline" "Current" "Δ%" "ΔB/op"
+join -t $'\t' <(summarize "${RESULTS_DIR}/${BASELINE}.json") <(summarize "${RESULTS_DIR}/${COMMIT}.json") | \
+    awk -F'\t' '{
+        delta = ($2 > 0) ? ($4 - $2) * 100 / $2 : 0;
+        printf "%-60s %14.2f %14.2f %+8.1f%% %+12.0f\n", $1, $2, $4, delta, $5 - $3
+    }'
@@ -0,0 +1,108 @@
+package com.example.benchmark;
+
+import com.example.model.CustomerData;
+import com.example.model.InventoryData;
+import com.example.model.Order;
+import com.example.model.PricingData;
+import com.example.model.ProcessedOrder;
+import com.example.service.preload.ProcessingContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the JMH benchmarks.
+ *
+ * Same seed → same orders, so results are comparable between commits. Key
+ * cardinalities follow production shape: ~1 customer per 5 orders, 8 warehouses,
+ * 3 tiers.
+ */
+public final class BenchmarkData {
+
+    private static final String[] TIERS = {"GOLD", "PREMIUM", "STANDARD"};
+    private static final int WAREHOUSES = 8;
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    public static List<Order> orders(int count) {
+        return orders("ORD-", count);
+    }
+
+    public static List<Order> orders(String idPrefix, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new Order(
+                    idPrefix + i,
+                    customerId(i, count),
+                    "PENDING",
+                    BigDecimal.valueOf(random.nextInt(1_000, 100_000), 2),
+                    createdAt));
+        }
+        return orders;
+    }
+
+    public static ProcessingContext context(List<Order> orders) {
+        Map<String, CustomerData> customers = new HashMap<>();
+        Map<String, InventoryData> inventory = new HashMap<>();
+        Map<String, PricingData> pricing = new HashMap<>();
+        for (Order order : orders) {
+            customers.put(order.id(), customer(order.id()));
+            inventory.put(order.id(), inventory(order.id()));
+            pricing.put(order.id(), pricing(order.id()));
+        }
+        return ProcessingContext.builder()
+                .customerData(customers)
+                .inventoryData(inventory)
+                .pricingData(pricing)
+                .build();
+    }
+
+    public static List<ProcessedOrder> processedOrders(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime processedAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<ProcessedOrder> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new ProcessedOrder(
+                    "ORD-" + i,
+                    customerId(i, count),
+                    "Customer " + i % Math.max(1, count / 5),
+                    TIERS[i % TIERS.length],
+                    BigDecimal.valueOf(random.nextInt(1_000, 200_000), 2),
+                    "WAREHOUSE-" + (char) ('A' + i % WAREHOUSES),
+                    "READY_TO_SHIP",
+                    processedAt,
+                    "benchmark"));
+        }
+        return orders;
+    }
+
+    public static CustomerData customer(String orderId) {
+        int hash = Math.floorMod(orderId.hashCode(), 1_000);
+        return new CustomerData("CUST-" + hash, "Customer " + hash, "c" + hash + "@example.com",
+                TIERS[hash % TIERS.length]);
+    }
+
+    public static InventoryData inventory(String orderId) {
+        int hash = Math.floorMod(orderId.hashCode(), 50);
+        return new InventoryData(orderId, "SKU-" + hash, hash, "WAREHOUSE-" + (char) ('A' + hash % WAREHOUSES));
+    }
+
+    public static PricingData pricing(String orderId) {
+        int hash = Math.floorMod(orderId.hashCode(), 10_000);
+        return new PricingData(orderId, BigDecimal.valueOf(hash + 100, 2), new BigDecimal("0.05"),
+                new BigDecimal("0.08"));
+    }
+
+    private static String customerId(int index, int count) {
+        return "CUST-" + index % Math.max(1, count / 5);
+    }
+}
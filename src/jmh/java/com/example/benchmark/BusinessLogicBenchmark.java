@@ -0,0 +1,63 @@
+package com.example.benchmark;
+
+import com.example.model.Order;
+import com.example.service.preload.ProcessingContext;
+import com.example.service.processing.BusinessLogicService;
+import com.example.service.processing.BusinessLogicService.ProcessingOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BusinessLogicService.processOrders with fully preloaded data: per-order task
+ * fan-out on virtual threads, semaphore, pricing math and result collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class BusinessLogicBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int orderCount;
+
+    private BusinessLogicService service;
+    private ExecutorService executor;
+    private List<Order> orders;
+    private ProcessingContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new BusinessLogicService(100);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        orders = BenchmarkData.orders(orderCount);
+        context = BenchmarkData.context(orders);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ProcessingOutput processOrders() {
+        return service.processOrders(orders, context, executor);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.benchmark;
+
+import com.example.config.AppMetrics;
+import com.example.model.CustomerData;
+import com.example.model.InventoryData;
+import com.example.model.PricingData;
+import com.example.repository.OrderRepository;
+import com.example.service.cache.CachingDataService;
+import com.example.service.preload.ProcessingContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * CachingDataService.preloadData at a given cache hit ratio.
+ *
+ * The repository answers from memory with no latency, so the result isolates
+ * the caching layer: three cache lookups per order, async miss fetch, cache
+ * population and the merge. Hits come from a pre-populated id set; misses use
+ * ids never seen before (a per-invocation counter), so the ratio stays fixed
+ * while the size-bounded caches (app.cache.data.max-size) keep evicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class CachingDataServiceBenchmark {
+
+    private static final int CACHE_MAX_SIZE = 10_000;
+
+    @Param({"100", "1000"})
+    int orderCount;
+
+    @Param({"0.0", "0.5", "0.9", "1.0"})
+    double cacheHitRatio;
+
+    private CachingDataService service;
+    private ExecutorService executor;
+    private List<String> hitIds;
+    private int missCount;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Cache<String, CustomerData> customers = newCache();
+        Cache<String, InventoryData> inventory = newCache();
+        Cache<String, PricingData> pricing = newCache();
+        service = new CachingDataService(new InMemoryOrderRepository(), new AppMetrics(new SimpleMeterRegistry()),
+                customers, inventory, pricing);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        int hitCount = (int) Math.round(orderCount * cacheHitRatio);
+        missCount = orderCount - hitCount;
+        hitIds = new ArrayList<>(hitCount);
+        for (int i = 0; i < hitCount; i++) {
+            String id = "HIT-" + i;
+            hitIds.add(id);
+            customers.put(id, BenchmarkData.customer(id));
+            inventory.put(id, BenchmarkData.inventory(id));
+            pricing.put(id, BenchmarkData.pricing(id));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ProcessingContext preloadData() {
+        List<String> ids = new ArrayList<>(orderCount);
+        ids.addAll(hitIds);
+        String missPrefix = "MISS-" + invocation++ + "-";
+        for (int i = 0; i < missCount; i++) {
+            ids.add(missPrefix + i);
+        }
+        return service.preloadData(ids, executor);
+    }
+
+    private static <T> Cache<String, T> newCache() {
+        // Same bound as CacheConfig; TinyLFU keeps the hot hit set while one-off misses are evicted
+        return Caffeine.newBuilder().maximumSize(CACHE_MAX_SIZE).build();
+    }
+
+    /**
+     * Repository answering from generated data - no JDBC, no latency.
+     */
+    private static final class InMemoryOrderRepository extends OrderRepository {
+
+        private InMemoryOrderRepository() {
+            super(null, 500, 0, 0);
+        }
+
+        @Override
+        public Map<String, CustomerData> batchFetchCustomerData(List<String> orderIds) {
+            return generate(orderIds, BenchmarkData::customer);
+        }
+
+        @Override
+        public Map<String, InventoryData> batchFetchInventoryData(List<String> orderIds) {
+            return generate(orderIds, BenchmarkData::inventory);
+        }
+
+        @Override
+        public Map<String, PricingData> batchFetchPricingData(List<String> orderIds) {
+            return generate(orderIds, BenchmarkData::pricing);
+        }
+
+        private static <T> Map<String, T> generate(List<String> orderIds, Function<String, T> factory) {
+            Map<String, T> result = new HashMap<>();
+            for (String id : orderIds) {
+                result.put(id, factory.apply(id));
+            }
+            return result;
+        }
+    }
+}
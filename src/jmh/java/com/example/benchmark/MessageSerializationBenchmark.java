@@ -0,0 +1,76 @@
+package com.example.benchmark;
+
+import com.example.config.JacksonConfig;
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.example.service.publishing.MessageSerializer;
+import com.example.service.publishing.PooledByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WmqPublisher payload serialization through MessageSerializer: every order as its
+ * own message (PER_MESSAGE publishing) versus one grouped message, into pooled
+ * buffers (BYTES format) or Strings (TEXT format).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class MessageSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int orderCount;
+
+    private MessageSerializer serializer;
+    private List<ProcessedOrder> orders;
+    private GroupedOrderMessage group;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new MessageSerializer(new JacksonConfig().objectMapper(), 64, 4096, 2_097_152, "BYTES");
+        orders = BenchmarkData.processedOrders(orderCount);
+        group = GroupedOrderMessage.create("CUST-1", "CUSTOMER", orders);
+    }
+
+    @Benchmark
+    public void perMessageBytes(Blackhole blackhole) throws IOException {
+        for (ProcessedOrder order : orders) {
+            PooledByteBuffer buffer = serializer.serialize(order);
+            blackhole.consume(buffer.size());
+            serializer.release(buffer);
+        }
+    }
+
+    @Benchmark
+    public void perMessageText(Blackhole blackhole) throws IOException {
+        for (ProcessedOrder order : orders) {
+            blackhole.consume(serializer.serializeToString(order));
+        }
+    }
+
+    @Benchmark
+    public int groupedBytes() throws IOException {
+        PooledByteBuffer buffer = serializer.serialize(group);
+        int size = buffer.size();
+        serializer.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.benchmark;
+
+import com.example.model.ProcessedOrder;
+import com.example.service.OrderGroupingService;
+import com.example.service.OrderGroupingService.GroupingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderGroupingService.groupOrders per strategy, including size-bounded splitting
+ * (defaults from application.yml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class OrderGroupingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int orderCount;
+
+    @Param({"BY_CUSTOMER", "BY_WAREHOUSE", "COMPOSITE"})
+    String strategy;
+
+    private OrderGroupingService service;
+    private List<ProcessedOrder> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new OrderGroupingService();
+        ReflectionTestUtils.setField(service, "groupingStrategy", strategy);
+        ReflectionTestUtils.setField(service, "compositeKeys", "CUSTOMER,WAREHOUSE");
+        ReflectionTestUtils.setField(service, "highValueThreshold", new BigDecimal("1000"));
+        ReflectionTestUtils.setField(service, "minGroupSize", 2);
+        ReflectionTestUtils.setField(service, "maxOrdersPerMessage", 500);
+        ReflectionTestUtils.setField(service, "maxMessageBytes", 1_048_576L);
+        service.init();
+        orders = BenchmarkData.processedOrders(orderCount);
+    }
+
+    @Benchmark
+    public GroupingResult groupOrders() {
+        return service.groupOrders(orders);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.config;
+
+import com.example.service.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limiters for downstream systems.
+ *
+ * - wmqPublishLimiter → per-message MQ sends (starts at app.wmq.publish-concurrency)
+ * - dbPreloadLimiter  → DB preload chunk queries (starts at app.executor.db-concurrency)
+ *
+ * Each limiter adjusts its permit count from observed latency and errors
+ * (see AdaptiveConcurrencyLimiter).
+ */
+@Configuration
+public class ConcurrencyLimiterConfig {
+
+    @Bean("wmqPublishLimiter")
+    public AdaptiveConcurrencyLimiter wmqPublishLimiter(
+            MeterRegistry registry,
+            @Value("${app.wmq.publish-concurrency:50}") int initialLimit,
+            @Value("${app.wmq.limiter.min-limit:5}") int minLimit,
+            @Value("${app.wmq.limiter.max-limit:500}") int maxLimit,
+            @Value("${app.wmq.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.wmq.limiter.latency-tolerance:2.0}") double latencyTolerance) {
+        return new AdaptiveConcurrencyLimiter("wmq-publish", initialLimit, minLimit, maxLimit,
+                backoffRatio, latencyTolerance, registry);
+    }
+
+    @Bean("dbPreloadLimiter")
+    public AdaptiveConcurrencyLimiter dbPreloadLimiter(
+            MeterRegistry registry,
+            @Value("${app.executor.db-concurrency:10}") int initialLimit,
+            @Value("${app.db.limiter.min-limit:2}") int minLimit,
+            @Value("${app.db.limiter.max-limit:50}") int maxLimit,
+            @Value("${app.db.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${app.db.limiter.latency-tolerance:2.5}") double latencyTolerance) {
+        return new AdaptiveConcurrencyLimiter("db-preload", initialLimit, minLimit, maxLimit,
+                backoffRatio, latencyTolerance, registry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer for the dead-letter topic.
+ * Only enabled when app.dlq.kafka.enabled=true.
+ *
+ * Separate from the Camel Kafka component: DLQ records are rare but bursty
+ * (a whole event can fail at once), so the producer lingers to batch them and
+ * compresses the batch. max.block.ms bounds how long a send can wait on
+ * metadata or a full buffer before it fails over to the local journal.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.dlq.kafka.enabled", havingValue = "true")
+public class DeadLetterKafkaConfig {
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterKafkaTemplate(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+            @Value("${app.dlq.kafka.compression:lz4}") String compression,
+            @Value("${app.dlq.kafka.linger-ms:50}") int lingerMs,
+            @Value("${app.dlq.kafka.batch-size:131072}") int batchSize,
+            @Value("${app.dlq.kafka.max-block-ms:2000}") long maxBlockMs,
+            @Value("${app.dlq.kafka.delivery-timeout-ms:30000}") int deliveryTimeoutMs) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        // Batching + compression
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+
+        // Fail fast to the journal instead of waiting on an unreachable cluster
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, Math.min(10_000, deliveryTimeoutMs - lingerMs));
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+}
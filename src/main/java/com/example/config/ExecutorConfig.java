@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.MDC;
 
 /**
@@ -33,9 +34,15 @@ public class ExecutorConfig {
     @Bean("unlimitedVirtualExecutor")
     public ExecutorService unlimitedVirtualExecutor() {
         log.info("Creating unlimited virtual thread executor with MDC propagation");
-        return new ExecutorService() {
-            private final ExecutorService delegate = Executors.newVirtualThreadPerTaskExecutor();
+        return withMdcPropagation(Executors.newVirtualThreadPerTaskExecutor());
+    }
 
+    /**
+     * Wraps an executor so every task runs with the submitter's MDC (traceId etc.)
+     * and leaves its thread with a clean MDC.
+     */
+    private static ExecutorService withMdcPropagation(ExecutorService delegate) {
+        return new ExecutorService() {
             private <T> Callable<T> wrap(Callable<T> callable) {
                 final Map<String, String> context = MDC.getCopyOfContextMap();
                 return () -> {
@@ -139,4 +146,35 @@ public class ExecutorConfig {
             }
         };
     }
+
+    /**
+     * Low-priority executor for DLQ replay - its own small concurrency budget,
+     * separate from the virtual threads serving live traffic.
+     */
+    @Bean(name = "replayExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService replayExecutor(@Value("${app.dlq.replay.concurrency:2}") int concurrency) {
+        log.info("Creating DLQ replay executor with {} low-priority threads", concurrency);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "dlq-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+        return new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * Fan-out executor for the pipeline stages of replayed orders. Kept apart from
+     * replayExecutor: its threads block waiting for this work, so submitting it to the
+     * same fixed pool could deadlock. Concurrency is bounded by the replay's own
+     * processing limiter, not by this executor.
+     */
+    @Bean(name = "replayWorkerExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService replayWorkerExecutor() {
+        log.info("Creating DLQ replay worker executor (virtual threads) with MDC propagation");
+        return withMdcPropagation(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dlq-replay-worker-", 0).factory()));
+    }
 }
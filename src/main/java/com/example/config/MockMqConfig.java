@@ -0,0 +1,38 @@
+package com.example.config;
+
+import com.example.service.publishing.mock.MockMqConnectionFactory;
+import com.example.service.publishing.mock.MockMqSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * In-process mock MQ transport.
+ * Only enabled when app.wmq.mock.enabled=true (use together with app.wmq.enabled=true).
+ *
+ * Replaces the IBM MQ ConnectionFactory, so the real publish path - JmsTemplate,
+ * MqProducerPool, transacted batches, async sends, retries - runs unchanged
+ * against a queue manager with configurable latency, throughput cap, failure
+ * rate and max message size. Used for load tests and local tuning without MQ.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.wmq.mock.enabled", havingValue = "true")
+public class MockMqConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public MockMqConnectionFactory mockMqConnectionFactory(
+            @Value("${app.wmq.mock.p50-ms:2}") double p50Ms,
+            @Value("${app.wmq.mock.p90-ms:5}") double p90Ms,
+            @Value("${app.wmq.mock.p99-ms:20}") double p99Ms,
+            @Value("${app.wmq.mock.p999-ms:100}") double p999Ms,
+            @Value("${app.wmq.mock.syncpoint-put-fraction:0.1}") double syncpointPutFraction,
+            @Value("${app.wmq.mock.max-messages-per-second:0}") int maxMessagesPerSecond,
+            @Value("${app.wmq.mock.failure-rate:0}") double failureRate,
+            @Value("${app.wmq.mock.max-message-bytes:4194304}") long maxMessageBytes) {
+        return new MockMqConnectionFactory(new MockMqSettings(p50Ms, p90Ms, p99Ms, p999Ms,
+                syncpointPutFraction, maxMessagesPerSecond, failureRate, maxMessageBytes));
+    }
+}
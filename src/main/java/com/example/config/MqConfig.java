@@ -32,6 +32,9 @@ public class MqConfig {
     /**
      * Creates a JmsTemplate for sending messages to IBM MQ.
      * The ConnectionFactory is auto-configured by mq-jms-spring-boot-starter.
+     *
+     * Publishing goes through MqProducerPool (long-lived sessions/producers);
+     * the template is kept as a fallback and for ad-hoc sends.
      */
     @Bean
     public JmsTemplate jmsTemplate(ConnectionFactory connectionFactory) {
@@ -0,0 +1,78 @@
+package com.example.config;
+
+import com.example.service.resilience.Bulkhead;
+import com.example.service.resilience.CircuitBreaker;
+import com.example.service.resilience.DependencyGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker + bulkhead per downstream dependency.
+ *
+ * - sqlGuard   → DB preload chunk queries (DataPreloadService)
+ * - mongoGuard → MongoDB order fetches (OrderFetchService)
+ * - mqGuard    → IBM MQ sends and retries (WmqPublisher)
+ *
+ * A failing or slow dependency trips only its own circuit, so its callers fail
+ * fast (DependencyUnavailableException) instead of holding pipeline threads in
+ * timeouts and retry backoff. Settings: app.resilience.<sql|mongo|mq>.*
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean("sqlGuard")
+    public DependencyGuard sqlGuard(
+            MeterRegistry registry,
+            @Value("${app.resilience.sql.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${app.resilience.sql.slow-call-ms:5000}") long slowCallMs,
+            @Value("${app.resilience.sql.window-size:50}") int windowSize,
+            @Value("${app.resilience.sql.minimum-calls:10}") int minimumCalls,
+            @Value("${app.resilience.sql.open-ms:10000}") long openMs,
+            @Value("${app.resilience.sql.half-open-probes:3}") int halfOpenProbes,
+            @Value("${app.resilience.sql.max-concurrent:64}") int maxConcurrent,
+            @Value("${app.resilience.sql.max-wait-ms:5000}") long maxWaitMs) {
+        return guard("sql", registry, failureRateThreshold, slowCallMs, windowSize, minimumCalls,
+                openMs, halfOpenProbes, maxConcurrent, maxWaitMs);
+    }
+
+    @Bean("mongoGuard")
+    public DependencyGuard mongoGuard(
+            MeterRegistry registry,
+            @Value("${app.resilience.mongo.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${app.resilience.mongo.slow-call-ms:2000}") long slowCallMs,
+            @Value("${app.resilience.mongo.window-size:50}") int windowSize,
+            @Value("${app.resilience.mongo.minimum-calls:10}") int minimumCalls,
+            @Value("${app.resilience.mongo.open-ms:10000}") long openMs,
+            @Value("${app.resilience.mongo.half-open-probes:3}") int halfOpenProbes,
+            @Value("${app.resilience.mongo.max-concurrent:32}") int maxConcurrent,
+            @Value("${app.resilience.mongo.max-wait-ms:2000}") long maxWaitMs) {
+        return guard("mongo", registry, failureRateThreshold, slowCallMs, windowSize, minimumCalls,
+                openMs, halfOpenProbes, maxConcurrent, maxWaitMs);
+    }
+
+    @Bean("mqGuard")
+    public DependencyGuard mqGuard(
+            MeterRegistry registry,
+            @Value("${app.resilience.mq.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${app.resilience.mq.slow-call-ms:0}") long slowCallMs,
+            @Value("${app.resilience.mq.window-size:200}") int windowSize,
+            @Value("${app.resilience.mq.minimum-calls:50}") int minimumCalls,
+            @Value("${app.resilience.mq.open-ms:5000}") long openMs,
+            @Value("${app.resilience.mq.half-open-probes:5}") int halfOpenProbes,
+            @Value("${app.resilience.mq.max-concurrent:500}") int maxConcurrent,
+            @Value("${app.resilience.mq.max-wait-ms:1000}") long maxWaitMs) {
+        return guard("mq", registry, failureRateThreshold, slowCallMs, windowSize, minimumCalls,
+                openMs, halfOpenProbes, maxConcurrent, maxWaitMs);
+    }
+
+    private DependencyGuard guard(String name, MeterRegistry registry, double failureRateThreshold,
+                                  long slowCallMs, int windowSize, int minimumCalls, long openMs,
+                                  int halfOpenProbes, int maxConcurrent, long maxWaitMs) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(name, windowSize, minimumCalls,
+                failureRateThreshold, slowCallMs, openMs, halfOpenProbes, registry);
+        Bulkhead bulkhead = new Bulkhead(name, maxConcurrent, maxWaitMs, registry);
+        return new DependencyGuard(name, circuitBreaker, bulkhead, registry);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage pipeline latency with published percentiles and SLO buckets.
+ *
+ * AppMetrics timers (order.db.fetch, order.wmq.publish, ...) are single series;
+ * these timers split every stage by event type and grouping mode so the tail of
+ * one kind of event is not averaged away by the others.
+ *
+ * - Percentiles (app.metrics.percentiles, default p50/p95/p99/p999) are computed
+ *   client-side and published as gauges, plus a percentile histogram for
+ *   server-side aggregation (Prometheus histogram_quantile)
+ * - SLO boundaries per stage (app.metrics.slo.<stage>, in ms) become explicit
+ *   histogram buckets, so "% of events under N ms" is exact
+ * - Event types beyond app.metrics.max-event-types are tagged OTHER to bound cardinality
+ *
+ * Metrics:
+ * - pipeline.stage.latency{stage, eventType, grouping} → Stage duration
+ *   (stage = fetch | preload | process | publish | total, grouping = grouped | individual)
+ */
+@Component
+@Slf4j
+public class StageMetrics {
+
+    public enum Stage {
+        FETCH, PRELOAD, PROCESS, PUBLISH, TOTAL;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    static final String METRIC_NAME = "pipeline.stage.latency";
+    static final String OTHER_EVENT_TYPE = "OTHER";
+    static final String NO_EVENT_TYPE = "NONE";
+
+    private static final Comparator<SeriesKey> SERIES_ORDER =
+            Comparator.comparing(SeriesKey::eventType).thenComparing(SeriesKey::grouping);
+
+    private final MeterRegistry registry;
+    private final double[] percentiles;
+    private final Map<Stage, Duration[]> slos = new EnumMap<>(Stage.class);
+    private final int maxEventTypes;
+
+    private final Map<SeriesKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> knownEventTypes = ConcurrentHashMap.newKeySet();
+
+    public StageMetrics(
+            MeterRegistry registry,
+            @Value("${app.metrics.percentiles:0.5,0.95,0.99,0.999}") double[] percentiles,
+            @Value("${app.metrics.slo.fetch:20,50,100,250}") long[] fetchSloMs,
+            @Value("${app.metrics.slo.preload:50,100,250,500}") long[] preloadSloMs,
+            @Value("${app.metrics.slo.process:50,100,250,500}") long[] processSloMs,
+            @Value("${app.metrics.slo.publish:100,250,500,1000}") long[] publishSloMs,
+            @Value("${app.metrics.slo.total:250,500,1000,2000}") long[] totalSloMs,
+            @Value("${app.metrics.max-event-types:20}") int maxEventTypes) {
+        this.registry = registry;
+        this.percentiles = percentiles;
+        this.maxEventTypes = maxEventTypes;
+        slos.put(Stage.FETCH, toDurations(fetchSloMs));
+        slos.put(Stage.PRELOAD, toDurations(preloadSloMs));
+        slos.put(Stage.PROCESS, toDurations(processSloMs));
+        slos.put(Stage.PUBLISH, toDurations(publishSloMs));
+        slos.put(Stage.TOTAL, toDurations(totalSloMs));
+        log.info("StageMetrics initialized: percentiles={}, slo(total)={}ms, maxEventTypes={}",
+                Arrays.toString(percentiles), Arrays.toString(totalSloMs), maxEventTypes);
+    }
+
+    /**
+     * Record one stage duration.
+     *
+     * @param eventType Kafka event type (null when the pipeline was not driven by an event)
+     * @param grouping  Whether grouping was applied for this batch
+     */
+    public void record(Stage stage, String eventType, boolean grouping, long millis) {
+        timer(stage, eventTypeTag(eventType), grouping).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Latency breakdown for every recorded series, grouped by stage in pipeline order.
+     * Times are in milliseconds; sloCompliance is the share of samples at or under each bound.
+     */
+    public Map<String, List<Map<String, Object>>> breakdown() {
+        Map<String, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            List<Map<String, Object>> series = new ArrayList<>();
+            timers.entrySet().stream()
+                    .filter(entry -> entry.getKey().stage() == stage)
+                    .sorted(Map.Entry.comparingByKey(SERIES_ORDER))
+                    .forEach(entry -> series.add(describe(entry.getKey(), entry.getValue())));
+            result.put(stage.tag(), series);
+        }
+        return result;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private Timer timer(Stage stage, String eventType, boolean grouping) {
+        return timers.computeIfAbsent(new SeriesKey(stage, eventType, grouping), key ->
+                Timer.builder(METRIC_NAME)
+                        .description("Pipeline stage latency")
+                        .tag("stage", stage.tag())
+                        .tag("eventType", eventType)
+                        .tag("grouping", grouping ? "grouped" : "individual")
+                        .publishPercentiles(percentiles)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(slos.get(stage))
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofMinutes(2))
+                        .register(registry));
+    }
+
+    private String eventTypeTag(String eventType) {
+        if (eventType == null || eventType.isBlank()) {
+            return NO_EVENT_TYPE;
+        }
+        String normalized = eventType.toUpperCase(Locale.ROOT);
+        if (knownEventTypes.contains(normalized)) {
+            return normalized;
+        }
+        // Racy size check may admit a few extra types - only an approximate bound is needed
+        if (knownEventTypes.size() < maxEventTypes) {
+            knownEventTypes.add(normalized);
+            return normalized;
+        }
+        return OTHER_EVENT_TYPE;
+    }
+
+    private Map<String, Object> describe(SeriesKey key, Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("eventType", key.eventType());
+        stats.put("grouping", key.grouping() ? "grouped" : "individual");
+        stats.put("count", snapshot.count());
+        stats.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        stats.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+
+        Map<String, Object> percentileValues = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentileValues.put(percentileLabel(value.percentile()), round(value.value(TimeUnit.MILLISECONDS)));
+        }
+        stats.put("percentilesMs", percentileValues);
+
+        Map<String, Object> compliance = new LinkedHashMap<>();
+        for (Duration slo : slos.get(key.stage())) {
+            double within = countAtOrBelow(snapshot, slo);
+            compliance.put("<=" + slo.toMillis() + "ms",
+                    snapshot.count() == 0 ? "N/A" : String.format(Locale.ROOT, "%.2f%%", within * 100 / snapshot.count()));
+        }
+        stats.put("sloCompliance", compliance);
+        return stats;
+    }
+
+    private static double countAtOrBelow(HistogramSnapshot snapshot, Duration slo) {
+        // Bucket counts are cumulative; the SLO bound is itself a bucket
+        double count = 0;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.bucket(TimeUnit.MILLISECONDS) <= slo.toMillis()) {
+                count = bucket.count();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 0.5 → p50, 0.99 → p99, 0.999 → p999
+     */
+    public static String percentileLabel(double percentile) {
+        String digits = Double.toString(percentile).substring(2);
+        return "p" + (digits.length() == 1 ? digits + "0" : digits);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static Duration[] toDurations(long[] millis) {
+        return Arrays.stream(millis).sorted().mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+    }
+
+    private record SeriesKey(Stage stage, String eventType, boolean grouping) {
+    }
+}
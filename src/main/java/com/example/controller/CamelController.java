@@ -232,6 +232,7 @@ public class CamelController {
 
     /**
      * Send multiple events to Kafka via Camel.
+     * Events go out back to back; for a fixed or Poisson arrival rate use /api/loadgen/run.
      * 
      * Example: POST /api/camel/send-batch?eventCount=5&ordersPerEvent=20
      */
@@ -0,0 +1,56 @@
+package com.example.controller;
+
+import com.example.service.deadletter.DeadLetterReplayService;
+import com.example.service.deadletter.DeadLetterReplayService.ReplayStatus;
+import com.example.service.deadletter.DeadLetterReplayService.SourceType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST endpoints for replaying dead-lettered orders.
+ *
+ * POST /api/dlq/replay/start?source=JOURNAL|KAFKA&resume=true
+ * POST /api/dlq/replay/stop
+ * GET  /api/dlq/replay/status
+ */
+@RestController
+@RequestMapping("/api/dlq/replay")
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterReplayController {
+
+    private final DeadLetterReplayService replayService;
+
+    /**
+     * Start a replay. resume=true continues from the source's last checkpoint.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> start(
+            @RequestParam(defaultValue = "JOURNAL") SourceType source,
+            @RequestParam(defaultValue = "true") boolean resume) {
+        try {
+            log.info("Starting DLQ replay from {} (resume={})", source, resume);
+            return ResponseEntity.accepted().body(replayService.start(source, resume));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Stop the running replay after its current window.
+     */
+    @PostMapping("/stop")
+    public ReplayStatus stop() {
+        return replayService.stop();
+    }
+
+    @GetMapping("/status")
+    public ReplayStatus status() {
+        return replayService.status();
+    }
+}
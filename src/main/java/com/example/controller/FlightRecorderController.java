@@ -0,0 +1,53 @@
+package com.example.controller;
+
+import com.example.service.flight.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * REST endpoints for the continuous JFR recording.
+ *
+ * POST /api/jfr/dump    → writes the recording buffer to disk and returns the .jfr file
+ * GET  /api/jfr/status  → recording state and settings
+ *
+ * Open the dump in JDK Mission Control; pipeline events are under "Order Pipeline".
+ */
+@RestController
+@RequestMapping("/api/jfr")
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @PostMapping("/dump")
+    public ResponseEntity<?> dump() {
+        try {
+            Path file = flightRecorderService.dump();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(new FileSystemResource(file));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.error("JFR dump failed: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        return flightRecorderService.status();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.controller;
+
+import com.example.service.loadgen.ArrivalProcess;
+import com.example.service.loadgen.OpenLoopLoadGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST endpoints for the open-loop load generator.
+ *
+ * POST   /api/loadgen/run    → start a latency-vs-throughput curve (202, 409 if one is running)
+ * GET    /api/loadgen/run    → progress, per-rate results and the saturation point
+ * DELETE /api/loadgen/run    → stop the run; the step in progress ends early
+ *
+ * Example: POST /api/loadgen/run?rates=10,25,50,100,200&stepSeconds=30&arrival=POISSON
+ */
+@RestController
+@RequestMapping("/api/loadgen")
+@RequiredArgsConstructor
+public class LoadGeneratorController {
+
+    private final OpenLoopLoadGenerator loadGenerator;
+
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> start(
+            @RequestParam(defaultValue = "10,25,50,100") List<Integer> rates,
+            @RequestParam(defaultValue = "30") int stepSeconds,
+            @RequestParam(defaultValue = "POISSON") ArrivalProcess arrival,
+            @RequestParam(defaultValue = "PROCESS_ORDERS") String eventType,
+            @RequestParam(defaultValue = "LOADGEN-PARTNER") String tradingPartner,
+            @RequestParam(defaultValue = "true") boolean stopOnSaturation) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(loadGenerator.start(new OpenLoopLoadGenerator.Plan(
+                    rates, stepSeconds, arrival, eventType, tradingPartner, stopOnSaturation)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/run")
+    public Map<String, Object> status() {
+        return loadGenerator.status();
+    }
+
+    @DeleteMapping("/run")
+    public ResponseEntity<Map<String, Object>> cancel() {
+        if (!loadGenerator.cancel()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "No load run in progress"));
+        }
+        return ResponseEntity.ok(loadGenerator.status());
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.controller;
 
 import com.example.config.AppMetrics;
+import com.example.config.StageMetrics;
+import com.example.service.kafka.KafkaLagMonitor;
+import com.example.service.latency.LatencyRecorder;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -17,6 +28,10 @@ import java.util.concurrent.TimeUnit;
  * Provides a single endpoint with all key metrics.
  * 
  * GET /api/metrics/summary
+ * GET /api/metrics/stages  → per-stage latency percentiles and SLO compliance,
+ *                            by event type and grouping mode
+ * GET /api/metrics/latency → nanosecond HdrHistogram views (interval + cumulative)
+ * GET /api/metrics/kafka   → consumer lag, rates and time-to-drain per partition
  */
 @RestController
 @RequestMapping("/api/metrics")
@@ -24,6 +39,9 @@ import java.util.concurrent.TimeUnit;
 public class MetricsController {
 
     private final AppMetrics appMetrics;
+    private final StageMetrics stageMetrics;
+    private final LatencyRecorder latencyRecorder;
+    private final KafkaLagMonitor kafkaLagMonitor;
 
     /**
      * Get all metrics in a single response.
@@ -82,6 +100,72 @@ public class MetricsController {
         return timing;
     }
 
+    /**
+     * Get per-stage latency breakdown (fetch → preload → process → publish → total).
+     */
+    @GetMapping("/stages")
+    public Map<String, Object> getStageMetrics() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        
+        response.put("timestamp", Instant.now().toString());
+        Map<String, List<Map<String, Object>>> stages = stageMetrics.breakdown();
+        response.put("stages", stages);
+        
+        return response;
+    }
+
+    /**
+     * Get HdrHistogram latency per recorded stage, in microseconds.
+     * "interval" covers the last completed interval, "cumulative" everything since start/reset.
+     */
+    @GetMapping("/latency")
+    public Map<String, Object> getLatencyHistograms() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        
+        response.put("timestamp", Instant.now().toString());
+        response.put("intervalMs", latencyRecorder.getIntervalMs());
+        response.put("stages", latencyRecorder.snapshot());
+        
+        return response;
+    }
+
+    /**
+     * Full percentile distribution of one stage (HdrHistogram text format, microseconds),
+     * e.g. for HdrHistogram plotters.
+     */
+    @GetMapping(value = "/latency/{stage}/distribution", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getLatencyDistribution(
+            @PathVariable String stage,
+            @RequestParam(defaultValue = "true") boolean cumulative) {
+        String distribution = latencyRecorder.distribution(stage, cumulative);
+        return distribution != null
+                ? ResponseEntity.ok(distribution)
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Reset cumulative latency histograms.
+     */
+    @PostMapping("/latency/reset")
+    public Map<String, Object> resetLatencyHistograms() {
+        latencyRecorder.reset();
+        return Map.of("reset", true, "timestamp", Instant.now().toString());
+    }
+
+    /**
+     * Get Kafka consumer lag (committed vs end offsets), consume/produce/process rates
+     * and the estimated time to drain, per partition and for the topic.
+     */
+    @GetMapping("/kafka")
+    public Map<String, Object> getKafkaMetrics() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        
+        response.put("timestamp", Instant.now().toString());
+        response.putAll(kafkaLagMonitor.snapshot());
+        
+        return response;
+    }
+
     /**
      * Get WMQ metrics only.
      */
@@ -108,6 +192,13 @@ public class MetricsController {
             stats.put("totalTimeMs", String.format("%.2f", timer.totalTime(TimeUnit.MILLISECONDS)));
             stats.put("avgTimeMs", String.format("%.2f", timer.mean(TimeUnit.MILLISECONDS)));
             stats.put("maxTimeMs", String.format("%.2f", timer.max(TimeUnit.MILLISECONDS)));
+            
+            // Present when percentiles are configured (management.metrics.distribution.percentiles)
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                stats.put(StageMetrics.percentileLabel(percentile.percentile()) + "Ms",
+                        String.format("%.2f", percentile.value(TimeUnit.MILLISECONDS)));
+            }
         } else {
             stats.put("totalTimeMs", "0.00");
             stats.put("avgTimeMs", "N/A");
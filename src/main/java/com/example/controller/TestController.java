@@ -351,6 +351,9 @@ public class TestController {
     /**
      * Run a load test simulating multiple events with large order batches.
      * 
+     * Closed loop: each event starts when the previous one finished, so queueing
+     * delay is not measured. Use /api/loadgen/run for rate-driven latency.
+     * 
      * Example: POST /api/loadtest?eventCount=5&ordersPerEvent=2500
      */
     @PostMapping("/loadtest")
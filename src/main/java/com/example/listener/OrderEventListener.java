@@ -104,8 +104,10 @@ public class OrderEventListener {
             // ═══════════════════════════════════════════════════════════
             // STEP 3: Send failures to DLQ
             // ═══════════════════════════════════════════════════════════
-            if (!result.failures().isEmpty()) {
-                deadLetterPublisher.send(result.failures());
+            // Publish failures are already dead-lettered by PublishingService
+            List<FailedOrder> deadLetters = result.failuresToDeadLetter();
+            if (!deadLetters.isEmpty()) {
+                deadLetterPublisher.send(event, deadLetters);
             }
 
             // ═══════════════════════════════════════════════════════════
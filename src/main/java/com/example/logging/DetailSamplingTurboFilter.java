@@ -0,0 +1,62 @@
+package com.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.example.config.TraceContextManager;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that samples detailed (INFO and below) application logs per trace.
+ *
+ * - Only loggers under {@link #loggerPrefix} are sampled; WARN and ERROR always pass
+ * - Logs outside a trace (no traceId in MDC - startup, schedulers) always pass
+ * - Within a trace, the keep/drop decision is a hash of the traceId, so an event's
+ *   detail logs are either all kept or all dropped
+ * - Loggers under {@link #exemptPrefix} (the per-event summary) always pass
+ *
+ * Turbo filters run before the message is formatted - and for isInfoEnabled()
+ * checks - so a dropped line costs a ThreadLocal lookup and a hash.
+ */
+public class DetailSamplingTurboFilter extends TurboFilter {
+
+    private static final int SCALE = 10_000;
+
+    private final String loggerPrefix;
+    private final String exemptPrefix;
+    private final int keepPerScale;
+
+    /**
+     * @param sampleRate Fraction [0..1] of traces whose detail logs are kept
+     */
+    public DetailSamplingTurboFilter(String loggerPrefix, String exemptPrefix, double sampleRate) {
+        this.loggerPrefix = loggerPrefix;
+        this.exemptPrefix = exemptPrefix;
+        this.keepPerScale = (int) Math.round(Math.clamp(sampleRate, 0.0, 1.0) * SCALE);
+        setName("detail-sampling");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        if (!name.startsWith(loggerPrefix) || name.startsWith(exemptPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        String traceId = MDC.get(TraceContextManager.TRACE_ID);
+        if (traceId == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return isSampled(traceId) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    boolean isSampled(String traceId) {
+        // Spread the hash before taking the bucket - trace ids often share prefixes
+        int hash = traceId.hashCode() * 0x9E3779B9;
+        return Integer.remainderUnsigned(hash, SCALE) < keepPerScale;
+    }
+}
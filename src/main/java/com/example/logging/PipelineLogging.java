@@ -0,0 +1,95 @@
+package com.example.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.example.model.OrderEvent;
+import com.example.model.ProcessingResultWithTiming;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logging mode for the event pipeline (app.logging.mode).
+ *
+ * - VERBOSE (default) → every log line, including per-event banners
+ * - SUMMARY           → high-throughput mode: INFO/DEBUG lines from com.example are
+ *                       kept only for app.logging.detail-sample-rate of events
+ *                       (DetailSamplingTurboFilter); WARN/ERROR always kept
+ *
+ * In both modes each event gets exactly one structured summary line on the
+ * "com.example.pipeline.summary" logger, with all stage timings:
+ *
+ *   event=EVT-1 type=ORDER_CREATED partner=ACME unit=EAST grouping=true orders=120
+ *   success=118 failed=2 fetchMs=8 preloadMs=21 processMs=4 publishMs=37 totalMs=72
+ *
+ * Appenders are asynchronous (logback-spring.xml), so pipeline threads never wait on I/O.
+ */
+@Component
+@Slf4j
+public class PipelineLogging {
+
+    public enum Mode { VERBOSE, SUMMARY }
+
+    static final String SUMMARY_LOGGER = "com.example.pipeline.summary";
+
+    private static final Logger summaryLog = LoggerFactory.getLogger(SUMMARY_LOGGER);
+
+    private final Mode mode;
+    private final double detailSampleRate;
+    private DetailSamplingTurboFilter filter;
+
+    public PipelineLogging(
+            @Value("${app.logging.mode:VERBOSE}") Mode mode,
+            @Value("${app.logging.detail-sample-rate:0.01}") double detailSampleRate) {
+        this.mode = mode;
+        this.detailSampleRate = detailSampleRate;
+    }
+
+    @PostConstruct
+    public void install() {
+        if (mode != Mode.SUMMARY) {
+            return;
+        }
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            log.warn("SUMMARY logging mode needs Logback - detail logs will not be sampled");
+            return;
+        }
+        filter = new DetailSamplingTurboFilter("com.example.", SUMMARY_LOGGER, detailSampleRate);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+        log.info("SUMMARY logging mode: detail logs sampled at {}%", detailSampleRate * 100);
+    }
+
+    @PreDestroy
+    public void uninstall() {
+        if (filter != null && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(filter);
+            filter.stop();
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * One structured line for a completed event.
+     */
+    public void eventSummary(OrderEvent event, ProcessingResultWithTiming result, long fetchMs, long totalMs) {
+        if (!summaryLog.isInfoEnabled()) {
+            return;
+        }
+        summaryLog.info("event={} type={} partner={} unit={} grouping={} orders={} success={} failed={} "
+                        + "fetchMs={} preloadMs={} processMs={} publishMs={} totalMs={}",
+                event.eventId(), event.eventType(), event.tradingPartnerName(), event.businessUnitName(),
+                event.requiresGrouping(), result.successes().size() + result.failures().size(),
+                result.successes().size(), result.failures().size(),
+                fetchMs, result.preloadTimeMs(), result.processingTimeMs(), result.publishTimeMs(), totalMs);
+    }
+}
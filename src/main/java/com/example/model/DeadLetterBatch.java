@@ -0,0 +1,90 @@
+package com.example.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Failed orders of one event, published to the dead-letter topic as a single record.
+ *
+ * Event fields are null for failures raised outside an event (e.g. WMQ retries
+ * exhausted in the background). An event that failed as a whole (before any
+ * per-order result) has no failures and carries the error in eventError*.
+ *
+ * @param attempt Delivery attempts made before the orders were dead-lettered
+ */
+public record DeadLetterBatch(
+    String eventId,
+    String eventType,
+    String tradingPartnerName,
+    String businessUnitName,
+    String traceId,
+    int attempt,
+    Instant failedAt,
+    List<FailedOrder> failures,
+    String eventErrorType,
+    String eventErrorMessage
+) {
+    public static DeadLetterBatch of(OrderEvent event, List<FailedOrder> failures, int attempt, String traceId) {
+        if (event == null) {
+            return new DeadLetterBatch(null, null, null, null, traceId, attempt, Instant.now(), failures,
+                    null, null);
+        }
+        return new DeadLetterBatch(event.eventId(), event.eventType(),
+                event.tradingPartnerName(), event.businessUnitName(),
+                traceId, attempt, Instant.now(), failures, null, null);
+    }
+
+    /**
+     * Whole event failed (e.g. order fetch error after all redeliveries).
+     */
+    public static DeadLetterBatch eventFailure(OrderEvent event, Throwable cause, int attempt, String traceId) {
+        return new DeadLetterBatch(event.eventId(), event.eventType(),
+                event.tradingPartnerName(), event.businessUnitName(),
+                traceId, attempt, Instant.now(), List.of(),
+                cause != null ? cause.getClass().getSimpleName() : "Unknown",
+                cause != null ? cause.getMessage() : null);
+    }
+
+    /**
+     * The originating event, or null if the failures were raised outside an event.
+     */
+    public OrderEvent toEvent() {
+        if (eventId == null && tradingPartnerName == null && businessUnitName == null) {
+            return null;
+        }
+        return new OrderEvent(eventId, eventType, tradingPartnerName, businessUnitName);
+    }
+
+    @JsonIgnore
+    public boolean isEventFailure() {
+        return failures.isEmpty() && eventErrorType != null;
+    }
+
+    /**
+     * Kafka key - keeps all failures of a partner/unit on one partition.
+     */
+    @JsonIgnore
+    public String partitionKey() {
+        if (tradingPartnerName == null && businessUnitName == null) {
+            return eventId;
+        }
+        return tradingPartnerName + "|" + businessUnitName;
+    }
+
+    /**
+     * Distinct exception types in this batch, comma separated.
+     */
+    @JsonIgnore
+    public String exceptionTypes() {
+        if (isEventFailure()) {
+            return eventErrorType;
+        }
+        return failures.stream()
+                .map(FailedOrder::exceptionType)
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+}
@@ -7,4 +7,30 @@ public record FailedOrder(
     Order order,
     String errorMessage,
     String exceptionType
-) {}
+) {
+    /**
+     * exceptionType of orders that were processed but not published. PublishingService
+     * dead-letters these itself, before the publish journal entry is acknowledged.
+     */
+    public static final String PUBLISH_FAILURE = "PublishFailure";
+
+    /**
+     * Failure of an order that was processed but could not be published.
+     */
+    public static FailedOrder fromProcessed(ProcessedOrder processed, String errorMessage, String exceptionType) {
+        Order order = new Order(
+                processed.orderId(),
+                processed.customerId(),
+                processed.status(),
+                processed.finalPrice(),
+                processed.processedAt());
+        return new FailedOrder(order, errorMessage, exceptionType);
+    }
+
+    /**
+     * True if the order failed at publish and has already been dead-lettered.
+     */
+    public boolean isPublishFailure() {
+        return PUBLISH_FAILURE.equals(exceptionType);
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Grouped orders record - multiple orders combined into one WMQ message.
  * Used when business logic requires batching orders together 
  * (e.g., same customer, same warehouse, same shipment, etc.)
+ * 
+ * Large groups are split into size-bounded parts. All parts of one logical
+ * group share the same groupId and carry sequenceNumber (1-based) and
+ * sequenceCount so consumers can reassemble them. The groupId is derived
+ * from the grouping key and the order IDs, so republishing or replaying the
+ * same group yields the same groupId.
  */
 public record GroupedOrderMessage(
     String groupId,
@@ -17,7 +27,9 @@ public record GroupedOrderMessage(
     int orderCount,
     BigDecimal totalAmount,
     LocalDateTime groupedAt,
-    String groupedBy
+    String groupedBy,
+    int sequenceNumber,        // 1-based part number within the logical group
+    int sequenceCount          // total parts in the logical group
 ) {
     /**
      * Create a grouped message from a list of orders.
@@ -31,7 +43,22 @@ public record GroupedOrderMessage(
                 .map(ProcessedOrder::finalPrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        String groupId = "GRP-" + System.currentTimeMillis() + "-" + groupingKey.hashCode();
+        return create(groupId(groupingKey, orders), groupingKey, groupType, orders, total, 1, 1);
+    }
+
+    /**
+     * Create one part of a (possibly split) logical group.
+     * The total is supplied by the caller, which accumulates it while
+     * grouping instead of re-streaming the orders here.
+     */
+    public static GroupedOrderMessage create(
+            String groupId,
+            String groupingKey,
+            String groupType,
+            List<ProcessedOrder> orders,
+            BigDecimal totalAmount,
+            int sequenceNumber,
+            int sequenceCount) {
         
         return new GroupedOrderMessage(
                 groupId,
@@ -39,9 +66,33 @@ public record GroupedOrderMessage(
                 groupType,
                 orders,
                 orders.size(),
-                total,
+                totalAmount,
                 LocalDateTime.now(),
-                "kafka-order-processor"
+                "kafka-order-processor",
+                sequenceNumber,
+                sequenceCount
         );
     }
+
+    /**
+     * Deterministic groupId shared by all parts of a logical group:
+     * a name-based UUID of the grouping key and the sorted order IDs.
+     * Independent of order sequence and of when the group is built.
+     */
+    public static String groupId(String groupingKey, List<ProcessedOrder> orders) {
+        StringBuilder name = new StringBuilder(groupingKey.length() + orders.size() * 16).append(groupingKey);
+        orders.stream()
+                .map(ProcessedOrder::orderId)
+                .sorted()
+                .forEach(orderId -> name.append('\n').append(orderId));
+        return "GRP-" + UUID.nameUUIDFromBytes(name.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * True if this message is one part of a group that was split.
+     */
+    @JsonIgnore
+    public boolean isPartial() {
+        return sequenceCount > 1;
+    }
 }
@@ -9,4 +9,12 @@ public record ProcessingResult(
     List<ProcessedOrder> successes,
     List<FailedOrder> failures,
     long processingTimeMs
-) {}
+) {
+    /**
+     * Failures the caller still has to dead-letter - publish failures were
+     * dead-lettered by PublishingService.
+     */
+    public List<FailedOrder> failuresToDeadLetter() {
+        return failures.stream().filter(failure -> !failure.isPublishFailure()).toList();
+    }
+}
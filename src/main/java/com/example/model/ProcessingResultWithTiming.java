@@ -19,4 +19,12 @@ public record ProcessingResultWithTiming(
     public ProcessingResult toProcessingResult() {
         return new ProcessingResult(successes, failures, totalTimeMs);
     }
+
+    /**
+     * Failures the caller still has to dead-letter - publish failures were
+     * dead-lettered by PublishingService.
+     */
+    public List<FailedOrder> failuresToDeadLetter() {
+        return toProcessingResult().failuresToDeadLetter();
+    }
 }
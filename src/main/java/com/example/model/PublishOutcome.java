@@ -0,0 +1,46 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of publishing a batch of processed orders to WMQ.
+ *
+ * - sentMessages   → MQ messages confirmed on the first attempt
+ * - retryQueued    → Failed messages handed to the retry queue (retried in the
+ *                    background, dead-lettered if retries are exhausted)
+ * - failedOrders   → Orders that could not be published and were NOT queued for
+ *                    retry (retry queue full) - the caller must treat them as failed
+ */
+public record PublishOutcome(
+        int sentMessages,
+        int retryQueued,
+        List<ProcessedOrder> failedOrders
+) {
+    public static PublishOutcome empty() {
+        return new PublishOutcome(0, 0, List.of());
+    }
+
+    public static PublishOutcome sent(int sentMessages) {
+        return new PublishOutcome(sentMessages, 0, List.of());
+    }
+
+    public boolean hasFailures() {
+        return !failedOrders.isEmpty();
+    }
+
+    /**
+     * Orders carried by a failed payload (a ProcessedOrder or every order of a GroupedOrderMessage).
+     */
+    public static List<ProcessedOrder> ordersOf(List<?> payloads) {
+        List<ProcessedOrder> orders = new ArrayList<>();
+        for (Object payload : payloads) {
+            if (payload instanceof ProcessedOrder order) {
+                orders.add(order);
+            } else if (payload instanceof GroupedOrderMessage group) {
+                orders.addAll(group.orders());
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper that reads columns by position, resolved from their names once per ResultSet.
+ *
+ * rs.getString("order_id") makes the driver search its column names on every
+ * call (case-insensitive in H2 and SQL Server); over 10k rows × 5 columns that
+ * is 50k lookups for the same five answers. Here the names are resolved with
+ * findColumn() on the first row of each ResultSet and the mapping reads by
+ * index. The SQL stays name-based, so a dialect override that reorders the
+ * select list still maps correctly.
+ *
+ * Holds per-ResultSet state: create one per query execution (see OrderRowMappers),
+ * never share an instance between threads.
+ */
+public final class IndexedRowMapper<T> implements RowMapper<T> {
+
+    /**
+     * Maps the current row; columns[i] is the JDBC index of the i-th column name.
+     */
+    @FunctionalInterface
+    public interface Mapping<T> {
+        T map(ResultSet rs, int[] columns) throws SQLException;
+    }
+
+    private final String[] columnNames;
+    private final Mapping<T> mapping;
+    private final int[] columns;
+    private ResultSet resolvedFor;
+
+    public IndexedRowMapper(Mapping<T> mapping, String... columnNames) {
+        this.mapping = mapping;
+        this.columnNames = columnNames;
+        this.columns = new int[columnNames.length];
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return mapping.map(rs, columns(rs));
+    }
+
+    /**
+     * JDBC column indexes for rs, in column-name order.
+     */
+    public int[] columns(ResultSet rs) throws SQLException {
+        if (rs != resolvedFor) {
+            for (int i = 0; i < columnNames.length; i++) {
+                columns[i] = rs.findColumn(columnNames[i]);
+            }
+            resolvedFor = rs;
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes SqlTemplateLoader queries by name with cached statement shapes.
+ *
+ * NamedParameterJdbcTemplate re-expands ":orderIds" into "?, ?, ..." and
+ * rebuilds the parameter list on every call, and every chunk size yields a
+ * different SQL text, so the driver's statement cache rarely hits. Here:
+ *
+ * - The expanded SQL and PreparedStatementCreatorFactory are cached per query
+ *   name and IN-list size; a call only builds its value array
+ * - IN lists are padded to the next power of two by repeating the last value
+ *   (app.db.in-list-padding), so a 500-id chunk size needs ~10 statement
+ *   texts per query instead of 500
+ * - Fetch size is the caller's expected row count, capped at
+ *   app.db.fetch-size.max, so a chunk comes back in one round trip on drivers
+ *   with small defaults (Oracle 10) without over-allocating for single-row lookups
+ * - Statements are still closed after each call; with driver statement pooling
+ *   (hikari data-source-properties in the prod/docker profiles) the stable SQL
+ *   text makes that close return the prepared handle to the connection's cache
+ *
+ * Metrics:
+ * - db.query.first.row{query}        → Call to first row (includes connection checkout and prepare)
+ * - db.query.duration{query}         → Call to last row
+ * - db.query.rows{query}             → Rows per execution
+ * - db.query.rows.per.second{query}  → Read throughput per execution (executions returning rows)
+ */
+@Component
+@Slf4j
+public class NamedQueryExecutor {
+
+    /** Padding stops here so a padded list stays under SQL Server's 2100 parameter limit. */
+    static final int MAX_PADDED_IN_LIST = 2048;
+
+    /** Unpadded IN lists can produce one shape per size; beyond this, shapes are built per call. */
+    static final int MAX_CACHED_SHAPES = 1024;
+
+    private final JdbcOperations jdbcOperations;
+    private final SqlTemplateLoader sqlLoader;
+    private final MeterRegistry meterRegistry;
+    private final int maxFetchSize;
+    private final boolean padInLists;
+
+    private final Map<Shape, PreparedQuery> preparedQueries = new ConcurrentHashMap<>();
+    private final Map<String, QueryMetrics> metrics = new ConcurrentHashMap<>();
+
+    public NamedQueryExecutor(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            SqlTemplateLoader sqlLoader,
+            MeterRegistry meterRegistry,
+            @Value("${app.db.fetch-size.max:1000}") int maxFetchSize,
+            @Value("${app.db.in-list-padding:true}") boolean padInLists) {
+        this.jdbcOperations = jdbcTemplate.getJdbcOperations();
+        this.sqlLoader = sqlLoader;
+        this.meterRegistry = meterRegistry;
+        this.maxFetchSize = Math.max(1, maxFetchSize);
+        this.padInLists = padInLists;
+        log.info("NamedQueryExecutor initialized: maxFetchSize={}, inListPadding={}", this.maxFetchSize, padInLists);
+    }
+
+    /**
+     * Map every row of a named query.
+     *
+     * @param expectedRows Rows the caller expects (sets fetch size and list capacity)
+     */
+    public <T> List<T> queryForList(String name, MapSqlParameterSource params, int expectedRows,
+                                    RowMapper<T> rowMapper) {
+        List<T> results = new ArrayList<>(fetchSizeFor(expectedRows));
+        queryForEach(name, params, expectedRows, rs -> results.add(rowMapper.mapRow(rs, results.size())));
+        return results;
+    }
+
+    /**
+     * Map every row of a named query into a map pre-sized for expectedRows,
+     * keyed by a String column (resolved to its index once). A later row with
+     * the same key replaces the earlier one.
+     *
+     * @param expectedRows Rows the caller expects (sets fetch size and map capacity)
+     */
+    public <V> Map<String, V> queryForMap(String name, MapSqlParameterSource params, int expectedRows,
+                                          String keyColumn, RowMapper<V> valueMapper) {
+        Map<String, V> results = HashMap.newHashMap(fetchSizeFor(expectedRows));
+        IndexedRowMapper<String> keyMapper = new IndexedRowMapper<>((rs, c) -> rs.getString(c[0]), keyColumn);
+        queryForEach(name, params, expectedRows, rs -> {
+            int rowNum = results.size();
+            results.put(keyMapper.mapRow(rs, rowNum), valueMapper.mapRow(rs, rowNum));
+        });
+        return results;
+    }
+
+    /**
+     * Hand every row of a named query to a callback.
+     *
+     * @param expectedRows Rows the caller expects (sets fetch size)
+     * @return number of rows read
+     */
+    public int queryForEach(String name, MapSqlParameterSource params, int expectedRows,
+                            RowCallbackHandler handler) {
+        MapSqlParameterSource bound = padInLists ? padded(params) : params;
+        PreparedQuery query = prepared(name, bound);
+        PreparedStatementCreator creator = new FetchSizeStatementCreator(
+                query.factory().newPreparedStatementCreator(
+                        NamedParameterUtils.buildValueArray(query.parsedSql(), bound, null)),
+                fetchSizeFor(expectedRows));
+        QueryMetrics queryMetrics = metrics.computeIfAbsent(name, this::createMetrics);
+
+        long start = System.nanoTime();
+        Integer rows = jdbcOperations.query(creator, rs -> {
+            boolean more = rs.next();
+            queryMetrics.firstRow().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            int count = 0;
+            while (more) {
+                handler.processRow(rs);
+                count++;
+                more = rs.next();
+            }
+            return count;
+        });
+        long elapsedNanos = System.nanoTime() - start;
+
+        int rowCount = rows != null ? rows : 0;
+        queryMetrics.duration().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        queryMetrics.rows().record(rowCount);
+        if (rowCount > 0 && elapsedNanos > 0) {
+            queryMetrics.rowsPerSecond().record(rowCount * 1_000_000_000.0 / elapsedNanos);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Number of cached statement shapes (query name + IN-list sizes).
+     */
+    public int cachedShapes() {
+        return preparedQueries.size();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    int fetchSizeFor(int expectedRows) {
+        return Math.clamp(expectedRows, 1, maxFetchSize);
+    }
+
+    /**
+     * Next power of two at or above size, or size itself beyond MAX_PADDED_IN_LIST.
+     */
+    static int paddedSize(int size) {
+        if (size <= 1) {
+            return size;
+        }
+        int padded = Integer.highestOneBit(size - 1) << 1;
+        return padded > MAX_PADDED_IN_LIST ? size : padded;
+    }
+
+    /**
+     * Copy of params with every non-empty collection padded by repeating its last value.
+     * IN (a, b, c, c) matches exactly the rows IN (a, b, c) does.
+     */
+    static MapSqlParameterSource padded(MapSqlParameterSource params) {
+        MapSqlParameterSource padded = null;
+        for (Map.Entry<String, Object> entry : params.getValues().entrySet()) {
+            if (!(entry.getValue() instanceof Collection<?> values) || values.isEmpty()
+                    || paddedSize(values.size()) == values.size()) {
+                continue;
+            }
+            if (padded == null) {
+                padded = new MapSqlParameterSource(params.getValues());
+            }
+            List<Object> list = new ArrayList<>(paddedSize(values.size()));
+            list.addAll(values);
+            Object last = list.get(list.size() - 1);
+            while (list.size() < paddedSize(values.size())) {
+                list.add(last);
+            }
+            padded.addValue(entry.getKey(), list);
+        }
+        return padded != null ? padded : params;
+    }
+
+    private PreparedQuery prepared(String name, MapSqlParameterSource params) {
+        Shape shape = Shape.of(name, params);
+        PreparedQuery cached = preparedQueries.get(shape);
+        if (cached != null) {
+            return cached;
+        }
+        PreparedQuery query = prepare(name, params);
+        if (preparedQueries.size() < MAX_CACHED_SHAPES) {
+            preparedQueries.putIfAbsent(shape, query);
+        }
+        return query;
+    }
+
+    private PreparedQuery prepare(String name, MapSqlParameterSource params) {
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sqlLoader.load(name));
+        String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, params);
+        List<SqlParameter> declared = NamedParameterUtils.buildSqlParameterList(parsedSql, params);
+        log.debug("Prepared statement shape for {}: {} chars", name, sql.length());
+        return new PreparedQuery(parsedSql, new PreparedStatementCreatorFactory(sql, declared));
+    }
+
+    private QueryMetrics createMetrics(String name) {
+        return new QueryMetrics(
+                Timer.builder("db.query.first.row")
+                        .description("Time from query call to first row")
+                        .tag("query", name)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("db.query.duration")
+                        .description("Time from query call to last row")
+                        .tag("query", name)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder("db.query.rows")
+                        .description("Rows returned per execution")
+                        .tag("query", name)
+                        .register(meterRegistry),
+                DistributionSummary.builder("db.query.rows.per.second")
+                        .description("Rows read per second of query time")
+                        .tag("query", name)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Statement text identity: query name plus the size of every collection parameter
+     * (scalars count as 1; they always expand to a single "?").
+     */
+    private record Shape(String name, Map<String, Integer> sizes) {
+
+        static Shape of(String name, MapSqlParameterSource params) {
+            Map<String, Object> values = params.getValues();
+            if (values.size() == 1) {
+                Map.Entry<String, Object> only = values.entrySet().iterator().next();
+                return new Shape(name, Map.of(only.getKey(), sizeOf(only.getValue())));
+            }
+            Map<String, Integer> sizes = new HashMap<>(values.size() * 2);
+            values.forEach((param, value) -> sizes.put(param, sizeOf(value)));
+            return new Shape(name, sizes);
+        }
+
+        private static int sizeOf(Object value) {
+            if (value instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (value instanceof Object[] array) {
+                return array.length;
+            }
+            return 1;
+        }
+    }
+
+    private record PreparedQuery(ParsedSql parsedSql, PreparedStatementCreatorFactory factory) {
+    }
+
+    private record QueryMetrics(Timer firstRow, Timer duration, DistributionSummary rows,
+                                DistributionSummary rowsPerSecond) {
+    }
+
+    /**
+     * Sets the fetch size on the statement Spring's creator prepared and binds.
+     * Keeps SqlProvider (SQL in exception messages) and ParameterDisposer.
+     */
+    private record FetchSizeStatementCreator(PreparedStatementCreator delegate, int fetchSize)
+            implements PreparedStatementCreator, SqlProvider, ParameterDisposer {
+
+        @Override
+        public PreparedStatement createPreparedStatement(Connection connection) throws SQLException {
+            PreparedStatement statement = delegate.createPreparedStatement(connection);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }
+
+        @Override
+        public String getSql() {
+            return delegate instanceof SqlProvider provider ? provider.getSql() : null;
+        }
+
+        @Override
+        public void cleanupParameters() {
+            if (delegate instanceof ParameterDisposer disposer) {
+                disposer.cleanupParameters();
+            }
+        }
+    }
+}
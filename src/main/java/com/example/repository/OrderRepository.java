@@ -2,11 +2,11 @@ package com.example.repository;
 
 import com.example.model.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -23,12 +23,17 @@ import java.util.function.Supplier;
  * 
  * IMPORTANT: Built-in chunking protects against SQL Server's 2100 parameter limit.
  * All batch methods automatically chunk large ID lists.
+ *
+ * Queries run through NamedQueryExecutor (cached statement shapes, fetch size
+ * from the expected row count, per-query first-row and rows/s metrics).
+ * Rows are mapped by column index (OrderRowMappers) into pre-sized collections,
+ * with low-cardinality values shared through the StringDictionary.
  */
 @Repository
 @Slf4j
 public class OrderRepository {
 
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedQueryExecutor queryExecutor;
     
     /**
      * Maximum IDs per query chunk.
@@ -39,19 +44,24 @@ public class OrderRepository {
     
     private final int maxRetries;
     private final long retryDelayMs;
-    private final SqlTemplateLoader sqlLoader;
+    private final StringDictionary strings;
 
+    public OrderRepository(NamedQueryExecutor queryExecutor, int chunkSize, int maxRetries, long retryDelayMs) {
+        this(queryExecutor, chunkSize, maxRetries, retryDelayMs, new StringDictionary(StringDictionary.DEFAULT_MAX_SIZE));
+    }
+
+        @Autowired
         public OrderRepository(
-            NamedParameterJdbcTemplate jdbcTemplate,
+            NamedQueryExecutor queryExecutor,
             @Value("${app.db.chunk-size:500}") int chunkSize,
             @Value("${app.db.max-retries:2}") int maxRetries,
             @Value("${app.db.retry-delay-ms:100}") long retryDelayMs,
-            SqlTemplateLoader sqlLoader) {
-        this.jdbcTemplate = jdbcTemplate;
+            StringDictionary strings) {
+        this.queryExecutor = queryExecutor;
         this.chunkSize = chunkSize;
         this.maxRetries = maxRetries;
         this.retryDelayMs = retryDelayMs;
-        this.sqlLoader = sqlLoader;
+        this.strings = strings;
         log.info("OrderRepository initialized with chunk size: {}, maxRetries: {}, retryDelayMs: {}ms",
             chunkSize, maxRetries, retryDelayMs);
         }
@@ -67,7 +77,7 @@ public class OrderRepository {
         if (orderIds.size() > chunkSize) {
             List<List<String>> parts = partition(orderIds, chunkSize);
             log.info("findOrdersByIds: total chunks = {}, chunkSize = {}", parts.size(), chunkSize);
-            List<Order> result = new ArrayList<>();
+            List<Order> result = new ArrayList<>(orderIds.size());
             int chunkNum = 1;
             for (List<String> chunk : parts) {
                 log.info("findOrdersByIds: processing chunk {}/{} ({} ids)", chunkNum, parts.size(), chunk.size());
@@ -81,17 +91,9 @@ public class OrderRepository {
     }
 
     private List<Order> findOrdersByIdsInternal(List<String> orderIds) {
-        String sql = sqlLoader.load("findOrdersByIds");
-
         MapSqlParameterSource params = new MapSqlParameterSource("orderIds", orderIds);
 
-        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new Order(
-                rs.getString("order_id"),
-                rs.getString("customer_id"),
-                rs.getString("status"),
-                rs.getBigDecimal("amount"),
-                rs.getTimestamp("created_at").toLocalDateTime()
-        ));
+        return queryExecutor.queryForList("findOrdersByIds", params, orderIds.size(), OrderRowMappers.order(strings));
     }
 
     /**
@@ -100,6 +102,13 @@ public class OrderRepository {
      * Automatically chunks large ID lists to avoid SQL parameter limits.
      */
     public Map<String, CustomerData> batchFetchCustomerData(List<String> orderIds) {
+        return batchFetchCustomerData(orderIds, null);
+    }
+
+    /**
+     * Batch fetch customer data with each query attempt run through the given guard.
+     */
+    public Map<String, CustomerData> batchFetchCustomerData(List<String> orderIds, AttemptGuard guard) {
         if (orderIds.isEmpty()) return Map.of();
 
         log.debug("Batch fetching customer data for {} orders", orderIds.size());
@@ -108,12 +117,12 @@ public class OrderRepository {
         if (orderIds.size() > chunkSize) {
             List<List<String>> parts = partition(orderIds, chunkSize);
             log.info("batchFetchCustomerData: total chunks = {}, chunkSize = {}", parts.size(), chunkSize);
-            Map<String, CustomerData> result = new HashMap<>();
+            Map<String, CustomerData> result = HashMap.newHashMap(orderIds.size());
             int chunkNum = 1;
             for (List<String> chunk : parts) {
                 log.info("batchFetchCustomerData: processing chunk {}/{} ({} ids)", chunkNum, parts.size(), chunk.size());
                 try {
-                    result.putAll(batchFetchCustomerDataInternal(chunk));
+                    result.putAll(batchFetchCustomerDataInternal(chunk, guard));
                 } catch (DataAccessException e) {
                     log.error("batchFetchCustomerData: chunk {}/{} failed after retries, continuing with remaining chunks. chunkSize={} error={}", chunkNum, parts.size(), chunk.size(), e.getMessage());
                 }
@@ -122,30 +131,15 @@ public class OrderRepository {
             return result;
         }
 
-        return batchFetchCustomerDataInternal(orderIds);
+        return batchFetchCustomerDataInternal(orderIds, guard);
     }
 
-    private Map<String, CustomerData> batchFetchCustomerDataInternal(List<String> orderIds) {
-        return withRetry("batchFetchCustomerData", () -> {
-            String sql = sqlLoader.load("batchFetchCustomerData");
-
+    private Map<String, CustomerData> batchFetchCustomerDataInternal(List<String> orderIds, AttemptGuard guard) {
+        return withRetry("batchFetchCustomerData", guard, () -> {
             MapSqlParameterSource params = new MapSqlParameterSource("orderIds", orderIds);
 
-            return jdbcTemplate.query(sql, params, rs -> {
-                Map<String, CustomerData> result = new HashMap<>();
-                while (rs.next()) {
-                    result.put(
-                            rs.getString("order_id"),
-                            new CustomerData(
-                                    rs.getString("customer_id"),
-                                    rs.getString("name"),
-                                    rs.getString("email"),
-                                    rs.getString("tier")
-                            )
-                    );
-                }
-                return result;
-            });
+            return queryExecutor.queryForMap("batchFetchCustomerData", params, orderIds.size(),
+                    OrderRowMappers.ORDER_ID, OrderRowMappers.customerData(strings));
         });
     }
 
@@ -154,6 +148,13 @@ public class OrderRepository {
      * Automatically chunks large ID lists to avoid SQL parameter limits.
      */
     public Map<String, InventoryData> batchFetchInventoryData(List<String> orderIds) {
+        return batchFetchInventoryData(orderIds, null);
+    }
+
+    /**
+     * Batch fetch inventory data with each query attempt run through the given guard.
+     */
+    public Map<String, InventoryData> batchFetchInventoryData(List<String> orderIds, AttemptGuard guard) {
         if (orderIds.isEmpty()) return Map.of();
 
         log.debug("Batch fetching inventory data for {} orders", orderIds.size());
@@ -162,12 +163,12 @@ public class OrderRepository {
         if (orderIds.size() > chunkSize) {
             List<List<String>> parts = partition(orderIds, chunkSize);
             log.info("batchFetchInventoryData: total chunks = {}, chunkSize = {}", parts.size(), chunkSize);
-            Map<String, InventoryData> result = new HashMap<>();
+            Map<String, InventoryData> result = HashMap.newHashMap(orderIds.size());
             int chunkNum = 1;
             for (List<String> chunk : parts) {
                 log.info("batchFetchInventoryData: processing chunk {}/{} ({} ids)", chunkNum, parts.size(), chunk.size());
                 try {
-                    result.putAll(batchFetchInventoryDataInternal(chunk));
+                    result.putAll(batchFetchInventoryDataInternal(chunk, guard));
                 } catch (DataAccessException e) {
                     log.error("batchFetchInventoryData: chunk {}/{} failed after retries, continuing with remaining chunks. chunkSize={} error={}", chunkNum, parts.size(), chunk.size(), e.getMessage());
                 }
@@ -176,30 +177,15 @@ public class OrderRepository {
             return result;
         }
 
-        return batchFetchInventoryDataInternal(orderIds);
+        return batchFetchInventoryDataInternal(orderIds, guard);
     }
 
-    private Map<String, InventoryData> batchFetchInventoryDataInternal(List<String> orderIds) {
-        return withRetry("batchFetchInventoryData", () -> {
-            String sql = sqlLoader.load("batchFetchInventoryData");
-
+    private Map<String, InventoryData> batchFetchInventoryDataInternal(List<String> orderIds, AttemptGuard guard) {
+        return withRetry("batchFetchInventoryData", guard, () -> {
             MapSqlParameterSource params = new MapSqlParameterSource("orderIds", orderIds);
 
-            return jdbcTemplate.query(sql, params, rs -> {
-                Map<String, InventoryData> result = new HashMap<>();
-                while (rs.next()) {
-                    result.put(
-                            rs.getString("order_id"),
-                            new InventoryData(
-                                    rs.getString("order_id"),
-                                    rs.getString("sku"),
-                                    rs.getInt("quantity_available"),
-                                    rs.getString("warehouse_location")
-                            )
-                    );
-                }
-                return result;
-            });
+            return queryExecutor.queryForMap("batchFetchInventoryData", params, orderIds.size(),
+                    OrderRowMappers.ORDER_ID, OrderRowMappers.inventoryData(strings));
         });
     }
 
@@ -208,6 +194,13 @@ public class OrderRepository {
      * Automatically chunks large ID lists to avoid SQL parameter limits.
      */
     public Map<String, PricingData> batchFetchPricingData(List<String> orderIds) {
+        return batchFetchPricingData(orderIds, null);
+    }
+
+    /**
+     * Batch fetch pricing data with each query attempt run through the given guard.
+     */
+    public Map<String, PricingData> batchFetchPricingData(List<String> orderIds, AttemptGuard guard) {
         if (orderIds.isEmpty()) return Map.of();
 
         log.debug("Batch fetching pricing data for {} orders", orderIds.size());
@@ -216,12 +209,12 @@ public class OrderRepository {
         if (orderIds.size() > chunkSize) {
             List<List<String>> parts = partition(orderIds, chunkSize);
             log.info("batchFetchPricingData: total chunks = {}, chunkSize = {}", parts.size(), chunkSize);
-            Map<String, PricingData> result = new HashMap<>();
+            Map<String, PricingData> result = HashMap.newHashMap(orderIds.size());
             int chunkNum = 1;
             for (List<String> chunk : parts) {
                 log.info("batchFetchPricingData: processing chunk {}/{} ({} ids)", chunkNum, parts.size(), chunk.size());
                 try {
-                    result.putAll(batchFetchPricingDataInternal(chunk));
+                    result.putAll(batchFetchPricingDataInternal(chunk, guard));
                 } catch (DataAccessException e) {
                     log.error("batchFetchPricingData: chunk {}/{} failed after retries, continuing with remaining chunks. chunkSize={} error={}", chunkNum, parts.size(), chunk.size(), e.getMessage());
                 }
@@ -230,30 +223,15 @@ public class OrderRepository {
             return result;
         }
 
-        return batchFetchPricingDataInternal(orderIds);
+        return batchFetchPricingDataInternal(orderIds, guard);
     }
 
-    private Map<String, PricingData> batchFetchPricingDataInternal(List<String> orderIds) {
-        return withRetry("batchFetchPricingData", () -> {
-            String sql = sqlLoader.load("batchFetchPricingData");
-
+    private Map<String, PricingData> batchFetchPricingDataInternal(List<String> orderIds, AttemptGuard guard) {
+        return withRetry("batchFetchPricingData", guard, () -> {
             MapSqlParameterSource params = new MapSqlParameterSource("orderIds", orderIds);
 
-            return jdbcTemplate.query(sql, params, rs -> {
-                Map<String, PricingData> result = new HashMap<>();
-                while (rs.next()) {
-                    result.put(
-                            rs.getString("order_id"),
-                            new PricingData(
-                                    rs.getString("order_id"),
-                                    rs.getBigDecimal("base_price"),
-                                    rs.getBigDecimal("discount"),
-                                    rs.getBigDecimal("tax_rate")
-                            )
-                    );
-                }
-                return result;
-            });
+            return queryExecutor.queryForMap("batchFetchPricingData", params, orderIds.size(),
+                    OrderRowMappers.ORDER_ID, OrderRowMappers.pricingData());
         });
     }
 
@@ -280,25 +258,15 @@ public class OrderRepository {
     public Optional<TradingPartnerStatus> findTradingPartnerByName(String partnerName) {
         log.debug("Looking up trading partner status: {}", partnerName);
         
-        String sql = sqlLoader.load("findTradingPartnerByName");
-        
         MapSqlParameterSource params = new MapSqlParameterSource("partnerName", partnerName);
         
-        try {
-            return Optional.ofNullable(
-                jdbcTemplate.queryForObject(sql, params, (rs, rowNum) -> new TradingPartnerStatus(
-                    rs.getString("partner_id"),
-                    rs.getString("partner_name"),
-                    rs.getString("status"),
-                    rs.getTimestamp("updated_at") != null 
-                        ? rs.getTimestamp("updated_at").toLocalDateTime() 
-                        : null
-                ))
-            );
-        } catch (EmptyResultDataAccessException e) {
+        Optional<TradingPartnerStatus> status = DataAccessUtils.optionalResult(
+            queryExecutor.queryForList("findTradingPartnerByName", params, 1, OrderRowMappers.tradingPartnerStatus(strings))
+        );
+        if (status.isEmpty()) {
             log.warn("Trading partner not found: {}", partnerName);
-            return Optional.empty();
         }
+        return status;
     }
 
     /**
@@ -308,40 +276,42 @@ public class OrderRepository {
     public Optional<BusinessUnitStatus> findBusinessUnitByName(String unitName) {
         log.debug("Looking up business unit status: {}", unitName);
         
-        String sql = sqlLoader.load("findBusinessUnitByName");
-        
         MapSqlParameterSource params = new MapSqlParameterSource("unitName", unitName);
         
-        try {
-            return Optional.ofNullable(
-                jdbcTemplate.queryForObject(sql, params, (rs, rowNum) -> new BusinessUnitStatus(
-                    rs.getString("unit_id"),
-                    rs.getString("unit_name"),
-                    rs.getString("status"),
-                    rs.getTimestamp("updated_at") != null 
-                        ? rs.getTimestamp("updated_at").toLocalDateTime() 
-                        : null
-                ))
-            );
-        } catch (EmptyResultDataAccessException e) {
+        Optional<BusinessUnitStatus> status = DataAccessUtils.optionalResult(
+            queryExecutor.queryForList("findBusinessUnitByName", params, 1, OrderRowMappers.businessUnitStatus(strings))
+        );
+        if (status.isEmpty()) {
             log.warn("Business unit not found: {}", unitName);
-            return Optional.empty();
         }
+        return status;
     }
 
 
 
+    /**
+     * Wraps each attempt of a retried query (e.g. circuit breaker + concurrency limit).
+     * The retry backoff runs between attempts, outside the guard, so a sleeping retry
+     * holds no permit. Exceptions other than DataAccessException - such as a guard
+     * rejecting the call - are not retried.
+     */
+    @FunctionalInterface
+    public interface AttemptGuard {
+        <T> T call(Supplier<T> attempt);
+    }
+
     /**
      * Retry wrapper for transient DB failures.
      * Retries up to `maxRetries` times (configurable) with exponential backoff and jitter.
+     * Each attempt runs through the guard, if any.
      */
-    private <T> T withRetry(String operationName, Supplier<T> operation) {
+    private <T> T withRetry(String operationName, AttemptGuard guard, Supplier<T> operation) {
         int attempt = 0;
         final int totalAttempts = maxRetries + 1;
         while (true) {
             try {
                 attempt++;
-                return operation.get();
+                return guard != null ? guard.call(operation) : operation.get();
             } catch (DataAccessException e) {
                 if (attempt > maxRetries) {
                     log.error("Operation '{}' failed after {} attempts: {}",
@@ -0,0 +1,90 @@
+package com.example.repository;
+
+import com.example.model.BusinessUnitStatus;
+import com.example.model.CustomerData;
+import com.example.model.InventoryData;
+import com.example.model.Order;
+import com.example.model.PricingData;
+import com.example.model.TradingPartnerStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Column-index mappers for the queries in sql/queries.sql.
+ *
+ * Each factory returns a new IndexedRowMapper (one per query execution).
+ * Low-cardinality columns go through the StringDictionary:
+ * - orders.status, customers.tier
+ * - inventory.sku, inventory.warehouse_location
+ * - trading_partners.status, business_units.status
+ *
+ * Column names match the select lists in queries.sql and its dialect overrides.
+ */
+public final class OrderRowMappers {
+
+    /** Key column of the batch fetch queries (OrderRepository maps are keyed by it). */
+    public static final String ORDER_ID = "order_id";
+
+    private OrderRowMappers() {
+    }
+
+    public static IndexedRowMapper<Order> order(StringDictionary strings) {
+        return new IndexedRowMapper<>((rs, c) -> new Order(
+                rs.getString(c[0]),
+                rs.getString(c[1]),
+                strings.intern(rs.getString(c[2])),
+                rs.getBigDecimal(c[3]),
+                rs.getTimestamp(c[4]).toLocalDateTime()
+        ), ORDER_ID, "customer_id", "status", "amount", "created_at");
+    }
+
+    public static IndexedRowMapper<CustomerData> customerData(StringDictionary strings) {
+        return new IndexedRowMapper<>((rs, c) -> new CustomerData(
+                rs.getString(c[0]),
+                rs.getString(c[1]),
+                rs.getString(c[2]),
+                strings.intern(rs.getString(c[3]))
+        ), "customer_id", "name", "email", "tier");
+    }
+
+    public static IndexedRowMapper<InventoryData> inventoryData(StringDictionary strings) {
+        return new IndexedRowMapper<>((rs, c) -> new InventoryData(
+                rs.getString(c[0]),
+                strings.intern(rs.getString(c[1])),
+                rs.getInt(c[2]),
+                strings.intern(rs.getString(c[3]))
+        ), ORDER_ID, "sku", "quantity_available", "warehouse_location");
+    }
+
+    public static IndexedRowMapper<PricingData> pricingData() {
+        return new IndexedRowMapper<>((rs, c) -> new PricingData(
+                rs.getString(c[0]),
+                rs.getBigDecimal(c[1]),
+                rs.getBigDecimal(c[2]),
+                rs.getBigDecimal(c[3])
+        ), ORDER_ID, "base_price", "discount", "tax_rate");
+    }
+
+    public static IndexedRowMapper<TradingPartnerStatus> tradingPartnerStatus(StringDictionary strings) {
+        return new IndexedRowMapper<>((rs, c) -> new TradingPartnerStatus(
+                rs.getString(c[0]),
+                rs.getString(c[1]),
+                strings.intern(rs.getString(c[2])),
+                toLocalDateTime(rs.getTimestamp(c[3]))
+        ), "partner_id", "partner_name", "status", "updated_at");
+    }
+
+    public static IndexedRowMapper<BusinessUnitStatus> businessUnitStatus(StringDictionary strings) {
+        return new IndexedRowMapper<>((rs, c) -> new BusinessUnitStatus(
+                rs.getString(c[0]),
+                rs.getString(c[1]),
+                strings.intern(rs.getString(c[2])),
+                toLocalDateTime(rs.getTimestamp(c[3]))
+        ), "unit_id", "unit_name", "status", "updated_at");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks every SqlTemplateLoader query against the database at startup.
+ *
+ * Each query is prepared with its named parameters replaced by "?" and its
+ * result metadata requested, which makes the database parse and resolve it
+ * (H2 on prepare, SQL Server on getMetaData) without executing it. A missing
+ * table, column or syntax error fails application startup with every broken
+ * query listed, instead of failing the first event that needs it.
+ *
+ * Depends on NamedParameterJdbcTemplate, so spring.sql.init schema scripts
+ * have run first. Disable with app.db.validate-queries=false (e.g. when the
+ * database may be unreachable at boot).
+ */
+@Component
+@Slf4j
+public class SqlQueryValidator implements InitializingBean {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SqlTemplateLoader sqlLoader;
+    private final boolean enabled;
+
+    public SqlQueryValidator(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            SqlTemplateLoader sqlLoader,
+            @Value("${app.db.validate-queries:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlLoader = sqlLoader;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            log.info("SQL query validation disabled");
+            return;
+        }
+        List<String> failures = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<List<String>>) this::validate);
+        if (failures != null && !failures.isEmpty()) {
+            throw new IllegalStateException("Invalid SQL in queries.sql (dialect=" + sqlLoader.getDialect() + "):\n  "
+                    + String.join("\n  ", failures));
+        }
+        log.info("Validated {} SQL queries against the database", sqlLoader.names().size());
+    }
+
+    /**
+     * @return one "name: error" entry per query the database rejected
+     */
+    List<String> validate(Connection connection) {
+        List<String> failures = new ArrayList<>();
+        for (String name : sqlLoader.names().stream().sorted().toList()) {
+            String sql = NamedParameterUtils.parseSqlStatementIntoString(sqlLoader.load(name));
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.getMetaData();
+            } catch (SQLException e) {
+                failures.add(name + ": " + e.getMessage());
+            }
+        }
+        return failures;
+    }
+}
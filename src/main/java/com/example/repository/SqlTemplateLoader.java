@@ -1,60 +1,159 @@
 package com.example.repository;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
 
+/**
+ * Named SQL queries, parsed once at construction into an immutable map.
+ *
+ * - Base queries come from classpath:sql/queries.sql ("-- name: xyz" blocks)
+ * - Dialect overrides come from classpath*:sql/<dialect>/*.sql in the same
+ *   format; each may only replace a query that exists in queries.sql
+ * - The dialect is app.db.dialect, or with "auto" the JDBC subprotocol of
+ *   spring.datasource.url (jdbc:sqlserver:... → sqlserver, jdbc:h2:... → h2)
+ *
+ * load() is a plain map lookup, safe from any number of threads.
+ * SqlQueryValidator checks every query against the database at startup.
+ */
 @Component
+@Slf4j
 public class SqlTemplateLoader {
 
-    private final ResourceLoader resourceLoader;
-    private final Map<String, String> queriesCache = new HashMap<>();
+    static final String QUERIES_LOCATION = "classpath:sql/queries.sql";
+    private static final String NAME_MARKER = "-- name:";
+
+    private final String dialect;
+    private final Map<String, String> queries;
 
     public SqlTemplateLoader(ResourceLoader resourceLoader) {
-        this.resourceLoader = resourceLoader;
+        this(resourceLoader, null);
+    }
+
+    /**
+     * @param dialect Override directory under sql/ (null or blank for base queries only)
+     */
+    public SqlTemplateLoader(ResourceLoader resourceLoader, String dialect) {
+        this.dialect = dialect == null || dialect.isBlank() ? null : dialect.toLowerCase(Locale.ROOT);
+        Map<String, String> parsed = parse(resourceLoader.getResource(QUERIES_LOCATION));
+        int overridden = this.dialect == null ? 0 : applyOverrides(resourceLoader, parsed);
+        this.queries = Map.copyOf(parsed);
+        log.info("SqlTemplateLoader initialized: {} queries, dialect={}, {} overridden",
+                queries.size(), this.dialect != null ? this.dialect : "none", overridden);
+    }
+
+    @Autowired
+    public SqlTemplateLoader(
+            ResourceLoader resourceLoader,
+            @Value("${app.db.dialect:auto}") String dialect,
+            @Value("${spring.datasource.url:}") String jdbcUrl) {
+        this(resourceLoader, "auto".equalsIgnoreCase(dialect) ? dialectOf(jdbcUrl) : dialect);
     }
 
     public String load(String name) {
-        // Load and parse the combined queries.sql (only source of truth)
-        if (queriesCache.isEmpty()) {
-            Resource combined = resourceLoader.getResource("classpath:sql/queries.sql");
-            try (InputStream in = combined.getInputStream(); Scanner s = new Scanner(in, StandardCharsets.UTF_8.name())) {
-                String currentName = null;
-                StringBuilder sb = new StringBuilder();
-                while (s.hasNextLine()) {
-                    String line = s.nextLine();
-                    if (line.trim().startsWith("-- name:")) {
-                        if (currentName != null) {
-                            queriesCache.put(currentName, sb.toString().trim());
-                        }
-                        currentName = line.trim().substring("-- name:".length()).trim();
-                        sb = new StringBuilder();
-                    } else {
-                        if (currentName != null) {
-                            sb.append(line).append('\n');
-                        }
-                    }
+        String query = queries.get(name);
+        if (query == null) {
+            throw new IllegalArgumentException("SQL query not found in queries.sql: " + name);
+        }
+        return query;
+    }
+
+    /**
+     * All query names (immutable).
+     */
+    public Set<String> names() {
+        return queries.keySet();
+    }
+
+    public String getDialect() {
+        return dialect;
+    }
+
+    /**
+     * JDBC subprotocol: jdbc:sqlserver://host → sqlserver. Null when the URL is not a JDBC URL.
+     */
+    static String dialectOf(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            return null;
+        }
+        int end = jdbcUrl.indexOf(':', "jdbc:".length());
+        return end < 0 ? null : jdbcUrl.substring("jdbc:".length(), end);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private int applyOverrides(ResourceLoader resourceLoader, Map<String, String> base) {
+        String pattern = "classpath*:sql/" + dialect + "/*.sql";
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver(resourceLoader).getResources(pattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list SQL overrides: " + pattern, e);
+        }
+        // Sorted so a duplicate name is reported the same way on every start
+        Arrays.sort(resources, Comparator.comparing(resource -> Objects.toString(resource.getFilename(), "")));
+
+        Map<String, String> overrides = new HashMap<>();
+        for (Resource resource : resources) {
+            parse(resource).forEach((name, sql) -> {
+                if (!base.containsKey(name)) {
+                    throw new IllegalStateException("SQL override " + name + " in " + resource.getFilename()
+                            + " does not match a query in queries.sql");
                 }
-                if (currentName != null) {
-                    queriesCache.put(currentName, sb.toString().trim());
+                if (overrides.putIfAbsent(name, sql) != null) {
+                    throw new IllegalStateException("SQL override " + name + " is defined more than once in sql/"
+                            + dialect + "/");
                 }
-            } catch (IOException e) {
-                throw new UncheckedIOException("Failed to load combined SQL queries file: queries.sql", e);
-            }
+            });
         }
+        base.putAll(overrides);
+        overrides.keySet().forEach(name -> log.debug("SQL query {} overridden for dialect {}", name, dialect));
+        return overrides.size();
+    }
 
-        String query = queriesCache.get(name);
-        if (query == null) {
-            throw new IllegalArgumentException("SQL query not found in queries.sql: " + name);
+    private static Map<String, String> parse(Resource resource) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        try (InputStream in = resource.getInputStream(); Scanner s = new Scanner(in, StandardCharsets.UTF_8)) {
+            String currentName = null;
+            StringBuilder sb = new StringBuilder();
+            while (s.hasNextLine()) {
+                String line = s.nextLine();
+                if (line.trim().startsWith(NAME_MARKER)) {
+                    if (currentName != null) {
+                        parsed.put(currentName, sb.toString().trim());
+                    }
+                    currentName = line.trim().substring(NAME_MARKER.length()).trim();
+                    sb = new StringBuilder();
+                } else if (currentName != null) {
+                    sb.append(line).append('\n');
+                }
+            }
+            if (currentName != null) {
+                parsed.put(currentName, sb.toString().trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load SQL queries file: " + resource.getDescription(), e);
         }
-        return query;
+        return parsed;
     }
 }
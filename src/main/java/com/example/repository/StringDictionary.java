@@ -0,0 +1,61 @@
+package com.example.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded canonical-instance dictionary for low-cardinality column values.
+ *
+ * The driver allocates a new String for every getString(), so 10k preloaded
+ * rows hold 10k copies of "GOLD", a handful of warehouse locations and the
+ * same SKUs. intern() swaps each for one shared instance, letting the copy
+ * die young instead of being retained by the data cache.
+ *
+ * - Values are admitted until app.db.string-dictionary.max-size is reached,
+ *   then returned as-is (no eviction: the low-cardinality values this is
+ *   used for are admitted first and stay hot)
+ * - Lock-free reads; safe from any number of threads
+ * - Only for columns with a small, stable set of values (tier, status, sku,
+ *   warehouse) - ids would fill the dictionary without any reuse
+ */
+@Component
+@Slf4j
+public class StringDictionary {
+
+    static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final int maxSize;
+    private final Map<String, String> values;
+
+    public StringDictionary(@Value("${app.db.string-dictionary.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.values = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+        log.info("StringDictionary initialized with max size: {}", maxSize);
+    }
+
+    /**
+     * @return the canonical instance equal to value, or value itself when it is null or the dictionary is full
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -38,8 +38,8 @@ public class DeadLetterProcessor implements Processor {
                     event.eventId(), event.eventType(), 
                     event.tradingPartnerName(), event.businessUnitName());
             
-            // Use existing DeadLetterPublisher infrastructure
-            // Could be enhanced to send to Kafka DLQ topic
+            int attempt = exchange.getIn().getHeader(Exchange.REDELIVERY_COUNTER, 0, Integer.class) + 1;
+            deadLetterPublisher.sendEventFailure(event, cause, attempt);
         }
         
         // Log for monitoring/alerting
@@ -1,6 +1,9 @@
 package com.example.route;
 
 import com.example.config.AppMetrics;
+import com.example.config.StageMetrics;
+import com.example.config.StageMetrics.Stage;
+import com.example.logging.PipelineLogging;
 import com.example.model.*;
 import com.example.service.DeadLetterPublisher;
 import com.example.service.OrderFetchService;
@@ -8,11 +11,17 @@ import com.example.service.OrderProcessingOrchestrator;
 import com.example.service.PartnerValidationService;
 import com.example.service.PartnerValidationService.ValidationResult;
 import com.example.service.cache.EventDeduplicationService;
+import com.example.service.flight.MongoFetchEvent;
+import com.example.service.flight.PipelineStageEvent;
+import com.example.service.flight.ValidationEvent;
+import com.example.service.kafka.KafkaLagMonitor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.component.kafka.KafkaConstants;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -45,9 +54,37 @@ public class OrderEventProcessor implements Processor {
     private final PartnerValidationService partnerValidationService;
     private final AppMetrics metrics;
 
+    @Autowired(required = false)
+    private StageMetrics stageMetrics;
+
+    @Autowired(required = false)
+    private PipelineLogging pipelineLogging;
+
+    @Autowired(required = false)
+    private KafkaLagMonitor lagMonitor;
+
+    /**
+     * Event id, partner and unit are kept in MDC while the event is processed;
+     * the virtual thread executor propagates them to stage tasks (JFR events, logs).
+     */
     @Override
     public void process(Exchange exchange) throws Exception {
         OrderEvent event = exchange.getIn().getBody(OrderEvent.class);
+        if (lagMonitor != null) {
+            lagMonitor.onRecordStart(exchange.getIn());
+        }
+        putEventContext(event);
+        try {
+            processEvent(event, exchange);
+            if (lagMonitor != null) {
+                lagMonitor.onRecordProcessed(exchange.getIn());
+            }
+        } finally {
+            clearEventContext();
+        }
+    }
+
+    private void processEvent(OrderEvent event, Exchange exchange) throws Exception {
         log.info("Received Order Event: {}, exchangeid: {}", event, exchange.getExchangeId());
         // ═══════════════════════════════════════════════════════════════
         // DEDUPLICATION CHECK - Skip if already processed
@@ -65,7 +102,11 @@ public class OrderEventProcessor implements Processor {
         // PARTNER/UNIT VALIDATION - Skip if both inactive (cached lookups)
         // Single DB calls per partner/unit, cached for 10 minutes
         // ═══════════════════════════════════════════════════════════════
+        ValidationEvent validationEvent = new ValidationEvent();
+        validationEvent.begin();
         ValidationResult validation = partnerValidationService.validateEvent(event);
+        validationEvent.setShouldProcess(validation.shouldProcess());
+        validationEvent.finish(0);
 //        if (!validation.shouldProcess()) {
 //            log.warn("Skipping event {} - {}", event.eventId(), validation.skipReason());
 //            metrics.incrementSkippedEvents();
@@ -80,7 +121,8 @@ public class OrderEventProcessor implements Processor {
 
         try {
             // STEP 1: Fetch orders from MongoDB
-            List<Order> orders = fetchOrders(event);
+            FetchedOrders fetched = fetchOrders(event);
+            List<Order> orders = fetched.orders();
             
             if (orders.isEmpty()) {
                 commitKafkaOffset(exchange);
@@ -90,18 +132,20 @@ public class OrderEventProcessor implements Processor {
 
             // STEP 2: Process orders (preload → business logic → publish)
             boolean useGrouping = event.requiresGrouping();
-            ProcessingResult result = processingOrchestrator.processOrders(orders, useGrouping);
+            ProcessingResultWithTiming result =
+                    processingOrchestrator.processOrdersWithTiming(orders, useGrouping, event.eventType());
 
-            // STEP 3: Handle failures
-            if (!result.failures().isEmpty()) {
-                deadLetterPublisher.send(result.failures());
+            // STEP 3: Handle failures (publish failures are already dead-lettered)
+            List<FailedOrder> deadLetters = result.failuresToDeadLetter();
+            if (!deadLetters.isEmpty()) {
+                deadLetterPublisher.send(event, deadLetters);
             }
 
             // STEP 4: Commit Kafka offset
             commitKafkaOffset(exchange);
             
             // Record metrics and log completion
-            recordCompletion(event, result, startTime, exchange);
+            recordCompletion(event, result, fetched.fetchTimeMs(), startTime, exchange);
             
         } catch (Exception e) {
             log.error("Failed to process event {}: {}", event.eventId(), e.getMessage(), e);
@@ -109,19 +153,27 @@ public class OrderEventProcessor implements Processor {
         }
     }
 
-    private List<Order> fetchOrders(OrderEvent event) {
+    private FetchedOrders fetchOrders(OrderEvent event) {
         long mongoStart = System.currentTimeMillis();
+        MongoFetchEvent fetchEvent = new MongoFetchEvent();
+        fetchEvent.begin();
         List<Order> orders = orderFetchService.fetchOrdersForEvent(event);
-        log.info("Fetched {} orders from MongoDB in {}ms", 
-                orders.size(), System.currentTimeMillis() - mongoStart);
-        return orders;
+        fetchEvent.finish(orders.size());
+        long fetchTime = System.currentTimeMillis() - mongoStart;
+        recordStage(Stage.FETCH, event, fetchTime);
+        log.info("Fetched {} orders from MongoDB in {}ms", orders.size(), fetchTime);
+        return new FetchedOrders(orders, fetchTime);
     }
 
-    private void recordCompletion(OrderEvent event, ProcessingResult result, 
+    private void recordCompletion(OrderEvent event, ProcessingResultWithTiming result, long fetchTime,
                                    long startTime, Exchange exchange) {
         long totalTime = System.currentTimeMillis() - startTime;
         metrics.getTotalEventTimer().record(totalTime, TimeUnit.MILLISECONDS);
+        recordStage(Stage.TOTAL, event, totalTime);
         exchange.getIn().setHeader("eventId", event.eventId());
+        if (pipelineLogging != null) {
+            pipelineLogging.eventSummary(event, result, fetchTime, totalTime);
+        }
         
         log.info("╔══════════════════════════════════════════════════════════════╗");
         log.info("║ EVENT COMPLETE: {} in {}ms                                    ", event.eventId(), totalTime);
@@ -130,6 +182,33 @@ public class OrderEventProcessor implements Processor {
         log.info("╚══════════════════════════════════════════════════════════════╝");
     }
 
+    private void putEventContext(OrderEvent event) {
+        if (event == null) {
+            return;
+        }
+        putIfPresent(PipelineStageEvent.EVENT_ID, event.eventId());
+        putIfPresent(PipelineStageEvent.TRADING_PARTNER, event.tradingPartnerName());
+        putIfPresent(PipelineStageEvent.BUSINESS_UNIT, event.businessUnitName());
+    }
+
+    private void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+
+    private void clearEventContext() {
+        MDC.remove(PipelineStageEvent.EVENT_ID);
+        MDC.remove(PipelineStageEvent.TRADING_PARTNER);
+        MDC.remove(PipelineStageEvent.BUSINESS_UNIT);
+    }
+
+    private void recordStage(Stage stage, OrderEvent event, long millis) {
+        if (stageMetrics != null) {
+            stageMetrics.record(stage, event.eventType(), event.requiresGrouping(), millis);
+        }
+    }
+
     private void logEventReceived(OrderEvent event) {
         log.info("╔══════════════════════════════════════════════════════════════╗");
         log.info("║ Processing EVENT: {} | Type: {}                               ", 
@@ -152,4 +231,10 @@ public class OrderEventProcessor implements Processor {
             log.warn("Manual commit header not found - auto-commit may be enabled");
         }
     }
+
+    /**
+     * Fetched orders and the Mongo fetch time, measured once in fetchOrders.
+     */
+    private record FetchedOrders(List<Order> orders, long fetchTimeMs) {
+    }
 }
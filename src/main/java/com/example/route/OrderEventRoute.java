@@ -1,6 +1,7 @@
 package com.example.route;
 
 import com.example.model.OrderEvent;
+import com.example.service.kafka.PollTimestampInterceptor;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
@@ -27,6 +28,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class OrderEventRoute extends RouteBuilder {
 
+    /**
+     * Route logs go to an application logger (not the route id) so the
+     * SUMMARY logging mode samples them with the rest of com.example.
+     */
+    static final String ROUTE_LOG = "com.example.route.OrderEventRoute";
+
     @Value("${app.kafka.topic.order-events:order-events}")
     private String orderEventsTopic;
     
@@ -80,24 +87,24 @@ public class OrderEventRoute extends RouteBuilder {
 
                                 // Ensure trace context is cleared after the exchange completes (success or failure)
                                 .onCompletion()
-                .log("Clearing trace context ,Completed exchange with ID: {}  ${exchangeId}")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "Clearing trace context ,Completed exchange with ID: {}  ${exchangeId}")
                                         .process(exchange -> TraceIdProcessor.clearTraceContext(exchange))
                                 .end()
                 
-                .log(LoggingLevel.INFO, "╔══════════════════════════════════════════════════════════════╗")
-                .log(LoggingLevel.INFO, "║ Received Kafka message from topic: ${headers.kafka.TOPIC}    ║")
-                .log(LoggingLevel.INFO, "║ Partition: ${headers.kafka.PARTITION} Offset: ${headers.kafka.OFFSET}")
-                .log(LoggingLevel.INFO, "╚══════════════════════════════════════════════════════════════╝")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "╔══════════════════════════════════════════════════════════════╗")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "║ Received Kafka message from topic: ${headers.kafka.TOPIC}    ║")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "║ Partition: ${headers.kafka.PARTITION} Offset: ${headers.kafka.OFFSET}")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "╚══════════════════════════════════════════════════════════════╝")
                 
                 // Deserialize JSON to OrderEvent
                 .unmarshal().json(JsonLibrary.Jackson, OrderEvent.class)
                 
-                .log(LoggingLevel.INFO, "Processing event: ${body.eventId} | Type: ${body.eventType}")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "Processing event: ${body.eventId} | Type: ${body.eventType}")
                 
                 // Process the order event
                 .process("orderEventProcessor")
                 
-                .log(LoggingLevel.INFO, "Successfully processed event: ${headers.eventId}")
+                .log(LoggingLevel.INFO, ROUTE_LOG, "Successfully processed event: ${headers.eventId}")
                 
                 // end of route
                 ;
@@ -120,11 +127,13 @@ public class OrderEventRoute extends RouteBuilder {
                 "&maxPollIntervalMs=600000" +        // 10 minutes
                 "&fetchMinBytes=50000" +             // 50KB min per fetch
                 "&fetchWaitMaxMs=500" +              // Max 500ms wait
-                "&consumersCount=1",                 // Single consumer per route instance
+                "&consumersCount=1" +                // Single consumer per route instance
+                "&interceptorClasses=%s",            // Poll timestamp header for KafkaLagMonitor
                 orderEventsTopic,
                 kafkaBootstrapServers,
                 consumerGroupId,
-                maxPollRecords
+                maxPollRecords,
+                PollTimestampInterceptor.class.getName()
         );
     }
 }
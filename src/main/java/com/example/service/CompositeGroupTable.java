@@ -0,0 +1,103 @@
+package com.example.service;
+
+import com.example.model.ProcessedOrder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass aggregation table used by OrderGroupingService.
+ *
+ * Open addressing with linear probing over parallel arrays, pre-sized from the
+ * order count (load factor <= 0.5) so a grouping pass never rehashes.
+ * Each slot accumulates the group's orders, running total and estimated bytes
+ * while the orders are scanned once - no per-group re-streaming afterwards.
+ *
+ * Groups are returned in first-seen order, which keeps message order stable.
+ * Not thread-safe: one instance per grouping call.
+ */
+final class CompositeGroupTable {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Running aggregate for one grouping key.
+     */
+    static final class Group {
+        final String key;
+        final List<ProcessedOrder> orders = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long estimatedBytes;
+
+        private Group(String key) {
+            this.key = key;
+        }
+    }
+
+    private final int[] hashes;
+    private final Group[] slots;
+    private final int mask;
+    private final List<Group> groups;
+
+    /**
+     * @param expectedKeys Upper bound of distinct keys (the order count is always safe)
+     */
+    CompositeGroupTable(int expectedKeys) {
+        int capacity = tableSizeFor(Math.max(expectedKeys, 2) * 2);
+        this.hashes = new int[capacity];
+        this.slots = new Group[capacity];
+        this.mask = capacity - 1;
+        this.groups = new ArrayList<>(Math.min(expectedKeys, 1024));
+    }
+
+    /**
+     * Add an order to the group for {@code key}, creating the group on first sight.
+     */
+    void add(String key, ProcessedOrder order, long orderBytes) {
+        int hash = spread(key.hashCode());
+        int index = hash & mask;
+
+        Group group;
+        while (true) {
+            group = slots[index];
+            if (group == null) {
+                group = new Group(key);
+                slots[index] = group;
+                hashes[index] = hash;
+                groups.add(group);
+                break;
+            }
+            if (hashes[index] == hash && group.key.equals(key)) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+
+        group.orders.add(order);
+        if (order.finalPrice() != null) {
+            group.totalAmount = group.totalAmount.add(order.finalPrice());
+        }
+        group.estimatedBytes += orderBytes;
+    }
+
+    /**
+     * Groups in first-seen order.
+     */
+    List<Group> groups() {
+        return groups;
+    }
+
+    int size() {
+        return groups.size();
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.min(size, MAX_CAPACITY);
+    }
+}
@@ -1,29 +1,59 @@
 package com.example.service;
 
+import com.example.config.TraceContextManager;
+import com.example.model.DeadLetterBatch;
 import com.example.model.FailedOrder;
+import com.example.model.OrderEvent;
+import com.example.service.deadletter.KafkaDeadLetterSender;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 /**
  * Dead Letter Publisher - sends failed orders to a dead-letter topic.
- * In production, this would publish to a Kafka DLQ or separate error handling system.
+ *
+ * Failures are always logged. With app.dlq.kafka.enabled=true they are also
+ * published (asynchronously) to the Kafka DLQ topic as one batch per event,
+ * falling back to the local DLQ journal when Kafka is unreachable.
  */
 @Service
 @Slf4j
 public class DeadLetterPublisher {
 
+    @Autowired(required = false)
+    private KafkaDeadLetterSender kafkaSender;
+
     /**
-     * Send failed orders to dead-letter queue.
+     * Send failed orders to dead-letter queue (no originating event, first attempt).
      */
     public void send(List<FailedOrder> failedOrders) {
+        send(null, failedOrders, 1);
+    }
+
+    /**
+     * Send failed orders of an event to dead-letter queue (first attempt).
+     */
+    public void send(OrderEvent event, List<FailedOrder> failedOrders) {
+        send(event, failedOrders, 1);
+    }
+
+    /**
+     * Send failed orders to dead-letter queue.
+     *
+     * @param event    Originating event, or null if unknown
+     * @param attempt  Delivery attempts made before giving up
+     */
+    public void send(OrderEvent event, List<FailedOrder> failedOrders, int attempt) {
         if (failedOrders.isEmpty()) {
             return;
         }
 
-        log.warn("Publishing {} failed orders to Dead Letter Queue", failedOrders.size());
-        
+        log.warn("Publishing {} failed orders to Dead Letter Queue (event: {}, attempt: {})",
+                failedOrders.size(), event != null ? event.eventId() : "n/a", attempt);
+
         for (FailedOrder failed : failedOrders) {
             log.warn("  DLQ: Order {} failed - {} ({})", 
                     failed.order().id(), 
@@ -31,9 +61,22 @@ public class DeadLetterPublisher {
                     failed.exceptionType());
         }
 
-        // In production:
-        // for (FailedOrder failed : failedOrders) {
-        //     kafkaTemplate.send("order-events-dlq", failed.order().id(), failed);
-        // }
+        if (kafkaSender != null) {
+            kafkaSender.send(DeadLetterBatch.of(event, List.copyOf(failedOrders), attempt,
+                    MDC.get(TraceContextManager.TRACE_ID)));
+        }
+    }
+
+    /**
+     * Send an event that failed as a whole (no per-order results) to dead-letter queue.
+     */
+    public void sendEventFailure(OrderEvent event, Throwable cause, int attempt) {
+        log.warn("Publishing failed event {} to Dead Letter Queue (attempt: {}): {}",
+                event.eventId(), attempt, cause != null ? cause.getMessage() : "Unknown");
+
+        if (kafkaSender != null) {
+            kafkaSender.send(DeadLetterBatch.eventFailure(event, cause, attempt,
+                    MDC.get(TraceContextManager.TRACE_ID)));
+        }
     }
 }
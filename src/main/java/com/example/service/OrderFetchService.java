@@ -5,8 +5,11 @@ import com.example.model.Order;
 import com.example.model.OrderDocument;
 import com.example.model.OrderEvent;
 import com.example.repository.MongoOrderRepository;
+import com.example.service.resilience.DependencyGuard;
+import com.example.service.resilience.DependencyUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +36,9 @@ import java.util.stream.Collectors;
  * - No network overhead of HTTP
  * 
  * Note: MongoDB is optional. When disabled, mock orders are returned.
+ * 
+ * Reads run under the mongoGuard (circuit breaker + bulkhead): while MongoDB is
+ * failing or slow, fetches fail fast with DependencyUnavailableException.
  */
 @Slf4j
 @Service
@@ -46,6 +53,10 @@ public class OrderFetchService {
     @Autowired
     private AppMetrics metrics;
 
+    @Autowired(required = false)
+    @Qualifier("mongoGuard")
+    private DependencyGuard mongoGuard;
+
     @Value("${app.mongodb.enabled:false}")
     private boolean mongoEnabled;
 
@@ -63,7 +74,7 @@ public class OrderFetchService {
         long startTime = System.currentTimeMillis();
 
         try {
-            List<OrderDocument> documents = fetchOrderDocuments(event);
+            List<OrderDocument> documents = guarded(() -> fetchOrderDocuments(event));
             
             List<Order> orders = documents.stream()
                     .map(OrderDocument::toOrder)
@@ -75,6 +86,9 @@ public class OrderFetchService {
                     orders.size(), duration, event.eventId());
 
             return orders;
+        } catch (DependencyUnavailableException e) {
+            log.warn("Skipping MongoDB fetch for event {}: {}", event.eventId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error fetching orders from MongoDB: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch orders from MongoDB", e);
@@ -116,6 +130,13 @@ public class OrderFetchService {
         return mongoOrderRepository.findTop100ByStatusOrderByCreatedAtAsc("PENDING");
     }
 
+    /**
+     * Run a MongoDB call under the mongoGuard (circuit breaker + bulkhead), if configured.
+     */
+    private <T> T guarded(Supplier<T> call) {
+        return mongoGuard == null ? call.get() : mongoGuard.supply(call);
+    }
+
     private boolean hasValue(String value) {
         return value != null && !value.isBlank();
     }
@@ -130,7 +151,7 @@ public class OrderFetchService {
         }
 
         long startTime = System.currentTimeMillis();
-        List<Order> orders = mongoOrderRepository.findByOrderIdIn(orderIds).stream()
+        List<Order> orders = guarded(() -> mongoOrderRepository.findByOrderIdIn(orderIds)).stream()
                 .map(OrderDocument::toOrder)
                 .collect(Collectors.toList());
         
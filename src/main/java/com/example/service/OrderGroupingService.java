@@ -2,23 +2,35 @@ package com.example.service;
 
 import com.example.model.GroupedOrderMessage;
 import com.example.model.ProcessedOrder;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Business logic for grouping orders before sending to WMQ.
- * 
+ *
  * Grouping strategies:
  * 1. BY_CUSTOMER - Group all orders from same customer into one message
  * 2. BY_WAREHOUSE - Group orders shipping from same warehouse
  * 3. BY_TIER - Group by customer tier (GOLD, SILVER, BRONZE)
  * 4. HIGH_VALUE - Group orders above threshold, send others individually
- * 5. CUSTOM - Implement your own grouping logic
+ * 5. COMPOSITE - Group by several dimensions at once (app.grouping.composite-keys),
+ *    e.g. CUSTOMER,WAREHOUSE produces keys like "CUST-001|WAREHOUSE-A"
+ * 6. CUSTOM - Implement your own grouping logic
+ *
+ * Keyed strategies (1, 2, 3, 5) run as a single pass over a pre-sized
+ * open-addressing table that accumulates orders, totals and estimated size
+ * per key - see CompositeGroupTable.
+ *
+ * Every group is capped by order count and by estimated serialized size.
+ * Oversized groups are split into parts that share one groupId and carry
+ * sequence numbers; each part is published as its own message (in parallel).
  */
 @Service
 @Slf4j
@@ -27,12 +39,62 @@ public class OrderGroupingService {
     @Value("${app.grouping.strategy:BY_CUSTOMER}")
     private String groupingStrategy;
 
+    @Value("${app.grouping.composite-keys:CUSTOMER,WAREHOUSE}")
+    private String compositeKeys;
+
     @Value("${app.grouping.high-value-threshold:1000}")
     private BigDecimal highValueThreshold;
 
     @Value("${app.grouping.min-group-size:2}")
     private int minGroupSize;
 
+    @Value("${app.grouping.max-orders-per-message:500}")
+    private int maxOrdersPerMessage;
+
+    @Value("${app.grouping.max-message-bytes:1048576}")
+    private long maxMessageBytes;
+
+    /** Parsed composite-keys and the groupType they produce, fixed at startup. */
+    private List<GroupingDimension> compositeDimensions;
+    private String compositeGroupType;
+
+    /**
+     * Approximate JSON bytes of one ProcessedOrder excluding its variable
+     * string values (field names, quotes, separators, ISO timestamp).
+     */
+    static final int ORDER_FIXED_BYTES = 180;
+
+    /**
+     * Approximate JSON bytes of the GroupedOrderMessage envelope
+     * (groupId, key, type, totals, timestamps, sequence fields).
+     */
+    static final int GROUP_ENVELOPE_BYTES = 320;
+
+    /**
+     * Separator between dimension values in a composite grouping key.
+     */
+    static final char KEY_SEPARATOR = '|';
+
+    /**
+     * Dimensions that can be combined into a grouping key.
+     */
+    enum GroupingDimension {
+        CUSTOMER(o -> o.customerId() != null ? o.customerId() : "UNKNOWN"),
+        WAREHOUSE(o -> o.warehouseLocation() != null ? o.warehouseLocation() : "UNKNOWN"),
+        TIER(o -> o.customerTier() != null ? o.customerTier() : "STANDARD"),
+        STATUS(o -> o.status() != null ? o.status() : "UNKNOWN");
+
+        private final Function<ProcessedOrder, String> extractor;
+
+        GroupingDimension(Function<ProcessedOrder, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        String valueOf(ProcessedOrder order) {
+            return extractor.apply(order);
+        }
+    }
+
     /**
      * Result of grouping: grouped orders + individual orders
      */
@@ -47,6 +109,18 @@ public class OrderGroupingService {
         }
     }
 
+    /**
+     * Parse app.grouping.composite-keys once, so a bad value fails startup
+     * rather than the first COMPOSITE grouping call.
+     */
+    @PostConstruct
+    public void init() {
+        this.compositeDimensions = List.copyOf(parseDimensions(compositeKeys));
+        this.compositeGroupType = compositeDimensions.stream()
+                .map(Enum::name)
+                .collect(Collectors.joining(String.valueOf(KEY_SEPARATOR)));
+    }
+
     /**
      * Main grouping method - applies business logic to decide what gets grouped.
      */
@@ -61,6 +135,7 @@ public class OrderGroupingService {
             case "BY_CUSTOMER" -> groupByCustomer(orders);
             case "BY_WAREHOUSE" -> groupByWarehouse(orders);
             case "BY_TIER" -> groupByCustomerTier(orders);
+            case "COMPOSITE" -> groupByComposite(orders);
             case "HIGH_VALUE" -> groupHighValueOrders(orders);
             case "NONE" -> noGrouping(orders);
             default -> groupByCustomer(orders); // default strategy
@@ -72,10 +147,7 @@ public class OrderGroupingService {
      * Same customer's orders go into one WMQ message.
      */
     private GroupingResult groupByCustomer(List<ProcessedOrder> orders) {
-        Map<String, List<ProcessedOrder>> byCustomer = orders.stream()
-                .collect(Collectors.groupingBy(ProcessedOrder::customerId));
-
-        return buildGroupingResult(byCustomer, "CUSTOMER");
+        return groupByDimensions(orders, List.of(GroupingDimension.CUSTOMER), "CUSTOMER");
     }
 
     /**
@@ -83,12 +155,7 @@ public class OrderGroupingService {
      * Orders from same warehouse go into one message (for batch shipping).
      */
     private GroupingResult groupByWarehouse(List<ProcessedOrder> orders) {
-        Map<String, List<ProcessedOrder>> byWarehouse = orders.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.warehouseLocation() != null ? o.warehouseLocation() : "UNKNOWN"
-                ));
-
-        return buildGroupingResult(byWarehouse, "WAREHOUSE");
+        return groupByDimensions(orders, List.of(GroupingDimension.WAREHOUSE), "WAREHOUSE");
     }
 
     /**
@@ -96,12 +163,15 @@ public class OrderGroupingService {
      * Process GOLD tier together, SILVER together, etc.
      */
     private GroupingResult groupByCustomerTier(List<ProcessedOrder> orders) {
-        Map<String, List<ProcessedOrder>> byTier = orders.stream()
-                .collect(Collectors.groupingBy(
-                        o -> o.customerTier() != null ? o.customerTier() : "STANDARD"
-                ));
+        return groupByDimensions(orders, List.of(GroupingDimension.TIER), "TIER");
+    }
 
-        return buildGroupingResult(byTier, "TIER");
+    /**
+     * Strategy: Group orders by the configured combination of dimensions.
+     * groupType is the dimension names joined with '|', e.g. "CUSTOMER|WAREHOUSE".
+     */
+    private GroupingResult groupByComposite(List<ProcessedOrder> orders) {
+        return groupByDimensions(orders, compositeDimensions, compositeGroupType);
     }
 
     /**
@@ -112,7 +182,7 @@ public class OrderGroupingService {
         // Partition into high-value and regular orders
         Map<Boolean, List<ProcessedOrder>> partitioned = orders.stream()
                 .collect(Collectors.partitioningBy(
-                        o -> o.finalPrice() != null && 
+                        o -> o.finalPrice() != null &&
                              o.finalPrice().compareTo(highValueThreshold) >= 0
                 ));
 
@@ -124,7 +194,7 @@ public class OrderGroupingService {
 
         // High-value orders get grouped together
         if (highValue.size() >= minGroupSize) {
-            grouped.add(GroupedOrderMessage.create("HIGH_VALUE", "HIGH_VALUE", highValue));
+            grouped.addAll(splitGroup("HIGH_VALUE", "HIGH_VALUE", highValue));
             log.info("Grouped {} high-value orders (>= ${})", highValue.size(), highValueThreshold);
         } else {
             individual.addAll(highValue);
@@ -144,36 +214,190 @@ public class OrderGroupingService {
     }
 
     /**
-     * Build GroupingResult from a grouped map.
-     * Groups with >= minGroupSize become grouped messages,
-     * smaller groups are sent individually.
+     * Single-pass keyed grouping.
+     * Builds each order's key once, and accumulates orders, totals and
+     * estimated bytes per key in one scan. Groups with >= minGroupSize become
+     * grouped messages, smaller groups are sent individually.
      */
-    private GroupingResult buildGroupingResult(
-            Map<String, List<ProcessedOrder>> groupedMap, 
+    private GroupingResult groupByDimensions(
+            List<ProcessedOrder> orders,
+            List<GroupingDimension> dimensions,
             String groupType) {
-        
+
+        CompositeGroupTable table = new CompositeGroupTable(orders.size());
+        StringBuilder keyBuilder = new StringBuilder(64);
+
+        for (ProcessedOrder order : orders) {
+            table.add(buildKey(order, dimensions, keyBuilder), order, estimateSerializedBytes(order));
+        }
+
         List<GroupedOrderMessage> groupedMessages = new ArrayList<>();
         List<ProcessedOrder> individualOrders = new ArrayList<>();
 
-        for (Map.Entry<String, List<ProcessedOrder>> entry : groupedMap.entrySet()) {
-            String key = entry.getKey();
-            List<ProcessedOrder> groupOrders = entry.getValue();
+        for (CompositeGroupTable.Group group : table.groups()) {
+            List<ProcessedOrder> groupOrders = group.orders;
 
-            if (groupOrders.size() >= minGroupSize) {
-                // Create grouped message
-                groupedMessages.add(GroupedOrderMessage.create(key, groupType, groupOrders));
-                log.debug("Created group '{}' with {} orders", key, groupOrders.size());
-            } else {
+            if (groupOrders.size() < minGroupSize) {
                 // Too small to group - send individually
                 individualOrders.addAll(groupOrders);
+            } else if (fitsInOneMessage(groupOrders.size(), group.estimatedBytes)) {
+                // Totals already accumulated during the pass
+                groupedMessages.add(GroupedOrderMessage.create(
+                        GroupedOrderMessage.groupId(group.key, groupOrders), group.key, groupType,
+                        groupOrders, group.totalAmount, 1, 1));
+                log.debug("Created group '{}' with {} orders", group.key, groupOrders.size());
+            } else {
+                // Over the size caps - split into sequenced parts
+                groupedMessages.addAll(splitGroup(group.key, groupType, groupOrders));
             }
         }
 
-        log.info("Grouping complete: {} grouped messages ({} orders), {} individual orders",
+        log.info("Grouping complete: {} keys, {} grouped messages ({} orders), {} individual orders",
+                table.size(),
                 groupedMessages.size(),
-                groupedMessages.stream().mapToInt(GroupedOrderMessage::orderCount).sum(),
+                orders.size() - individualOrders.size(),
                 individualOrders.size());
 
         return new GroupingResult(groupedMessages, individualOrders);
     }
+
+    /**
+     * Build the grouping key for an order, reusing the caller's StringBuilder.
+     * Single-dimension keys skip the builder entirely.
+     */
+    private String buildKey(ProcessedOrder order, List<GroupingDimension> dimensions, StringBuilder keyBuilder) {
+        if (dimensions.size() == 1) {
+            return dimensions.getFirst().valueOf(order);
+        }
+        keyBuilder.setLength(0);
+        for (int i = 0; i < dimensions.size(); i++) {
+            if (i > 0) {
+                keyBuilder.append(KEY_SEPARATOR);
+            }
+            keyBuilder.append(dimensions.get(i).valueOf(order));
+        }
+        return keyBuilder.toString();
+    }
+
+    /**
+     * Parse app.grouping.composite-keys (e.g. "CUSTOMER,WAREHOUSE").
+     * Unknown names are rejected so a typo fails loudly instead of silently regrouping.
+     */
+    static List<GroupingDimension> parseDimensions(String keys) {
+        List<GroupingDimension> dimensions = new ArrayList<>();
+        for (String name : keys.split(",")) {
+            String trimmed = name.trim().toUpperCase();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                dimensions.add(GroupingDimension.valueOf(trimmed));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown grouping dimension '" + name.trim()
+                        + "' in app.grouping.composite-keys, expected one of "
+                        + Arrays.toString(GroupingDimension.values()));
+            }
+        }
+        if (dimensions.isEmpty()) {
+            throw new IllegalArgumentException("app.grouping.composite-keys must name at least one dimension");
+        }
+        return dimensions;
+    }
+
+    private boolean fitsInOneMessage(int orderCount, long orderBytes) {
+        return orderCount <= maxOrdersPerMessage && GROUP_ENVELOPE_BYTES + orderBytes <= maxMessageBytes;
+    }
+
+    /**
+     * Split one logical group into parts bounded by maxOrdersPerMessage and
+     * maxMessageBytes (estimated). A group that fits is returned as a single
+     * message with sequence 1/1. All parts share the same groupId.
+     * Part totals are accumulated in the same loop that decides the split points.
+     */
+    List<GroupedOrderMessage> splitGroup(String groupingKey, String groupType, List<ProcessedOrder> orders) {
+        String groupId = GroupedOrderMessage.groupId(groupingKey, orders);
+
+        List<List<ProcessedOrder>> parts = new ArrayList<>();
+        List<BigDecimal> partTotals = new ArrayList<>();
+        int partStart = 0;
+        long partBytes = GROUP_ENVELOPE_BYTES;
+        BigDecimal partTotal = BigDecimal.ZERO;
+
+        for (int i = 0; i < orders.size(); i++) {
+            ProcessedOrder order = orders.get(i);
+            long orderBytes = estimateSerializedBytes(order);
+            int partSize = i - partStart;
+
+            // Close the current part before it would exceed either cap
+            // (a single oversized order still forms its own part)
+            if (partSize > 0
+                    && (partSize >= maxOrdersPerMessage || partBytes + orderBytes > maxMessageBytes)) {
+                parts.add(List.copyOf(orders.subList(partStart, i)));
+                partTotals.add(partTotal);
+                partStart = i;
+                partBytes = GROUP_ENVELOPE_BYTES;
+                partTotal = BigDecimal.ZERO;
+            }
+            partBytes += orderBytes;
+            if (order.finalPrice() != null) {
+                partTotal = partTotal.add(order.finalPrice());
+            }
+        }
+        parts.add(partStart == 0 ? orders : List.copyOf(orders.subList(partStart, orders.size())));
+        partTotals.add(partTotal);
+
+        if (parts.size() > 1) {
+            log.info("Split group '{}' ({} orders) into {} parts (maxOrders={}, maxBytes={})",
+                    groupingKey, orders.size(), parts.size(), maxOrdersPerMessage, maxMessageBytes);
+        }
+
+        List<GroupedOrderMessage> messages = new ArrayList<>(parts.size());
+        for (int seq = 0; seq < parts.size(); seq++) {
+            messages.add(GroupedOrderMessage.create(
+                    groupId, groupingKey, groupType, parts.get(seq), partTotals.get(seq), seq + 1, parts.size()));
+        }
+        return messages;
+    }
+
+    /**
+     * Cheap upper-bound estimate of an order's serialized JSON size.
+     * Avoids running Jackson just to decide where to split.
+     */
+    static long estimateSerializedBytes(ProcessedOrder order) {
+        return ORDER_FIXED_BYTES
+                + length(order.orderId())
+                + length(order.customerId())
+                + length(order.customerName())
+                + length(order.customerTier())
+                + length(order.warehouseLocation())
+                + length(order.status())
+                + length(order.processedBy())
+                + (order.finalPrice() != null ? order.finalPrice().precision() + 2 : 4);
+    }
+
+    /**
+     * UTF-8 length of a JSON string value, counting escaped characters at their
+     * escaped width so the estimate never falls below what Jackson writes.
+     */
+    private static int length(String value) {
+        if (value == null) {
+            return 4; // "null"
+        }
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20) {
+                bytes += 6; // \u00XX
+            } else if (c == '"' || c == '\\') {
+                bytes += 2;
+            } else if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else {
+                bytes += 3; // BMP char, or half of a 4-byte surrogate pair
+            }
+        }
+        return bytes;
+    }
 }
@@ -1,20 +1,28 @@
 package com.example.service;
 
 import com.example.config.AppMetrics;
+import com.example.config.StageMetrics;
+import com.example.config.StageMetrics.Stage;
 import com.example.model.*;
 import com.example.model.PipelineTimingResult.TimingBreakdown;
 import com.example.service.cache.CachingDataService;
+import com.example.service.latency.LatencyRecorder;
 import com.example.service.preload.DataPreloadService;
 import com.example.service.preload.ProcessingContext;
 import com.example.service.processing.BusinessLogicService;
 import com.example.service.publishing.PublishingService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,6 +38,9 @@ import java.util.concurrent.TimeUnit;
  * - Clear separation of concerns
  * - Easy to modify one stage without affecting others
  * - Services can be reused by other routes/controllers
+ * 
+ * Stage durations are also recorded per event type and grouping mode in
+ * StageMetrics (percentiles + SLO buckets).
  */
 @Service
 @Slf4j
@@ -60,6 +71,21 @@ public class OrderProcessingOrchestrator {
     @Value("${app.cache.data.enabled:true}")
     private boolean dataCacheEnabled;
 
+    @Autowired(required = false)
+    private StageMetrics stageMetrics;
+
+    // Nanosecond HdrHistogram views of the same stages (null when no LatencyRecorder)
+    private LatencyRecorder.Stage preloadLatency;
+    private LatencyRecorder.Stage processLatency;
+    private LatencyRecorder.Stage publishLatency;
+
+    @Autowired(required = false)
+    void setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.preloadLatency = latencyRecorder.stage("pipeline.preload");
+        this.processLatency = latencyRecorder.stage("pipeline.process");
+        this.publishLatency = latencyRecorder.stage("pipeline.publish");
+    }
+
     /**
      * Process orders with default (no grouping).
      */
@@ -75,6 +101,29 @@ public class OrderProcessingOrchestrator {
      * @return ProcessingResultWithTiming with individual stage timings
      */
     public ProcessingResultWithTiming processOrdersWithTiming(List<Order> orders, boolean useGrouping) {
+        return processOrdersWithTiming(orders, useGrouping, null);
+    }
+
+    /**
+     * Process orders and return detailed timing breakdown.
+     * 
+     * @param orders List of orders to process
+     * @param useGrouping If true, applies grouping before WMQ publish
+     * @param eventType Type of the triggering event, used to tag stage metrics (null = none)
+     * @return ProcessingResultWithTiming with individual stage timings
+     */
+    public ProcessingResultWithTiming processOrdersWithTiming(List<Order> orders, boolean useGrouping,
+                                                              String eventType) {
+        return processOrdersWithTiming(orders, useGrouping, eventType, executor, null);
+    }
+
+    /**
+     * Pipeline on the given executor; business logic runs under processingLimiter
+     * (null = the shared processing limit).
+     */
+    private ProcessingResultWithTiming processOrdersWithTiming(List<Order> orders, boolean useGrouping,
+                                                               String eventType, ExecutorService executor,
+                                                               Semaphore processingLimiter) {
         if (orders.isEmpty()) {
             return new ProcessingResultWithTiming(List.of(), List.of(), 0, 0, 0, 0);
         }
@@ -92,46 +141,69 @@ public class OrderProcessingOrchestrator {
 
         // STAGE 1: Preload data from DB
         log.info("STAGE 1: Data Preload (cache={})", dataCacheEnabled ? "ON" : "OFF");
-        long preloadStart = System.currentTimeMillis();
+        long preloadStart = System.nanoTime();
         
         ProcessingContext context = dataCacheEnabled 
                 ? cachingDataService.preloadData(orderIds, executor)
                 : preloadService.preloadData(orderIds, executor);
         
-        preloadTime = System.currentTimeMillis() - preloadStart;
+        preloadTime = elapsedMillis(preloadLatency, preloadStart);
+        recordStage(Stage.PRELOAD, eventType, useGrouping, preloadTime);
 
         // STAGE 2: Business Logic Processing
         log.info("STAGE 2: Business Logic Processing");
-        long processingStart = System.currentTimeMillis();
+        long processingStart = System.nanoTime();
         
-        var output = businessLogicService.processOrders(orders, context, executor);
+        var output = processingLimiter != null
+                ? businessLogicService.processOrders(orders, context, executor, processingLimiter)
+                : businessLogicService.processOrders(orders, context, executor);
         
-        processingTime = System.currentTimeMillis() - processingStart;
+        processingTime = elapsedMillis(processLatency, processingStart);
         metrics.getProcessingTimer().record(processingTime, TimeUnit.MILLISECONDS);
+        recordStage(Stage.PROCESS, eventType, useGrouping, processingTime);
 
         // STAGE 3: Publish to WMQ
         log.info("STAGE 3: WMQ Publishing");
-        long publishStart = System.currentTimeMillis();
+        long publishStart = System.nanoTime();
         
-        publishingService.publish(output.successes(), useGrouping, executor);
+        PublishOutcome publishOutcome = publishingService.publish(output.successes(), useGrouping, executor);
         
-        publishTime = System.currentTimeMillis() - publishStart;
+        publishTime = elapsedMillis(publishLatency, publishStart);
+        recordStage(Stage.PUBLISH, eventType, useGrouping, publishTime);
+
+        // Orders that could not be published (nor queued for retry) are failures, not successes.
+        // PublishingService has already dead-lettered them
+        List<ProcessedOrder> successes = output.successes();
+        List<FailedOrder> failures = output.failures();
+        if (publishOutcome.hasFailures()) {
+            Set<String> unpublished = new HashSet<>();
+            List<FailedOrder> combined = new ArrayList<>(failures);
+            for (ProcessedOrder order : publishOutcome.failedOrders()) {
+                unpublished.add(order.orderId());
+                combined.add(FailedOrder.fromProcessed(order, "WMQ publish failed", FailedOrder.PUBLISH_FAILURE));
+            }
+            successes = successes.stream()
+                    .filter(order -> !unpublished.contains(order.orderId()))
+                    .toList();
+            failures = combined;
+            log.warn("{} orders failed to publish to WMQ - moved to failures", unpublished.size());
+        }
 
         // SUMMARY
         long totalTime = System.currentTimeMillis() - startTime;
         metrics.getTotalProcessingTimer().record(totalTime, TimeUnit.MILLISECONDS);
-        metrics.incrementOrdersProcessed(output.successes().size());
-        metrics.incrementOrdersFailed(output.failures().size());
+        metrics.incrementOrdersProcessed(successes.size());
+        metrics.incrementOrdersFailed(failures.size());
 
         log.info("═══════════════════════════════════════════════════════════════");
         log.info("PIPELINE COMPLETE | Total: {}ms", totalTime);
         log.info("  Preload: {}ms | Process: {}ms | Publish: {}ms", preloadTime, processingTime, publishTime);
-        log.info("  Successes: {} | Failures: {}", output.successes().size(), output.failures().size());
+        log.info("  Successes: {} | Failures: {}", successes.size(), failures.size());
         log.info("═══════════════════════════════════════════════════════════════");
 
         return new ProcessingResultWithTiming(
-                output.successes(),
-                output.failures(),
+                successes,
+                failures,
                 totalTime,
                 preloadTime,
                 processingTime,
@@ -149,4 +221,51 @@ public class OrderProcessingOrchestrator {
     public ProcessingResult processOrders(List<Order> orders, boolean useGrouping) {
         return processOrdersWithTiming(orders, useGrouping).toProcessingResult();
     }
+
+    /**
+     * Main processing pipeline for an event - stage metrics are tagged with its type.
+     * 
+     * @param orders List of orders to process
+     * @param useGrouping If true, applies grouping before WMQ publish
+     * @param eventType Type of the triggering event
+     * @return ProcessingResult with successes, failures, and timing
+     */
+    public ProcessingResult processOrders(List<Order> orders, boolean useGrouping, String eventType) {
+        return processOrdersWithTiming(orders, useGrouping, eventType).toProcessingResult();
+    }
+
+    /**
+     * Main processing pipeline on a caller's own executor and processing limit instead
+     * of the shared ones serving live traffic (used by DLQ replay). DB preload and MQ
+     * publish stay bounded by their dependency limiters.
+     * 
+     * @param orders List of orders to process
+     * @param useGrouping If true, applies grouping before WMQ publish
+     * @param eventType Type of the triggering event
+     * @param executor Executor for the preload, processing and publish fan-out
+     * @param processingLimiter Permits for orders processed at once
+     * @return ProcessingResult with successes, failures, and timing
+     */
+    public ProcessingResult processOrders(List<Order> orders, boolean useGrouping, String eventType,
+                                          ExecutorService executor, Semaphore processingLimiter) {
+        return processOrdersWithTiming(orders, useGrouping, eventType, executor, processingLimiter)
+                .toProcessingResult();
+    }
+
+    /**
+     * Milliseconds since startNanos; the nanosecond duration also goes to the latency recorder.
+     */
+    private long elapsedMillis(LatencyRecorder.Stage latency, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        if (latency != null) {
+            latency.record(nanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private void recordStage(Stage stage, String eventType, boolean useGrouping, long millis) {
+        if (stageMetrics != null) {
+            stageMetrics.record(stage, eventType, useGrouping, millis);
+        }
+    }
 }
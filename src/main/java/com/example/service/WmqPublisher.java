@@ -1,22 +1,35 @@
 package com.example.service;
 
-import com.example.model.GroupedOrderMessage;
 import com.example.model.ProcessedOrder;
+import com.example.model.PublishOutcome;
 import com.example.service.OrderGroupingService.GroupingResult;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.service.flight.GroupingEvent;
+import com.example.service.publishing.AsyncMqSender;
+import com.example.service.publishing.AsyncMqSender.AsyncSendResult;
+import com.example.service.publishing.MessageSerializer;
+import com.example.service.publishing.MqProducerPool;
+import com.example.service.publishing.PublishRetryQueue;
+import com.example.service.publishing.PublishSettlement;
+import com.example.service.publishing.TransactedBatchSender;
+import com.example.service.publishing.TransactedBatchSender.BatchSendResult;
+import com.example.service.resilience.AdaptiveConcurrencyLimiter;
+import com.example.service.resilience.DependencyGuard;
+import com.example.service.resilience.DependencyUnavailableException;
 import jakarta.annotation.PostConstruct;
+import jakarta.jms.JMSException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -24,7 +37,25 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Supports:
  * - Grouped orders (multiple orders in one message based on business logic)
  * - Individual orders (single order per message)
- * - Parallel publishing with virtual threads (concurrency limited)
+ * - Parallel publishing with virtual threads (adaptive AIMD concurrency limit)
+ * - BYTES (default) or TEXT message format; payloads are serialized by
+ *   MessageSerializer with pre-built ObjectWriters into pooled buffers
+ * 
+ * Publish modes (app.wmq.publish-mode):
+ * - PER_MESSAGE (default) - one send per message on a pooled session/producer
+ *   (MqProducerPool), limited by the adaptive wmqPublishLimiter
+ * - BATCHED - TransactedBatchSender: N messages per transacted session, one commit per batch
+ * - ASYNC   - AsyncMqSender: JMS 2.0 async sends, bounded by an in-flight window
+ * 
+ * Failure handling (all modes):
+ * - Failed messages are handed to PublishRetryQueue (backoff retries, then DLQ)
+ * - Messages the retry queue cannot take (full) are returned in the PublishOutcome
+ *   as failed orders, so the caller does not count them as successes
+ * - Each retry-queued message holds the caller's PublishSettlement until it is
+ *   published or dead-lettered (journal entries are acknowledged only then)
+ * - Every send goes through the mqGuard (circuit breaker + bulkhead). While the
+ *   circuit is open, sends are shed immediately and handled as failures without
+ *   touching MQ or shrinking the adaptive limit
  */
 @Service
 @Slf4j
@@ -36,28 +67,50 @@ public class WmqPublisher {
     @Autowired
     private OrderGroupingService orderGroupingService;
 
+    @Autowired
+    private MessageSerializer messageSerializer;
+
+    @Autowired
+    private TransactedBatchSender batchSender;
+
+    @Autowired
+    private AsyncMqSender asyncSender;
+
+    @Autowired
+    private MqProducerPool producerPool;
+
+    @Autowired
+    private PublishRetryQueue retryQueue;
+
+    @Autowired
+    @Qualifier("wmqPublishLimiter")
+    private AdaptiveConcurrencyLimiter publishLimiter;
+
+    @Autowired
+    @Qualifier("mqGuard")
+    private DependencyGuard mqGuard;
+
     @Value("${app.wmq.enabled:false}")
     private boolean wmqEnabled;
 
     @Value("${app.wmq.queue-name:DEV.QUEUE.1}")
     private String queueName;
     
-    @Value("${app.wmq.publish-concurrency:50}")
-    private int publishConcurrency;
+    @Value("${app.wmq.publish-mode:PER_MESSAGE}")
+    private String publishMode;
 
-    private final ObjectMapper objectMapper;
-    private Semaphore publishSemaphore;
-    
-    public WmqPublisher() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    }
+    private boolean batchedMode;
+    private boolean asyncMode;
     
     @PostConstruct
     public void init() {
-        this.publishSemaphore = new Semaphore(publishConcurrency);
-        log.info("WmqPublisher initialized with publish concurrency limit: {}", publishConcurrency);
+        this.batchedMode = "BATCHED".equalsIgnoreCase(publishMode);
+        this.asyncMode = "ASYNC".equalsIgnoreCase(publishMode);
+        log.info("WmqPublisher initialized with adaptive publish concurrency (limit now {}), publish mode: {}",
+                publishLimiter.getLimit(), batchedMode ? "BATCHED" : asyncMode ? "ASYNC" : "PER_MESSAGE");
+        if (wmqEnabled && jmsTemplate != null) {
+            retryQueue.start(payload -> sendGuarded(payload, null));
+        }
     }
 
     /**
@@ -69,79 +122,120 @@ public class WmqPublisher {
      * 
      * @param orders Orders to publish
      * @param executor Virtual thread executor for parallel publishing
+     * @return Outcome with the orders that could not be published or queued for retry
      */
-    public void sendBatch(List<ProcessedOrder> orders, ExecutorService executor) {
+    public PublishOutcome sendBatch(List<ProcessedOrder> orders, ExecutorService executor) {
+        return sendBatch(orders, executor, PublishSettlement.NONE);
+    }
+
+    /**
+     * Send a batch with grouping; messages handed to the retry queue hold the settlement
+     * until they are published or dead-lettered.
+     * 
+     * @param orders Orders to publish
+     * @param executor Virtual thread executor for parallel publishing
+     * @param settlement Settlement of the caller's journal entry
+     * @return Outcome with the orders that could not be published or queued for retry
+     */
+    public PublishOutcome sendBatch(List<ProcessedOrder> orders, ExecutorService executor,
+                                    PublishSettlement settlement) {
         if (orders.isEmpty()) {
-            return;
+            return PublishOutcome.empty();
         }
 
         // Apply grouping logic
+        GroupingEvent groupingEvent = new GroupingEvent();
+        groupingEvent.begin();
         GroupingResult groupingResult = orderGroupingService.groupOrders(orders);
+        groupingEvent.setResult(groupingResult.groupedMessages().size(), groupingResult.individualOrders().size());
+        groupingEvent.finish(orders.size());
         
         log.info("Publishing to WMQ: {} grouped messages, {} individual orders",
                 groupingResult.groupedMessages().size(),
                 groupingResult.individualOrders().size());
 
         if (wmqEnabled && jmsTemplate != null) {
-            sendToRealMqWithGrouping(groupingResult, executor);
-        } else {
-            sendToMockMqWithGrouping(groupingResult);
+            return sendToRealMqWithGrouping(groupingResult, executor, settlement);
         }
+        return skipDisabled(groupingResult.groupedMessages().size() + groupingResult.individualOrders().size());
     }
 
     /**
      * Send to real IBM MQ with parallel publishing (concurrency limited).
      */
-    private void sendToRealMqWithGrouping(GroupingResult groupingResult, ExecutorService executor) {
+    private PublishOutcome sendToRealMqWithGrouping(GroupingResult groupingResult, ExecutorService executor,
+                                                    PublishSettlement settlement) {
+        if ((batchedMode && batchSender.isAvailable()) || (asyncMode && asyncSender.isAvailable())) {
+            List<Object> payloads = new ArrayList<>(
+                    groupingResult.groupedMessages().size() + groupingResult.individualOrders().size());
+            payloads.addAll(groupingResult.groupedMessages());
+            payloads.addAll(groupingResult.individualOrders());
+            return batchedMode
+                    ? sendBatched(payloads, executor, settlement)
+                    : sendAsync(payloads, executor, settlement);
+        }
+
         long startTime = System.currentTimeMillis();
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger failCount = new AtomicInteger(0);
+        Queue<Object> failed = new ConcurrentLinkedQueue<>();
         
         int totalMessages = groupingResult.groupedMessages().size() + groupingResult.individualOrders().size();
-        log.info("Publishing {} messages to MQ (max {} concurrent)", totalMessages, publishConcurrency);
+        log.info("Publishing {} messages to MQ (max {} concurrent)", totalMessages, publishLimiter.getLimit());
 
-        // Publish grouped messages in parallel (with semaphore)
+        // Publish grouped messages in parallel (adaptive concurrency limit)
         List<CompletableFuture<Void>> groupedFutures = groupingResult.groupedMessages().stream()
                 .map(grouped -> CompletableFuture.runAsync(() -> {
                         try {
-                            publishSemaphore.acquire();
+                            AdaptiveConcurrencyLimiter.Permit permit = publishLimiter.acquire();
                             try {
-                                String json = objectMapper.writeValueAsString(grouped);
-                                jmsTemplate.convertAndSend(queueName, json);
+                                sendGuarded(grouped, permit);
+                                permit.success();
                                 successCount.incrementAndGet();
-                                log.debug("Sent grouped message '{}' with {} orders to {}",
-                                        grouped.groupId(), grouped.orderCount(), queueName);
+                                log.debug("Sent grouped message '{}' part {}/{} with {} orders to {}",
+                                        grouped.groupId(), grouped.sequenceNumber(), grouped.sequenceCount(),
+                                        grouped.orderCount(), queueName);
                             } finally {
-                                publishSemaphore.release();
+                                permit.release();
                             }
                         } catch (InterruptedException e) {
                             Thread.currentThread().interrupt();
                             failCount.incrementAndGet();
+                            failed.add(grouped);
+                        } catch (DependencyUnavailableException e) {
+                            failCount.incrementAndGet();
+                            failed.add(grouped);
                         } catch (Exception e) {
                             failCount.incrementAndGet();
+                            failed.add(grouped);
                             log.error("Failed to send grouped message '{}': {}",
                                     grouped.groupId(), e.getMessage());
                         }
                 }, executor))
                 .toList();
 
-        // Publish individual orders in parallel (with semaphore)
+        // Publish individual orders in parallel (adaptive concurrency limit)
         List<CompletableFuture<Void>> individualFutures = groupingResult.individualOrders().stream()
                 .map(order -> CompletableFuture.runAsync(() -> {
                         try {
-                            publishSemaphore.acquire();
+                            AdaptiveConcurrencyLimiter.Permit permit = publishLimiter.acquire();
                             try {
-                                String json = objectMapper.writeValueAsString(order);
-                                jmsTemplate.convertAndSend(queueName, json);
+                                sendGuarded(order, permit);
+                                permit.success();
                                 successCount.incrementAndGet();
                             } finally {
-                                publishSemaphore.release();
+                                permit.release();
                             }
                         } catch (InterruptedException e) {
                             Thread.currentThread().interrupt();
                             failCount.incrementAndGet();
+                            failed.add(order);
+                        } catch (DependencyUnavailableException e) {
+                            failCount.incrementAndGet();
+                            failed.add(order);
                         } catch (Exception e) {
                             failCount.incrementAndGet();
+                            failed.add(order);
                             log.error("Failed to send order {}: {}", order.orderId(), e.getMessage());
                         }
                 }, executor))
@@ -158,46 +252,161 @@ public class WmqPublisher {
         long elapsed = System.currentTimeMillis() - startTime;
         log.info("MQ publish complete in {}ms - Success: {}, Failed: {}", 
                 elapsed, successCount.get(), failCount.get());
+        return handleFailures(successCount.get(), List.copyOf(failed), settlement);
     }
 
     /**
-     * Mock MQ for testing without IBM MQ.
+     * Send payloads in transacted batches (BATCHED mode).
      */
-    private void sendToMockMqWithGrouping(GroupingResult groupingResult) {
-        log.info("[MOCK MQ] Publishing: {} grouped, {} individual",
-                groupingResult.groupedMessages().size(),
-                groupingResult.individualOrders().size());
+    private PublishOutcome sendBatched(List<?> payloads, ExecutorService executor, PublishSettlement settlement) {
+        DependencyGuard.Permit permit = acquireGuard(payloads);
+        if (permit == null) {
+            return handleFailures(0, List.copyOf(payloads), settlement);
+        }
+        long startTime = System.currentTimeMillis();
+        BatchSendResult result;
+        try {
+            result = batchSender.send(payloads, executor);
+            if (result.sentCount() > 0 || payloads.isEmpty()) {
+                permit.success();
+            }
+        } finally {
+            permit.release();
+        }
 
-        // Log grouped messages
-        for (GroupedOrderMessage grouped : groupingResult.groupedMessages()) {
-            log.info("[MOCK MQ] Grouped '{}' ({}) → {} with {} orders, total: ${}",
-                    grouped.groupId(),
-                    grouped.groupType(),
-                    queueName,
-                    grouped.orderCount(),
-                    grouped.totalAmount());
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("MQ batched publish complete in {}ms - Success: {}, Failed: {} ({} batches committed)",
+                elapsed, result.sentCount(), result.failedPayloads().size(), result.committedBatches());
+        return handleFailures(result.sentCount(), result.failedPayloads(), settlement);
+    }
+
+    /**
+     * Send payloads with JMS 2.0 async sends (ASYNC mode).
+     */
+    private PublishOutcome sendAsync(List<?> payloads, ExecutorService executor, PublishSettlement settlement) {
+        DependencyGuard.Permit permit = acquireGuard(payloads);
+        if (permit == null) {
+            return handleFailures(0, List.copyOf(payloads), settlement);
+        }
+        long startTime = System.currentTimeMillis();
+        AsyncSendResult result;
+        try {
+            result = asyncSender.send(payloads, executor);
+            if (result.sentCount() > 0 || payloads.isEmpty()) {
+                permit.success();
+            }
+        } finally {
+            permit.release();
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        log.info("MQ async publish complete in {}ms - Success: {}, Failed: {}",
+                elapsed, result.sentCount(), result.failedPayloads().size());
+        return handleFailures(result.sentCount(), result.failedPayloads(), settlement);
+    }
+
+    /**
+     * Hand failed payloads to the retry queue. Payloads it cannot take are
+     * returned as failed orders.
+     */
+    private PublishOutcome handleFailures(int sentCount, List<Object> failedPayloads, PublishSettlement settlement) {
+        if (failedPayloads.isEmpty()) {
+            return PublishOutcome.sent(sentCount);
         }
 
-        // Log sample individual orders
-        groupingResult.individualOrders().stream().limit(3).forEach(order ->
-                log.info("[MOCK MQ] Individual {} → {} ${}", 
-                        order.orderId(), queueName, order.finalPrice()));
+        int queued = 0;
+        List<Object> rejected = new ArrayList<>();
+        for (Object payload : failedPayloads) {
+            // Hold before offering - the retry may settle before offer() returns
+            settlement.retain();
+            if (retryQueue.offer(payload, settlement::release)) {
+                queued++;
+            } else {
+                settlement.release();
+                rejected.add(payload);
+            }
+        }
 
-        if (groupingResult.individualOrders().size() > 3) {
-            log.info("[MOCK MQ] ... and {} more individual orders",
-                    groupingResult.individualOrders().size() - 3);
+        List<ProcessedOrder> failedOrders = PublishOutcome.ordersOf(rejected);
+        if (rejected.isEmpty()) {
+            log.warn("{} failed MQ messages queued for retry", queued);
+        } else {
+            log.error("{} failed MQ messages queued for retry, {} rejected (retry queue full) - {} orders reported as failed",
+                    queued, rejected.size(), failedOrders.size());
         }
+        return new PublishOutcome(sentCount, queued, failedOrders);
+    }
 
-        // Simulate latency
+    /**
+     * Take one mqGuard permit for a whole BATCHED/ASYNC publish.
+     * The publish counts as a failure only if no payload was sent.
+     * 
+     * @return the permit, or null if the guard shed the publish
+     */
+    private DependencyGuard.Permit acquireGuard(List<?> payloads) {
         try {
-            int totalMessages = groupingResult.groupedMessages().size() + 
-                               groupingResult.individualOrders().size();
-            Thread.sleep(50 + totalMessages);
+            return mqGuard.acquire();
+        } catch (DependencyUnavailableException e) {
+            log.warn("MQ publish of {} messages shed: {}", payloads.size(), e.getMessage());
+            return null;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Send one payload under the mqGuard. A send shed by the guard is marked
+     * as not made on the caller's limiter permit (if any), so an open circuit
+     * does not drive the adaptive limit down.
+     */
+    private void sendGuarded(Object payload, AdaptiveConcurrencyLimiter.Permit limiterPermit)
+            throws JMSException, InterruptedException {
+        DependencyGuard.Permit permit;
+        try {
+            permit = mqGuard.acquire();
+        } catch (DependencyUnavailableException e) {
+            if (limiterPermit != null) {
+                limiterPermit.ignore();
+            }
+            throw e;
         }
+        try {
+            sendPayload(payload);
+            permit.success();
+        } finally {
+            permit.release();
+        }
+    }
 
-        log.info("[MOCK MQ] All messages published successfully");
+    /**
+     * Serialize and send one payload (ProcessedOrder or GroupedOrderMessage)
+     * on a pooled producer. Falls back to JmsTemplate if the pool is not usable
+     * for single sends (transacted sessions in BATCHED mode).
+     */
+    private void sendPayload(Object payload) throws JMSException, InterruptedException {
+        if (!producerPool.isAvailable() || producerPool.isTransacted()) {
+            jmsTemplate.send(queueName, session -> messageSerializer.toMessage(session, payload));
+            return;
+        }
+
+        try (MqProducerPool.Lease lease = producerPool.acquire()) {
+            try {
+                lease.producer().send(messageSerializer.toMessage(lease.session(), payload));
+            } catch (JMSException e) {
+                lease.invalidate();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * MQ disabled (app.wmq.enabled=false): nothing is sent. For a simulated queue
+     * manager run the real path against the mock transport (app.wmq.mock.enabled).
+     */
+    private PublishOutcome skipDisabled(int messages) {
+        log.info("WMQ disabled - skipping publish of {} messages to {}", messages, queueName);
+        return PublishOutcome.sent(messages);
     }
 
     /**
@@ -205,46 +414,76 @@ public class WmqPublisher {
      * 
      * @param orders Orders to publish
      * @param executor Virtual thread executor for parallel publishing
+     * @return Outcome with the orders that could not be published or queued for retry
      */
-    public void sendBatchWithoutGrouping(List<ProcessedOrder> orders, ExecutorService executor) {
+    public PublishOutcome sendBatchWithoutGrouping(List<ProcessedOrder> orders, ExecutorService executor) {
+        return sendBatchWithoutGrouping(orders, executor, PublishSettlement.NONE);
+    }
+
+    /**
+     * Send without grouping; messages handed to the retry queue hold the settlement
+     * until they are published or dead-lettered.
+     * 
+     * @param orders Orders to publish
+     * @param executor Virtual thread executor for parallel publishing
+     * @param settlement Settlement of the caller's journal entry
+     * @return Outcome with the orders that could not be published or queued for retry
+     */
+    public PublishOutcome sendBatchWithoutGrouping(List<ProcessedOrder> orders, ExecutorService executor,
+                                                   PublishSettlement settlement) {
         if (orders.isEmpty()) {
-            return;
+            return PublishOutcome.empty();
         }
 
         if (wmqEnabled && jmsTemplate != null) {
-            sendToRealMq(orders, executor);
-        } else {
-            sendToMockMq(orders);
+            return sendToRealMq(orders, executor, settlement);
         }
+        return skipDisabled(orders.size());
     }
 
     /**
      * Send to real IBM MQ without grouping (concurrency limited).
      */
-    private void sendToRealMq(List<ProcessedOrder> orders, ExecutorService executor) {
+    private PublishOutcome sendToRealMq(List<ProcessedOrder> orders, ExecutorService executor,
+                                        PublishSettlement settlement) {
+        if (batchedMode && batchSender.isAvailable()) {
+            log.info("Sending {} orders to IBM MQ queue: {} in transacted batches", orders.size(), queueName);
+            return sendBatched(orders, executor, settlement);
+        }
+        if (asyncMode && asyncSender.isAvailable()) {
+            log.info("Sending {} orders to IBM MQ queue: {} asynchronously", orders.size(), queueName);
+            return sendAsync(orders, executor, settlement);
+        }
+
         log.info("Sending {} orders to IBM MQ queue: {} (max {} concurrent)", 
-                orders.size(), queueName, publishConcurrency);
+                orders.size(), queueName, publishLimiter.getLimit());
         long startTime = System.currentTimeMillis();
 
         AtomicInteger successCount = new AtomicInteger(0);
         AtomicInteger failCount = new AtomicInteger(0);
+        Queue<Object> failed = new ConcurrentLinkedQueue<>();
 
         List<CompletableFuture<Void>> futures = orders.stream()
                 .map(order -> CompletableFuture.runAsync(() -> {
                     try {
-                        publishSemaphore.acquire();
+                        AdaptiveConcurrencyLimiter.Permit permit = publishLimiter.acquire();
                         try {
-                            String json = objectMapper.writeValueAsString(order);
-                            jmsTemplate.convertAndSend(queueName, json);
+                            sendGuarded(order, permit);
+                            permit.success();
                             successCount.incrementAndGet();
                         } finally {
-                            publishSemaphore.release();
+                            permit.release();
                         }
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
                         failCount.incrementAndGet();
+                        failed.add(order);
+                    } catch (DependencyUnavailableException e) {
+                        failCount.incrementAndGet();
+                        failed.add(order);
                     } catch (Exception e) {
                         failCount.incrementAndGet();
+                        failed.add(order);
                         log.error("Failed to send order {}: {}", order.orderId(), e.getMessage());
                     }
                 }, executor))
@@ -255,28 +494,7 @@ public class WmqPublisher {
         long elapsed = System.currentTimeMillis() - startTime;
         log.info("MQ send complete in {}ms - Success: {}, Failed: {}", 
                 elapsed, successCount.get(), failCount.get());
-    }
-
-    /**
-     * Mock MQ without grouping.
-     */
-    private void sendToMockMq(List<ProcessedOrder> orders) {
-        log.info("[MOCK MQ] Sending {} orders to queue: {}", orders.size(), queueName);
-        
-        orders.stream().limit(3).forEach(order ->
-                log.debug("[MOCK MQ] Order: {} -> {} -> ${}",
-                        order.orderId(), order.status(), order.finalPrice()));
-        
-        if (orders.size() > 3) {
-            log.debug("[MOCK MQ] ... and {} more orders", orders.size() - 3);
-        }
-        
-        // Simulate latency
-        try {
-            Thread.sleep(50 + orders.size());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        return handleFailures(successCount.get(), List.copyOf(failed), settlement);
     }
 
     /**
@@ -284,8 +502,9 @@ public class WmqPublisher {
      * 
      * @param order Order to publish
      * @param executor Virtual thread executor
+     * @return Outcome of the publish
      */
-    public void send(ProcessedOrder order, ExecutorService executor) {
-        sendBatchWithoutGrouping(List.of(order), executor);
+    public PublishOutcome send(ProcessedOrder order, ExecutorService executor) {
+        return sendBatchWithoutGrouping(List.of(order), executor);
     }
 }
@@ -5,10 +5,13 @@ import com.example.model.CustomerData;
 import com.example.model.InventoryData;
 import com.example.model.PricingData;
 import com.example.repository.OrderRepository;
+import com.example.service.flight.PreloadChunkEvent;
+import com.example.service.latency.LatencyRecorder;
 import com.example.service.preload.ProcessingContext;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -46,6 +49,14 @@ public class CachingDataService {
     private final Cache<String, InventoryData> inventoryDataCache;
     private final Cache<String, PricingData> pricingDataCache;
 
+    // Time to check all three caches for a batch (null when no LatencyRecorder)
+    private LatencyRecorder.Stage cacheLookupLatency;
+
+    @Autowired(required = false)
+    void setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.cacheLookupLatency = latencyRecorder.stage("cache.lookup");
+    }
+
     /**
      * Preload data with caching.
      * First checks cache, then fetches missing data from DB.
@@ -62,24 +73,28 @@ public class CachingDataService {
         long startTime = System.currentTimeMillis();
         
         // Separate cached and uncached order IDs
+        long lookupStart = System.nanoTime();
         CacheCheckResult customerCheck = checkCache(orderIds, customerDataCache);
         CacheCheckResult inventoryCheck = checkCache(orderIds, inventoryDataCache);
         CacheCheckResult pricingCheck = checkCache(orderIds, pricingDataCache);
+        if (cacheLookupLatency != null) {
+            cacheLookupLatency.recordSince(lookupStart);
+        }
 
         logCacheStatus(orderIds.size(), customerCheck, inventoryCheck, pricingCheck);
 
         // Fetch missing data from DB in parallel
         CompletableFuture<Map<String, CustomerData>> customerFuture =
                 fetchMissing(customerCheck.missingIds(), orderRepository::batchFetchCustomerData, 
-                        customerDataCache, executor);
+                        customerDataCache, executor, "customer");
 
         CompletableFuture<Map<String, InventoryData>> inventoryFuture =
                 fetchMissing(inventoryCheck.missingIds(), orderRepository::batchFetchInventoryData, 
-                        inventoryDataCache, executor);
+                        inventoryDataCache, executor, "inventory");
 
         CompletableFuture<Map<String, PricingData>> pricingFuture =
                 fetchMissing(pricingCheck.missingIds(), orderRepository::batchFetchPricingData, 
-                        pricingDataCache, executor);
+                        pricingDataCache, executor, "pricing");
 
         // Wait for all DB fetches
         CompletableFuture.allOf(customerFuture, inventoryFuture, pricingFuture).join();
@@ -124,13 +139,14 @@ public class CachingDataService {
     }
 
     /**
-     * Fetch missing data from DB and populate cache.
+     * Fetch missing data from DB and populate cache (one PreloadChunkEvent in JFR).
      */
     private <T> CompletableFuture<Map<String, T>> fetchMissing(
             List<String> missingIds,
             java.util.function.Function<List<String>, Map<String, T>> dbFetcher,
             Cache<String, T> cache,
-            ExecutorService executor) {
+            ExecutorService executor,
+            String dataType) {
         
         if (missingIds.isEmpty()) {
             return CompletableFuture.completedFuture(Map.of());
@@ -138,7 +154,18 @@ public class CachingDataService {
 
         return CompletableFuture.supplyAsync(() -> {
             log.debug("Fetching {} missing items from DB", missingIds.size());
-            Map<String, T> fetched = dbFetcher.apply(missingIds);
+            PreloadChunkEvent chunkEvent = new PreloadChunkEvent();
+            chunkEvent.begin();
+            chunkEvent.setDataType(dataType);
+            Map<String, T> fetched;
+            try {
+                fetched = dbFetcher.apply(missingIds);
+            } catch (RuntimeException e) {
+                chunkEvent.setFailed(true);
+                throw e;
+            } finally {
+                chunkEvent.finish(missingIds.size());
+            }
             
             // Populate cache with fetched data
             fetched.forEach(cache::put);
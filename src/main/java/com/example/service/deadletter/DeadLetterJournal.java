@@ -0,0 +1,107 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local fallback for dead-letter batches the Kafka DLQ topic did not accept.
+ *
+ * Append-only JSON-lines file (one DeadLetterBatch per line), forced to disk on
+ * every append - this is the last copy of the failure. The file is only
+ * created on the first append.
+ *
+ * Metrics:
+ * - dlq.journal.appended → Batches written to the journal
+ * - dlq.journal.errors   → Batches that could not be written (logged only)
+ */
+@Component
+@Slf4j
+public class DeadLetterJournal {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Counter appendedCounter;
+    private final Counter errorCounter;
+
+    private FileChannel channel;    // guarded by this
+
+    public DeadLetterJournal(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.dlq.journal.path:data/dlq-journal.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+        this.appendedCounter = Counter.builder("dlq.journal.appended")
+                .description("Dead-letter batches written to the local journal")
+                .register(registry);
+        this.errorCounter = Counter.builder("dlq.journal.errors")
+                .description("Dead-letter batches that could not be journaled")
+                .register(registry);
+    }
+
+    /**
+     * Append a batch. Returns false (after logging the batch) if it could not be written.
+     */
+    public boolean append(DeadLetterBatch batch) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(batch);
+            ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            synchronized (this) {
+                FileChannel out = channel();
+                while (line.hasRemaining()) {
+                    out.write(line);
+                }
+                out.force(false);
+            }
+            appendedCounter.increment();
+            return true;
+        } catch (IOException e) {
+            errorCounter.increment();
+            log.error("Failed to journal DLQ batch for event {} ({} orders) to {}: {} - batch: {}",
+                    batch.eventId(), batch.failures().size(), path, e.getMessage(), batch);
+            return false;
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            log.info("DLQ journal opened at {}", path.toAbsolutePath());
+        }
+        return channel;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close DLQ journal {}: {}", path, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
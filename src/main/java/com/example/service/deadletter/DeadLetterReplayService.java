@@ -0,0 +1,467 @@
+package com.example.service.deadletter;
+
+import com.example.config.TraceContextManager;
+import com.example.model.DeadLetterBatch;
+import com.example.model.FailedOrder;
+import com.example.model.Order;
+import com.example.model.OrderEvent;
+import com.example.model.ProcessingResult;
+import com.example.service.DeadLetterPublisher;
+import com.example.service.OrderFetchService;
+import com.example.service.OrderProcessingOrchestrator;
+import com.example.service.deadletter.ReplayCheckpointStore.ReplayCheckpoint;
+import com.example.service.flight.PipelineStageEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replays dead-lettered orders through OrderProcessingOrchestrator.
+ *
+ * - Source: Kafka DLQ topic or local DLQ journal, read up to its end as of the start
+ * - Batches are read in windows of window-batches; within a window, failures of the
+ *   same trading partner/business unit (and grouping mode) are merged into one
+ *   processing call, deduplicated by order ID
+ * - Whole-event failures are re-fetched from MongoDB; order snapshots are refreshed
+ *   from MongoDB when it is enabled
+ * - Rate limited to orders-per-second across all groups
+ * - Runs on the replayExecutor (few low-priority platform threads) so it cannot take
+ *   more than its own concurrency budget away from live traffic; the pipeline stages
+ *   of replayed orders fan out on replayWorkerExecutor, with business logic under the
+ *   replay's own processing limit (processing-concurrency) rather than the live one
+ * - After each window the source position is checkpointed; a resumed replay continues
+ *   from the last checkpoint (at-least-once: an interrupted window is replayed again)
+ * - Orders that fail again are dead-lettered with attempt + 1
+ *
+ * Metrics:
+ * - dlq.replay.batches                  → DLQ batches replayed
+ * - dlq.replay.orders{outcome=success}  → Replayed orders processed successfully
+ * - dlq.replay.orders{outcome=failure}  → Replayed orders that failed again
+ */
+@Service
+@Slf4j
+public class DeadLetterReplayService {
+
+    public enum SourceType { JOURNAL, KAFKA }
+
+    public enum State { IDLE, RUNNING, STOPPING, COMPLETED, STOPPED, FAILED }
+
+    public record ReplayStatus(
+            State state,
+            String source,
+            long batches,
+            long ordersSucceeded,
+            long ordersFailed,
+            Map<String, Long> positions,
+            Instant startedAt,
+            Instant finishedAt,
+            String error
+    ) {}
+
+    private final OrderProcessingOrchestrator orchestrator;
+    private final OrderFetchService orderFetchService;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final DeadLetterJournal journal;
+    private final ExecutorService replayExecutor;
+    private final ExecutorService replayWorkerExecutor;
+    private final Semaphore processingLimiter;
+    private final ReplayCheckpointStore checkpointStore;
+    private final ObjectReader batchReader;
+    private final String bootstrapServers;
+    private final String topic;
+    private final int windowBatches;
+    private final long nanosPerOrder;
+    private final AtomicLong nextPermitNanos = new AtomicLong();
+
+    private final Counter batchCounter;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+
+    // Progress of the current/last run
+    private volatile State state = State.IDLE;
+    private volatile boolean stopRequested;
+    private volatile String sourceName;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Map<String, Long> positions = Map.of();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong ordersSucceeded = new AtomicLong();
+    private final AtomicLong ordersFailed = new AtomicLong();
+
+    public DeadLetterReplayService(
+            OrderProcessingOrchestrator orchestrator,
+            OrderFetchService orderFetchService,
+            DeadLetterPublisher deadLetterPublisher,
+            DeadLetterJournal journal,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Qualifier("replayExecutor") ExecutorService replayExecutor,
+            @Qualifier("replayWorkerExecutor") ExecutorService replayWorkerExecutor,
+            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${app.kafka.topic.dead-letter:order-events-dlq}") String topic,
+            @Value("${app.dlq.replay.checkpoint-dir:data/dlq-replay}") String checkpointDir,
+            @Value("${app.dlq.replay.window-batches:50}") int windowBatches,
+            @Value("${app.dlq.replay.orders-per-second:200}") int ordersPerSecond,
+            @Value("${app.dlq.replay.processing-concurrency:10}") int processingConcurrency) {
+        this.orchestrator = orchestrator;
+        this.orderFetchService = orderFetchService;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.journal = journal;
+        this.replayExecutor = replayExecutor;
+        this.replayWorkerExecutor = replayWorkerExecutor;
+        this.processingLimiter = new Semaphore(Math.max(1, processingConcurrency));
+        this.checkpointStore = new ReplayCheckpointStore(Path.of(checkpointDir), objectMapper);
+        this.batchReader = objectMapper.readerFor(DeadLetterBatch.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.bootstrapServers = bootstrapServers;
+        this.topic = topic;
+        this.windowBatches = Math.max(1, windowBatches);
+        this.nanosPerOrder = ordersPerSecond > 0 ? 1_000_000_000L / ordersPerSecond : 0;
+
+        this.batchCounter = Counter.builder("dlq.replay.batches")
+                .description("Dead-letter batches replayed")
+                .register(registry);
+        this.successCounter = Counter.builder("dlq.replay.orders")
+                .description("Replayed dead-letter orders")
+                .tag("outcome", "success")
+                .register(registry);
+        this.failureCounter = Counter.builder("dlq.replay.orders")
+                .description("Replayed dead-letter orders")
+                .tag("outcome", "failure")
+                .register(registry);
+    }
+
+    /**
+     * Start a replay in the background.
+     *
+     * @param resume Continue from the source's last checkpoint instead of its beginning
+     * @throws IllegalStateException if a replay is already running
+     */
+    public synchronized ReplayStatus start(SourceType type, boolean resume) {
+        if (state == State.RUNNING || state == State.STOPPING) {
+            throw new IllegalStateException("DLQ replay already running from " + sourceName);
+        }
+        DeadLetterSource source = createSource(type);
+        resetProgress(source.name());
+        state = State.RUNNING;
+        Thread.ofPlatform()
+                .name("dlq-replay-coordinator")
+                .daemon()
+                .priority(Thread.MIN_PRIORITY)
+                .start(() -> runReplay(source, resume));
+        return status();
+    }
+
+    /**
+     * Stop after the current window (which is checkpointed).
+     */
+    public synchronized ReplayStatus stop() {
+        if (state == State.RUNNING) {
+            stopRequested = true;
+            state = State.STOPPING;
+        }
+        return status();
+    }
+
+    public ReplayStatus status() {
+        return new ReplayStatus(state, sourceName, batches.get(), ordersSucceeded.get(), ordersFailed.get(),
+                positions, startedAt, finishedAt, error);
+    }
+
+    private void runReplay(DeadLetterSource source, boolean resume) {
+        try {
+            replay(source, resume);
+            state = stopRequested ? State.STOPPED : State.COMPLETED;
+        } catch (Exception e) {
+            log.error("DLQ replay from {} failed: {}", source.name(), e.getMessage(), e);
+            error = e.getMessage();
+            state = State.FAILED;
+        } finally {
+            finishedAt = Instant.now();
+            log.info("DLQ replay from {} {}: {} batches, {} orders succeeded, {} failed again",
+                    source.name(), state, batches.get(), ordersSucceeded.get(), ordersFailed.get());
+        }
+    }
+
+    /**
+     * Replay synchronously on the calling thread (start() runs this on the coordinator thread).
+     */
+    void replay(DeadLetterSource source, boolean resume) throws Exception {
+        if (sourceName == null) {
+            resetProgress(source.name());
+        }
+        Map<String, Long> from = Map.of();
+        if (resume) {
+            from = checkpointStore.load(source.name()).map(ReplayCheckpoint::positions).orElse(Map.of());
+            log.info("Resuming DLQ replay from {} at {}", source.name(), from);
+        }
+        positions = from;
+
+        List<DeadLetterBatch> window = new ArrayList<>();
+        AtomicReference<Map<String, Long>> windowEnd = new AtomicReference<>(from);
+        source.read(from, (batch, positionAfter) -> {
+            window.add(batch);
+            windowEnd.set(positionAfter);
+            if (window.size() >= windowBatches) {
+                replayWindow(window, source.name(), positionAfter);
+                window.clear();
+            }
+            return !stopRequested;
+        });
+        if (!window.isEmpty()) {
+            replayWindow(window, source.name(), windowEnd.get());
+        }
+    }
+
+    private void replayWindow(List<DeadLetterBatch> window, String source, Map<String, Long> windowEnd)
+            throws Exception {
+        List<Future<?>> running = regroup(window).stream()
+                .<Future<?>>map(group -> replayExecutor.submit(() -> replayGroup(group)))
+                .toList();
+        for (Future<?> future : running) {
+            future.get();
+        }
+        batchCounter.increment(window.size());
+        batches.addAndGet(window.size());
+        positions = windowEnd;
+        checkpoint(source, windowEnd);
+    }
+
+    private void checkpoint(String source, Map<String, Long> windowEnd) {
+        try {
+            checkpointStore.save(new ReplayCheckpoint(source, windowEnd, batches.get(),
+                    ordersSucceeded.get() + ordersFailed.get(), Instant.now()));
+        } catch (IOException e) {
+            // Not fatal - a resume would replay this window again
+            log.warn("Failed to save DLQ replay checkpoint for {}: {}", source, e.getMessage());
+        }
+    }
+
+    /**
+     * Merge a window's batches into one group per partner/unit and grouping mode.
+     * Whole-event failures stay separate (their orders are re-fetched).
+     */
+    static List<ReplayGroup> regroup(List<DeadLetterBatch> window) {
+        List<ReplayGroup> groups = new ArrayList<>();
+        Map<String, ReplayGroup> byPartnerUnit = new LinkedHashMap<>();
+        for (DeadLetterBatch batch : window) {
+            OrderEvent event = batch.toEvent();
+            if (batch.isEventFailure()) {
+                groups.add(new ReplayGroup(event, true, event.requiresGrouping(), batch.attempt()));
+                continue;
+            }
+            if (batch.failures().isEmpty()) {
+                continue;
+            }
+            boolean useGrouping = event != null && event.requiresGrouping();
+            String key = batch.partitionKey() + "|" + useGrouping;
+            ReplayGroup group = byPartnerUnit.computeIfAbsent(key,
+                    k -> new ReplayGroup(replayEvent(event), false, useGrouping, batch.attempt()));
+            group.add(batch);
+        }
+        groups.addAll(byPartnerUnit.values());
+        return groups;
+    }
+
+    private static OrderEvent replayEvent(OrderEvent original) {
+        if (original == null) {
+            return null;
+        }
+        return new OrderEvent("replay-" + original.eventId(), original.eventType(),
+                original.tradingPartnerName(), original.businessUnitName());
+    }
+
+    private void replayGroup(ReplayGroup group) {
+        List<Order> orders = List.of();
+        putReplayContext(group);
+        try {
+            orders = group.eventFailure
+                    ? orderFetchService.fetchOrdersForEvent(group.event)
+                    : resolveOrders(group.orders.values());
+            if (orders.isEmpty()) {
+                return;
+            }
+            pace(orders.size());
+
+            ProcessingResult result = orchestrator.processOrders(orders, group.useGrouping, group.eventType(),
+                    replayWorkerExecutor, processingLimiter);
+            record(result.successes().size(), result.failures().size());
+            List<FailedOrder> deadLetters = result.failuresToDeadLetter();
+            if (!deadLetters.isEmpty()) {
+                deadLetterPublisher.send(group.event, deadLetters, group.attempt + 1);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("DLQ replay of {} failed: {}", group.describe(), e.getMessage());
+            if (group.eventFailure && orders.isEmpty()) {
+                deadLetterPublisher.sendEventFailure(group.event, e, group.attempt + 1);
+                return;
+            }
+            record(0, orders.size());
+            List<FailedOrder> failed = orders.stream()
+                    .map(order -> new FailedOrder(order, "Replay failed: " + e.getMessage(),
+                            e.getClass().getSimpleName()))
+                    .toList();
+            deadLetterPublisher.send(group.event, failed, group.attempt + 1);
+        } finally {
+            clearReplayContext();
+        }
+    }
+
+    /**
+     * Give each replay group its own trace, so its logs are sampled and correlated
+     * like a live event (replayWorkerExecutor carries the MDC to the fan-out).
+     */
+    private void putReplayContext(ReplayGroup group) {
+        MDC.put(TraceContextManager.TRACE_ID, TraceContextManager.generateTraceId());
+        if (group.event != null && group.event.eventId() != null) {
+            MDC.put(PipelineStageEvent.EVENT_ID, group.event.eventId());
+        }
+    }
+
+    private void clearReplayContext() {
+        MDC.remove(TraceContextManager.TRACE_ID);
+        MDC.remove(PipelineStageEvent.EVENT_ID);
+    }
+
+    /**
+     * Prefer the current order from MongoDB over the dead-lettered snapshot.
+     */
+    private List<Order> resolveOrders(Collection<Order> snapshots) {
+        if (!orderFetchService.isMongoEnabled()) {
+            return List.copyOf(snapshots);
+        }
+        Map<String, Order> current = orderFetchService.fetchOrdersByIds(snapshots.stream().map(Order::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Order::id, Function.identity(), (a, b) -> b));
+        return snapshots.stream()
+                .map(snapshot -> current.getOrDefault(snapshot.id(), snapshot))
+                .toList();
+    }
+
+    private void record(int succeeded, int failed) {
+        ordersSucceeded.addAndGet(succeeded);
+        ordersFailed.addAndGet(failed);
+        successCounter.increment(succeeded);
+        failureCounter.increment(failed);
+    }
+
+    /**
+     * Wait until the rate limit allows replaying the given number of orders.
+     */
+    private void pace(int orders) throws InterruptedException {
+        if (nanosPerOrder == 0) {
+            return;
+        }
+        long cost = nanosPerOrder * orders;
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextPermitNanos.get();
+            long slot = Math.max(now, next);
+            if (nextPermitNanos.compareAndSet(next, slot + cost)) {
+                if (slot > now) {
+                    Thread.sleep(Duration.ofNanos(slot - now));
+                }
+                return;
+            }
+        }
+    }
+
+    private void resetProgress(String source) {
+        sourceName = source;
+        stopRequested = false;
+        startedAt = Instant.now();
+        finishedAt = null;
+        error = null;
+        positions = Map.of();
+        batches.set(0);
+        ordersSucceeded.set(0);
+        ordersFailed.set(0);
+    }
+
+    private DeadLetterSource createSource(SourceType type) {
+        return switch (type) {
+            case JOURNAL -> new JournalReplaySource(journal.path(), batchReader);
+            case KAFKA -> new KafkaReplaySource(
+                    () -> new KafkaConsumer<>(consumerProps(), new StringDeserializer(), new ByteArrayDeserializer()),
+                    topic, batchReader);
+        };
+    }
+
+    private Map<String, Object> consumerProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "dlq-replay");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, windowBatches);
+        return props;
+    }
+
+    /**
+     * Orders of one partner/unit within a replay window (or one whole-event failure).
+     */
+    static final class ReplayGroup {
+
+        final OrderEvent event;
+        final boolean eventFailure;
+        final boolean useGrouping;
+        final Map<String, Order> orders = new LinkedHashMap<>();
+        int attempt;
+
+        ReplayGroup(OrderEvent event, boolean eventFailure, boolean useGrouping, int attempt) {
+            this.event = event;
+            this.eventFailure = eventFailure;
+            this.useGrouping = useGrouping;
+            this.attempt = attempt;
+        }
+
+        void add(DeadLetterBatch batch) {
+            batch.failures().forEach(failed -> orders.put(failed.order().id(), failed.order()));
+            attempt = Math.max(attempt, batch.attempt());
+        }
+
+        String eventType() {
+            return event != null ? event.eventType() : null;
+        }
+
+        String describe() {
+            String target = event != null
+                    ? event.tradingPartnerName() + "/" + event.businessUnitName()
+                    : "unassigned orders";
+            return eventFailure ? "event " + event.eventId() : target + " (" + orders.size() + " orders)";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+
+import java.util.Map;
+
+/**
+ * Readable store of dead-letter batches (Kafka DLQ topic or local journal) for replay.
+ *
+ * Positions are opaque per-source offsets (journal byte offset, next offset per
+ * topic partition) and are what replay checkpoints persist.
+ */
+public interface DeadLetterSource {
+
+    String name();
+
+    /**
+     * Stream batches after the given positions, up to the end of the source as of
+     * this call - batches appended while reading are left for the next replay.
+     *
+     * @param from Positions to resume from (empty = from the beginning)
+     */
+    void read(Map<String, Long> from, BatchVisitor visitor) throws Exception;
+
+    @FunctionalInterface
+    interface BatchVisitor {
+
+        /**
+         * @param positionAfter Positions to resume from once this batch is replayed
+         * @return false to stop reading
+         */
+        boolean visit(DeadLetterBatch batch, Map<String, Long> positionAfter) throws Exception;
+    }
+}
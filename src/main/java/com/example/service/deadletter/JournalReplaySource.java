@@ -0,0 +1,86 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Replays the local DLQ journal (JSON lines). Position = byte offset of the next line.
+ *
+ * Unparseable lines are skipped; a torn last line (crash mid-append) is left
+ * unread so the position never moves past it.
+ */
+@Slf4j
+public class JournalReplaySource implements DeadLetterSource {
+
+    static final String POSITION_KEY = "journal";
+
+    private final Path path;
+    private final ObjectReader reader;
+
+    public JournalReplaySource(Path path, ObjectReader reader) {
+        this.path = path;
+        this.reader = reader;
+    }
+
+    @Override
+    public String name() {
+        return "JOURNAL";
+    }
+
+    @Override
+    public void read(Map<String, Long> from, BatchVisitor visitor) throws Exception {
+        if (!Files.exists(path)) {
+            log.info("DLQ journal {} does not exist - nothing to replay", path);
+            return;
+        }
+        long offset = from.getOrDefault(POSITION_KEY, 0L);
+        long end = Files.size(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(offset);
+            BufferedReader lines = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8), 64 * 1024);
+            String line;
+            while (offset < end && (line = lines.readLine()) != null) {
+                long next = offset + line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (next > end) {
+                    break;      // torn or still being written
+                }
+                long lineStart = offset;
+                offset = next;
+                if (line.isBlank()) {
+                    continue;
+                }
+                DeadLetterBatch batch = parse(line, lineStart);
+                if (batch != null && !visitor.visit(batch, Map.of(POSITION_KEY, offset))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private DeadLetterBatch parse(String line, long offset) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable DLQ journal line at byte {}: {}", offset, e.getOriginalMessage());
+            return null;
+        } catch (IOException e) {
+            log.warn("Skipping unreadable DLQ journal line at byte {}: {}", offset, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes dead-letter batches to the Kafka DLQ topic (app.kafka.topic.dead-letter).
+ * Only enabled when app.dlq.kafka.enabled=true.
+ *
+ * - One record per event batch, keyed by trading partner|business unit
+ * - Headers: traceId, exceptionType (distinct types), attempt, eventId, failureCount
+ * - Compression/batching configured on the producer (DeadLetterKafkaConfig, lz4 by default)
+ * - Never blocks the caller: serialization and KafkaTemplate.send (which can block
+ *   on metadata or a full buffer) run on virtual threads, at most maxPending at once
+ * - Send callbacks run on the same virtual threads, so a journal write (fsync)
+ *   never stalls the Kafka producer I/O thread
+ * - Batches Kafka does not accept - send error, backlog full, shutdown - go to
+ *   the DeadLetterJournal instead
+ *
+ * Metrics:
+ * - dlq.kafka.sent    → Batches acknowledged by Kafka
+ * - dlq.kafka.failed  → Batches diverted to the journal
+ * - dlq.kafka.pending → Batches handed off and not yet acknowledged
+ */
+@Component
+@ConditionalOnProperty(name = "app.dlq.kafka.enabled", havingValue = "true")
+@Slf4j
+public class KafkaDeadLetterSender {
+
+    public static final String HEADER_TRACE_ID = "traceId";
+    public static final String HEADER_EXCEPTION_TYPE = "exceptionType";
+    public static final String HEADER_ATTEMPT = "attempt";
+    public static final String HEADER_EVENT_ID = "eventId";
+    public static final String HEADER_FAILURE_COUNT = "failureCount";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final DeadLetterJournal journal;
+    private final String topic;
+    private final int maxPending;
+    private final Semaphore pending;
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Executor callbackExecutor = this::runCallback;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public KafkaDeadLetterSender(
+            @Qualifier("deadLetterKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+            ObjectMapper objectMapper,
+            DeadLetterJournal journal,
+            MeterRegistry registry,
+            @Value("${app.kafka.topic.dead-letter:order-events-dlq}") String topic,
+            @Value("${app.dlq.kafka.max-pending:1000}") int maxPending) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.journal = journal;
+        this.topic = topic;
+        this.maxPending = Math.max(1, maxPending);
+        this.pending = new Semaphore(this.maxPending);
+
+        this.sentCounter = Counter.builder("dlq.kafka.sent")
+                .description("Dead-letter batches acknowledged by Kafka")
+                .register(registry);
+        this.failedCounter = Counter.builder("dlq.kafka.failed")
+                .description("Dead-letter batches diverted to the local journal")
+                .register(registry);
+        Gauge.builder("dlq.kafka.pending", this, KafkaDeadLetterSender::pendingCount)
+                .description("Dead-letter batches awaiting Kafka acknowledgement")
+                .register(registry);
+
+        log.info("KafkaDeadLetterSender initialized: topic={}, maxPending={}", topic, this.maxPending);
+    }
+
+    /**
+     * Hand a batch off for publishing. Returns immediately.
+     */
+    public void send(DeadLetterBatch batch) {
+        if (!pending.tryAcquire()) {
+            divert(batch, "DLQ send backlog full (" + maxPending + ")");
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> publish(batch));
+        } catch (RuntimeException e) {
+            pending.release();
+            divert(batch, "DLQ sender shut down");
+        }
+    }
+
+    public int pendingCount() {
+        return maxPending - pending.availablePermits();
+    }
+
+    private void publish(DeadLetterBatch batch) {
+        try {
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null,
+                    batch.partitionKey(), objectMapper.writeValueAsBytes(batch), headers(batch));
+            kafkaTemplate.send(record).whenCompleteAsync((result, ex) -> {
+                pending.release();
+                if (ex != null) {
+                    divert(batch, ex.getMessage());
+                } else {
+                    sentCounter.increment();
+                    log.debug("DLQ batch for event {} ({} orders) sent to {}-{}@{}", batch.eventId(),
+                            batch.failures().size(), topic, result.getRecordMetadata().partition(),
+                            result.getRecordMetadata().offset());
+                }
+            }, callbackExecutor);
+        } catch (Exception e) {
+            pending.release();
+            divert(batch, e.getMessage());
+        }
+    }
+
+    /**
+     * Run a send callback on a virtual thread; after shutdown, on the completing
+     * thread so late acknowledgements still reach the journal.
+     */
+    private void runCallback(Runnable callback) {
+        try {
+            sendExecutor.execute(callback);
+        } catch (RejectedExecutionException e) {
+            callback.run();
+        }
+    }
+
+    private void divert(DeadLetterBatch batch, String reason) {
+        failedCounter.increment();
+        log.warn("DLQ batch for event {} ({} orders) not sent to Kafka: {} - writing to journal",
+                batch.eventId(), batch.failures().size(), reason);
+        journal.append(batch);
+    }
+
+    static List<Header> headers(DeadLetterBatch batch) {
+        return List.of(
+                header(HEADER_TRACE_ID, batch.traceId() != null ? batch.traceId() : ""),
+                header(HEADER_EXCEPTION_TYPE, batch.exceptionTypes()),
+                header(HEADER_ATTEMPT, Integer.toString(batch.attempt())),
+                header(HEADER_EVENT_ID, batch.eventId() != null ? batch.eventId() : ""),
+                header(HEADER_FAILURE_COUNT, Integer.toString(batch.failures().size())));
+    }
+
+    private static Header header(String key, String value) {
+        return new RecordHeader(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+        try {
+            if (!sendExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("DLQ sends still running at shutdown");
+            }
+            kafkaTemplate.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Replays the Kafka DLQ topic. Position = next offset per partition ("topic-partition").
+ *
+ * Partitions are assigned directly (no consumer group offsets) - progress lives
+ * in the replay checkpoint. Reading stops at the end offsets taken when the
+ * replay starts.
+ */
+@Slf4j
+public class KafkaReplaySource implements DeadLetterSource {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final Supplier<Consumer<String, byte[]>> consumerFactory;
+    private final String topic;
+    private final ObjectReader reader;
+
+    public KafkaReplaySource(Supplier<Consumer<String, byte[]>> consumerFactory, String topic, ObjectReader reader) {
+        this.consumerFactory = consumerFactory;
+        this.topic = topic;
+        this.reader = reader;
+    }
+
+    @Override
+    public String name() {
+        return "KAFKA";
+    }
+
+    @Override
+    public void read(Map<String, Long> from, BatchVisitor visitor) throws Exception {
+        try (Consumer<String, byte[]> consumer = consumerFactory.get()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            Map<String, Long> positions = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                Long resumeAt = from.get(partition.toString());
+                if (resumeAt != null) {
+                    consumer.seek(partition, resumeAt);
+                } else {
+                    consumer.seekToBeginning(List.of(partition));
+                }
+                positions.put(partition.toString(), consumer.position(partition));
+            }
+            log.info("Replaying DLQ topic {} from {} to {}", topic, positions, endOffsets);
+
+            while (hasRemaining(consumer, partitions, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    positions.put(partition.toString(), record.offset() + 1);
+                    DeadLetterBatch batch = parse(record);
+                    if (batch != null && !visitor.visit(batch, Map.copyOf(positions))) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean hasRemaining(Consumer<String, byte[]> consumer, List<TopicPartition> partitions,
+                                        Map<TopicPartition, Long> endOffsets) {
+        for (TopicPartition partition : partitions) {
+            if (consumer.position(partition) < endOffsets.get(partition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DeadLetterBatch parse(ConsumerRecord<String, byte[]> record) {
+        try {
+            return reader.readValue(record.value());
+        } catch (IOException e) {
+            log.warn("Skipping unreadable DLQ record {}-{}@{}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.service.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Replay progress per source, one JSON file each (<dir>/<source>.json).
+ * Written via temp file + atomic move so a crash never leaves a torn checkpoint.
+ */
+@Slf4j
+public class ReplayCheckpointStore {
+
+    /**
+     * @param positions Source positions of the last fully replayed window
+     */
+    public record ReplayCheckpoint(
+            String source,
+            Map<String, Long> positions,
+            long batches,
+            long orders,
+            Instant updatedAt
+    ) {}
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public ReplayCheckpointStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    public Optional<ReplayCheckpoint> load(String source) {
+        Path file = file(source);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), ReplayCheckpoint.class));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable replay checkpoint {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(ReplayCheckpoint checkpoint) throws IOException {
+        Files.createDirectories(directory);
+        Path file = file(checkpoint.source());
+        Path temp = directory.resolve(checkpoint.source() + ".json.tmp");
+        objectMapper.writeValue(temp.toFile(), checkpoint);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path file(String source) {
+        return directory.resolve(source + ".json");
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.BusinessLogic")
+@Label("Business Logic")
+@Description("Business rule processing of one batch of orders")
+public class BusinessLogicEvent extends PipelineStageEvent {
+
+    @Label("Failures")
+    int failures;
+
+    public void setFailures(int failures) {
+        this.failures = failures;
+    }
+}
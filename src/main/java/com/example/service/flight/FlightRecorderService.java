@@ -0,0 +1,161 @@
+package com.example.service.flight;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Continuous JDK Flight Recorder recording of the order pipeline.
+ *
+ * - Started at boot with the JDK "default" settings (app.jfr.settings, ~1% overhead)
+ *   plus the pipeline stage events (validation, MongoDB fetch, preload chunks,
+ *   business logic, grouping, publish batches)
+ * - Kept in a disk-backed ring buffer bounded by app.jfr.max-age / app.jfr.max-size-mb
+ * - Stage events shorter than app.jfr.event-threshold-ms are not recorded
+ * - dump() writes the buffer to app.jfr.dump-dir on demand (POST /api/jfr/dump)
+ *
+ * Disable with app.jfr.enabled=false.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    static final String RECORDING_NAME = "order-pipeline";
+
+    private static final List<Class<? extends Event>> STAGE_EVENTS = List.of(
+            ValidationEvent.class,
+            MongoFetchEvent.class,
+            PreloadChunkEvent.class,
+            BusinessLogicEvent.class,
+            GroupingEvent.class,
+            PublishBatchEvent.class);
+
+    private static final DateTimeFormatter DUMP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Duration eventThreshold;
+    private final Path dumpDir;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public FlightRecorderService(
+            @Value("${app.jfr.enabled:true}") boolean enabled,
+            @Value("${app.jfr.settings:default}") String settings,
+            @Value("${app.jfr.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${app.jfr.max-size-mb:250}") long maxSizeMb,
+            @Value("${app.jfr.event-threshold-ms:1}") long eventThresholdMs,
+            @Value("${app.jfr.dump-dir:data/jfr}") String dumpDir) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.eventThreshold = Duration.ofMillis(eventThresholdMs);
+        this.dumpDir = Path.of(dumpDir);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Continuous JFR recording disabled (app.jfr.enabled=false)");
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JDK Flight Recorder not available in this JVM - pipeline events will not be recorded");
+            return;
+        }
+        try {
+            STAGE_EVENTS.forEach(FlightRecorder::register);
+
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSizeBytes);
+            for (Class<? extends Event> eventType : STAGE_EVENTS) {
+                continuous.enable(eventType).withThreshold(eventThreshold);
+            }
+            continuous.start();
+            this.recording = continuous;
+            log.info("Continuous JFR recording '{}' started: settings={}, maxAge={}, maxSize={}MB, stage threshold={}ms",
+                    RECORDING_NAME, settings, maxAge, maxSizeBytes / (1024 * 1024), eventThreshold.toMillis());
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load JFR settings '{}': {} - continuous recording not started", settings, e.getMessage());
+        } catch (IllegalStateException | SecurityException e) {
+            log.warn("Could not start continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the current recording buffer to a new file in the dump directory.
+     *
+     * @return path of the written .jfr file
+     * @throws IllegalStateException if no recording is running
+     */
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new IllegalStateException("No continuous JFR recording is running");
+            }
+            Files.createDirectories(dumpDir);
+            Path target = dumpDir.resolve("pipeline-" + LocalDateTime.now().format(DUMP_TIMESTAMP) + ".jfr");
+            recording.dump(target);
+            log.info("JFR recording dumped to {} ({} bytes)", target, Files.size(target));
+            return target;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        Recording current = recording;
+        status.put("state", current != null ? current.getState().name() : "NOT_STARTED");
+        status.put("settings", settings);
+        status.put("maxAgeMinutes", maxAge.toMinutes());
+        status.put("maxSizeMb", maxSizeBytes / (1024 * 1024));
+        status.put("eventThresholdMs", eventThreshold.toMillis());
+        status.put("dumpDir", dumpDir.toAbsolutePath().toString());
+        if (current != null && current.getStartTime() != null) {
+            status.put("startedAt", current.getStartTime().toString());
+        }
+        return status;
+    }
+
+    @PreDestroy
+    public void stop() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.Grouping")
+@Label("Order Grouping")
+@Description("Grouping of processed orders into MQ messages")
+public class GroupingEvent extends PipelineStageEvent {
+
+    @Label("Grouped Messages")
+    int groupedMessages;
+
+    @Label("Individual Orders")
+    int individualOrders;
+
+    public void setResult(int groupedMessages, int individualOrders) {
+        this.groupedMessages = groupedMessages;
+        this.individualOrders = individualOrders;
+    }
+}
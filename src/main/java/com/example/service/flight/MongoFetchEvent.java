@@ -0,0 +1,11 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.MongoFetch")
+@Label("MongoDB Fetch")
+@Description("Fetch of the orders for one event from MongoDB")
+public class MongoFetchEvent extends PipelineStageEvent {
+}
@@ -0,0 +1,57 @@
+package com.example.service.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.slf4j.MDC;
+
+/**
+ * Base for the pipeline's JDK Flight Recorder events.
+ *
+ * Every stage event carries the Kafka event it belongs to (taken from MDC,
+ * see {@link #EVENT_ID}) and the number of orders it handled, so a slow event
+ * can be followed stage by stage in JDK Mission Control.
+ *
+ * Usage - free when the event type is disabled:
+ *   MongoFetchEvent jfr = new MongoFetchEvent();
+ *   jfr.begin();
+ *   ... stage work ...
+ *   jfr.finish(orders.size());
+ */
+@Category({"Order Pipeline"})
+@StackTrace(false)
+public abstract class PipelineStageEvent extends Event {
+
+    /** MDC keys set by OrderEventProcessor for the duration of one event. */
+    public static final String EVENT_ID = "eventId";
+    public static final String TRADING_PARTNER = "tradingPartner";
+    public static final String BUSINESS_UNIT = "businessUnit";
+
+    @Label("Event Id")
+    String eventId;
+
+    @Label("Trading Partner")
+    String tradingPartner;
+
+    @Label("Business Unit")
+    String businessUnit;
+
+    @Label("Order Count")
+    int orderCount;
+
+    /**
+     * End the event and commit it if it passes the recording's filters
+     * (enabled, threshold). Event context is only read when committing.
+     */
+    public void finish(int orderCount) {
+        end();
+        if (shouldCommit()) {
+            this.eventId = MDC.get(EVENT_ID);
+            this.tradingPartner = MDC.get(TRADING_PARTNER);
+            this.businessUnit = MDC.get(BUSINESS_UNIT);
+            this.orderCount = orderCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.PreloadChunk")
+@Label("Preload Chunk")
+@Description("One chunk query of the DB preload (orderCount = IDs in the chunk)")
+public class PreloadChunkEvent extends PipelineStageEvent {
+
+    @Label("Data Type")
+    String dataType;
+
+    @Label("Failed")
+    @Description("The query threw - retries exhausted or rejected by the SQL guard")
+    boolean failed;
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.PublishBatch")
+@Label("Publish Batch")
+@Description("Publish of one batch of processed orders to MQ")
+public class PublishBatchEvent extends PipelineStageEvent {
+
+    @Label("Grouping")
+    boolean grouping;
+
+    @Label("Sent Messages")
+    int sent;
+
+    @Label("Queued For Retry")
+    int queuedForRetry;
+
+    @Label("Failed Orders")
+    int failedOrders;
+
+    public void setGrouping(boolean grouping) {
+        this.grouping = grouping;
+    }
+
+    public void setOutcome(int sent, int queuedForRetry, int failedOrders) {
+        this.sent = sent;
+        this.queuedForRetry = queuedForRetry;
+        this.failedOrders = failedOrders;
+    }
+}
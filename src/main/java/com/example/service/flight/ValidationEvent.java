@@ -0,0 +1,18 @@
+package com.example.service.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.pipeline.Validation")
+@Label("Partner Validation")
+@Description("Trading partner / business unit validation of one event")
+public class ValidationEvent extends PipelineStageEvent {
+
+    @Label("Should Process")
+    boolean shouldProcess;
+
+    public void setShouldProcess(boolean shouldProcess) {
+        this.shouldProcess = shouldProcess;
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.service.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Message;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Consumer lag and throughput for the order-kafka-consumer route.
+ *
+ * - Every app.kafka.lag.poll-interval-ms an AdminClient reads the group's committed
+ *   offsets and the topic's end offsets; lag = end - committed per partition
+ *   (partitions without a commit count from the earliest offset - autoOffsetReset=earliest)
+ * - Consume rate (committed offset advance, whole group) and produce rate (end offset
+ *   advance) are smoothed per partition; time-to-drain = lag / (consume - produce),
+ *   -1 while the lag is not shrinking
+ * - Process rate counts records this instance finished, per partition
+ * - Poll → process delay comes from PollTimestampInterceptor's header; record age
+ *   (record timestamp → processing start) shows how far behind in time we are
+ *
+ * Offset polling is off unless app.kafka.lag.enabled=true; per-record metrics and the
+ * process rate are always kept.
+ *
+ * Metrics:
+ * - kafka.consumer.lag{topic, partition}           → Records not yet committed
+ * - kafka.consumer.consume.rate{topic, partition}  → Committed records/s (whole group)
+ * - kafka.consumer.process.rate{topic, partition}  → Processed records/s (this instance)
+ * - kafka.consumer.lag.total{topic}                → Sum of partition lag
+ * - kafka.consumer.drain.seconds{topic}            → Estimated time to drain (-1 = not draining)
+ * - kafka.consumer.poll.to.process{topic}          → Wait between poll() and processing start
+ * - kafka.consumer.record.age{topic}               → Record timestamp to processing start
+ *
+ * View: GET /api/metrics/kafka
+ */
+@Component
+@Slf4j
+public class KafkaLagMonitor {
+
+    /** Weight of the newest sample in the smoothed rates */
+    static final double RATE_SMOOTHING = 0.3;
+
+    private final MeterRegistry registry;
+    private final String topic;
+    private final String groupId;
+    private final String bootstrapServers;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final long requestTimeoutMs;
+
+    private final Map<Integer, PartitionState> partitions = new ConcurrentSkipListMap<>();
+    private final Timer pollToProcessTimer;
+    private final Timer recordAgeTimer;
+
+    private AdminClient admin;
+    private ScheduledExecutorService poller;
+    private volatile long lastUpdateMillis;
+    private volatile String lastError;
+
+    public KafkaLagMonitor(
+            MeterRegistry registry,
+            @Value("${app.kafka.topic.order-events:order-events}") String topic,
+            @Value("${spring.kafka.consumer.group-id:order-processor-group}") String groupId,
+            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${app.kafka.lag.enabled:false}") boolean enabled,
+            @Value("${app.kafka.lag.poll-interval-ms:10000}") long pollIntervalMs,
+            @Value("${app.kafka.lag.request-timeout-ms:5000}") long requestTimeoutMs) {
+        this.registry = registry;
+        this.topic = topic;
+        this.groupId = groupId;
+        this.bootstrapServers = bootstrapServers;
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+
+        this.pollToProcessTimer = Timer.builder("kafka.consumer.poll.to.process")
+                .description("Time between poll() returning a record and its processing start")
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.recordAgeTimer = Timer.builder("kafka.consumer.record.age")
+                .description("Time between the record timestamp and its processing start")
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("kafka.consumer.lag.total", this, KafkaLagMonitor::totalLag)
+                .description("Records not yet committed, all partitions")
+                .tag("topic", topic)
+                .register(registry);
+        Gauge.builder("kafka.consumer.drain.seconds", this, KafkaLagMonitor::drainSeconds)
+                .description("Estimated seconds until the lag is consumed (-1 = not draining)")
+                .tag("topic", topic)
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            Map<String, Object> props = new HashMap<>();
+            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            props.put(AdminClientConfig.CLIENT_ID_CONFIG, "order-lag-monitor");
+            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) requestTimeoutMs);
+            props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) requestTimeoutMs);
+            admin = AdminClient.create(props);
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kafka-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::tick, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("KafkaLagMonitor initialized: topic={}, group={}, interval={}ms, offsetPolling={}",
+                topic, groupId, pollIntervalMs, enabled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(2));
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Per-record hooks (called from the route)
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Record poll → process delay and record age for a record about to be processed.
+     */
+    public void onRecordStart(Message message) {
+        long now = System.currentTimeMillis();
+        long polledAt = PollTimestampInterceptor.decode(message.getHeader(PollTimestampInterceptor.HEADER));
+        if (polledAt > 0) {
+            pollToProcessTimer.record(Math.max(0, now - polledAt), TimeUnit.MILLISECONDS);
+        }
+        Long timestamp = message.getHeader(KafkaConstants.TIMESTAMP, Long.class);
+        if (timestamp != null && timestamp > 0) {
+            recordAgeTimer.record(Math.max(0, now - timestamp), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Count a record this instance finished processing.
+     */
+    public void onRecordProcessed(Message message) {
+        Integer partition = message.getHeader(KafkaConstants.PARTITION, Integer.class);
+        if (partition != null) {
+            partition(partition).processed.increment();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Offset polling
+    // ═══════════════════════════════════════════════════════════════
+
+    private void tick() {
+        if (admin != null) {
+            pollOffsets();
+        }
+        sampleProcessRates(System.currentTimeMillis());
+    }
+
+    private void pollOffsets() {
+        try {
+            List<TopicPartition> topicPartitions = admin.describeTopics(List.of(topic)).allTopicNames()
+                    .get(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                    .get(topic).partitions().stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                    .partitionsToOffsetAndMetadata()
+                    .get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+
+            Map<Integer, Long> endOffsets = listOffsets(topicPartitions, OffsetSpec.latest());
+            List<TopicPartition> uncommitted = topicPartitions.stream()
+                    .filter(tp -> committed.get(tp) == null)
+                    .toList();
+            Map<Integer, Long> positions = uncommitted.isEmpty()
+                    ? new HashMap<>()
+                    : listOffsets(uncommitted, OffsetSpec.earliest());
+            committed.forEach((tp, offset) -> {
+                if (offset != null && tp.topic().equals(topic)) {
+                    positions.put(tp.partition(), offset.offset());
+                }
+            });
+
+            update(positions, endOffsets, System.currentTimeMillis());
+            lastError = null;
+        } catch (ExecutionException | TimeoutException e) {
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("Kafka lag poll failed for group {}: {}", groupId, lastError);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("Kafka lag poll failed for group {}", groupId, e);
+        }
+    }
+
+    private Map<Integer, Long> listOffsets(List<TopicPartition> topicPartitions, OffsetSpec spec)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        topicPartitions.forEach(tp -> request.put(tp, spec));
+        Map<TopicPartition, ListOffsetsResultInfo> result = admin.listOffsets(request).all()
+                .get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        Map<Integer, Long> offsets = new HashMap<>();
+        result.forEach((tp, info) -> offsets.put(tp.partition(), info.offset()));
+        return offsets;
+    }
+
+    /**
+     * Apply one offset sample (normally from the poller thread).
+     *
+     * @param positions  Committed offset per partition (earliest offset if never committed)
+     * @param endOffsets Log end offset per partition
+     */
+    void update(Map<Integer, Long> positions, Map<Integer, Long> endOffsets, long nowMillis) {
+        endOffsets.forEach((partition, end) -> {
+            Long position = positions.get(partition);
+            if (position != null) {
+                partition(partition).sample(position, end, nowMillis);
+            }
+        });
+        lastUpdateMillis = nowMillis;
+    }
+
+    /**
+     * Close one process-rate interval for every partition (normally from the poller thread).
+     */
+    void sampleProcessRates(long nowMillis) {
+        partitions.values().forEach(state -> state.sampleProcessed(nowMillis));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Views
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Lag, rates and drain estimate per partition and for the topic.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("topic", topic);
+        result.put("groupId", groupId);
+        result.put("offsetPolling", enabled);
+        result.put("lastUpdate", lastUpdateMillis);
+        if (lastError != null) {
+            result.put("lastError", lastError);
+        }
+        result.put("totalLag", (long) totalLag());
+        result.put("consumeRate", round(sum(state -> state.consumeRate)));
+        result.put("produceRate", round(sum(state -> state.produceRate)));
+        result.put("processRate", round(sum(state -> state.processRate)));
+        result.put("drainSeconds", round(drainSeconds()));
+        result.put("pollToProcessMs", describe(pollToProcessTimer));
+        result.put("recordAgeMs", describe(recordAgeTimer));
+
+        List<Map<String, Object>> perPartition = new ArrayList<>();
+        for (PartitionState state : partitions.values()) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("partition", state.partition);
+            stats.put("committed", state.committed);
+            stats.put("end", state.end);
+            stats.put("lag", state.lag());
+            stats.put("consumeRate", round(state.consumeRate));
+            stats.put("produceRate", round(state.produceRate));
+            stats.put("processRate", round(state.processRate));
+            stats.put("processed", state.processed.sum());
+            stats.put("drainSeconds", round(drainSeconds(state.lag(), state.consumeRate - state.produceRate)));
+            perPartition.add(stats);
+        }
+        result.put("partitions", perPartition);
+        return result;
+    }
+
+    double totalLag() {
+        return partitions.values().stream().mapToLong(PartitionState::lag).sum();
+    }
+
+    double drainSeconds() {
+        return drainSeconds((long) totalLag(), sum(state -> state.consumeRate - state.produceRate));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private PartitionState partition(int partition) {
+        return partitions.computeIfAbsent(partition, this::register);
+    }
+
+    private PartitionState register(int partition) {
+        PartitionState state = new PartitionState(partition);
+        String tag = Integer.toString(partition);
+        gauge("kafka.consumer.lag", "Records not yet committed", tag, state, s -> s.lag());
+        gauge("kafka.consumer.consume.rate", "Committed records per second (whole group)", tag, state,
+                s -> s.consumeRate);
+        gauge("kafka.consumer.process.rate", "Processed records per second (this instance)", tag, state,
+                s -> s.processRate);
+        return state;
+    }
+
+    private void gauge(String name, String description, String partition, PartitionState state,
+                       ToDoubleFunction<PartitionState> value) {
+        Gauge.builder(name, state, value)
+                .description(description)
+                .tag("topic", topic)
+                .tag("partition", partition)
+                .register(registry);
+    }
+
+    private double sum(ToDoubleFunction<PartitionState> value) {
+        return partitions.values().stream().mapToDouble(value).sum();
+    }
+
+    private static double drainSeconds(long lag, double netRate) {
+        if (lag <= 0) {
+            return 0;
+        }
+        return netRate > 0 ? lag / netRate : -1;
+    }
+
+    private static Map<String, Object> describe(Timer timer) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", timer.count());
+        stats.put("mean", round(timer.mean(TimeUnit.MILLISECONDS)));
+        stats.put("max", round(timer.max(TimeUnit.MILLISECONDS)));
+        return stats;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Offsets and smoothed rates for one partition. Samples come from the poller
+     * thread only; readers see the volatile fields.
+     */
+    private static final class PartitionState {
+
+        private final int partition;
+        private final LongAdder processed = new LongAdder();
+
+        private volatile long committed = -1;
+        private volatile long end = -1;
+        private volatile double consumeRate;
+        private volatile double produceRate;
+        private volatile double processRate;
+
+        private long lastSampleMillis;
+        private long lastProcessedMillis;
+        private long lastProcessed;
+
+        private PartitionState(int partition) {
+            this.partition = partition;
+        }
+
+        private long lag() {
+            return committed < 0 ? 0 : Math.max(0, end - committed);
+        }
+
+        private void sample(long newCommitted, long newEnd, long nowMillis) {
+            long elapsed = nowMillis - lastSampleMillis;
+            if (lastSampleMillis > 0 && elapsed > 0) {
+                consumeRate = smooth(consumeRate, newCommitted - committed, elapsed);
+                produceRate = smooth(produceRate, newEnd - end, elapsed);
+            }
+            committed = newCommitted;
+            end = newEnd;
+            lastSampleMillis = nowMillis;
+        }
+
+        private void sampleProcessed(long nowMillis) {
+            long processedNow = processed.sum();
+            long elapsed = nowMillis - lastProcessedMillis;
+            if (lastProcessedMillis > 0 && elapsed > 0) {
+                processRate = smooth(processRate, processedNow - lastProcessed, elapsed);
+            }
+            lastProcessed = processedNow;
+            lastProcessedMillis = nowMillis;
+        }
+
+        private static double smooth(double current, long delta, long elapsedMillis) {
+            // Offsets can move backwards (reset, truncation) - treat as no progress
+            double rate = Math.max(0, delta) * 1000.0 / elapsedMillis;
+            return RATE_SMOOTHING * rate + (1 - RATE_SMOOTHING) * current;
+        }
+    }
+}
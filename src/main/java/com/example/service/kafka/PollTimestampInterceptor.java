@@ -0,0 +1,66 @@
+package com.example.service.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Consumer interceptor that stamps every polled record with the poll time.
+ *
+ * Kafka calls onConsume() as poll() returns; the stamp travels as the
+ * {@link #HEADER} record header (8-byte big-endian epoch millis), which the Camel
+ * Kafka component copies to the exchange. KafkaLagMonitor reads it to measure
+ * how long records wait between poll and processing (records later in a poll
+ * batch wait for the ones before them).
+ *
+ * Registered on the consumer via the route URI (interceptorClasses).
+ */
+public class PollTimestampInterceptor implements ConsumerInterceptor<Object, Object> {
+
+    public static final String HEADER = "x-poll-timestamp";
+
+    @Override
+    public ConsumerRecords<Object, Object> onConsume(ConsumerRecords<Object, Object> records) {
+        // One shared value per poll - headers are only read downstream
+        byte[] stamp = encode(System.currentTimeMillis());
+        for (ConsumerRecord<Object, Object> record : records) {
+            try {
+                record.headers().add(HEADER, stamp);
+            } catch (IllegalStateException e) {
+                // Read-only headers - the record simply has no poll time
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void onCommit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+
+    static byte[] encode(long epochMillis) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(epochMillis).array();
+    }
+
+    /**
+     * @return The poll time, or -1 if the header value is not a stamp
+     */
+    public static long decode(Object headerValue) {
+        if (headerValue instanceof byte[] bytes && bytes.length == Long.BYTES) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.service.latency;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process nanosecond latency recorder built on HdrHistogram.
+ *
+ * Complements the Micrometer timers (millisecond deltas) for stages that are
+ * sub-millisecond - business logic per order, cache lookups - where the hot path
+ * must not pay for a Timer.record() per call.
+ *
+ * - Callers hold a Stage handle and call recordSince(System.nanoTime() at start)
+ * - Each stage is striped over power-of-two HdrHistogram Recorders picked by thread
+ *   id; writes are wait-free (no locks, no allocation) and rarely contend
+ * - A background thread swaps the stripes' interval histograms every
+ *   app.latency.interval-ms and merges them into an interval view (last
+ *   complete interval) and a cumulative view (since start or reset)
+ * - Values are tracked from 1µs to app.latency.max-value-ms with
+ *   app.latency.significant-digits precision; larger values are clamped
+ *
+ * Views: GET /api/metrics/latency and /api/metrics/latency/{stage}/distribution
+ */
+@Component
+@Slf4j
+public class LatencyRecorder {
+
+    private static final long LOWEST_TRACKABLE_NANOS = 1_000;
+
+    private final long highestTrackableNanos;
+    private final int significantDigits;
+    private final int stripes;
+    private final long intervalMs;
+
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService merger;
+
+    public LatencyRecorder(
+            @Value("${app.latency.interval-ms:5000}") long intervalMs,
+            @Value("${app.latency.max-value-ms:120000}") long maxValueMs,
+            @Value("${app.latency.significant-digits:2}") int significantDigits) {
+        this.intervalMs = intervalMs;
+        this.highestTrackableNanos = TimeUnit.MILLISECONDS.toNanos(maxValueMs);
+        this.significantDigits = significantDigits;
+        // Next power of two >= 2 × cores
+        int target = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        this.stripes = Integer.highestOneBit(target - 1) << 1;
+        this.merger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "latency-merger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        merger.scheduleAtFixedRate(this::mergeIntervals, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("LatencyRecorder initialized: interval={}ms, max={}ms, digits={}, stripes={}",
+                intervalMs, maxValueMs, significantDigits, stripes);
+    }
+
+    /**
+     * Handle for one stage. Look it up once and keep it in a field.
+     */
+    public Stage stage(String name) {
+        return stages.computeIfAbsent(name, Stage::new);
+    }
+
+    /**
+     * Interval and cumulative summary per stage, in microseconds.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        stages.values().stream()
+                .sorted(Comparator.comparing(Stage::getName))
+                .forEach(stage -> result.put(stage.name, stage.summary()));
+        return result;
+    }
+
+    /**
+     * HdrHistogram percentile distribution (text, values in microseconds) for plotting.
+     *
+     * @param cumulative true for the cumulative view, false for the last interval
+     * @return the distribution, or null for an unknown stage
+     */
+    public String distribution(String name, boolean cumulative) {
+        Stage stage = stages.get(name);
+        if (stage == null) {
+            return null;
+        }
+        Histogram copy = stage.copy(cumulative);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            copy.outputPercentileDistribution(printStream, 1000.0);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Clear cumulative histograms (interval views keep rolling).
+     */
+    public void reset() {
+        stages.values().forEach(Stage::resetCumulative);
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        merger.shutdownNow();
+    }
+
+    /**
+     * Close the current interval for every stage (normally run by the merger thread).
+     */
+    void mergeIntervals() {
+        try {
+            stages.values().forEach(Stage::merge);
+        } catch (RuntimeException e) {
+            log.warn("Latency histogram merge failed: {}", e.getMessage());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Stage
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * One stage's striped recorders plus its merged views (guarded by this).
+     */
+    public final class Stage {
+
+        private final String name;
+        private final Recorder[] recorders;
+        private final Histogram[] recycled;
+        private final int mask;
+
+        private Histogram interval;
+        private final Histogram cumulative;
+        private long intervalEndMillis;
+
+        private Stage(String name) {
+            this.name = name;
+            this.recorders = new Recorder[stripes];
+            for (int i = 0; i < stripes; i++) {
+                recorders[i] = new Recorder(LOWEST_TRACKABLE_NANOS, highestTrackableNanos, significantDigits);
+            }
+            this.recycled = new Histogram[stripes];
+            this.mask = stripes - 1;
+            this.interval = newHistogram();
+            this.cumulative = newHistogram();
+        }
+
+        /**
+         * Record the time elapsed since startNanos (a System.nanoTime() reading).
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Record a duration in nanoseconds. Wait-free.
+         */
+        public void record(long nanos) {
+            long value = Math.clamp(nanos, LOWEST_TRACKABLE_NANOS, highestTrackableNanos);
+            recorders[(int) Thread.currentThread().threadId() & mask].recordValue(value);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private synchronized void merge() {
+            Histogram merged = newHistogram();
+            for (int i = 0; i < recorders.length; i++) {
+                // A recorder only accepts back histograms it handed out itself
+                recycled[i] = recorders[i].getIntervalHistogram(recycled[i]);
+                merged.add(recycled[i]);
+            }
+            interval = merged;
+            cumulative.add(merged);
+            intervalEndMillis = System.currentTimeMillis();
+        }
+
+        private synchronized Histogram copy(boolean cumulativeView) {
+            return (cumulativeView ? cumulative : interval).copy();
+        }
+
+        private synchronized void resetCumulative() {
+            cumulative.reset();
+        }
+
+        private synchronized Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("intervalEnd", intervalEndMillis);
+            summary.put("interval", describe(interval));
+            summary.put("cumulative", describe(cumulative));
+            return summary;
+        }
+
+        private Histogram newHistogram() {
+            return new Histogram(LOWEST_TRACKABLE_NANOS, highestTrackableNanos, significantDigits);
+        }
+    }
+
+    private static Map<String, Object> describe(Histogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long count = histogram.getTotalCount();
+        stats.put("count", count);
+        if (count == 0) {
+            return stats;
+        }
+        stats.put("minUs", micros(histogram.getMinValue()));
+        stats.put("meanUs", Math.round(histogram.getMean() / 10.0) / 100.0);
+        stats.put("p50Us", micros(histogram.getValueAtPercentile(50)));
+        stats.put("p90Us", micros(histogram.getValueAtPercentile(90)));
+        stats.put("p99Us", micros(histogram.getValueAtPercentile(99)));
+        stats.put("p999Us", micros(histogram.getValueAtPercentile(99.9)));
+        stats.put("p9999Us", micros(histogram.getValueAtPercentile(99.99)));
+        stats.put("maxUs", micros(histogram.getMaxValue()));
+        return stats;
+    }
+
+    private static double micros(long nanos) {
+        return Math.round(nanos / 10.0) / 100.0;
+    }
+}
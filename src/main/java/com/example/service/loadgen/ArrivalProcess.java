@@ -0,0 +1,37 @@
+package com.example.service.loadgen;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inter-arrival times for the open-loop load generator.
+ *
+ * - FIXED   → evenly spaced, 1/rate apart
+ * - POISSON → exponentially distributed gaps with mean 1/rate (independent
+ *   arrivals, the usual model for many uncoordinated upstream producers);
+ *   bursts expose queueing that evenly spaced traffic hides
+ */
+public enum ArrivalProcess {
+
+    FIXED {
+        @Override
+        public long nextIntervalNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(NANOS_PER_SECOND / ratePerSecond);
+        }
+    },
+
+    POISSON {
+        @Override
+        public long nextIntervalNanos(double ratePerSecond, SplittableRandom random) {
+            // Inverse CDF of the exponential distribution; 1 - u keeps the log argument in (0, 1]
+            return Math.round(-Math.log(1.0 - random.nextDouble()) * NANOS_PER_SECOND / ratePerSecond);
+        }
+    };
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Gap between this arrival and the next one.
+     */
+    public abstract long nextIntervalNanos(double ratePerSecond, SplittableRandom random);
+}
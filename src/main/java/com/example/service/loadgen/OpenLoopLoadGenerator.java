@@ -0,0 +1,449 @@
+package com.example.service.loadgen;
+
+import com.example.model.OrderEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeEvent;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.support.service.ServiceHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for the Kafka → Camel pipeline.
+ *
+ * /api/loadtest and /api/camel/send-batch send the next event only after the
+ * previous one returned, so when the pipeline slows down the senders slow down
+ * with it and the queueing delay never shows up in the numbers (coordinated
+ * omission). This generator does not wait for anything:
+ *
+ * - Events are scheduled at a fixed or Poisson arrival rate (ArrivalProcess);
+ *   a platform thread parks until each arrival and hands the send to a virtual
+ *   thread, so a slow Kafka send never delays the next arrival
+ * - Each record's timestamp is set to its intended send time; latency runs from
+ *   there to completion of the order-kafka-consumer exchange, so time spent
+ *   behind a backlog is counted
+ * - A run is a latency-vs-throughput curve: one step per offered rate, each
+ *   held for stepSeconds and then drained before the next one starts
+ * - A step is saturated when it did not drain within app.loadgen.drain-timeout-seconds,
+ *   completed less than (1 - app.loadgen.saturation-tolerance) of the offered
+ *   rate, or its p99 exceeded app.loadgen.p99-slo-ms
+ *
+ * Every event gets its own business unit (LOADGEN-<run>-<step>-<seq>) because
+ * EventDeduplicationService skips repeats of a trading partner + business unit.
+ * Those units match no MongoDB orders, so runs against a real MongoDB measure the
+ * pipeline without order processing; with MongoDB disabled, mock orders are used.
+ *
+ * One run at a time. REST: /api/loadgen/run (POST start, GET status, DELETE cancel).
+ */
+@Service
+@Slf4j
+public class OpenLoopLoadGenerator {
+
+    public enum State { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    static final String KEY_PREFIX = "LOADGEN-";
+    static final String ROUTE_ID = "order-kafka-consumer";
+
+    private final CamelContext camelContext;
+    private final ProducerTemplate producerTemplate;
+    private final ObjectMapper objectMapper;
+    private final String kafkaUri;
+    private final long drainTimeoutMs;
+    private final double saturationTolerance;
+    private final long p99SloMs;
+    private final int maxRate;
+
+    private volatile Run current;
+
+    public OpenLoopLoadGenerator(
+            CamelContext camelContext,
+            ProducerTemplate producerTemplate,
+            ObjectMapper objectMapper,
+            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+            @Value("${app.kafka.topic.order-events:order-events}") String topic,
+            @Value("${app.loadgen.drain-timeout-seconds:60}") long drainTimeoutSeconds,
+            @Value("${app.loadgen.saturation-tolerance:0.05}") double saturationTolerance,
+            @Value("${app.loadgen.p99-slo-ms:1000}") long p99SloMs,
+            @Value("${app.loadgen.max-rate:5000}") int maxRate) {
+        this.camelContext = camelContext;
+        this.producerTemplate = producerTemplate;
+        this.objectMapper = objectMapper;
+        this.kafkaUri = String.format("kafka:%s?brokers=%s", topic, bootstrapServers);
+        this.drainTimeoutMs = TimeUnit.SECONDS.toMillis(drainTimeoutSeconds);
+        this.saturationTolerance = saturationTolerance;
+        this.p99SloMs = p99SloMs;
+        this.maxRate = maxRate;
+    }
+
+    /**
+     * One curve: offered rates in order, each held for stepSeconds.
+     *
+     * @param stopOnSaturation Skip the remaining (higher) rates after the first saturated step
+     */
+    public record Plan(
+            List<Integer> ratesPerSecond,
+            int stepSeconds,
+            ArrivalProcess arrival,
+            String eventType,
+            String tradingPartner,
+            boolean stopOnSaturation
+    ) {}
+
+    /**
+     * Start a run in the background.
+     *
+     * @throws IllegalStateException    if a run is in progress
+     * @throws IllegalArgumentException if the plan is invalid
+     */
+    public synchronized Map<String, Object> start(Plan plan) {
+        if (current != null && current.state == State.RUNNING) {
+            throw new IllegalStateException("Load run " + current.id + " is still running");
+        }
+        validate(plan);
+        Run run = new Run(UUID.randomUUID().toString().substring(0, 8), plan);
+        ServiceHelper.startService(run);
+        camelContext.getManagementStrategy().addEventNotifier(run);
+        current = run;
+        Thread.ofPlatform().name("loadgen-" + run.id).daemon(true).start(() -> execute(run));
+        log.info("Load run {} started: rates={}/s, step={}s, arrival={}, eventType={}",
+                run.id, plan.ratesPerSecond(), plan.stepSeconds(), plan.arrival(), plan.eventType());
+        return run.snapshot();
+    }
+
+    /**
+     * Current or last run, with one entry per finished or running step.
+     */
+    public Map<String, Object> status() {
+        Run run = current;
+        return run != null ? run.snapshot() : Map.of("state", "IDLE");
+    }
+
+    /**
+     * Stop the current run (the step in progress ends early); returns false if nothing is running.
+     */
+    public boolean cancel() {
+        Run run = current;
+        if (run == null || run.state != State.RUNNING) {
+            return false;
+        }
+        run.cancelled = true;
+        return true;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Run Execution
+    // ═══════════════════════════════════════════════════════════════
+
+    private void execute(Run run) {
+        SplittableRandom random = new SplittableRandom();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < run.plan.ratesPerSecond().size() && !run.cancelled; i++) {
+                Step step = new Step(i, run.plan.ratesPerSecond().get(i));
+                run.steps.add(step);
+                drive(run, step, random, senders);
+                awaitDrain(run, step);
+                step.finish(saturationTolerance, p99SloMs);
+                log.info("Load run {} step {}: offered={}/s achieved={}/s p99={}ms saturated={}",
+                        run.id, i, step.offeredRate, round(step.achievedRate()), step.p99Ms(), step.saturated);
+                if (step.saturated && run.plan.stopOnSaturation()) {
+                    break;
+                }
+            }
+            run.state = run.cancelled ? State.CANCELLED : State.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.state = State.CANCELLED;
+        } catch (RuntimeException e) {
+            log.error("Load run {} failed: {}", run.id, e.getMessage(), e);
+            run.error = e.getMessage();
+            run.state = State.FAILED;
+        } finally {
+            camelContext.getManagementStrategy().removeEventNotifier(run);
+            ServiceHelper.stopService(run);
+            log.info("Load run {} {}", run.id, run.state);
+        }
+    }
+
+    private void drive(Run run, Step step, SplittableRandom random, ExecutorService senders) {
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(run.plan.stepSeconds());
+        step.startMillis = System.currentTimeMillis();
+
+        long intendedNanos = startNanos;
+        long sequence = 0;
+        while (intendedNanos < endNanos && !run.cancelled) {
+            long wait = intendedNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Behind schedule the event goes out at once, still stamped with its intended time
+            long intendedMillis = step.startMillis + TimeUnit.NANOSECONDS.toMillis(intendedNanos - startNanos);
+            String key = run.keyPrefix + step.index + "-" + sequence++;
+            step.sent.incrementAndGet();
+            senders.execute(() -> send(run, step, key, intendedMillis));
+            intendedNanos += run.plan.arrival().nextIntervalNanos(step.offeredRate, random);
+        }
+        step.endMillis = System.currentTimeMillis();
+    }
+
+    private void send(Run run, Step step, String key, long intendedMillis) {
+        OrderEvent event = new OrderEvent(key, run.plan.eventType(), run.plan.tradingPartner(), key);
+        try {
+            producerTemplate.sendBodyAndHeaders(kafkaUri, objectMapper.writeValueAsString(event), Map.of(
+                    KafkaConstants.KEY, key,
+                    KafkaConstants.OVERRIDE_TIMESTAMP, intendedMillis));
+        } catch (JsonProcessingException | RuntimeException e) {
+            step.sendErrors.incrementAndGet();
+            log.debug("Load event {} not sent: {}", key, e.getMessage());
+        }
+    }
+
+    private void awaitDrain(Run run, Step step) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        while (!step.drained() && !run.cancelled && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void validate(Plan plan) {
+        if (plan.ratesPerSecond() == null || plan.ratesPerSecond().isEmpty()) {
+            throw new IllegalArgumentException("At least one rate is required");
+        }
+        for (int rate : plan.ratesPerSecond()) {
+            if (rate < 1 || rate > maxRate) {
+                throw new IllegalArgumentException("Rate " + rate + " outside 1.." + maxRate + " events/s");
+            }
+        }
+        if (plan.stepSeconds() < 1 || plan.stepSeconds() > 3600) {
+            throw new IllegalArgumentException("stepSeconds must be between 1 and 3600");
+        }
+        if (plan.arrival() == null) {
+            throw new IllegalArgumentException("arrival is required");
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Run / Step
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * One run; also the Camel event notifier that sees its events complete.
+     */
+    private final class Run extends EventNotifierSupport {
+
+        private final String id;
+        private final Plan plan;
+        private final String keyPrefix;
+        private final long startedAt = System.currentTimeMillis();
+        private final List<Step> steps = new CopyOnWriteArrayList<>();
+
+        private volatile State state = State.RUNNING;
+        private volatile boolean cancelled;
+        private volatile String error;
+
+        private Run(String id, Plan plan) {
+            this.id = id;
+            this.plan = plan;
+            this.keyPrefix = KEY_PREFIX + id + "-";
+        }
+
+        @Override
+        public boolean isEnabled(CamelEvent event) {
+            return event instanceof CamelEvent.ExchangeCompletedEvent || event instanceof CamelEvent.ExchangeFailedEvent;
+        }
+
+        @Override
+        public void notify(CamelEvent event) {
+            Exchange exchange = ((ExchangeEvent) event).getExchange();
+            if (!ROUTE_ID.equals(exchange.getFromRouteId())) {
+                return;
+            }
+            Step step = stepFor(exchange.getMessage().getHeader(KafkaConstants.KEY, String.class));
+            if (step == null) {
+                return;
+            }
+            Long intendedAt = exchange.getMessage().getHeader(KafkaConstants.TIMESTAMP, Long.class);
+            boolean failed = event instanceof CamelEvent.ExchangeFailedEvent
+                    || exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null;
+            step.complete(intendedAt, System.currentTimeMillis(), failed);
+        }
+
+        /**
+         * Key format: LOADGEN-<run>-<step>-<sequence>
+         */
+        private Step stepFor(String key) {
+            if (key == null || !key.startsWith(keyPrefix)) {
+                return null;
+            }
+            int end = key.indexOf('-', keyPrefix.length());
+            int index = Integer.parseInt(key, keyPrefix.length(), end, 10);
+            return index < steps.size() ? steps.get(index) : null;
+        }
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("runId", id);
+            result.put("state", state);
+            if (error != null) {
+                result.put("error", error);
+            }
+            result.put("startedAt", startedAt);
+            result.put("arrival", plan.arrival());
+            result.put("eventType", plan.eventType());
+            result.put("stepSeconds", plan.stepSeconds());
+            result.put("ratesPerSecond", plan.ratesPerSecond());
+
+            List<Map<String, Object>> curve = new ArrayList<>();
+            Integer saturationRate = null;
+            Integer maxSustainedRate = null;
+            for (Step step : steps) {
+                curve.add(step.summary());
+                // The curve is read up to the first saturated step
+                if (!step.finished || saturationRate != null) {
+                    continue;
+                }
+                if (step.saturated) {
+                    saturationRate = step.offeredRate;
+                } else {
+                    maxSustainedRate = step.offeredRate;
+                }
+            }
+            result.put("maxSustainedRate", maxSustainedRate);
+            result.put("saturationRate", saturationRate);
+            result.put("curve", curve);
+            return result;
+        }
+    }
+
+    /**
+     * Counters and latency of one offered rate. Latency is recorded in milliseconds,
+     * the resolution of Kafka record timestamps.
+     */
+    static final class Step {
+
+        final int index;
+        final int offeredRate;
+
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong sendErrors = new AtomicLong();
+        private final AtomicLong lastCompletionMillis = new AtomicLong();
+        private final Recorder latencyMillis = new Recorder(3);
+
+        volatile long startMillis;
+        volatile long endMillis;
+        private volatile Histogram latencies;
+        private volatile boolean finished;
+        private volatile boolean saturated;
+
+        Step(int index, int offeredRate) {
+            this.index = index;
+            this.offeredRate = offeredRate;
+        }
+
+        void complete(Long intendedAtMillis, long nowMillis, boolean failedExchange) {
+            if (intendedAtMillis != null) {
+                latencyMillis.recordValue(Math.max(0, nowMillis - intendedAtMillis));
+            }
+            if (failedExchange) {
+                failed.incrementAndGet();
+            }
+            completed.incrementAndGet();
+            lastCompletionMillis.accumulateAndGet(nowMillis, Math::max);
+        }
+
+        boolean drained() {
+            return completed.get() + sendErrors.get() >= sent.get();
+        }
+
+        /**
+         * Completions per second from step start to the last completion (includes the drain).
+         */
+        double achievedRate() {
+            long elapsed = lastCompletionMillis.get() - startMillis;
+            return elapsed <= 0 ? 0 : completed.get() * 1000.0 / elapsed;
+        }
+
+        /**
+         * Close the step: freeze latencies and decide saturation. Late completions are ignored.
+         */
+        void finish(double tolerance, long p99SloMs) {
+            latencies = latencyMillis.getIntervalHistogram();
+            saturated = !drained()
+                    || achievedRate() < offeredRate * (1 - tolerance)
+                    || p99Ms() > p99SloMs;
+            finished = true;
+        }
+
+        boolean saturated() {
+            return saturated;
+        }
+
+        long p99Ms() {
+            Histogram histogram = latencies;
+            return histogram == null || histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(99);
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("offeredRate", offeredRate);
+            summary.put("sent", sent.get());
+            summary.put("completed", completed.get());
+            summary.put("failed", failed.get());
+            summary.put("sendErrors", sendErrors.get());
+            long sendWindow = (endMillis > 0 ? endMillis : System.currentTimeMillis()) - startMillis;
+            summary.put("sentRate", sendWindow <= 0 ? 0 : round(sent.get() * 1000.0 / sendWindow));
+            summary.put("achievedRate", round(achievedRate()));
+            summary.put("finished", finished);
+            if (finished) {
+                summary.put("drained", drained());
+                summary.put("saturated", saturated);
+                summary.put("latencyMs", describe(latencies));
+            }
+            return summary;
+        }
+
+        private static Map<String, Object> describe(Histogram histogram) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            long count = histogram.getTotalCount();
+            stats.put("count", count);
+            if (count == 0) {
+                return stats;
+            }
+            stats.put("mean", round(histogram.getMean()));
+            stats.put("p50", histogram.getValueAtPercentile(50));
+            stats.put("p90", histogram.getValueAtPercentile(90));
+            stats.put("p99", histogram.getValueAtPercentile(99));
+            stats.put("p999", histogram.getValueAtPercentile(99.9));
+            stats.put("max", histogram.getMaxValue());
+            return stats;
+        }
+    }
+}
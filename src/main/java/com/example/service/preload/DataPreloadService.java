@@ -5,7 +5,12 @@ import com.example.model.CustomerData;
 import com.example.model.InventoryData;
 import com.example.model.PricingData;
 import com.example.repository.OrderRepository;
+import com.example.service.flight.PreloadChunkEvent;
+import com.example.service.resilience.AdaptiveConcurrencyLimiter;
+import com.example.service.resilience.DependencyGuard;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +22,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service responsible for batch preloading data from database.
@@ -26,6 +32,18 @@ import java.util.function.Function;
  * and improve query plan optimization.
  * 
  * This is the key optimization - reducing DB round trips from O(N) to O(1).
+ * 
+ * Chunk queries run under the adaptive dbPreloadLimiter, so the number of
+ * concurrent DB queries follows observed query latency instead of a fixed count.
+ * 
+ * Chunk queries also pass through the sqlGuard (circuit breaker + bulkhead):
+ * while SQL is failing or slow, preload fails fast with
+ * DependencyUnavailableException.
+ *
+ * Guard and limiter wrap each query attempt, not OrderRepository's retry loop:
+ * a retry backing off holds neither a bulkhead slot nor a limiter permit, its sleep
+ * is not sampled as query latency, and once the circuit opens the remaining
+ * retries are skipped.
  */
 @Service
 @Slf4j
@@ -34,9 +52,11 @@ public class DataPreloadService {
     private final OrderRepository orderRepository;
     private final AppMetrics metrics;
     private final int chunkSize;
+    private final AdaptiveConcurrencyLimiter dbLimiter;
+    private final DependencyGuard sqlGuard;
 
     /**
-     * Primary constructor for Spring DI.
+     * Constructor without a concurrency limiter (chunk queries are unbounded).
      * 
      * @param orderRepository Repository for DB operations
      * @param metrics Application metrics
@@ -49,10 +69,43 @@ public class DataPreloadService {
             OrderRepository orderRepository, 
             AppMetrics metrics,
             @Value("${app.db.chunk-size:500}") int chunkSize) {
+        this(orderRepository, metrics, chunkSize, null);
+    }
+
+    /**
+     * Constructor without a dependency guard.
+     * 
+     * @param dbLimiter Adaptive limiter for chunk queries (null = unbounded)
+     */
+    public DataPreloadService(
+            OrderRepository orderRepository, 
+            AppMetrics metrics,
+            int chunkSize,
+            AdaptiveConcurrencyLimiter dbLimiter) {
+        this(orderRepository, metrics, chunkSize, dbLimiter, null);
+    }
+
+    /**
+     * Primary constructor for Spring DI.
+     * 
+     * @param dbLimiter Adaptive limiter for chunk queries (null = unbounded)
+     * @param sqlGuard Circuit breaker + bulkhead for SQL (null = unguarded)
+     */
+    @Autowired
+    public DataPreloadService(
+            OrderRepository orderRepository, 
+            AppMetrics metrics,
+            @Value("${app.db.chunk-size:500}") int chunkSize,
+            @Qualifier("dbPreloadLimiter") AdaptiveConcurrencyLimiter dbLimiter,
+            @Qualifier("sqlGuard") DependencyGuard sqlGuard) {
         this.orderRepository = orderRepository;
         this.metrics = metrics;
         this.chunkSize = chunkSize;
-        log.info("DataPreloadService initialized with chunkSize={}", chunkSize);
+        this.dbLimiter = dbLimiter;
+        this.sqlGuard = sqlGuard;
+        log.info("DataPreloadService initialized with chunkSize={}, adaptive limiter={}, guard={}", 
+                chunkSize, dbLimiter != null ? dbLimiter.getName() : "none",
+                sqlGuard != null ? sqlGuard.getName() : "none");
     }
 
     /**
@@ -129,7 +182,7 @@ public class DataPreloadService {
         
         // If small enough, process in single query
         if (orderIds.size() <= chunkSize) {
-            return loader.apply(orderIds);
+            return loadLimited(orderIds, loader, dataType);
         }
 
         // Split into chunks and process in parallel
@@ -139,7 +192,7 @@ public class DataPreloadService {
 
         // Process all chunks in parallel
         List<CompletableFuture<Map<String, T>>> chunkFutures = chunks.stream()
-                .map(chunk -> CompletableFuture.supplyAsync(() -> loader.apply(chunk), executor))
+                .map(chunk -> CompletableFuture.supplyAsync(() -> loadLimited(chunk, loader, dataType), executor))
                 .toList();
 
         // Wait for all chunks and merge results
@@ -153,6 +206,34 @@ public class DataPreloadService {
         return result;
     }
 
+    /**
+     * Run one chunk query; each of its attempts goes through guardedAttempt.
+     * Each chunk is a PreloadChunkEvent in the JFR recording, failed chunks included.
+     */
+    private <T> Map<String, T> loadLimited(List<String> ids, Function<List<String>, Map<String, T>> loader,
+                                           String dataType) {
+        PreloadChunkEvent chunkEvent = new PreloadChunkEvent();
+        chunkEvent.begin();
+        chunkEvent.setDataType(dataType);
+        try {
+            return loader.apply(ids);
+        } catch (RuntimeException e) {
+            chunkEvent.setFailed(true);
+            throw e;
+        } finally {
+            chunkEvent.finish(ids.size());
+        }
+    }
+
+    /**
+     * One query attempt under the SQL guard and DB limiter (if configured).
+     * The guard is checked first so an open circuit rejects without queueing for a permit.
+     */
+    private <T> T guardedAttempt(Supplier<T> attempt) {
+        Supplier<T> limited = dbLimiter == null ? attempt : () -> dbLimiter.supply(attempt);
+        return sqlGuard == null ? limited.get() : sqlGuard.supply(limited);
+    }
+
     /**
      * Partition a list into chunks of specified size.
      */
@@ -169,7 +250,7 @@ public class DataPreloadService {
      */
     private Map<String, CustomerData> loadCustomerData(List<String> orderIds) {
         log.debug("Loading customer data for {} orders", orderIds.size());
-        return orderRepository.batchFetchCustomerData(orderIds);
+        return orderRepository.batchFetchCustomerData(orderIds, this::guardedAttempt);
     }
 
     /**
@@ -177,7 +258,7 @@ public class DataPreloadService {
      */
     private Map<String, InventoryData> loadInventoryData(List<String> orderIds) {
         log.debug("Loading inventory data for {} orders", orderIds.size());
-        return orderRepository.batchFetchInventoryData(orderIds);
+        return orderRepository.batchFetchInventoryData(orderIds, this::guardedAttempt);
     }
 
     /**
@@ -185,6 +266,6 @@ public class DataPreloadService {
      */
     private Map<String, PricingData> loadPricingData(List<String> orderIds) {
         log.debug("Loading pricing data for {} orders", orderIds.size());
-        return orderRepository.batchFetchPricingData(orderIds);
+        return orderRepository.batchFetchPricingData(orderIds, this::guardedAttempt);
     }
 }
@@ -6,8 +6,11 @@ import com.example.model.InventoryData;
 import com.example.model.PricingData;
 import com.example.model.ProcessedOrder;
 import com.example.model.FailedOrder;
+import com.example.service.flight.BusinessLogicEvent;
+import com.example.service.latency.LatencyRecorder;
 import com.example.service.preload.ProcessingContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +28,9 @@ import java.util.concurrent.Semaphore;
  * Takes preloaded data and applies business rules to each order.
  * 
  * Uses Semaphore to limit concurrent processing and prevent resource exhaustion.
+ * 
+ * Per-order business logic time (typically microseconds) is recorded in the
+ * LatencyRecorder stage "business-logic.order" when one is available.
  */
 @Service
 @Slf4j
@@ -32,12 +38,19 @@ public class BusinessLogicService {
 
     private final Semaphore processingSemaphore;
 
+    private LatencyRecorder.Stage orderLatency;
+
     public BusinessLogicService(
             @Value("${app.executor.processing-concurrency:100}") int processingConcurrency) {
         this.processingSemaphore = new Semaphore(processingConcurrency);
         log.info("BusinessLogicService initialized with concurrency limit: {}", processingConcurrency);
     }
 
+    @Autowired(required = false)
+    void setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.orderLatency = latencyRecorder.stage("business-logic.order");
+    }
+
     /**
      * Process all orders in parallel with concurrency limit.
      * 
@@ -47,23 +60,42 @@ public class BusinessLogicService {
      * @return Tuple of successes and failures
      */
     public ProcessingOutput processOrders(List<Order> orders, ProcessingContext context, ExecutorService executor) {
+        return processOrders(orders, context, executor, processingSemaphore);
+    }
+
+    /**
+     * Process all orders in parallel under a caller-supplied concurrency limit
+     * instead of the shared app.executor.processing-concurrency one.
+     * 
+     * @param orders List of orders to process
+     * @param context Preloaded data context
+     * @param executor Executor for parallel processing
+     * @param limiter Permits for orders processed at once
+     * @return Tuple of successes and failures
+     */
+    public ProcessingOutput processOrders(List<Order> orders, ProcessingContext context, ExecutorService executor,
+                                          Semaphore limiter) {
         if (orders.isEmpty()) {
             return new ProcessingOutput(List.of(), List.of());
         }
 
         log.info("Processing {} orders in PARALLEL (max {} concurrent)...", 
-                orders.size(), processingSemaphore.availablePermits());
+                orders.size(), limiter.availablePermits());
 
+        BusinessLogicEvent jfrEvent = new BusinessLogicEvent();
+        jfrEvent.begin();
         List<ProcessedOrder> successes = new CopyOnWriteArrayList<>();
         List<FailedOrder> failures = new CopyOnWriteArrayList<>();
 
         List<CompletableFuture<Void>> futures = orders.stream()
                 .map(order -> CompletableFuture.runAsync(() -> 
-                        processWithSemaphore(order, context, successes, failures), executor))
+                        processWithSemaphore(order, context, limiter, successes, failures), executor))
                 .toList();
 
         // Wait for all to complete
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        jfrEvent.setFailures(failures.size());
+        jfrEvent.finish(orders.size());
 
         log.info("Processing complete: {} successes, {} failures", successes.size(), failures.size());
         return new ProcessingOutput(List.copyOf(successes), List.copyOf(failures));
@@ -72,15 +104,19 @@ public class BusinessLogicService {
     /**
      * Process a single order with semaphore control.
      */
-    private void processWithSemaphore(Order order, ProcessingContext context,
+    private void processWithSemaphore(Order order, ProcessingContext context, Semaphore limiter,
                                        List<ProcessedOrder> successes, List<FailedOrder> failures) {
         try {
-            processingSemaphore.acquire();
+            limiter.acquire();
             try {
+                long start = System.nanoTime();
                 ProcessedOrder result = processOrder(order, context);
+                if (orderLatency != null) {
+                    orderLatency.recordSince(start);
+                }
                 successes.add(result);
             } finally {
-                processingSemaphore.release();
+                limiter.release();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
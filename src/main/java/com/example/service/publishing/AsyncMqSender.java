@@ -0,0 +1,300 @@
+package com.example.service.publishing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Asynchronous MQ sender (app.wmq.publish-mode=ASYNC).
+ *
+ * A synchronous put blocks its thread for a full MQ round trip, so throughput
+ * is capped at concurrency / RTT. Here each worker leases a pooled session and
+ * fires JMS 2.0 async sends (send(message, CompletionListener)) back to back -
+ * many puts are in flight per session at once.
+ *
+ * In-flight sends are bounded by a window (app.wmq.async.max-in-flight),
+ * shared by all callers, not by a thread count. A permit is taken before each
+ * send (waiting at most app.wmq.async.window-timeout-ms) and returned exactly
+ * once: by the CompletionListener, or when the send fails or expires. A send
+ * whose callback never arrives therefore cannot leak window capacity.
+ *
+ * A CompletionTracker records the outcome of every payload; send() waits for
+ * all completions (or the completion timeout) and returns exact success/fail
+ * counts. Sends still unconfirmed at the timeout are reported as failed.
+ */
+@Component
+@Slf4j
+public class AsyncMqSender {
+
+    private final MqProducerPool producerPool;
+    private final MessageSerializer messageSerializer;
+    private final Semaphore window;
+    private final int maxInFlight;
+    private final int maxWorkers;
+    private final long completionTimeoutMs;
+    private final long windowTimeoutMs;
+
+    public AsyncMqSender(
+            MqProducerPool producerPool,
+            MessageSerializer messageSerializer,
+            MeterRegistry registry,
+            @Value("${app.wmq.async.max-in-flight:500}") int maxInFlight,
+            @Value("${app.wmq.async.sessions:4}") int maxWorkers,
+            @Value("${app.wmq.async.completion-timeout-ms:30000}") long completionTimeoutMs,
+            @Value("${app.wmq.async.window-timeout-ms:30000}") long windowTimeoutMs) {
+        this.producerPool = producerPool;
+        this.messageSerializer = messageSerializer;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.window = new Semaphore(this.maxInFlight);
+        this.maxWorkers = Math.max(1, maxWorkers);
+        this.completionTimeoutMs = completionTimeoutMs;
+        this.windowTimeoutMs = windowTimeoutMs;
+
+        Gauge.builder("mq.async.in-flight", this, AsyncMqSender::inFlight)
+                .description("Async MQ sends awaiting completion")
+                .register(registry);
+
+        log.info("AsyncMqSender initialized: maxInFlight={}, sessions={}, completionTimeoutMs={}, windowTimeoutMs={}",
+                this.maxInFlight, this.maxWorkers, completionTimeoutMs, windowTimeoutMs);
+    }
+
+    /**
+     * Result of an async send.
+     *
+     * @param sentCount      Sends confirmed by MQ
+     * @param failedPayloads Payloads that failed or were not confirmed in time
+     */
+    public record AsyncSendResult(
+            int sentCount,
+            List<Object> failedPayloads
+    ) {}
+
+    /**
+     * True if MQ is available and pooled sessions are non-transacted
+     * (async sends are completed individually, not per commit).
+     */
+    public boolean isAvailable() {
+        return producerPool.isAvailable() && !producerPool.isTransacted();
+    }
+
+    /**
+     * Sends currently awaiting completion (all callers).
+     */
+    public int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    /**
+     * Send all payloads asynchronously, spread over up to app.wmq.async.sessions
+     * pooled sessions. Blocks until every send has completed or the completion
+     * timeout expires.
+     */
+    public AsyncSendResult send(List<?> payloads, ExecutorService executor) {
+        if (payloads.isEmpty()) {
+            return new AsyncSendResult(0, List.of());
+        }
+
+        int workers = Math.min(Math.min(maxWorkers, producerPool.size()), payloads.size());
+        CompletionTracker tracker = new CompletionTracker(payloads.size(), window);
+
+        log.debug("Sending {} messages to {} asynchronously ({} sessions, window {})",
+                payloads.size(), producerPool.queueName(), workers, maxInFlight);
+
+        // Each worker takes a strided share: worker w sends indexes w, w+workers, ...
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int first = w;
+            futures.add(CompletableFuture.runAsync(
+                    () -> runWorker(payloads, first, workers, tracker), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // Sends not confirmed in time count as failed and return their permits;
+        // late callbacks are ignored from here on
+        int expired = tracker.expirePending();
+        if (expired > 0) {
+            log.warn("{} async MQ sends not confirmed within {}ms - reported as failed",
+                    expired, completionTimeoutMs);
+        }
+
+        List<Object> failed = new ArrayList<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            if (!tracker.succeeded(i)) {
+                failed.add(payloads.get(i));
+            }
+        }
+        return new AsyncSendResult(payloads.size() - failed.size(), failed);
+    }
+
+    /**
+     * Fire sends for one share of the payloads on a single leased session, then keep the
+     * lease until all completions arrive (the session must stay open for its callbacks).
+     */
+    private void runWorker(List<?> payloads, int first, int stride, CompletionTracker tracker) {
+        MqProducerPool.Lease lease = null;
+        int i = first;
+        try {
+            for (; i < payloads.size(); i += stride) {
+                if (lease == null) {
+                    lease = producerPool.acquire();
+                }
+                if (!window.tryAcquire(windowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    // Window still full after the timeout - MQ is not confirming; fail the rest of this share
+                    log.error("No in-flight slot for async send to {} within {}ms, failing remaining sends",
+                            producerPool.queueName(), windowTimeoutMs);
+                    failRemaining(tracker, i, payloads.size(), stride);
+                    break;
+                }
+                tracker.holdPermit(i);
+                try {
+                    Message message = messageSerializer.toMessage(lease.session(), payloads.get(i));
+                    lease.producer().send(message, new Completion(tracker, i));
+                } catch (JMSException | RuntimeException e) {
+                    tracker.fail(i);
+                    log.error("Async send to {} failed: {}", producerPool.queueName(), e.getMessage());
+                    lease.invalidate();
+                    lease.close();
+                    lease = null;
+                }
+            }
+            tracker.await(completionTimeoutMs);
+        } catch (JMSException | RuntimeException e) {
+            log.error("Async send worker could not obtain an MQ session: {}", e.getMessage());
+            failRemaining(tracker, i, payloads.size(), stride);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failRemaining(tracker, i, payloads.size(), stride);
+        } finally {
+            if (lease != null) {
+                lease.close();
+            }
+        }
+    }
+
+    /**
+     * Mark the unsent rest of a worker's share as failed, so other workers do not wait for it.
+     */
+    private void failRemaining(CompletionTracker tracker, int from, int size, int stride) {
+        for (int i = from; i < size; i += stride) {
+            tracker.fail(i);
+        }
+    }
+
+    /**
+     * Completion callback for one send. Runs on a JMS provider thread -
+     * must not touch the session. The tracker returns the window permit.
+     */
+    private final class Completion implements CompletionListener {
+
+        private final CompletionTracker tracker;
+        private final int index;
+
+        private Completion(CompletionTracker tracker, int index) {
+            this.tracker = tracker;
+            this.index = index;
+        }
+
+        @Override
+        public void onCompletion(Message message) {
+            tracker.succeed(index);
+        }
+
+        @Override
+        public void onException(Message message, Exception exception) {
+            tracker.fail(index);
+            log.error("Async MQ send failed: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Per-call outcome of every payload: PENDING until its completion arrives.
+     * Each index resolves exactly once, so counts stay exact even when a callback
+     * races a timeout.
+     *
+     * Also owns the window permit of each send: the first resolution (callback,
+     * failure or expiry) releases it, so it is returned exactly once.
+     */
+    static final class CompletionTracker {
+
+        private static final int PENDING = 0;
+        private static final int SUCCEEDED = 1;
+        private static final int FAILED = 2;
+
+        private final AtomicIntegerArray states;
+        private final AtomicIntegerArray permits;
+        private final CountDownLatch remaining;
+        private final Semaphore window;
+
+        CompletionTracker(int count, Semaphore window) {
+            this.states = new AtomicIntegerArray(count);
+            this.permits = new AtomicIntegerArray(count);
+            this.remaining = new CountDownLatch(count);
+            this.window = window;
+        }
+
+        /**
+         * Record that a window permit was taken for this index (before its send).
+         */
+        void holdPermit(int index) {
+            permits.set(index, 1);
+        }
+
+        void succeed(int index) {
+            resolve(index, SUCCEEDED);
+        }
+
+        void fail(int index) {
+            resolve(index, FAILED);
+        }
+
+        boolean succeeded(int index) {
+            return states.get(index) == SUCCEEDED;
+        }
+
+        /**
+         * Fail every still-pending index. Returns how many were expired.
+         */
+        int expirePending() {
+            int expired = 0;
+            for (int i = 0; i < states.length(); i++) {
+                if (states.compareAndSet(i, PENDING, FAILED)) {
+                    releasePermit(i);
+                    remaining.countDown();
+                    expired++;
+                }
+            }
+            return expired;
+        }
+
+        boolean await(long timeoutMs) throws InterruptedException {
+            return remaining.await(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void resolve(int index, int state) {
+            if (states.compareAndSet(index, PENDING, state)) {
+                releasePermit(index);
+                remaining.countDown();
+            }
+        }
+
+        private void releasePermit(int index) {
+            if (permits.compareAndSet(index, 1, 0)) {
+                window.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.service.publishing;
+
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageFormatException;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * JSON serializer for WMQ payloads.
+ *
+ * - Uses the shared ObjectMapper from JacksonConfig (same date/time settings everywhere)
+ * - ObjectWriters for ProcessedOrder and GroupedOrderMessage are built once,
+ *   so type/serializer lookup is not repeated per message
+ * - Writes UTF-8 bytes straight into pooled buffers - no intermediate String,
+ *   no re-encoding inside JMS
+ *
+ * Message format (app.wmq.message-format):
+ * - BYTES (default) - BytesMessage filled from a pooled buffer
+ * - TEXT            - TextMessage with the JSON String (for consumers that require text)
+ *
+ * Usage:
+ *   Message message = serializer.toMessage(session, payload);
+ * or, for raw bytes:
+ *   PooledByteBuffer buffer = serializer.serialize(payload);
+ *   try { ... send buffer.array()[0..size) ... } finally { serializer.release(buffer); }
+ */
+@Component
+@Slf4j
+public class MessageSerializer {
+
+    private final ObjectWriter orderWriter;
+    private final ObjectWriter groupWriter;
+    private final ObjectWriter genericWriter;
+
+    private final BlockingQueue<PooledByteBuffer> pool;
+    private final int initialBufferBytes;
+    private final int maxRetainedBufferBytes;
+    private final boolean bytesFormat;
+
+    public MessageSerializer(
+            ObjectMapper objectMapper,
+            @Value("${app.wmq.serialization.buffer-pool-size:64}") int bufferPoolSize,
+            @Value("${app.wmq.serialization.initial-buffer-bytes:4096}") int initialBufferBytes,
+            @Value("${app.wmq.serialization.max-retained-buffer-bytes:2097152}") int maxRetainedBufferBytes,
+            @Value("${app.wmq.message-format:BYTES}") String messageFormat) {
+        this.orderWriter = objectMapper.writerFor(ProcessedOrder.class);
+        this.groupWriter = objectMapper.writerFor(GroupedOrderMessage.class);
+        this.genericWriter = objectMapper.writer();
+        this.pool = new ArrayBlockingQueue<>(bufferPoolSize);
+        this.initialBufferBytes = initialBufferBytes;
+        this.maxRetainedBufferBytes = maxRetainedBufferBytes;
+        this.bytesFormat = !"TEXT".equalsIgnoreCase(messageFormat);
+        log.info("MessageSerializer initialized: format={}, bufferPool={}, initialBuffer={}B, maxRetained={}B",
+                bytesFormat ? "BYTES" : "TEXT", bufferPoolSize, initialBufferBytes, maxRetainedBufferBytes);
+    }
+
+    /**
+     * Build a JMS message for the payload in the configured format.
+     * BYTES: the pooled buffer is copied into the BytesMessage and released immediately.
+     * Serialization errors surface as MessageFormatException.
+     */
+    public Message toMessage(Session session, Object payload) throws JMSException {
+        try {
+            if (!bytesFormat) {
+                return session.createTextMessage(serializeToString(payload));
+            }
+
+            PooledByteBuffer buffer = serialize(payload);
+            try {
+                BytesMessage message = session.createBytesMessage();
+                message.writeBytes(buffer.array(), 0, buffer.size());
+                message.setStringProperty("contentType", "application/json");
+                return message;
+            } finally {
+                release(buffer);
+            }
+        } catch (IOException e) {
+            MessageFormatException formatException =
+                    new MessageFormatException("Failed to serialize " + payload.getClass().getSimpleName());
+            formatException.initCause(e);
+            throw formatException;
+        }
+    }
+
+    /**
+     * True if messages are sent as BytesMessage.
+     */
+    public boolean isBytesFormat() {
+        return bytesFormat;
+    }
+
+    /**
+     * Serialize a payload into a pooled buffer.
+     * The caller must hand the buffer back via {@link #release(PooledByteBuffer)}.
+     */
+    public PooledByteBuffer serialize(Object payload) throws IOException {
+        PooledByteBuffer buffer = acquire();
+        try {
+            writerFor(payload).writeValue(buffer, payload);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Serialize to a String (for TextMessage consumers) using the same pre-built writers.
+     */
+    public String serializeToString(Object payload) throws IOException {
+        return writerFor(payload).writeValueAsString(payload);
+    }
+
+    /**
+     * Return a buffer to the pool. Buffers that grew beyond
+     * max-retained-buffer-bytes are dropped so one huge group does not pin memory.
+     */
+    public void release(PooledByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() > maxRetainedBufferBytes) {
+            return;
+        }
+        buffer.reset();
+        pool.offer(buffer); // pool full -> let GC take it
+    }
+
+    /**
+     * Number of idle buffers currently pooled (for monitoring/tests).
+     */
+    public int pooledBuffers() {
+        return pool.size();
+    }
+
+    private PooledByteBuffer acquire() {
+        PooledByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer : new PooledByteBuffer(initialBufferBytes);
+    }
+
+    private ObjectWriter writerFor(Object payload) {
+        if (payload instanceof ProcessedOrder) {
+            return orderWriter;
+        }
+        if (payload instanceof GroupedOrderMessage) {
+            return groupWriter;
+        }
+        return genericWriter;
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.service.publishing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed pool of long-lived MQ sessions + producers.
+ *
+ * JmsTemplate over a plain ConnectionFactory creates and closes a session and
+ * a MessageProducer for every send. This pool keeps app.wmq.session-cache-size
+ * slots open - one per publish worker - spread over app.wmq.pool.connections
+ * connections (connections are thread-safe, sessions are not).
+ *
+ * Handout is lock-free:
+ * - a Semaphore with one permit per slot bounds the number of borrowers
+ * - a permit holder claims a free slot with a CAS on its busy flag,
+ *   starting at a rotating index so borrowers do not all contend on slot 0
+ *
+ * Slots are opened lazily on first use. A lease that saw a send/commit failure
+ * is invalidated - its session is closed and reopened by the next borrower.
+ * A connection failure (ExceptionListener) drops the connection; every slot
+ * on it reconnects on its next lease.
+ *
+ * Sessions are transacted when app.wmq.publish-mode=BATCHED (TransactedBatchSender
+ * commits per batch), otherwise AUTO_ACKNOWLEDGE.
+ *
+ * Metrics:
+ * - mq.producer.pool.size        → Configured slots
+ * - mq.producer.pool.active      → Slots currently leased
+ * - mq.producer.pool.utilization → active / size
+ * - mq.producer.pool.waits       → Acquires that had to wait for a free slot
+ * - mq.producer.pool.acquire     → Time spent waiting for a slot
+ *
+ * Usage:
+ *   try (MqProducerPool.Lease lease = pool.acquire()) {
+ *       lease.producer().send(serializer.toMessage(lease.session(), payload));
+ *   }
+ */
+@Component
+@Slf4j
+public class MqProducerPool {
+
+    private final ConnectionFactory connectionFactory;
+    private final String queueName;
+    private final boolean transacted;
+    private final int size;
+
+    private final Slot[] slots;
+    private final AtomicIntegerArray busy;
+    private final AtomicReferenceArray<Connection> connections;
+    private final Semaphore permits;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Counter waitCounter;
+    private final Timer acquireTimer;
+
+    public MqProducerPool(
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            MeterRegistry registry,
+            @Value("${app.wmq.queue-name:DEV.QUEUE.1}") String queueName,
+            @Value("${app.wmq.session-cache-size:20}") int size,
+            @Value("${app.wmq.pool.connections:2}") int connectionCount,
+            @Value("${app.wmq.publish-mode:PER_MESSAGE}") String publishMode) {
+        this.connectionFactory = connectionFactory.getIfAvailable();
+        this.queueName = queueName;
+        this.transacted = "BATCHED".equalsIgnoreCase(publishMode);
+        this.size = Math.max(1, size);
+
+        this.slots = new Slot[this.size];
+        for (int i = 0; i < this.size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.busy = new AtomicIntegerArray(this.size);
+        this.connections = new AtomicReferenceArray<>(Math.max(1, Math.min(connectionCount, this.size)));
+        this.permits = new Semaphore(this.size);
+
+        Gauge.builder("mq.producer.pool.size", () -> this.size)
+                .description("Configured MQ producer pool slots")
+                .register(registry);
+        Gauge.builder("mq.producer.pool.active", active, AtomicInteger::get)
+                .description("MQ producer pool slots currently leased")
+                .register(registry);
+        Gauge.builder("mq.producer.pool.utilization", this, MqProducerPool::utilization)
+                .description("Leased / configured MQ producer pool slots")
+                .register(registry);
+        this.waitCounter = Counter.builder("mq.producer.pool.waits")
+                .description("Acquires that waited for a free MQ producer slot")
+                .register(registry);
+        this.acquireTimer = Timer.builder("mq.producer.pool.acquire")
+                .description("Time spent waiting for a free MQ producer slot")
+                .register(registry);
+
+        log.info("MqProducerPool initialized: slots={}, connections={}, transacted={}, available={}",
+                this.size, connections.length(), transacted, this.connectionFactory != null);
+    }
+
+    /**
+     * True if a JMS ConnectionFactory is available (app.wmq.enabled=true).
+     */
+    public boolean isAvailable() {
+        return connectionFactory != null;
+    }
+
+    /**
+     * True if pooled sessions are transacted (caller must commit/rollback).
+     */
+    public boolean isTransacted() {
+        return transacted;
+    }
+
+    /**
+     * Queue every pooled producer is bound to (app.wmq.queue-name).
+     */
+    public String queueName() {
+        return queueName;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    public double utilization() {
+        return (double) active.get() / size;
+    }
+
+    /**
+     * Lease a slot, waiting if all slots are in use.
+     * The lease must be closed (try-with-resources) to hand the slot back.
+     */
+    public Lease acquire() throws JMSException, InterruptedException {
+        if (connectionFactory == null) {
+            throw new IllegalStateException("MQ producer pool is not available (app.wmq.enabled=false)");
+        }
+
+        if (!permits.tryAcquire()) {
+            waitCounter.increment();
+            long waitStart = System.nanoTime();
+            permits.acquire();
+            acquireTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        // Holding a permit guarantees at least one slot is free
+        Slot slot = claimSlot();
+        active.incrementAndGet();
+        try {
+            slot.ensureOpen();
+        } catch (JMSException | RuntimeException e) {
+            slot.closeQuietly();
+            free(slot);
+            throw e;
+        }
+        return slot.lease();
+    }
+
+    private Slot claimSlot() {
+        int start = Math.floorMod(nextSlot.getAndIncrement(), size);
+        while (true) {
+            for (int i = 0; i < size; i++) {
+                int index = start + i < size ? start + i : start + i - size;
+                if (busy.compareAndSet(index, 0, 1)) {
+                    return slots[index];
+                }
+            }
+            // Not expected (flags are cleared before permits are returned) - retry defensively
+            Thread.onSpinWait();
+        }
+    }
+
+    private void free(Slot slot) {
+        active.decrementAndGet();
+        busy.set(slot.index, 0);
+        permits.release();
+    }
+
+    private Connection connectionFor(int slotIndex) throws JMSException {
+        int connectionIndex = slotIndex % connections.length();
+        Connection connection = connections.get(connectionIndex);
+        if (connection != null) {
+            return connection;
+        }
+
+        Connection created = connectionFactory.createConnection();
+        if (!connections.compareAndSet(connectionIndex, null, created)) {
+            // Another slot on the same connection won the race
+            closeConnection(created);
+            return connections.get(connectionIndex);
+        }
+        created.setExceptionListener(e -> {
+            log.warn("MQ pool connection {} failed, slots will reconnect on next lease: {}",
+                    connectionIndex, e.getMessage());
+            if (connections.compareAndSet(connectionIndex, created, null)) {
+                closeConnection(created);
+            }
+        });
+        log.info("Opened MQ pool connection {}", connectionIndex);
+        return created;
+    }
+
+    private static void closeConnection(Connection connection) {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            log.debug("Failed to close MQ pool connection: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Slot slot : slots) {
+            slot.closeQuietly();
+        }
+        for (int i = 0; i < connections.length(); i++) {
+            Connection connection = connections.getAndSet(i, null);
+            if (connection != null) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * Borrowed session + producer. Not thread-safe - use from the borrowing thread only.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Slot slot;
+        private boolean invalid;
+        private boolean closed;
+
+        private Lease(Slot slot) {
+            this.slot = slot;
+        }
+
+        public Session session() {
+            return slot.session;
+        }
+
+        /**
+         * Producer bound to app.wmq.queue-name.
+         */
+        public MessageProducer producer() {
+            return slot.producer;
+        }
+
+        /**
+         * Mark the session broken; it is closed on release and reopened by the next borrower.
+         */
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (invalid) {
+                slot.closeQuietly();
+            }
+            free(slot);
+        }
+    }
+
+    /**
+     * One pool slot. Fields are only touched by the thread holding the slot's busy flag.
+     */
+    private final class Slot {
+
+        private final int index;
+        private Connection connection;
+        private Session session;
+        private MessageProducer producer;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        private Lease lease() {
+            return new Lease(this);
+        }
+
+        private void ensureOpen() throws JMSException {
+            Connection current = connectionFor(index);
+            if (session != null && connection == current) {
+                return;
+            }
+            // First use, or the connection was replaced after a failure
+            closeQuietly();
+            connection = current;
+            session = current.createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE);
+            producer = session.createProducer(session.createQueue(queueName));
+        }
+
+        private void closeQuietly() {
+            try {
+                if (producer != null) {
+                    producer.close();
+                }
+                if (session != null) {
+                    session.close();
+                }
+            } catch (JMSException e) {
+                log.debug("Failed to close MQ pool session {}: {}", index, e.getMessage());
+            } finally {
+                producer = null;
+                session = null;
+                connection = null;
+            }
+        }
+    }
+}
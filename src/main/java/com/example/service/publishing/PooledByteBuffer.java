@@ -0,0 +1,73 @@
+package com.example.service.publishing;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable, reusable byte buffer that Jackson writes into directly.
+ * 
+ * Handed out and taken back by MessageSerializer; after release the same
+ * backing array is reused for the next message instead of allocating a
+ * fresh String + byte[] per send.
+ * 
+ * Not thread-safe - a buffer belongs to one sender between acquire and release.
+ * close() is a no-op so Jackson's auto-close does not interfere with pooling.
+ */
+public final class PooledByteBuffer extends OutputStream {
+
+    private byte[] buf;
+    private int count;
+
+    PooledByteBuffer(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(bytes, off, buf, count, len);
+        count += len;
+    }
+
+    @Override
+    public void close() {
+        // no-op: lifecycle is managed by MessageSerializer.release()
+    }
+
+    /**
+     * Backing array - only the first {@link #size()} bytes are valid.
+     */
+    public byte[] array() {
+        return buf;
+    }
+
+    /**
+     * Number of valid bytes written.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Current backing array length (retained memory).
+     */
+    int capacity() {
+        return buf.length;
+    }
+
+    void reset() {
+        count = 0;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.service.publishing;
+
+import com.example.model.ProcessedOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped journal of processed orders awaiting WMQ publish.
+ * Only enabled when app.wmq.journal.enabled=true.
+ *
+ * PublishingService appends each batch before publishing and acknowledges it once
+ * every message is settled (see PublishSettlement): confirmed by MQ, handed back as
+ * failed, or - if it went to the retry queue - published or dead-lettered.
+ * If the JVM dies in between, the next start republishes the unacknowledged
+ * batches (PublishJournalRecovery) instead of refetching and reprocessing the event.
+ * Delivery is at-least-once: a batch published just before a crash is sent again.
+ *
+ * Layout - segment files publish-<id>.journal of segment-bytes each, entries:
+ *   [status:1][grouping:1][length:4][sequence:8][payload:length]   (payload = JSON orders)
+ * The status byte (PENDING) is written after the rest of the entry; acknowledging
+ * flips it to ACKED in place. Writes go to the page cache through the mapping,
+ * so they survive a JVM crash; force-writes=true also flushes to disk (power loss).
+ * A segment is deleted once it is full (or from a previous run) and fully acknowledged.
+ * Segments from a previous run are never appended to.
+ *
+ * Metrics:
+ * - wmq.journal.pending   → Unacknowledged batches
+ * - wmq.journal.segments  → Segment files in use
+ * - wmq.journal.appends   → Batches journaled
+ * - wmq.journal.recovered → Batches found unacknowledged at startup
+ */
+@Component
+@ConditionalOnProperty(name = "app.wmq.journal.enabled", havingValue = "true")
+@Slf4j
+public class PublishJournal {
+
+    static final int HEADER_BYTES = 14;
+    static final byte EMPTY = 0;
+    static final byte PENDING = 1;
+    static final byte ACKED = 2;
+
+    private static final String SEGMENT_PREFIX = "publish-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final TypeReference<List<ProcessedOrder>> ORDER_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceWrites;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long nextSegmentId;
+    private long nextSequence;
+    private int pendingCount;
+
+    private final List<PendingEntry> recovered;
+    private final Counter appendCounter;
+
+    /**
+     * Handle to a journaled batch, used to acknowledge it.
+     */
+    public static final class Ticket {
+        private final Segment segment;
+        private final int position;
+        private final long sequence;
+
+        private Ticket(Segment segment, int position, long sequence) {
+            this.segment = segment;
+            this.position = position;
+            this.sequence = sequence;
+        }
+
+        public long sequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * A batch left unacknowledged by a previous run.
+     */
+    public record PendingEntry(Ticket ticket, List<ProcessedOrder> orders, boolean useGrouping) {}
+
+    public PublishJournal(
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.wmq.journal.directory:data/publish-journal}") String directory,
+            @Value("${app.wmq.journal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${app.wmq.journal.force-writes:false}") boolean forceWrites) throws IOException {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.forceWrites = forceWrites;
+
+        Files.createDirectories(this.directory);
+        this.recovered = List.copyOf(loadSegments());
+
+        this.appendCounter = Counter.builder("wmq.journal.appends")
+                .description("Publish batches journaled before WMQ publish")
+                .register(registry);
+        Counter.builder("wmq.journal.recovered")
+                .description("Publish batches found unacknowledged at startup")
+                .register(registry)
+                .increment(recovered.size());
+        Gauge.builder("wmq.journal.pending", this, PublishJournal::pendingCount)
+                .description("Unacknowledged publish batches")
+                .register(registry);
+        Gauge.builder("wmq.journal.segments", this, PublishJournal::segmentCount)
+                .description("Publish journal segment files in use")
+                .register(registry);
+
+        log.info("PublishJournal initialized: dir={}, segmentBytes={}, forceWrites={}, recovered={} pending batches",
+                this.directory.toAbsolutePath(), segmentBytes, forceWrites, recovered.size());
+    }
+
+    /**
+     * Journal a batch before publishing it.
+     *
+     * @throws UncheckedIOException if a new segment cannot be created
+     */
+    public Ticket append(List<ProcessedOrder> orders, boolean useGrouping) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(orders);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int size = HEADER_BYTES + payload.length;
+
+        lock.lock();
+        try {
+            if (active == null || active.capacity - active.writePosition < size) {
+                roll(size);
+            }
+            Segment segment = active;
+            int position = segment.writePosition;
+            long sequence = nextSequence++;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.put(position + 1, (byte) (useGrouping ? 1 : 0));
+            buffer.putInt(position + 2, payload.length);
+            buffer.putLong(position + 6, sequence);
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.put(position, PENDING);
+            if (forceWrites) {
+                buffer.force(position, size);
+            }
+            segment.writePosition += size;
+            segment.pending++;
+            pendingCount++;
+            appendCounter.increment();
+            return new Ticket(segment, position, sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mark a batch as settled (published or dead-lettered). Repeated calls are ignored.
+     */
+    public void acknowledge(Ticket ticket) {
+        lock.lock();
+        try {
+            Segment segment = ticket.segment;
+            if (segment.closed || segment.buffer.get(ticket.position) != PENDING) {
+                return;
+            }
+            segment.buffer.put(ticket.position, ACKED);
+            if (forceWrites) {
+                segment.buffer.force(ticket.position, 1);
+            }
+            segment.pending--;
+            pendingCount--;
+            if (segment.pending == 0 && segment != active) {
+                retire(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Batches the previous run journaled but never acknowledged, oldest first.
+     */
+    public List<PendingEntry> recoveredEntries() {
+        return recovered;
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Segments
+    // ═══════════════════════════════════════════════════════════════
+
+    private void roll(int minSize) throws IOException {
+        if (active != null && active.pending == 0) {
+            retire(active);
+        }
+        int capacity = Math.max(segmentBytes, minSize);
+        Path file = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, nextSegmentId++, SEGMENT_SUFFIX));
+        active = Segment.open(file, capacity);
+        segments.add(active);
+        log.debug("Publish journal rolled to {}", file.getFileName());
+    }
+
+    private void retire(Segment segment) {
+        segments.remove(segment);
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete publish journal segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+
+    /**
+     * Map segments left by a previous run and collect their pending entries.
+     */
+    private List<PendingEntry> loadSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        List<PendingEntry> pending = new ArrayList<>();
+        for (Path file : files) {
+            Segment segment = Segment.open(file, (int) Files.size(file));
+            segment.writePosition = segment.capacity;      // never appended to again
+            scan(segment, pending);
+            nextSegmentId = Math.max(nextSegmentId, segmentId(file) + 1);
+            if (segment.pending == 0) {
+                segment.close();
+                Files.deleteIfExists(file);
+            } else {
+                segments.add(segment);
+                pendingCount += segment.pending;
+            }
+        }
+        return pending;
+    }
+
+    private void scan(Segment segment, List<PendingEntry> pending) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity) {
+            byte status = buffer.get(position);
+            int length = buffer.getInt(position + 2);
+            if (status == EMPTY || length < 0 || position + HEADER_BYTES + length > segment.capacity) {
+                break;
+            }
+            long sequence = buffer.getLong(position + 6);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            if (status == PENDING) {
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                try {
+                    List<ProcessedOrder> orders = objectMapper.readValue(payload, ORDER_LIST);
+                    boolean useGrouping = buffer.get(position + 1) == 1;
+                    segment.pending++;
+                    pending.add(new PendingEntry(new Ticket(segment, position, sequence), orders, useGrouping));
+                } catch (IOException e) {
+                    log.error("Dropping unreadable publish journal entry {} in {}: {}",
+                            sequence, segment.file.getFileName(), e.getMessage());
+                    buffer.put(position, ACKED);
+                }
+            }
+            position += HEADER_BYTES + length;
+        }
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            segments.forEach(Segment::close);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One mapped journal file. Mutable state is guarded by the journal lock.
+     */
+    private static final class Segment {
+
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        int writePosition;
+        int pending;
+        boolean closed;
+
+        private Segment(Path file, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        static Segment open(Path file, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new Segment(file, channel, buffer, capacity);
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                channel.close();    // mapping itself is released when the buffer is collected
+            } catch (IOException e) {
+                log.warn("Failed to close publish journal segment {}: {}", file, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service.publishing;
+
+import com.example.model.FailedOrder;
+import com.example.model.PublishOutcome;
+import com.example.service.DeadLetterPublisher;
+import com.example.service.WmqPublisher;
+import com.example.service.publishing.PublishJournal.PendingEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Republishes batches the previous run journaled but never acknowledged.
+ * Only enabled when app.wmq.journal.enabled=true.
+ *
+ * Runs once the application is ready (WMQ connections available). Orders are
+ * published as journaled - no MongoDB fetch, preload or business logic again.
+ * Orders WMQ still rejects are dead-lettered; a batch whose publish throws stays
+ * pending for the next start. As in PublishingService, a batch with messages in the
+ * retry queue is acknowledged only once they are published or dead-lettered.
+ */
+@Component
+@ConditionalOnProperty(name = "app.wmq.journal.enabled", havingValue = "true")
+@Slf4j
+public class PublishJournalRecovery {
+
+    private final PublishJournal journal;
+    private final WmqPublisher wmqPublisher;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final ExecutorService executor;
+
+    public PublishJournalRecovery(
+            PublishJournal journal,
+            WmqPublisher wmqPublisher,
+            DeadLetterPublisher deadLetterPublisher,
+            @Qualifier("unlimitedVirtualExecutor") ExecutorService executor) {
+        this.journal = journal;
+        this.wmqPublisher = wmqPublisher;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void republishPending() {
+        List<PendingEntry> pending = journal.recoveredEntries();
+        if (pending.isEmpty()) {
+            return;
+        }
+        int orders = pending.stream().mapToInt(entry -> entry.orders().size()).sum();
+        log.warn("Republishing {} journaled batches ({} orders) left unacknowledged by the previous run",
+                pending.size(), orders);
+
+        int recovered = 0;
+        for (PendingEntry entry : pending) {
+            PublishSettlement settlement = new PublishSettlement(() -> journal.acknowledge(entry.ticket()));
+            try {
+                PublishOutcome outcome = entry.useGrouping()
+                        ? wmqPublisher.sendBatch(entry.orders(), executor, settlement)
+                        : wmqPublisher.sendBatchWithoutGrouping(entry.orders(), executor, settlement);
+                if (outcome.hasFailures()) {
+                    deadLetterPublisher.send(outcome.failedOrders().stream()
+                            .map(order -> FailedOrder.fromProcessed(order,
+                                    "WMQ publish failed during journal recovery", FailedOrder.PUBLISH_FAILURE))
+                            .toList());
+                }
+                settlement.release();
+                recovered++;
+            } catch (Exception e) {
+                log.error("Journal recovery publish of batch {} ({} orders) failed, keeping it pending: {}",
+                        entry.ticket().sequence(), entry.orders().size(), e.getMessage());
+            }
+        }
+        log.info("Publish journal recovery complete: {}/{} batches republished", recovered, pending.size());
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.service.publishing;
+
+import com.example.model.FailedOrder;
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.example.model.PublishOutcome;
+import com.example.service.DeadLetterPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-memory retry queue for WMQ payloads that failed to publish.
+ *
+ * - Failed payloads (ProcessedOrder or GroupedOrderMessage) are re-sent after an
+ *   exponential backoff with jitter: initial-backoff-ms * 2^(attempt-1), capped at max-backoff-ms
+ * - At most max-queued payloads wait at once; offer() returns false beyond that
+ *   and the caller reports the orders as failed (no silent loss, no unbounded growth)
+ * - Payloads that still fail after max-attempts go to the DeadLetterPublisher
+ * - A drainer thread waits for the next due payload and re-sends it on a virtual
+ *   thread, with at most app.wmq.retry.concurrency retries running at once
+ *
+ * WmqPublisher registers its single-payload send via {@link #start(RetrySender)}.
+ * Payloads still queued at shutdown are dead-lettered. A payload offered with an
+ * onSettled callback runs it once it is published or dead-lettered (journal acks).
+ *
+ * Metrics:
+ * - wmq.retry.queued    → Payloads waiting for a retry
+ * - wmq.retry.attempts  → Retry sends attempted
+ * - wmq.retry.recovered → Payloads published on a retry
+ * - wmq.retry.exhausted → Payloads dead-lettered after max-attempts
+ * - wmq.retry.rejected  → Offers refused because the queue was full
+ */
+@Component
+@Slf4j
+public class PublishRetryQueue {
+
+    /**
+     * Sends one payload synchronously; throws on failure.
+     */
+    @FunctionalInterface
+    public interface RetrySender {
+        void send(Object payload) throws Exception;
+    }
+
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final int maxQueued;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    private final DelayQueue<RetryItem> queue = new DelayQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Semaphore concurrency;
+
+    private final Counter attemptsCounter;
+    private final Counter recoveredCounter;
+    private final Counter exhaustedCounter;
+    private final Counter rejectedCounter;
+
+    private volatile RetrySender sender;
+    private Thread drainer;
+
+    public PublishRetryQueue(
+            DeadLetterPublisher deadLetterPublisher,
+            MeterRegistry registry,
+            @Value("${app.wmq.retry.max-queued:10000}") int maxQueued,
+            @Value("${app.wmq.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.wmq.retry.initial-backoff-ms:200}") long initialBackoffMs,
+            @Value("${app.wmq.retry.max-backoff-ms:10000}") long maxBackoffMs,
+            @Value("${app.wmq.retry.concurrency:8}") int concurrency) {
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.maxQueued = maxQueued;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(1, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.concurrency = new Semaphore(Math.max(1, concurrency));
+
+        Gauge.builder("wmq.retry.queued", queued, AtomicInteger::get)
+                .description("WMQ payloads waiting for a retry")
+                .register(registry);
+        this.attemptsCounter = Counter.builder("wmq.retry.attempts")
+                .description("WMQ retry sends attempted")
+                .register(registry);
+        this.recoveredCounter = Counter.builder("wmq.retry.recovered")
+                .description("WMQ payloads published on a retry")
+                .register(registry);
+        this.exhaustedCounter = Counter.builder("wmq.retry.exhausted")
+                .description("WMQ payloads dead-lettered after exhausting retries")
+                .register(registry);
+        this.rejectedCounter = Counter.builder("wmq.retry.rejected")
+                .description("WMQ payloads refused because the retry queue was full")
+                .register(registry);
+
+        log.info("PublishRetryQueue initialized: maxQueued={}, maxAttempts={}, backoff={}ms..{}ms",
+                maxQueued, this.maxAttempts, this.initialBackoffMs, this.maxBackoffMs);
+    }
+
+    /**
+     * Start the drainer with the sender used for retries. Idempotent.
+     */
+    public synchronized void start(RetrySender sender) {
+        if (drainer != null) {
+            return;
+        }
+        this.sender = sender;
+        this.drainer = Thread.ofVirtual().name("wmq-retry-drainer").start(this::drainLoop);
+    }
+
+    /**
+     * Queue a failed payload for retry.
+     *
+     * @return false if the queue is full or not started - the caller must treat the payload as failed
+     */
+    public boolean offer(Object payload) {
+        return offer(payload, null);
+    }
+
+    /**
+     * Queue a failed payload for retry; onSettled runs once it is finally published
+     * or dead-lettered (not if the offer is refused).
+     *
+     * @return false if the queue is full or not started - the caller must treat the payload as failed
+     */
+    public boolean offer(Object payload, Runnable onSettled) {
+        if (sender == null) {
+            return false;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+        queue.put(new RetryItem(payload, 1, dueAt(backoffMs(1)), onSettled));
+        return true;
+    }
+
+    /**
+     * Payloads currently waiting for a retry.
+     */
+    public int size() {
+        return queued.get();
+    }
+
+    private void drainLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                RetryItem item = queue.take();
+                concurrency.acquire();
+                Thread.ofVirtual().name("wmq-retry").start(() -> {
+                    try {
+                        attempt(item);
+                    } finally {
+                        concurrency.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void attempt(RetryItem item) {
+        attemptsCounter.increment();
+        try {
+            sender.send(item.payload());
+            queued.decrementAndGet();
+            recoveredCounter.increment();
+            log.info("WMQ retry succeeded on attempt {} for {}", item.attempt(), describe(item.payload()));
+            item.settle();
+        } catch (Exception e) {
+            if (item.attempt() >= maxAttempts) {
+                queued.decrementAndGet();
+                exhaustedCounter.increment();
+                log.error("WMQ retries exhausted after {} attempts for {}: {}",
+                        item.attempt(), describe(item.payload()), e.getMessage());
+                deadLetter(List.of(item.payload()),
+                        "WMQ publish failed after " + item.attempt() + " retries: " + e.getMessage(),
+                        e.getClass().getSimpleName(), item.attempt() + 1);
+                item.settle();
+                return;
+            }
+            int next = item.attempt() + 1;
+            long delayMs = backoffMs(next);
+            log.warn("WMQ retry {} failed for {}, next attempt in {}ms: {}",
+                    item.attempt(), describe(item.payload()), delayMs, e.getMessage());
+            queue.put(new RetryItem(item.payload(), next, dueAt(delayMs), item.onSettled()));
+        }
+    }
+
+    /**
+     * @param attempts Publish attempts made, including the original send
+     */
+    private void deadLetter(List<Object> payloads, String errorMessage, String exceptionType, int attempts) {
+        List<FailedOrder> failed = PublishOutcome.ordersOf(payloads).stream()
+                .map(order -> FailedOrder.fromProcessed(order, errorMessage, exceptionType))
+                .toList();
+        deadLetterPublisher.send(null, failed, attempts);
+    }
+
+    private static long dueAt(long delayMs) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+    }
+
+    /**
+     * Exponential backoff with jitter: half fixed, half random.
+     */
+    private long backoffMs(int attempt) {
+        long base = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+
+    private static String describe(Object payload) {
+        if (payload instanceof GroupedOrderMessage group) {
+            return "group " + group.groupId() + " part " + group.sequenceNumber() + "/" + group.sequenceCount();
+        }
+        if (payload instanceof ProcessedOrder order) {
+            return "order " + order.orderId();
+        }
+        return String.valueOf(payload);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (drainer != null) {
+                drainer.interrupt();
+            }
+        }
+        List<RetryItem> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        // drainTo only returns expired items - take the rest as well
+        remaining.addAll(queue);
+        queue.clear();
+        if (!remaining.isEmpty()) {
+            log.warn("Shutting down with {} WMQ payloads awaiting retry - sending to DLQ", remaining.size());
+            // Items pending attempt N have been tried N times (original send + N-1 retries)
+            remaining.stream()
+                    .collect(Collectors.groupingBy(RetryItem::attempt,
+                            Collectors.mapping(RetryItem::payload, Collectors.toList())))
+                    .forEach((attempts, payloads) -> deadLetter(payloads,
+                            "WMQ publish pending retry at shutdown", "Shutdown", attempts));
+            remaining.forEach(RetryItem::settle);
+        }
+    }
+
+    /**
+     * A payload waiting for its next attempt.
+     */
+    private record RetryItem(Object payload, int attempt, long dueNanos, Runnable onSettled) implements Delayed {
+
+        void settle() {
+            if (onSettled != null) {
+                onSettled.run();
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueNanos, ((RetryItem) other).dueNanos);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.service.publishing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks when every message of one publish call is settled and then runs its
+ * action once - PublishingService and PublishJournalRecovery use it to acknowledge
+ * the journal entry only for messages MQ actually took.
+ *
+ * A message is settled when MQ confirmed it, when it was returned as failed and
+ * the caller dead-lettered it, or - if it went to the PublishRetryQueue - when a
+ * retry published it or it was dead-lettered.
+ *
+ * Holds:
+ * - The caller owns the first hold and releases it once WmqPublisher returned
+ *   normally and the returned failures are dead-lettered. If the publish throws it
+ *   is never released, so the action never runs
+ * - WmqPublisher adds one hold per message handed to the retry queue; the retry
+ *   queue releases it when that message is settled
+ */
+public final class PublishSettlement {
+
+    /**
+     * No action - for publish calls that are not journaled.
+     */
+    public static final PublishSettlement NONE = new PublishSettlement(null);
+
+    private final AtomicInteger holds = new AtomicInteger(1);
+    private final Runnable onSettled;
+
+    public PublishSettlement(Runnable onSettled) {
+        this.onSettled = onSettled;
+    }
+
+    /**
+     * Add a hold for a message whose outcome is still open. Call before handing it over.
+     */
+    public void retain() {
+        if (onSettled != null) {
+            holds.incrementAndGet();
+        }
+    }
+
+    /**
+     * Release a hold; the last release runs the action.
+     */
+    public void release() {
+        if (onSettled != null && holds.decrementAndGet() == 0) {
+            onSettled.run();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.service.publishing;
 
 import com.example.config.AppMetrics;
+import com.example.model.FailedOrder;
 import com.example.model.ProcessedOrder;
+import com.example.model.PublishOutcome;
+import com.example.service.DeadLetterPublisher;
 import com.example.service.WmqPublisher;
+import com.example.service.flight.PublishBatchEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,6 +19,16 @@ import java.util.concurrent.TimeUnit;
 /**
  * Service responsible for publishing processed orders to messaging systems.
  * Supports both grouped and individual publishing strategies.
+ *
+ * With app.wmq.journal.enabled=true each batch is journaled (PublishJournal) before
+ * publishing, so a crash mid-publish is recovered by republishing instead of
+ * reprocessing. The entry is acknowledged through a PublishSettlement: once every
+ * message is confirmed by MQ or dead-lettered, and messages queued for retry are
+ * published or dead-lettered. If the publisher throws it stays pending.
+ *
+ * Orders WMQ rejects (outcome.failedOrders) are dead-lettered here, before the
+ * acknowledgement, so a crash cannot lose them; the outcome still reports them so
+ * callers count them as failures (FailedOrder.PUBLISH_FAILURE, not dead-lettered again).
  */
 @Service
 @Slf4j
@@ -21,46 +36,72 @@ import java.util.concurrent.TimeUnit;
 public class PublishingService {
 
     private final WmqPublisher wmqPublisher;
+    private final DeadLetterPublisher deadLetterPublisher;
     private final AppMetrics metrics;
 
+    @Autowired(required = false)
+    private PublishJournal publishJournal;
+
     /**
      * Publish processed orders to WMQ.
      * 
      * @param orders Processed orders to publish
      * @param useGrouping If true, applies grouping logic; if false, sends individual messages
      * @param executor Virtual thread executor for parallel publishing
+     * @return Outcome - failedOrders were neither published nor queued for retry, and have been dead-lettered
      */
-    public void publish(List<ProcessedOrder> orders, boolean useGrouping, ExecutorService executor) {
+    public PublishOutcome publish(List<ProcessedOrder> orders, boolean useGrouping, ExecutorService executor) {
         if (orders.isEmpty()) {
             log.info("No orders to publish");
-            return;
+            return PublishOutcome.empty();
         }
 
         log.info("Publishing {} orders to WMQ (grouping: {})", orders.size(), useGrouping);
         long startTime = System.currentTimeMillis();
+        PublishBatchEvent publishEvent = new PublishBatchEvent();
+        publishEvent.begin();
+
+        PublishJournal.Ticket ticket = publishJournal != null ? publishJournal.append(orders, useGrouping) : null;
+        PublishSettlement settlement = ticket != null
+                ? new PublishSettlement(() -> publishJournal.acknowledge(ticket))
+                : PublishSettlement.NONE;
 
-        if (useGrouping) {
-            wmqPublisher.sendBatch(orders, executor);
-        } else {
-            wmqPublisher.sendBatchWithoutGrouping(orders, executor);
+        // A throwing publish never releases the settlement - the entry is republished on restart
+        PublishOutcome outcome = useGrouping
+                ? wmqPublisher.sendBatch(orders, executor, settlement)
+                : wmqPublisher.sendBatchWithoutGrouping(orders, executor, settlement);
+
+        // Dead-letter rejected orders before releasing, so the entry is acknowledged only
+        // once they are in the DLQ; retry-queued messages keep their holds until they
+        // are published or dead-lettered
+        if (outcome.hasFailures()) {
+            deadLetterPublisher.send(outcome.failedOrders().stream()
+                    .map(order -> FailedOrder.fromProcessed(order, "WMQ publish failed", FailedOrder.PUBLISH_FAILURE))
+                    .toList());
         }
+        settlement.release();
+
+        publishEvent.setGrouping(useGrouping);
+        publishEvent.setOutcome(outcome.sentMessages(), outcome.retryQueued(), outcome.failedOrders().size());
+        publishEvent.finish(orders.size());
 
         long elapsedTime = System.currentTimeMillis() - startTime;
         metrics.getWmqPublishTimer().record(elapsedTime, TimeUnit.MILLISECONDS);
         log.info("WMQ publish completed in {}ms", elapsedTime);
+        return outcome;
     }
 
     /**
      * Publish with grouping enabled.
      */
-    public void publishGrouped(List<ProcessedOrder> orders, ExecutorService executor) {
-        publish(orders, true, executor);
+    public PublishOutcome publishGrouped(List<ProcessedOrder> orders, ExecutorService executor) {
+        return publish(orders, true, executor);
     }
 
     /**
      * Publish without grouping (individual messages).
      */
-    public void publishIndividual(List<ProcessedOrder> orders, ExecutorService executor) {
-        publish(orders, false, executor);
+    public PublishOutcome publishIndividual(List<ProcessedOrder> orders, ExecutorService executor) {
+        return publish(orders, false, executor);
     }
 }
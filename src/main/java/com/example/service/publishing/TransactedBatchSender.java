@@ -0,0 +1,274 @@
+package com.example.service.publishing;
+
+import jakarta.jms.JMSException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transacted batch sender for IBM MQ (app.wmq.publish-mode=BATCHED).
+ *
+ * JmsTemplate.convertAndSend() opens a session + producer and pays a full MQ
+ * round trip for every message. Here each worker leases ONE transacted session
+ * and producer from MqProducerPool, sends up to batch-size messages and commits
+ * once - so the put cost is paid per batch instead of per message.
+ *
+ * A batch is closed when it is full, or when no further message arrives
+ * within linger-ms (bounds the time messages sit uncommitted).
+ *
+ * Failure handling is per batch: a failed send or commit rolls back the whole
+ * batch and reports its payloads as failed. The worker invalidates its lease
+ * (the pool reopens the session) and carries on with the next batch.
+ *
+ * Every payload ends up either committed or failed: an interrupted worker
+ * fails its batch and everything still queued, and send() reports any payload
+ * no worker accounted for (rejected or dead workers) as failed.
+ */
+@Component
+@Slf4j
+public class TransactedBatchSender {
+
+    /** End-of-stream marker, one per worker. */
+    private static final Object END = new Object();
+
+    private final MqProducerPool producerPool;
+    private final MessageSerializer messageSerializer;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxWorkers;
+
+    public TransactedBatchSender(
+            MqProducerPool producerPool,
+            MessageSerializer messageSerializer,
+            @Value("${app.wmq.batch.size:100}") int batchSize,
+            @Value("${app.wmq.batch.linger-ms:5}") long lingerMs,
+            @Value("${app.wmq.batch.workers:8}") int maxWorkers) {
+        this.producerPool = producerPool;
+        this.messageSerializer = messageSerializer;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+        this.maxWorkers = Math.max(1, maxWorkers);
+        log.info("TransactedBatchSender initialized: batchSize={}, lingerMs={}, workers={}",
+                this.batchSize, lingerMs, this.maxWorkers);
+    }
+
+    /**
+     * Result of a batched send.
+     *
+     * @param sentCount        Messages committed to MQ
+     * @param failedPayloads   Payloads whose batch was rolled back
+     * @param committedBatches Number of successful commits
+     */
+    public record BatchSendResult(
+            int sentCount,
+            List<Object> failedPayloads,
+            int committedBatches
+    ) {}
+
+    /**
+     * True if MQ is available and the pool hands out transacted sessions
+     * (app.wmq.enabled=true, app.wmq.publish-mode=BATCHED).
+     */
+    public boolean isAvailable() {
+        return producerPool.isAvailable() && producerPool.isTransacted();
+    }
+
+    /**
+     * Send all payloads in transacted batches, using up to app.wmq.batch.workers
+     * workers (never more than the pool has slots) on the given executor.
+     * Blocks until every batch is committed or rolled back.
+     */
+    public BatchSendResult send(List<?> payloads, ExecutorService executor) {
+        if (payloads.isEmpty()) {
+            return new BatchSendResult(0, List.of(), 0);
+        }
+
+        String queueName = producerPool.queueName();
+        int workers = Math.min(Math.min(maxWorkers, producerPool.size()),
+                (payloads.size() + batchSize - 1) / batchSize);
+        BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger batches = new AtomicInteger();
+        Queue<Object> committed = new ConcurrentLinkedQueue<>();
+        Queue<Object> failed = new ConcurrentLinkedQueue<>();
+
+        log.debug("Sending {} messages to {} in batches of {} ({} workers)",
+                payloads.size(), queueName, batchSize, workers);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(
+                        () -> runWorker(queue, queueName, sent, batches, committed, failed), executor));
+            }
+        } catch (RejectedExecutionException e) {
+            log.error("Executor rejected batch worker {}/{}: {}", futures.size() + 1, workers, e.getMessage());
+        }
+
+        // Feed the workers; they start committing while the queue is still filling
+        queue.addAll(payloads);
+        for (int i = 0; i < futures.size(); i++) {
+            queue.add(END);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            log.error("Batch worker to {} failed: {}", queueName, e.getMessage());
+        }
+
+        List<Object> unaccounted = unaccounted(payloads, committed, failed);
+        if (!unaccounted.isEmpty()) {
+            log.error("{} of {} messages to {} were neither committed nor rolled back, reporting them as failed",
+                    unaccounted.size(), payloads.size(), queueName);
+            failed.addAll(unaccounted);
+        }
+        return new BatchSendResult(sent.get(), List.copyOf(failed), batches.get());
+    }
+
+    /**
+     * Worker loop: collect a batch (full or linger expired), send, commit, repeat.
+     */
+    private void runWorker(BlockingQueue<Object> queue, String queueName, AtomicInteger sent,
+                           AtomicInteger batches, Queue<Object> committed, Queue<Object> failed) {
+        MqProducerPool.Lease lease = null;
+        List<Object> batch = new ArrayList<>(batchSize);
+        boolean done = false;
+
+        try {
+            while (!done) {
+                // Block for the first message of the next batch
+                Object first = queue.take();
+                if (first == END) {
+                    break;
+                }
+                batch.add(first);
+
+                // Fill up until full, END, or linger expires
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Object next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == END) {
+                        done = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                lease = commitBatch(lease, batch, queueName, sent, batches, committed, failed);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.addAll(batch);
+            int drained = failRemaining(queue, failed);
+            log.warn("Batch worker for {} interrupted, failed {} uncommitted and {} queued messages",
+                    queueName, batch.size(), drained);
+        } finally {
+            if (lease != null) {
+                lease.close();
+            }
+        }
+    }
+
+    /**
+     * Send one batch in the worker's transacted session and commit.
+     * Returns the lease to keep using, or null if it was invalidated and released after a failure.
+     */
+    private MqProducerPool.Lease commitBatch(MqProducerPool.Lease lease, List<Object> batch, String queueName,
+                                             AtomicInteger sent, AtomicInteger batches,
+                                             Queue<Object> committed, Queue<Object> failed)
+            throws InterruptedException {
+        try {
+            if (lease == null) {
+                lease = producerPool.acquire();
+            }
+            for (Object payload : batch) {
+                lease.producer().send(messageSerializer.toMessage(lease.session(), payload));
+            }
+            lease.session().commit();
+            committed.addAll(batch);
+            sent.addAndGet(batch.size());
+            batches.incrementAndGet();
+            return lease;
+        } catch (JMSException | RuntimeException e) {
+            log.error("Batch of {} messages to {} failed, rolling back: {}", batch.size(), queueName, e.getMessage());
+            failed.addAll(batch);
+            if (lease != null) {
+                rollbackQuietly(lease);
+                lease.invalidate();
+                lease.close();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Move every queued payload into failed. END markers are put back so the
+     * other workers still see end-of-stream and exit.
+     *
+     * @return number of payloads failed
+     */
+    private static int failRemaining(BlockingQueue<Object> queue, Queue<Object> failed) {
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        int payloads = 0;
+        for (Object item : remaining) {
+            if (item == END) {
+                queue.add(END);
+            } else {
+                failed.add(item);
+                payloads++;
+            }
+        }
+        return payloads;
+    }
+
+    /**
+     * Payloads (by identity, counting duplicates) that are neither committed nor failed.
+     */
+    private static List<Object> unaccounted(List<?> payloads, Queue<Object> committed, Queue<Object> failed) {
+        if (committed.size() + failed.size() >= payloads.size()) {
+            return List.of();
+        }
+        Map<Object, Integer> outstanding = new IdentityHashMap<>(payloads.size());
+        payloads.forEach(payload -> outstanding.merge(payload, 1, Integer::sum));
+        committed.forEach(payload -> outstanding.computeIfPresent(payload, (p, n) -> n > 1 ? n - 1 : null));
+        failed.forEach(payload -> outstanding.computeIfPresent(payload, (p, n) -> n > 1 ? n - 1 : null));
+
+        List<Object> missing = new ArrayList<>();
+        outstanding.forEach((payload, count) -> {
+            for (int i = 0; i < count; i++) {
+                missing.add(payload);
+            }
+        });
+        return missing;
+    }
+
+    private void rollbackQuietly(MqProducerPool.Lease lease) {
+        try {
+            lease.session().rollback();
+        } catch (JMSException e) {
+            log.debug("Rollback failed: {}", e.getMessage());
+        }
+    }
+}
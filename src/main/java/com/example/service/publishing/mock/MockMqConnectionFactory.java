@@ -0,0 +1,670 @@
+package com.example.service.publishing.mock;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.ExceptionListener;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.IllegalStateRuntimeException;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.JMSProducer;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageFormatRuntimeException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import jakarta.jms.TransactionRolledBackException;
+import jakarta.jms.TransactionRolledBackRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process JMS ConnectionFactory that behaves like a remote queue manager.
+ *
+ * Lets WmqPublisher's real MQ path (JmsTemplate, MqProducerPool, transacted
+ * batches, async sends) run unchanged without IBM MQ, with realistic costs:
+ * - every synchronous round trip (put, commit) blocks for a latency sampled
+ *   from the configured percentiles
+ * - puts inside a transaction cost syncpointPutFraction of a round trip; the
+ *   commit pays the full round trip
+ * - async puts (send with CompletionListener) return immediately and complete
+ *   on a scheduler thread after the sampled latency
+ * - a global throughput cap paces all puts (token spacing, not bursts)
+ * - puts and commits fail with the configured probability; a failed commit
+ *   rolls the transaction back
+ * - messages above maxMessageBytes are rejected (MQRC_MSG_TOO_BIG_FOR_Q)
+ *
+ * Connections, sessions, producers and messages are dynamic proxies - only the
+ * JMS methods the publishers use have behaviour; everything else is a no-op.
+ * A JMSContext (JMS 2.0 simplified API) wraps one mock connection and session,
+ * so JMSProducer sends - sync, transacted or async - cost the same as above.
+ */
+@Slf4j
+public class MockMqConnectionFactory implements ConnectionFactory, AutoCloseable {
+
+    private static final String MQRC_MSG_TOO_BIG_FOR_Q = "2030";
+    private static final String MQRC_UNEXPECTED_ERROR = "2195";
+
+    private final MockMqSettings settings;
+    private final ScheduledExecutorService completions;
+    private final long putIntervalNanos;
+    private final AtomicLong nextPutSlot = new AtomicLong();
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejectedTooBig = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong rollbacks = new AtomicLong();
+
+    public MockMqConnectionFactory(MockMqSettings settings) {
+        this.settings = settings;
+        this.putIntervalNanos = settings.maxMessagesPerSecond() > 0
+                ? 1_000_000_000L / settings.maxMessagesPerSecond()
+                : 0;
+        this.completions = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mock-mq-completion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Mock MQ transport: latency p50={}ms p90={}ms p99={}ms p99.9={}ms, cap={}/s, failureRate={}, maxBytes={}",
+                settings.p50Ms(), settings.p90Ms(), settings.p99Ms(), settings.p999Ms(),
+                settings.maxMessagesPerSecond(), settings.failureRate(), settings.maxMessageBytes());
+    }
+
+    /**
+     * Counters since startup.
+     *
+     * @param delivered      Messages that reached the queue (committed, for transacted sessions)
+     * @param failed         Puts/commits failed by failureRate
+     * @param rejectedTooBig Puts rejected by maxMessageBytes
+     */
+    public record Stats(long delivered, long failed, long rejectedTooBig, long commits, long rollbacks) {}
+
+    public Stats stats() {
+        return new Stats(delivered.get(), failed.get(), rejectedTooBig.get(), commits.get(), rollbacks.get());
+    }
+
+    @Override
+    public Connection createConnection() {
+        return proxy(Connection.class, new ConnectionHandler());
+    }
+
+    @Override
+    public Connection createConnection(String userName, String password) {
+        return createConnection();
+    }
+
+    @Override
+    public JMSContext createContext() {
+        return createContext(JMSContext.AUTO_ACKNOWLEDGE);
+    }
+
+    @Override
+    public JMSContext createContext(String userName, String password) {
+        return createContext();
+    }
+
+    @Override
+    public JMSContext createContext(String userName, String password, int sessionMode) {
+        return createContext();
+    }
+
+    @Override
+    public JMSContext createContext(int sessionMode) {
+        try {
+            return proxy(JMSContext.class, new ContextHandler(sessionMode));
+        } catch (JMSException e) {
+            throw unchecked(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        completions.shutdownNow();
+        log.info("Mock MQ transport closed: {}", stats());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Simulated costs
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Wait for this put's slot under the throughput cap.
+     */
+    private void throttle() throws JMSException {
+        if (putIntervalNanos == 0) {
+            return;
+        }
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextPutSlot.get();
+            long slot = Math.max(now, next);
+            if (nextPutSlot.compareAndSet(next, slot + putIntervalNanos)) {
+                pause(slot - now);
+                return;
+            }
+        }
+    }
+
+    private void roundTrip(double fraction) throws JMSException {
+        pause((long) (settings.sampleLatencyNanos() * fraction));
+    }
+
+    private static void pause(long nanos) throws JMSException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMSException("Interrupted during mock MQ call", MQRC_UNEXPECTED_ERROR);
+        }
+    }
+
+    private void checkSize(Message message) throws JMSException {
+        if (settings.maxMessageBytes() <= 0) {
+            return;
+        }
+        long size = sizeOf(message);
+        if (size > settings.maxMessageBytes()) {
+            rejectedTooBig.incrementAndGet();
+            throw new JMSException("MQRC_MSG_TOO_BIG_FOR_Q: message of " + size
+                    + " bytes exceeds MAXMSGL " + settings.maxMessageBytes(), MQRC_MSG_TOO_BIG_FOR_Q);
+        }
+    }
+
+    private JMSException simulatedFailure(String operation) {
+        failed.incrementAndGet();
+        return new JMSException("Simulated MQ failure on " + operation, MQRC_UNEXPECTED_ERROR);
+    }
+
+    /**
+     * JMSContext/JMSProducer methods throw JMSRuntimeException, not JMSException.
+     */
+    private static JMSRuntimeException unchecked(JMSException e) {
+        if (e instanceof TransactionRolledBackException) {
+            return new TransactionRolledBackRuntimeException(e.getMessage(), e.getErrorCode(), e);
+        }
+        if (e instanceof IllegalStateException) {
+            return new IllegalStateRuntimeException(e.getMessage(), e.getErrorCode(), e);
+        }
+        return new JMSRuntimeException(e.getMessage(), e.getErrorCode(), e);
+    }
+
+    private static long sizeOf(Message message) {
+        if (Proxy.isProxyClass(message.getClass())
+                && Proxy.getInvocationHandler(message) instanceof MessageHandler handler) {
+            return handler.size();
+        }
+        return 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Proxy handlers
+    // ═══════════════════════════════════════════════════════════════
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(MockMqConnectionFactory.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Base handler: Object methods and no-op defaults for unmodelled JMS methods.
+     */
+    private abstract static class BaseHandler implements InvocationHandler {
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object[] arguments = args != null ? args : new Object[0];
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == arguments[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return describe();
+                }
+                default -> {
+                    try {
+                        return handle(proxy, method, arguments);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Exception;
+
+        abstract String describe();
+
+        static Object defaultValue(Method method) {
+            Class<?> type = method.getReturnType();
+            if (!type.isPrimitive() || type == void.class) {
+                return null;
+            }
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == char.class) {
+                return '\0';
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            if (type == double.class) {
+                return 0.0;
+            }
+            if (type == float.class) {
+                return 0.0f;
+            }
+            if (type == short.class) {
+                return (short) 0;
+            }
+            if (type == byte.class) {
+                return (byte) 0;
+            }
+            return 0;
+        }
+    }
+
+    private final class ConnectionHandler extends BaseHandler {
+
+        private volatile boolean closed;
+        private volatile ExceptionListener exceptionListener;
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Exception {
+            return switch (method.getName()) {
+                case "createSession" -> {
+                    if (closed) {
+                        throw new IllegalStateException("Connection closed");
+                    }
+                    yield proxy(Session.class, new SessionHandler(isTransacted(args)));
+                }
+                case "setExceptionListener" -> {
+                    exceptionListener = (ExceptionListener) args[0];
+                    yield null;
+                }
+                case "getExceptionListener" -> exceptionListener;
+                case "close" -> {
+                    closed = true;
+                    yield null;
+                }
+                default -> defaultValue(method);
+            };
+        }
+
+        private boolean isTransacted(Object[] args) {
+            if (args.length == 2) {
+                return (Boolean) args[0];
+            }
+            return args.length == 1 && (Integer) args[0] == Session.SESSION_TRANSACTED;
+        }
+
+        @Override
+        String describe() {
+            return "MockMqConnection";
+        }
+    }
+
+    private final class SessionHandler extends BaseHandler {
+
+        private final boolean transacted;
+        private int pending;           // puts in the open transaction (session is single-threaded)
+        private boolean closed;
+
+        private SessionHandler(boolean transacted) {
+            this.transacted = transacted;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Exception {
+            if (closed && !method.getName().equals("close")) {
+                throw new IllegalStateException("Session closed");
+            }
+            return switch (method.getName()) {
+                case "getTransacted" -> transacted;
+                case "getAcknowledgeMode" -> transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE;
+                case "createQueue" -> proxy(Queue.class, new QueueHandler((String) args[0]));
+                case "createProducer" -> proxy(MessageProducer.class,
+                        new ProducerHandler(this, (Destination) args[0]));
+                case "createBytesMessage" -> proxy(BytesMessage.class, new MessageHandler(null));
+                case "createTextMessage" -> proxy(TextMessage.class,
+                        new MessageHandler(args.length > 0 ? (String) args[0] : null));
+                case "createMessage" -> proxy(Message.class, new MessageHandler(null));
+                case "commit" -> {
+                    commit();
+                    yield null;
+                }
+                case "rollback" -> {
+                    rollback();
+                    yield null;
+                }
+                case "close" -> {
+                    if (transacted && pending > 0) {
+                        rollback();
+                    }
+                    closed = true;
+                    yield null;
+                }
+                default -> defaultValue(method);
+            };
+        }
+
+        private void commit() throws JMSException {
+            if (!transacted) {
+                throw new IllegalStateException("Session is not transacted");
+            }
+            roundTrip(1.0);
+            if (settings.shouldFail()) {
+                failed.incrementAndGet();
+                rollback();
+                throw new TransactionRolledBackException("Simulated MQ failure on commit - transaction rolled back",
+                        MQRC_UNEXPECTED_ERROR);
+            }
+            delivered.addAndGet(pending);
+            commits.incrementAndGet();
+            pending = 0;
+        }
+
+        private void rollback() {
+            rollbacks.incrementAndGet();
+            pending = 0;
+        }
+
+        @Override
+        String describe() {
+            return "MockMqSession[transacted=" + transacted + "]";
+        }
+    }
+
+    private final class ProducerHandler extends BaseHandler {
+
+        private final SessionHandler session;
+        private final Destination destination;
+
+        private ProducerHandler(SessionHandler session, Destination destination) {
+            this.session = session;
+            this.destination = destination;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Exception {
+            return switch (method.getName()) {
+                case "send" -> {
+                    send(args);
+                    yield null;
+                }
+                case "getDestination" -> destination;
+                default -> defaultValue(method);
+            };
+        }
+
+        private void send(Object[] args) throws JMSException {
+            Message message = null;
+            CompletionListener listener = null;
+            for (Object arg : args) {
+                if (arg instanceof Message m) {
+                    message = m;
+                } else if (arg instanceof CompletionListener l) {
+                    listener = l;
+                }
+            }
+            if (message == null) {
+                throw new JMSException("No message to send");
+            }
+
+            checkSize(message);
+            throttle();
+
+            if (session.transacted) {
+                roundTrip(settings.syncpointPutFraction());
+                if (settings.shouldFail()) {
+                    throw simulatedFailure("put");
+                }
+                session.pending++;
+                if (listener != null) {
+                    listener.onCompletion(message);
+                }
+            } else if (listener != null) {
+                sendAsync(message, listener);
+            } else {
+                roundTrip(1.0);
+                if (settings.shouldFail()) {
+                    throw simulatedFailure("put");
+                }
+                delivered.incrementAndGet();
+            }
+        }
+
+        private void sendAsync(Message message, CompletionListener listener) {
+            boolean fail = settings.shouldFail();
+            completions.schedule(() -> {
+                if (fail) {
+                    listener.onException(message, simulatedFailure("async put"));
+                } else {
+                    delivered.incrementAndGet();
+                    listener.onCompletion(message);
+                }
+            }, settings.sampleLatencyNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        String describe() {
+            return "MockMqProducer[" + destination + "]";
+        }
+    }
+
+    /**
+     * JMSContext over its own mock connection and session.
+     */
+    private final class ContextHandler extends BaseHandler {
+
+        private final int sessionMode;
+        private final Connection connection;
+        private final Session session;
+
+        private ContextHandler(int sessionMode) throws JMSException {
+            this.sessionMode = sessionMode;
+            this.connection = createConnection();
+            this.session = connection.createSession(sessionMode);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            try {
+                return switch (method.getName()) {
+                    case "createProducer" -> proxy(JMSProducer.class, new JMSProducerHandler(session));
+                    case "createQueue" -> session.createQueue((String) args[0]);
+                    case "createTextMessage" -> session.createTextMessage(args.length > 0 ? (String) args[0] : null);
+                    case "createBytesMessage" -> session.createBytesMessage();
+                    case "createMessage" -> session.createMessage();
+                    case "getSessionMode" -> sessionMode;
+                    case "getTransacted" -> session.getTransacted();
+                    case "commit" -> {
+                        session.commit();
+                        yield null;
+                    }
+                    case "rollback" -> {
+                        session.rollback();
+                        yield null;
+                    }
+                    case "close" -> {
+                        session.close();
+                        connection.close();
+                        yield null;
+                    }
+                    default -> defaultValue(method);
+                };
+            } catch (JMSException e) {
+                throw unchecked(e);
+            }
+        }
+
+        @Override
+        String describe() {
+            return "MockMqContext[sessionMode=" + sessionMode + "]";
+        }
+    }
+
+    /**
+     * JMSProducer on a context's session. Sends go through a mock MessageProducer;
+     * setAsync switches them to async sends. Other setters are accepted and ignored.
+     */
+    private static final class JMSProducerHandler extends BaseHandler {
+
+        private final Session session;
+        private final MessageProducer producer;
+        private CompletionListener async;
+
+        private JMSProducerHandler(Session session) throws JMSException {
+            this.session = session;
+            this.producer = session.createProducer(null);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "send" -> {
+                    send((Destination) args[0], args[1]);
+                    yield proxy;
+                }
+                case "setAsync" -> {
+                    async = (CompletionListener) args[0];
+                    yield proxy;
+                }
+                case "getAsync" -> async;
+                default -> method.getReturnType() == JMSProducer.class ? proxy : defaultValue(method);
+            };
+        }
+
+        private void send(Destination destination, Object body) {
+            try {
+                Message message = switch (body) {
+                    case Message m -> m;
+                    case String text -> session.createTextMessage(text);
+                    case byte[] bytes -> {
+                        BytesMessage bytesMessage = session.createBytesMessage();
+                        bytesMessage.writeBytes(bytes);
+                        yield bytesMessage;
+                    }
+                    case null -> session.createMessage();
+                    default -> throw new MessageFormatRuntimeException(
+                            "Mock MQ does not support " + body.getClass().getSimpleName() + " bodies");
+                };
+                if (async != null) {
+                    producer.send(destination, message, async);
+                } else {
+                    producer.send(destination, message);
+                }
+            } catch (JMSException e) {
+                throw unchecked(e);
+            }
+        }
+
+        @Override
+        String describe() {
+            return "MockMqJMSProducer";
+        }
+    }
+
+    private static final class QueueHandler extends BaseHandler {
+
+        private final String name;
+
+        private QueueHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            return method.getName().equals("getQueueName") ? name : defaultValue(method);
+        }
+
+        @Override
+        String describe() {
+            return "queue:///" + name;
+        }
+    }
+
+    /**
+     * Message body and properties. Tracks body size for MAXMSGL checks.
+     */
+    private static final class MessageHandler extends BaseHandler {
+
+        private final Map<String, Object> properties = new HashMap<>();
+        private String text;
+        private long bodyBytes;
+
+        private MessageHandler(String text) {
+            this.text = text;
+        }
+
+        long size() {
+            return text != null ? text.getBytes(StandardCharsets.UTF_8).length : bodyBytes;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            switch (name) {
+                case "setText" -> text = (String) args[0];
+                case "getText" -> {
+                    return text;
+                }
+                case "writeBytes" -> bodyBytes += args.length == 3 ? (Integer) args[2] : ((byte[]) args[0]).length;
+                case "getBodyLength" -> {
+                    return bodyBytes;
+                }
+                case "clearBody" -> {
+                    text = null;
+                    bodyBytes = 0;
+                }
+                case "clearProperties" -> properties.clear();
+                case "propertyExists" -> {
+                    return properties.containsKey((String) args[0]);
+                }
+                default -> {
+                    if (name.startsWith("set") && args.length == 2 && args[0] instanceof String key) {
+                        properties.put(key, args[1]);
+                    } else if (name.startsWith("set") && args.length == 1) {
+                        properties.put(name.substring(3), args[0]);      // setJMSxxx headers
+                    } else if (name.startsWith("get") && args.length == 1 && args[0] instanceof String key) {
+                        Object value = properties.get(key);
+                        return value != null ? value : defaultValue(method);
+                    } else if (name.startsWith("get") && args.length == 0) {
+                        Object value = properties.get(name.substring(3));
+                        return value != null ? value : defaultValue(method);
+                    }
+                }
+            }
+            return defaultValue(method);
+        }
+
+        @Override
+        String describe() {
+            return "MockMqMessage[" + size() + " bytes]";
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.service.publishing.mock;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Behaviour of the in-process mock MQ transport.
+ *
+ * Latency is sampled from a piecewise-linear distribution through the given
+ * percentiles (p50 / p90 / p99 / p99.9), so the tail can be shaped independently
+ * of the median. Latency applies to every synchronous round trip: a
+ * non-transacted put, a commit, or the completion of an async put.
+ *
+ * @param p50Ms                  Median round-trip latency
+ * @param p90Ms                  90th percentile
+ * @param p99Ms                  99th percentile
+ * @param p999Ms                 99.9th percentile (also the maximum)
+ * @param syncpointPutFraction   Cost of a put inside a transaction, as a fraction of a
+ *                               sampled round trip (puts under syncpoint are not forced to disk)
+ * @param maxMessagesPerSecond   Throughput cap across the whole queue manager (0 = unlimited)
+ * @param failureRate            Probability [0..1] that a put or commit fails
+ * @param maxMessageBytes        Messages larger than this are rejected (MQRC 2030, 0 = unlimited)
+ */
+public record MockMqSettings(
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double syncpointPutFraction,
+        int maxMessagesPerSecond,
+        double failureRate,
+        long maxMessageBytes
+) {
+    /**
+     * No latency, no limits, no failures.
+     */
+    public static MockMqSettings instant() {
+        return new MockMqSettings(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Sample one round-trip latency in nanoseconds.
+     */
+    public long sampleLatencyNanos() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        double ms;
+        if (u < 0.5) {
+            ms = interpolate(u, 0.0, 0.5, p50Ms / 2, p50Ms);
+        } else if (u < 0.9) {
+            ms = interpolate(u, 0.5, 0.9, p50Ms, p90Ms);
+        } else if (u < 0.99) {
+            ms = interpolate(u, 0.9, 0.99, p90Ms, p99Ms);
+        } else if (u < 0.999) {
+            ms = interpolate(u, 0.99, 0.999, p99Ms, p999Ms);
+        } else {
+            ms = p999Ms;
+        }
+        return (long) (ms * 1_000_000);
+    }
+
+    public boolean shouldFail() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    private static double interpolate(double u, double u0, double u1, double v0, double v1) {
+        return v0 + (v1 - v0) * (u - u0) / (u1 - u0);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limiter (AIMD - additive increase, multiplicative decrease).
+ *
+ * Replaces a fixed Semaphore: the permit count follows what the downstream
+ * (MQ, database) can actually absorb.
+ *
+ * - Success with normal latency while the limit is in use → limit + 1 / limit
+ *   (grows by ~1 per round of limit calls)
+ * - Error, or latency above latencyTolerance × baseline latency → limit × backoffRatio
+ * - Limit stays within [minLimit, maxLimit]
+ *
+ * Baseline latency is the minimum latency seen in the previous window of
+ * BASELINE_WINDOW samples (no-load round trip). It is re-measured continuously
+ * so a permanently slower downstream does not pin the limit at the minimum.
+ * Latencies under 1ms are never treated as slow.
+ *
+ * Metrics (tag limiter=<name>):
+ * - concurrency.limit       → Current permit count
+ * - concurrency.in-flight   → Calls currently holding a permit
+ * - concurrency.queue.delay → Time spent waiting for a permit
+ *
+ * Usage:
+ *   AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+ *   try {
+ *       callDownstream();
+ *       permit.success();
+ *   } finally {
+ *       permit.release();   // counts as a failure unless success() was called
+ *   }
+ * or: limiter.supply(() -> callDownstream());
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    static final int BASELINE_WINDOW = 500;
+
+    /** Latencies below this never count as slow (ignores sub-millisecond jitter). */
+    static final long SLOW_LATENCY_FLOOR_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    private final Timer queueDelayTimer;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double latencyTolerance, MeterRegistry registry) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(registry);
+        Gauge.builder("concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently holding a permit")
+                .tag("limiter", name)
+                .register(registry);
+        this.queueDelayTimer = Timer.builder("concurrency.queue.delay")
+                .description("Time spent waiting for a concurrency permit")
+                .tag("limiter", name)
+                .register(registry);
+
+        log.info("AdaptiveConcurrencyLimiter '{}' initialized: limit={}, range=[{}, {}], backoff={}, tolerance={}",
+                name, (int) limit, this.minLimit, this.maxLimit, backoffRatio, latencyTolerance);
+    }
+
+    /**
+     * Wait for a permit. The returned permit must be released.
+     */
+    public Permit acquire() throws InterruptedException {
+        long waitStart = System.nanoTime();
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                permitAvailable.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        long now = System.nanoTime();
+        queueDelayTimer.record(now - waitStart, TimeUnit.NANOSECONDS);
+        return new Permit(now);
+    }
+
+    /**
+     * Run a call under a permit; a thrown exception counts as a failure.
+     * Interruption while waiting surfaces as CancellationException (interrupt flag restored).
+     */
+    public <T> T supply(Supplier<T> call) {
+        Permit permit;
+        try {
+            permit = acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for '" + name + "' permit");
+        }
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } finally {
+            permit.release();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void onComplete(long latencyNanos, boolean success, boolean ignored) {
+        lock.lock();
+        try {
+            int usedInFlight = inFlight;
+            inFlight--;
+            if (ignored) {
+                // Call never reached the downstream - no signal about its capacity
+                if (inFlight < (int) limit) {
+                    permitAvailable.signal();
+                }
+                return;
+            }
+
+            boolean overloaded = !success || isSlow(latencyNanos);
+            if (success) {
+                recordLatency(latencyNanos);
+            }
+
+            int before = (int) limit;
+            if (overloaded) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (usedInFlight * 2 >= before) {
+                // Only grow while the current limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            int after = (int) limit;
+            if (after != before) {
+                log.debug("Limiter '{}' limit {} → {} ({})", name, before, after,
+                        success ? (overloaded ? "slow" : "healthy") : "error");
+            }
+            // Wake as many waiters as there are free permits now
+            for (int free = after - inFlight; free > 0; free--) {
+                permitAvailable.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isSlow(long latencyNanos) {
+        return baselineNanos != Long.MAX_VALUE
+                && latencyNanos > SLOW_LATENCY_FLOOR_NANOS
+                && latencyNanos > baselineNanos * latencyTolerance;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+        if (baselineNanos == Long.MAX_VALUE) {
+            baselineNanos = latencyNanos;
+        }
+        if (++windowSamples >= BASELINE_WINDOW) {
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        } else {
+            baselineNanos = Math.min(baselineNanos, latencyNanos);
+        }
+    }
+
+    /**
+     * A held permit. Report the outcome with success(), then release() (in finally).
+     * Not thread-safe - use from the acquiring thread.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean succeeded;
+        private boolean ignored;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Mark the call successful; its latency feeds the limit.
+         */
+        public void success() {
+            succeeded = true;
+        }
+
+        /**
+         * Mark the call as not made (e.g. shed by a circuit breaker); the limit is left unchanged.
+         */
+        public void ignore() {
+            ignored = true;
+        }
+
+        /**
+         * Return the permit. Without a prior success() or ignore() the call counts as a failure.
+         */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            onComplete(System.nanoTime() - startNanos, succeeded, ignored);
+        }
+    }
+}
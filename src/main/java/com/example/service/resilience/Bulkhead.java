@@ -0,0 +1,51 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent calls to one dependency, so a slow dependency can hold at most
+ * maxConcurrent pipeline threads. Callers wait up to maxWaitMs for a slot.
+ *
+ * Metrics (tag dependency=<name>):
+ * - resilience.bulkhead.available → Free slots
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore slots;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMs, MeterRegistry registry) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaitMs = maxWaitMs;
+        this.slots = new Semaphore(this.maxConcurrent);
+
+        Gauge.builder("resilience.bulkhead.available", slots, Semaphore::availablePermits)
+                .description("Free bulkhead slots")
+                .tag("dependency", name)
+                .register(registry);
+    }
+
+    /**
+     * @return false if no slot freed up within maxWaitMs
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        return slots.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailable() {
+        return slots.availablePermits();
+    }
+}
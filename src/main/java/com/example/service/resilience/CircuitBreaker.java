@@ -0,0 +1,184 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * - CLOSED    → calls pass; the last windowSize outcomes are kept. Once at least
+ *               minimumCalls are recorded and the share of bad calls (errors, or
+ *               slower than slowCallMs) reaches failureRateThreshold %, the circuit opens
+ * - OPEN      → calls are rejected immediately for openMs
+ * - HALF_OPEN → up to halfOpenProbes calls are let through; all succeed → CLOSED,
+ *               any bad → OPEN again
+ *
+ * Outcomes of calls admitted before a state change are ignored.
+ *
+ * Metrics (tag dependency=<name>):
+ * - resilience.circuit.state → 0 = closed, 1 = half-open, 2 = open
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    /** Returned by tryAcquire when the call is rejected. */
+    public static final long REJECTED = -1;
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private State state = State.CLOSED;
+    private long generation;
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int badCount;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          long slowCallMs, long openMs, int halfOpenProbes, MeterRegistry registry) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.clamp(minimumCalls, 1, window.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+
+        Gauge.builder("resilience.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit state (0 = closed, 1 = half-open, 2 = open)")
+                .tag("dependency", name)
+                .register(registry);
+    }
+
+    /**
+     * Ask to make a call.
+     *
+     * @return a ticket to pass to onResult/cancel, or REJECTED
+     */
+    public long tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openUntilNanos < 0) {
+                    return REJECTED;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight >= halfOpenProbes) {
+                    return REJECTED;
+                }
+                probesInFlight++;
+            }
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the outcome of an admitted call.
+     */
+    public void onResult(long ticket, long durationNanos, boolean success) {
+        lock.lock();
+        try {
+            if (ticket != generation) {
+                return;
+            }
+            boolean bad = !success || (slowCallNanos > 0 && durationNanos > slowCallNanos);
+            if (state == State.HALF_OPEN) {
+                probesInFlight--;
+                if (bad) {
+                    transition(State.OPEN);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            record(bad);
+            if (windowCount >= minimumCalls && badCount * 100.0 / windowCount >= failureRateThreshold) {
+                log.warn("Circuit '{}' opening: {}/{} recent calls failed or were slow", name, badCount, windowCount);
+                transition(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back an admitted call that was never made.
+     */
+    public void cancel(long ticket) {
+        lock.lock();
+        try {
+            if (ticket == generation && state == State.HALF_OPEN) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean bad) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                badCount--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = bad;
+        if (bad) {
+            badCount++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        generation++;
+        switch (to) {
+            case OPEN -> openUntilNanos = System.nanoTime() + openNanos;
+            case HALF_OPEN -> {
+                probesInFlight = 0;
+                probeSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                badCount = 0;
+            }
+        }
+        log.info("Circuit '{}' {} → {}", name, from, to);
+    }
+}
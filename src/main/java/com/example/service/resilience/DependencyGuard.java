@@ -0,0 +1,143 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker + bulkhead for one downstream dependency (SQL, MongoDB, MQ).
+ *
+ * A call is rejected with DependencyUnavailableException - without touching the
+ * dependency - when the circuit is open (or half-open with all probes in flight)
+ * or when no bulkhead slot frees up in time. Admitted calls feed their outcome
+ * and latency back to the circuit breaker.
+ *
+ * Metrics (tag dependency=<name>):
+ * - resilience.calls{outcome=success|failure|rejected} → Guarded calls
+ * - plus CircuitBreaker and Bulkhead gauges
+ *
+ * Usage (same shape as AdaptiveConcurrencyLimiter):
+ *   DependencyGuard.Permit permit = guard.acquire();
+ *   try {
+ *       callDependency();
+ *       permit.success();
+ *   } finally {
+ *       permit.release();   // counts as a failure unless success() was called
+ *   }
+ * or: guard.supply(() -> callDependency());
+ */
+public class DependencyGuard {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    public DependencyGuard(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead, MeterRegistry registry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.successCounter = callCounter(registry, "success");
+        this.failureCounter = callCounter(registry, "failure");
+        this.rejectedCounter = callCounter(registry, "rejected");
+    }
+
+    private Counter callCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("resilience.calls")
+                .description("Calls through a dependency guard")
+                .tag("dependency", name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Admit a call or fail fast.
+     *
+     * @throws DependencyUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public Permit acquire() throws InterruptedException {
+        long ticket = circuitBreaker.tryAcquire();
+        if (ticket == CircuitBreaker.REJECTED) {
+            rejectedCounter.increment();
+            throw new DependencyUnavailableException(name, "circuit " + circuitBreaker.getState());
+        }
+        boolean admitted = false;
+        try {
+            admitted = bulkhead.tryAcquire();
+        } finally {
+            if (!admitted) {
+                circuitBreaker.cancel(ticket);
+            }
+        }
+        if (!admitted) {
+            rejectedCounter.increment();
+            throw new DependencyUnavailableException(name, "bulkhead full (" + bulkhead.getMaxConcurrent() + ")");
+        }
+        return new Permit(ticket, System.nanoTime());
+    }
+
+    /**
+     * Run a call under the guard; a thrown exception counts as a failure.
+     * Interruption while waiting for a bulkhead slot is reported as a rejection
+     * (interrupt flag restored).
+     */
+    public <T> T supply(Supplier<T> call) {
+        Permit permit;
+        try {
+            permit = acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name, "interrupted waiting for bulkhead");
+        }
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } finally {
+            permit.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * An admitted call. Report success(), then release() (in finally).
+     * Not thread-safe - use from the acquiring thread.
+     */
+    public final class Permit {
+
+        private final long ticket;
+        private final long startNanos;
+        private boolean succeeded;
+        private boolean released;
+
+        private Permit(long ticket, long startNanos) {
+            this.ticket = ticket;
+            this.startNanos = startNanos;
+        }
+
+        public void success() {
+            succeeded = true;
+        }
+
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            bulkhead.release();
+            circuitBreaker.onResult(ticket, System.nanoTime() - startNanos, succeeded);
+            (succeeded ? successCounter : failureCounter).increment();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.service.resilience;
+
+/**
+ * Thrown instead of calling a dependency whose circuit is open or whose
+ * bulkhead is full - the call was shed, not attempted.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+
+    public DependencyUnavailableException(String dependency, String reason) {
+        super(dependency + " unavailable: " + reason);
+        this.dependency = dependency;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+}
@@ -46,6 +46,24 @@ CREATE TABLE IF NOT EXISTS order_pricing (
     FOREIGN KEY (order_id) REFERENCES orders(order_id)
 );
 
+-- Trading partners table
+CREATE TABLE IF NOT EXISTS trading_partners (
+    partner_id VARCHAR(50) PRIMARY KEY,
+    partner_name VARCHAR(100) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL,  -- ACTIVE, INACTIVE, SUSPENDED
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Business units table
+CREATE TABLE IF NOT EXISTS business_units (
+    unit_id VARCHAR(50) PRIMARY KEY,
+    unit_name VARCHAR(100) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL,  -- ACTIVE, INACTIVE, SUSPENDED
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Indexes for performance
 CREATE INDEX IF NOT EXISTS idx_orders_customer ON orders(customer_id);
 CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id);
@@ -0,0 +1,129 @@
+package com.example.benchmark;
+
+import com.example.config.JacksonConfig;
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.example.service.publishing.MessageSerializer;
+import com.example.service.publishing.PooledByteBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark comparing WMQ payload serialization paths:
+ * 1. STRING - objectMapper.writeValueAsString() + getBytes() (old WmqPublisher path,
+ *             JMS re-encodes the String to bytes)
+ * 2. POOLED - MessageSerializer: pre-built ObjectWriter into a pooled byte buffer
+ *             (BytesMessage path)
+ *
+ * Reports payload bytes and heap bytes allocated per message, measured with
+ * com.sun.management.ThreadMXBean on the benchmark thread.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.example.benchmark.SerializationBenchmark
+ */
+public class SerializationBenchmark {
+
+    private static final int MESSAGES = 20_000;
+    private static final int WARMUP_MESSAGES = 20_000;
+    private static final int ORDERS_PER_GROUP = 50;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        MessageSerializer serializer = new MessageSerializer(objectMapper, 64, 4096, 2 * 1024 * 1024, "BYTES");
+
+        ProcessedOrder order = createOrder(1);
+        GroupedOrderMessage group = GroupedOrderMessage.create("CUST-001", "CUSTOMER",
+                IntStream.rangeClosed(1, ORDERS_PER_GROUP).mapToObj(SerializationBenchmark::createOrder).toList());
+
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║         WMQ Payload Serialization Benchmark                  ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝");
+        System.out.printf("Configuration: %,d messages, grouped message = %d orders%n%n", MESSAGES, ORDERS_PER_GROUP);
+
+        // Warmup (JIT + fill buffer pool)
+        System.out.println("Warming up JVM...");
+        runString(objectMapper, order, WARMUP_MESSAGES);
+        runPooled(serializer, order, WARMUP_MESSAGES);
+        runString(objectMapper, group, WARMUP_MESSAGES / 10);
+        runPooled(serializer, group, WARMUP_MESSAGES / 10);
+        System.out.println();
+
+        report("ProcessedOrder", order, objectMapper, serializer, MESSAGES);
+        report("GroupedOrderMessage", group, objectMapper, serializer, MESSAGES / 10);
+    }
+
+    private static void report(String label, Object payload, ObjectMapper objectMapper,
+                               MessageSerializer serializer, int messages) throws Exception {
+        Result string = runString(objectMapper, payload, messages);
+        Result pooled = runPooled(serializer, payload, messages);
+
+        System.out.printf("═══ %s (%,d messages) ═══%n", label, messages);
+        System.out.printf("  STRING:  %,8d bytes/msg | %,10d alloc bytes/msg | %,8d ns/msg%n",
+                string.payloadBytes, string.allocatedPerMessage, string.nanosPerMessage);
+        System.out.printf("  POOLED:  %,8d bytes/msg | %,10d alloc bytes/msg | %,8d ns/msg%n",
+                pooled.payloadBytes, pooled.allocatedPerMessage, pooled.nanosPerMessage);
+        if (pooled.allocatedPerMessage > 0) {
+            System.out.printf("  Allocation reduction: %.1fx%n",
+                    (double) string.allocatedPerMessage / pooled.allocatedPerMessage);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Old path: build a String, then encode it (as JMS does for TextMessage).
+     */
+    private static Result runString(ObjectMapper objectMapper, Object payload, int messages) throws Exception {
+        long payloadBytes = 0;
+        long allocStart = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            String json = objectMapper.writeValueAsString(payload);
+            payloadBytes += json.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return new Result(payloadBytes / messages,
+                (allocatedBytes() - allocStart) / messages,
+                (System.nanoTime() - start) / messages);
+    }
+
+    /**
+     * New path: pre-built writer into a pooled buffer.
+     */
+    private static Result runPooled(MessageSerializer serializer, Object payload, int messages) throws Exception {
+        long payloadBytes = 0;
+        long allocStart = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            PooledByteBuffer buffer = serializer.serialize(payload);
+            payloadBytes += buffer.size();
+            serializer.release(buffer);
+        }
+        return new Result(payloadBytes / messages,
+                (allocatedBytes() - allocStart) / messages,
+                (System.nanoTime() - start) / messages);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static ProcessedOrder createOrder(int i) {
+        return new ProcessedOrder(
+                String.format("ORD-%05d", i),
+                "CUST-001",
+                "Benchmark Customer",
+                "GOLD",
+                new BigDecimal("109.99"),
+                "WAREHOUSE-A",
+                "READY_TO_SHIP",
+                LocalDateTime.now(),
+                "virtual-thread-" + i);
+    }
+
+    private record Result(long payloadBytes, long allocatedPerMessage, long nanosPerMessage) {}
+}
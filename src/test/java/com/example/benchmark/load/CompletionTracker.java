@@ -0,0 +1,83 @@
+package com.example.benchmark.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeEvent;
+import org.apache.camel.support.EventNotifierSupport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Camel event notifier recording end-to-end latency of the Kafka consumer route.
+ *
+ * Latency runs from the record timestamp - set by the harness to the intended
+ * send time, not the actual one - to exchange completion, so producer stalls
+ * and consumer queueing are both included. Warm-up events are counted but not
+ * recorded.
+ */
+class CompletionTracker extends EventNotifierSupport {
+
+    static final String ROUTE_ID = "order-kafka-consumer";
+    static final String WARMUP_PREFIX = "WARMUP-";
+
+    private final Recorder latencyMicros = new Recorder(1, TimeUnit.MINUTES.toMicros(30), 3);
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong warmupCompleted = new AtomicLong();
+    private final AtomicLong lastCompletionMillis = new AtomicLong();
+
+    @Override
+    public boolean isEnabled(CamelEvent event) {
+        return event instanceof CamelEvent.ExchangeCompletedEvent || event instanceof CamelEvent.ExchangeFailedEvent;
+    }
+
+    @Override
+    public void notify(CamelEvent event) {
+        Exchange exchange = ((ExchangeEvent) event).getExchange();
+        if (!ROUTE_ID.equals(exchange.getFromRouteId())) {
+            return;
+        }
+        String key = exchange.getMessage().getHeader(KafkaConstants.KEY, String.class);
+        if (key != null && key.startsWith(WARMUP_PREFIX)) {
+            warmupCompleted.incrementAndGet();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long intendedAt = exchange.getMessage().getHeader(KafkaConstants.TIMESTAMP, Long.class);
+        if (intendedAt != null) {
+            latencyMicros.recordValue(Math.max(1, (now - intendedAt) * 1_000));
+        }
+        if (event instanceof CamelEvent.ExchangeFailedEvent || exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
+            failed.incrementAndGet();
+        }
+        completed.incrementAndGet();
+        lastCompletionMillis.accumulateAndGet(now, Math::max);
+    }
+
+    /**
+     * Latency histogram since the previous call (microseconds).
+     */
+    Histogram takeLatencies() {
+        return latencyMicros.getIntervalHistogram();
+    }
+
+    long completed() {
+        return completed.get();
+    }
+
+    long failed() {
+        return failed.get();
+    }
+
+    long warmupCompleted() {
+        return warmupCompleted.get();
+    }
+
+    long lastCompletionMillis() {
+        return lastCompletionMillis.get();
+    }
+}
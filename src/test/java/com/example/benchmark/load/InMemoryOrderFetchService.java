@@ -0,0 +1,43 @@
+package com.example.benchmark.load;
+
+import com.example.model.Order;
+import com.example.model.OrderEvent;
+import com.example.service.OrderFetchService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MongoDB stand-in for the load harness.
+ *
+ * Returns a fixed number of PENDING orders per event after a simulated query
+ * time. Order ids are ORD-001..ORD-100, the rows seeded into H2 by data.sql, so
+ * the preload stage runs real lookups.
+ */
+class InMemoryOrderFetchService extends OrderFetchService {
+
+    private final int ordersPerEvent;
+    private final long latencyNanos;
+
+    InMemoryOrderFetchService(int ordersPerEvent, long latencyMs) {
+        this.ordersPerEvent = ordersPerEvent;
+        this.latencyNanos = latencyMs * 1_000_000;
+    }
+
+    @Override
+    public List<Order> fetchOrdersForEvent(OrderEvent event) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> orders = new ArrayList<>(ordersPerEvent);
+        for (int i = 1; i <= ordersPerEvent; i++) {
+            orders.add(new Order(String.format("ORD-%03d", i), String.format("CUST-%03d", (i - 1) % 10 + 1),
+                    "PENDING", BigDecimal.valueOf(100 + i), now));
+        }
+        return orders;
+    }
+}
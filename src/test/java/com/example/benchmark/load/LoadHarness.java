@@ -0,0 +1,215 @@
+package com.example.benchmark.load;
+
+import com.example.KafkaOrderProcessorApplication;
+import com.example.model.OrderEvent;
+import com.example.service.kafka.KafkaLagMonitor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the real pipeline end to end for one LoadScenario:
+ *
+ *   embedded Kafka → OrderEventRoute → OrderEventProcessor → H2 preload →
+ *   business logic → WmqPublisher → mock MQ
+ *
+ * - Starts the application (test profile, H2) with the Kafka route enabled,
+ *   the in-memory Mongo stand-in and the mock MQ transport in the scenario's
+ *   publish mode
+ * - Produces events open loop at the target rate; each record's timestamp is
+ *   its intended send time, which CompletionTracker measures latency from
+ * - Samples completions, per-second p99 and KafkaLagMonitor lag every second
+ *   until everything sent has completed or the drain timeout passes
+ */
+class LoadHarness {
+
+    private final EmbeddedKafkaBroker broker;
+    private final LoadSettings settings;
+
+    LoadHarness(EmbeddedKafkaBroker broker, LoadSettings settings) {
+        this.broker = broker;
+        this.settings = settings;
+    }
+
+    LoadReport run(LoadScenario scenario) throws InterruptedException {
+        String topic = "load-" + scenario.name();
+        broker.addTopics(new NewTopic(topic, settings.partitions(), (short) 1));
+
+        try (ConfigurableApplicationContext context = start(scenario, topic);
+             KafkaProducer<String, String> producer = producer()) {
+            CompletionTracker tracker = context.getBean(CompletionTracker.class);
+            KafkaLagMonitor lagMonitor = context.getBean(KafkaLagMonitor.class);
+            ObjectMapper mapper = context.getBean(ObjectMapper.class);
+
+            warmUp(producer, mapper, topic, scenario, tracker);
+            tracker.takeLatencies();
+            return measure(producer, mapper, topic, scenario, tracker, lagMonitor);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Phases
+    // ═══════════════════════════════════════════════════════════════
+
+    private ConfigurableApplicationContext start(LoadScenario scenario, String topic) {
+        List<String> args = List.of(
+                "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                "--spring.kafka.consumer.group-id=" + topic,
+                "--spring.datasource.url=jdbc:h2:mem:" + topic + ";DB_CLOSE_DELAY=-1",
+                "--spring.main.banner-mode=off",
+                "--camel.springboot.main-run-controller=false",
+                "--server.port=0",
+                "--camel.route.autostart=true",
+                "--app.kafka.topic.order-events=" + topic,
+                "--app.kafka.lag.enabled=true",
+                "--app.kafka.lag.poll-interval-ms=1000",
+                "--app.wmq.enabled=true",
+                "--app.wmq.mock.enabled=true",
+                "--app.wmq.publish-mode=" + scenario.publishMode(),
+                "--app.jfr.enabled=false",
+                "--logging.level.com.example=WARN",
+                "--load.orders-per-event=" + settings.ordersPerEvent(),
+                "--load.mongo-latency-ms=" + settings.mongoLatencyMs());
+        return new SpringApplicationBuilder(KafkaOrderProcessorApplication.class, LoadStandIns.class)
+                .profiles("test")
+                .run(args.toArray(String[]::new));
+    }
+
+    private void warmUp(KafkaProducer<String, String> producer, ObjectMapper mapper, String topic,
+                        LoadScenario scenario, CompletionTracker tracker) throws InterruptedException {
+        int warmupEvents = Math.max(10, settings.eventsPerSecond());
+        for (int i = 0; i < warmupEvents; i++) {
+            String key = CompletionTracker.WARMUP_PREFIX + i;
+            send(producer, mapper, topic, key, new OrderEvent(key, scenario.eventType(), "LoadPartner", key),
+                    System.currentTimeMillis());
+        }
+        // Covers consumer group join and first-call JIT/connection setup
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(settings.drainTimeoutSeconds());
+        while (tracker.warmupCompleted() < warmupEvents) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Warm-up did not complete: " + tracker.warmupCompleted()
+                        + " of " + warmupEvents + " events");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private LoadReport measure(KafkaProducer<String, String> producer, ObjectMapper mapper, String topic,
+                               LoadScenario scenario, CompletionTracker tracker, KafkaLagMonitor lagMonitor)
+            throws InterruptedException {
+        int total = settings.totalEvents();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.eventsPerSecond();
+        AtomicLong sent = new AtomicLong();
+        long startMillis = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        Thread sender = Thread.ofPlatform().name("load-sender").start(() -> {
+            for (int i = 0; i < total; i++) {
+                long intendedNanos = startNanos + i * intervalNanos;
+                long wait = intendedNanos - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                // Intended, not actual, send time: a stalled producer must not hide latency
+                long intendedMillis = startMillis + TimeUnit.NANOSECONDS.toMillis(intendedNanos - startNanos);
+                String key = "EVT-" + i;
+                send(producer, mapper, topic, key,
+                        new OrderEvent(key, scenario.eventType(), "LoadPartner", "UNIT-" + i), intendedMillis);
+                sent.incrementAndGet();
+            }
+            producer.flush();
+        });
+
+        Histogram latencies = new Histogram(3);
+        List<LoadReport.TimelinePoint> timeline = new ArrayList<>();
+        long maxLag = 0;
+        long previousCompleted = 0;
+        long drainDeadline = startMillis
+                + TimeUnit.SECONDS.toMillis(settings.durationSeconds() + settings.drainTimeoutSeconds());
+        for (int second = 1; ; second++) {
+            long wake = startMillis + TimeUnit.SECONDS.toMillis(second);
+            Thread.sleep(Math.max(0, wake - System.currentTimeMillis()));
+
+            Histogram interval = tracker.takeLatencies();
+            latencies.add(interval);
+            long completed = tracker.completed();
+            long lag = kafkaLag(lagMonitor);
+            maxLag = Math.max(maxLag, lag);
+            timeline.add(new LoadReport.TimelinePoint(second, sent.get(), completed, completed - previousCompleted,
+                    interval.getTotalCount() == 0 ? 0 : interval.getValueAtPercentile(99) / 1000.0, lag));
+            previousCompleted = completed;
+
+            boolean drained = !sender.isAlive() && completed >= total;
+            if (drained || System.currentTimeMillis() > drainDeadline) {
+                break;
+            }
+        }
+        sender.interrupt();
+        sender.join(TimeUnit.SECONDS.toMillis(5));
+
+        long completed = tracker.completed();
+        double elapsedSeconds = Math.max(1, tracker.lastCompletionMillis() - startMillis) / 1000.0;
+        double throughput = completed / elapsedSeconds;
+        return new LoadReport(
+                scenario.name(),
+                scenario.publishMode(),
+                scenario.grouped(),
+                settings.eventsPerSecond(),
+                settings.durationSeconds(),
+                settings.ordersPerEvent(),
+                sent.get(),
+                completed,
+                tracker.failed(),
+                Math.round(throughput * 100) / 100.0,
+                Math.round(throughput * settings.ordersPerEvent() * 100) / 100.0,
+                LoadReport.Latency.of(latencies),
+                maxLag,
+                timeline);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private KafkaProducer<String, String> producer() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "1");
+        props.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        return new KafkaProducer<>(props);
+    }
+
+    private static void send(KafkaProducer<String, String> producer, ObjectMapper mapper, String topic,
+                             String key, OrderEvent event, long timestampMillis) {
+        try {
+            producer.send(new ProducerRecord<>(topic, null, timestampMillis, key, mapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event, e);
+        }
+    }
+
+    private static long kafkaLag(KafkaLagMonitor lagMonitor) {
+        // -1 until the first offset poll has completed
+        Map<String, Object> snapshot = lagMonitor.snapshot();
+        return snapshot.get("lastUpdate") instanceof Long update && update > 0
+                ? ((Number) snapshot.get("totalLag")).longValue() : -1;
+    }
+}
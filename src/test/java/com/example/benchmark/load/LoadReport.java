@@ -0,0 +1,94 @@
+package com.example.benchmark.load;
+
+import com.example.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Result of one LoadHarness run, written as JSON to target/load-results/<scenario>.json.
+ *
+ * @param throughputPerSecond Measured events completed / (last completion - first intended send)
+ * @param latencyMs           End-to-end latency from intended send time
+ * @param timeline            One point per second of the run (including the drain phase)
+ */
+public record LoadReport(
+        String scenario,
+        String publishMode,
+        boolean grouped,
+        int targetEventsPerSecond,
+        int durationSeconds,
+        int ordersPerEvent,
+        long sent,
+        long completed,
+        long failed,
+        double throughputPerSecond,
+        double ordersPerSecond,
+        Latency latencyMs,
+        long maxKafkaLag,
+        List<TimelinePoint> timeline
+) {
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean, long count) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    millis(micros.getValueAtPercentile(50)),
+                    millis(micros.getValueAtPercentile(90)),
+                    millis(micros.getValueAtPercentile(99)),
+                    millis(micros.getValueAtPercentile(99.9)),
+                    millis(micros.getMaxValue()),
+                    Math.round(micros.getMean() / 10.0) / 100.0,
+                    micros.getTotalCount());
+        }
+
+        private static double millis(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+
+    /**
+     * @param second        Seconds since the first measured send
+     * @param sent          Measured events sent so far
+     * @param completed     Measured events completed so far
+     * @param completedRate Events completed during this second
+     * @param p99Ms         p99 latency of the events completed during this second
+     * @param kafkaLag      Committed-offset lag from KafkaLagMonitor (-1 before the first poll)
+     */
+    public record TimelinePoint(int second, long sent, long completed, long completedRate, double p99Ms,
+                                long kafkaLag) {
+    }
+
+    public Path writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario + ".json");
+        ObjectMapper mapper = new JacksonConfig().objectMapper();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        return file;
+    }
+
+    public void print() {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.printf("║ LOAD: %-55s║%n", scenario);
+        System.out.println("╚══════════════════════════════════════════════════════════════╝");
+        System.out.printf("  Target:     %d events/s for %ds (%d orders/event)%n",
+                targetEventsPerSecond, durationSeconds, ordersPerEvent);
+        System.out.printf("  Completed:  %,d of %,d (failed %d)%n", completed, sent, failed);
+        System.out.printf("  Throughput: %.1f events/s, %.0f orders/s%n", throughputPerSecond, ordersPerSecond);
+        System.out.printf("  Latency:    p50=%.1fms p90=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms%n",
+                latencyMs.p50(), latencyMs.p90(), latencyMs.p99(), latencyMs.p999(), latencyMs.max());
+        System.out.printf("  Max lag:    %,d records%n", maxKafkaLag);
+        System.out.println("  second   sent  completed  rate/s  p99ms   lag");
+        for (TimelinePoint point : timeline) {
+            System.out.printf("  %6d %6d %10d %7d %6.0f %5d%n", point.second(), point.sent(), point.completed(),
+                    point.completedRate(), point.p99Ms(), point.kafkaLag());
+        }
+    }
+}
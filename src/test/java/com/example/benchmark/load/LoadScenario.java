@@ -0,0 +1,45 @@
+package com.example.benchmark.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One pipeline mode under load: WMQ publish mode × grouping.
+ *
+ * @param publishMode app.wmq.publish-mode (PER_MESSAGE, BATCHED, ASYNC)
+ * @param grouped     true → BULK_ORDER events (grouped publish), false → SINGLE_ORDER
+ */
+public record LoadScenario(String publishMode, boolean grouped) {
+
+    private static final List<String> PUBLISH_MODES = List.of("PER_MESSAGE", "BATCHED", "ASYNC");
+
+    public String name() {
+        return publishMode.toLowerCase(Locale.ROOT) + (grouped ? "-grouped" : "-individual");
+    }
+
+    public String eventType() {
+        return grouped ? "BULK_ORDER" : "SINGLE_ORDER";
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+
+    /**
+     * All publish modes × grouping, or the comma-separated names in -Dload.scenarios
+     * (e.g. per_message-individual,async-grouped).
+     */
+    public static List<LoadScenario> selected() {
+        List<LoadScenario> all = PUBLISH_MODES.stream()
+                .flatMap(mode -> List.of(new LoadScenario(mode, false), new LoadScenario(mode, true)).stream())
+                .toList();
+        String filter = System.getProperty("load.scenarios", "");
+        if (filter.isBlank()) {
+            return all;
+        }
+        List<String> names = Arrays.stream(filter.split(",")).map(String::trim).toList();
+        return all.stream().filter(scenario -> names.contains(scenario.name())).toList();
+    }
+}
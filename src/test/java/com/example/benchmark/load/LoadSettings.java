@@ -0,0 +1,34 @@
+package com.example.benchmark.load;
+
+/**
+ * Load harness settings, from -Dload.* system properties.
+ *
+ * @param eventsPerSecond     Target Kafka event rate (open loop - sends never wait for the pipeline)
+ * @param durationSeconds     How long events are produced
+ * @param ordersPerEvent      Orders the Mongo stand-in returns per event (≤ 100, all present in H2)
+ * @param mongoLatencyMs      Simulated Mongo query time per event
+ * @param drainTimeoutSeconds How long to wait for the pipeline to finish after the last send
+ * @param partitions          Partitions of the load topic
+ */
+public record LoadSettings(
+        int eventsPerSecond,
+        int durationSeconds,
+        int ordersPerEvent,
+        long mongoLatencyMs,
+        int drainTimeoutSeconds,
+        int partitions
+) {
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("load.rate", 20),
+                Integer.getInteger("load.duration-seconds", 30),
+                Math.min(100, Integer.getInteger("load.orders-per-event", 50)),
+                Long.getLong("load.mongo-latency-ms", 2),
+                Integer.getInteger("load.drain-timeout-seconds", 120),
+                Integer.getInteger("load.partitions", 4));
+    }
+
+    public int totalEvents() {
+        return eventsPerSecond * durationSeconds;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.benchmark.load;
+
+import com.example.service.OrderFetchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Extra bean source for the application started by LoadHarness.
+ *
+ * Deliberately not a @Configuration, so component scanning in other Spring
+ * tests does not pick it up; LoadHarness passes it as a source explicitly.
+ */
+class LoadStandIns {
+
+    @Bean
+    @Primary
+    OrderFetchService inMemoryOrderFetchService(
+            @Value("${load.orders-per-event}") int ordersPerEvent,
+            @Value("${load.mongo-latency-ms}") long mongoLatencyMs) {
+        return new InMemoryOrderFetchService(ordersPerEvent, mongoLatencyMs);
+    }
+
+    @Bean
+    CompletionTracker completionTracker() {
+        return new CompletionTracker();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.benchmark.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end throughput test of the Kafka → Camel → WMQ pipeline.
+ *
+ * Runs each publish mode × grouping scenario against one embedded Kafka broker,
+ * with the H2 test database, the in-memory Mongo stand-in and the mock MQ
+ * transport. Reports go to stdout and target/load-results/<scenario>.json.
+ *
+ * Excluded from the default build (tag "load"). Run with:
+ *   mvn -Pload test
+ *   mvn -Pload test -Dload.rate=100 -Dload.duration-seconds=60 -Dload.scenarios=batched-grouped
+ *
+ * See LoadSettings for every load.* property.
+ */
+@Tag("load")
+class PipelineLoadTest {
+
+    private static final Path RESULTS_DIR = Path.of("target", "load-results");
+
+    private static LoadSettings settings;
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        settings = LoadSettings.fromSystemProperties();
+        broker = new EmbeddedKafkaKraftBroker(1, settings.partitions());
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        if (broker != null) {
+            broker.destroy();
+        }
+    }
+
+    static List<LoadScenario> scenarios() {
+        return LoadScenario.selected();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    @DisplayName("Pipeline should process every event at the target rate")
+    void shouldProcessEveryEvent(LoadScenario scenario) throws Exception {
+        // Given
+        LoadHarness harness = new LoadHarness(broker, settings);
+
+        // When
+        LoadReport report = harness.run(scenario);
+        report.print();
+        report.writeTo(RESULTS_DIR);
+
+        // Then
+        assertThat(report.sent()).isEqualTo(settings.totalEvents());
+        assertThat(report.completed()).isEqualTo(report.sent());
+        assertThat(report.failed()).isZero();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.benchmark.regression;
+
+/**
+ * One comparable figure from a benchmark run.
+ *
+ * @param name           Benchmark with params (JMH) or load:<scenario>
+ * @param metric         throughput | time | p99
+ * @param unit           Unit of value and samples
+ * @param higherIsBetter true for throughput, false for times and latencies
+ * @param value          Headline figure (JMH score, load-harness total)
+ * @param samples        Repeated measurements behind the value (JMH iterations,
+ *                       per-second readings) for the significance test
+ */
+record BenchmarkResult(
+        String name,
+        String metric,
+        String unit,
+        boolean higherIsBetter,
+        double value,
+        double[] samples
+) {
+
+    String key() {
+        return name + " [" + metric + "]";
+    }
+}
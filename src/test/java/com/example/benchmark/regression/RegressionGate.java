@@ -0,0 +1,221 @@
+package com.example.benchmark.regression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance regression gate: compares a benchmark run against a baseline.
+ *
+ * A figure regresses when it is worse than the baseline by more than its
+ * threshold (--throughput-threshold for events/s and JMH thrpt scores,
+ * --latency-threshold for p99 and JMH time per op) AND Welch's t-test on the
+ * samples behind it gives p < alpha. A large change the samples cannot
+ * confirm is reported as NOT_SIGNIFICANT and does not fail the gate.
+ *
+ * The gate also fails when the current run has no stored results, or when a
+ * baseline figure is MISSING from it - a benchmark that stopped running (or
+ * crashed) must not pass as "no regression". Benchmarks that are NEW in the
+ * current run pass. Without a stored baseline there is nothing to compare and
+ * the gate passes.
+ *
+ * Commands (see the perf-gate profile in pom.xml):
+ *   store   --dir D --label L --jmh FILE --load DIR
+ *   compare --dir D --baseline B --label L [--throughput-threshold 0.10]
+ *           [--latency-threshold 0.20] [--alpha 0.05] [--report FILE]
+ *
+ * compare exits with status 1 when the gate fails, which fails the Maven build.
+ */
+public final class RegressionGate {
+
+    enum Verdict { REGRESSION, IMPROVEMENT, UNCHANGED, NOT_SIGNIFICANT, MISSING, NEW }
+
+    record Thresholds(double throughput, double latency, double alpha) {
+
+        double forMetric(String metric) {
+            return "throughput".equals(metric) ? throughput : latency;
+        }
+    }
+
+    /**
+     * @param changePercent Signed change of the headline value, current vs baseline
+     * @param pValue        Welch two-sided p-value (1 when either side lacks samples)
+     */
+    record Comparison(String benchmark, String metric, String unit, Double baseline, Double current,
+                      Double changePercent, double pValue, Verdict verdict) {
+    }
+
+    private RegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = options(args);
+        ResultsStore store = new ResultsStore(Path.of(required(options, "dir")));
+        String command = args.length > 0 ? args[0] : "";
+        switch (command) {
+            case "store" -> {
+                String label = required(options, "label");
+                int stored = store.save(label,
+                        Path.of(options.getOrDefault("jmh", "target/jmh-latest.json")),
+                        Path.of(options.getOrDefault("load", "target/load-results")));
+                System.out.printf("Stored %d result file(s) as '%s'%n", stored, label);
+            }
+            case "compare" -> System.exit(compare(store, options) ? 0 : 1);
+            default -> {
+                System.err.println("Usage: RegressionGate store|compare --dir DIR ...");
+                System.exit(2);
+            }
+        }
+    }
+
+    /**
+     * Compare every figure present in either run.
+     */
+    static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current,
+                                    Thresholds thresholds) {
+        Map<String, BenchmarkResult> currentByKey = new LinkedHashMap<>();
+        current.forEach(result -> currentByKey.put(result.key(), result));
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (BenchmarkResult base : baseline) {
+            BenchmarkResult now = currentByKey.remove(base.key());
+            if (now == null) {
+                comparisons.add(new Comparison(base.name(), base.metric(), base.unit(), base.value(), null,
+                        null, 1, Verdict.MISSING));
+                continue;
+            }
+            comparisons.add(compare(base, now, thresholds));
+        }
+        for (BenchmarkResult added : currentByKey.values()) {
+            comparisons.add(new Comparison(added.name(), added.metric(), added.unit(), null, added.value(),
+                    null, 1, Verdict.NEW));
+        }
+        return comparisons;
+    }
+
+    static Comparison compare(BenchmarkResult baseline, BenchmarkResult current, Thresholds thresholds) {
+        double change = baseline.value() == 0 ? 0 : (current.value() - baseline.value()) / baseline.value();
+        // Positive when current is worse, whichever direction is better for this metric
+        double worsening = baseline.higherIsBetter() ? -change : change;
+        double threshold = thresholds.forMetric(baseline.metric());
+        double pValue = WelchTTest.test(baseline.samples(), current.samples()).pValue();
+        boolean significant = pValue < thresholds.alpha();
+
+        Verdict verdict;
+        if (Math.abs(worsening) <= threshold) {
+            verdict = Verdict.UNCHANGED;
+        } else if (!significant) {
+            verdict = Verdict.NOT_SIGNIFICANT;
+        } else {
+            verdict = worsening > 0 ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+        }
+        return new Comparison(baseline.name(), baseline.metric(), baseline.unit(), baseline.value(),
+                current.value(), Math.round(change * 10_000) / 100.0, pValue, verdict);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * @return true when the gate passes
+     */
+    private static boolean compare(ResultsStore store, Map<String, String> options) throws IOException {
+        String baselineLabel = required(options, "baseline");
+        String currentLabel = required(options, "label");
+        if (!store.exists(baselineLabel)) {
+            System.out.printf("No baseline '%s' stored - nothing to compare (store one with label=%s)%n",
+                    baselineLabel, baselineLabel);
+            return true;
+        }
+        if (!store.exists(currentLabel)) {
+            System.out.printf("❌ No results stored for '%s' - did the benchmarks run?%n", currentLabel);
+            return false;
+        }
+        Thresholds thresholds = new Thresholds(
+                Double.parseDouble(options.getOrDefault("throughput-threshold", "0.10")),
+                Double.parseDouble(options.getOrDefault("latency-threshold", "0.20")),
+                Double.parseDouble(options.getOrDefault("alpha", "0.05")));
+        List<Comparison> comparisons = compare(store.load(baselineLabel), store.load(currentLabel), thresholds);
+
+        print(baselineLabel, currentLabel, thresholds, comparisons);
+        if (options.containsKey("report")) {
+            Path report = Path.of(options.get("report"));
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), Map.of(
+                    "baseline", baselineLabel, "current", currentLabel,
+                    "thresholds", thresholds, "comparisons", comparisons));
+        }
+        long regressions = count(comparisons, Verdict.REGRESSION);
+        long missing = count(comparisons, Verdict.MISSING);
+        if (regressions > 0) {
+            System.out.println("❌ " + regressions + " significant regression(s)");
+        }
+        if (missing > 0) {
+            System.out.println("❌ " + missing + " baseline figure(s) missing from '" + currentLabel + "'");
+        }
+        boolean passed = passes(comparisons);
+        if (passed) {
+            System.out.println("✅ No significant regressions");
+        }
+        return passed;
+    }
+
+    /**
+     * The gate passes when nothing regressed and every baseline figure is in the current run.
+     */
+    static boolean passes(List<Comparison> comparisons) {
+        return count(comparisons, Verdict.REGRESSION) == 0 && count(comparisons, Verdict.MISSING) == 0;
+    }
+
+    private static long count(List<Comparison> comparisons, Verdict verdict) {
+        return comparisons.stream().filter(c -> c.verdict() == verdict).count();
+    }
+
+    private static void print(String baseline, String current, Thresholds thresholds, List<Comparison> comparisons) {
+        System.out.println("╔══════════════════════════════════════════════════════════════╗");
+        System.out.println("║              Performance Regression Gate                     ║");
+        System.out.println("╚══════════════════════════════════════════════════════════════╝");
+        System.out.printf("  %s → %s (throughput ±%.0f%%, latency ±%.0f%%, alpha %.2f)%n", baseline, current,
+                thresholds.throughput() * 100, thresholds.latency() * 100, thresholds.alpha());
+        System.out.printf("  %-58s %-10s %12s %12s %8s %7s  %s%n",
+                "Benchmark", "Metric", "Baseline", "Current", "Δ%", "p", "Verdict");
+        for (Comparison c : comparisons) {
+            System.out.printf("  %-58s %-10s %12s %12s %8s %7.3f  %s%n",
+                    c.benchmark(), c.metric(), format(c.baseline()), format(c.current()),
+                    c.changePercent() == null ? "-" : String.format("%+.1f", c.changePercent()),
+                    c.pValue(), c.verdict());
+        }
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.3f", value);
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+}
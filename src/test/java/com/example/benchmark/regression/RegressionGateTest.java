@@ -0,0 +1,209 @@
+package com.example.benchmark.regression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the performance regression gate.
+ *
+ * Tests verify:
+ * - Welch's t-test matches reference values
+ * - Significant throughput drops and latency increases beyond the threshold regress
+ * - Changes within the threshold or not backed by the samples do not fail the gate
+ * - Baseline figures missing from the current run, or a run with no results, fail the gate
+ * - JMH and load-harness JSON are parsed and stored per label
+ */
+class RegressionGateTest {
+
+    private static final RegressionGate.Thresholds THRESHOLDS = new RegressionGate.Thresholds(0.10, 0.20, 0.05);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Welch t-test should match the reference example")
+    void welchShouldMatchReference() {
+        // Given - unequal sizes and variances (Welch 1947 style example)
+        double[] a = {19.8, 20.4, 19.6, 17.8, 18.5, 18.9, 18.3, 18.9, 19.5, 22.0};
+        double[] b = {28.2, 26.6, 20.1, 23.3, 25.2, 22.1, 17.7, 27.6, 20.6, 13.7,
+                23.2, 17.5, 20.6, 18.0, 23.9, 21.6, 24.3, 20.4, 23.9, 13.3};
+
+        // When
+        WelchTTest.Result result = WelchTTest.test(a, b);
+
+        // Then
+        assertThat(result.t()).isCloseTo(2.2255, within(0.001));
+        assertThat(result.df()).isCloseTo(24.52, within(0.01));
+        assertThat(result.pValue()).isCloseTo(0.0355, within(0.0005));
+        assertThat(WelchTTest.twoSidedP(2.228, 10)).isCloseTo(0.05, within(0.0005));
+    }
+
+    @Test
+    @DisplayName("Should flag a significant throughput drop beyond the threshold")
+    void shouldFlagThroughputRegression() {
+        // Given
+        BenchmarkResult baseline = result("load:batched-grouped", "throughput", true, 100, 99, 101, 100, 98, 102);
+        BenchmarkResult current = result("load:batched-grouped", "throughput", true, 80, 79, 81, 80, 78, 82);
+
+        // When
+        RegressionGate.Comparison comparison = RegressionGate.compare(baseline, current, THRESHOLDS);
+
+        // Then
+        assertThat(comparison.verdict()).isEqualTo(RegressionGate.Verdict.REGRESSION);
+        assertThat(comparison.changePercent()).isEqualTo(-20.0);
+        assertThat(comparison.pValue()).isLessThan(0.05);
+    }
+
+    @Test
+    @DisplayName("Should flag a significant p99 increase and report a decrease as improvement")
+    void shouldCompareLatencyDirection() {
+        // Given
+        BenchmarkResult baseline = result("load:async-individual", "p99", false, 50, 48, 52, 50, 49, 51);
+        BenchmarkResult slower = result("load:async-individual", "p99", false, 70, 68, 72, 70, 69, 71);
+        BenchmarkResult faster = result("load:async-individual", "p99", false, 30, 28, 32, 30, 29, 31);
+
+        // When / Then
+        assertThat(RegressionGate.compare(baseline, slower, THRESHOLDS).verdict())
+                .isEqualTo(RegressionGate.Verdict.REGRESSION);
+        assertThat(RegressionGate.compare(baseline, faster, THRESHOLDS).verdict())
+                .isEqualTo(RegressionGate.Verdict.IMPROVEMENT);
+    }
+
+    @Test
+    @DisplayName("Should not fail on changes within the threshold or not backed by the samples")
+    void shouldIgnoreSmallOrNoisyChanges() {
+        // Given
+        BenchmarkResult baseline = result("Bench.run", "time", false, 10, 9.9, 10.1, 10, 9.8, 10.2);
+        BenchmarkResult withinThreshold = result("Bench.run", "time", false, 11.5, 11.4, 11.6, 11.5, 11.3, 11.7);
+        BenchmarkResult noisy = result("Bench.run", "time", false, 13, 5, 21, 4, 22, 13);
+
+        // When / Then
+        assertThat(RegressionGate.compare(baseline, withinThreshold, THRESHOLDS).verdict())
+                .isEqualTo(RegressionGate.Verdict.UNCHANGED);
+        assertThat(RegressionGate.compare(baseline, noisy, THRESHOLDS).verdict())
+                .isEqualTo(RegressionGate.Verdict.NOT_SIGNIFICANT);
+    }
+
+    @Test
+    @DisplayName("Should fail on baseline figures missing from the current run")
+    void shouldFailOnMissingBaselineFigures() {
+        // Given
+        List<BenchmarkResult> baseline = List.of(result("Old.run", "time", false, 1, 1, 1));
+        List<BenchmarkResult> current = List.of(result("New.run", "time", false, 1, 1, 1));
+
+        // When
+        List<RegressionGate.Comparison> comparisons = RegressionGate.compare(baseline, current, THRESHOLDS);
+
+        // Then
+        assertThat(comparisons).extracting(RegressionGate.Comparison::verdict)
+                .containsExactly(RegressionGate.Verdict.MISSING, RegressionGate.Verdict.NEW);
+        assertThat(RegressionGate.passes(comparisons)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pass with new benchmarks when every baseline figure is present")
+    void shouldPassWithNewBenchmarks() {
+        // Given
+        List<BenchmarkResult> baseline = List.of(result("Bench.run", "time", false, 10, 10, 10));
+        List<BenchmarkResult> current = List.of(result("Bench.run", "time", false, 10, 10, 10),
+                result("New.run", "time", false, 1, 1, 1));
+
+        // When
+        List<RegressionGate.Comparison> comparisons = RegressionGate.compare(baseline, current, THRESHOLDS);
+
+        // Then
+        assertThat(comparisons).extracting(RegressionGate.Comparison::verdict)
+                .containsExactly(RegressionGate.Verdict.UNCHANGED, RegressionGate.Verdict.NEW);
+        assertThat(RegressionGate.passes(comparisons)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A label stored without result files should not exist")
+    void labelWithoutResultsShouldNotExist() throws Exception {
+        // Given - neither a JMH file nor load reports were produced
+        ResultsStore store = new ResultsStore(tempDir.resolve("perf-results"));
+
+        // When
+        int stored = store.save("current", tempDir.resolve("missing-jmh.json"), tempDir.resolve("missing-load"));
+
+        // Then
+        assertThat(stored).isZero();
+        assertThat(Files.isDirectory(tempDir.resolve("perf-results").resolve("current"))).isTrue();
+        assertThat(store.exists("current")).isFalse();
+        assertThat(store.exists("never-stored")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should parse JMH JSON with params and raw iteration data")
+    void shouldParseJmh() throws Exception {
+        // Given
+        JsonNode jmh = mapper.readTree("""
+                [{"benchmark": "com.example.benchmark.OrderGroupingBenchmark.group",
+                  "mode": "avgt", "params": {"orderCount": "1000"},
+                  "primaryMetric": {"score": 12.5, "scoreUnit": "us/op",
+                                    "rawData": [[12.0, 13.0], [12.5, 12.5]]}}]
+                """);
+
+        // When
+        List<BenchmarkResult> results = ResultsStore.parseJmh(jmh);
+
+        // Then
+        assertThat(results).hasSize(1);
+        BenchmarkResult result = results.get(0);
+        assertThat(result.name()).isEqualTo("OrderGroupingBenchmark.group(orderCount=1000)");
+        assertThat(result.metric()).isEqualTo("time");
+        assertThat(result.higherIsBetter()).isFalse();
+        assertThat(result.samples()).containsExactly(12.0, 13.0, 12.5, 12.5);
+    }
+
+    @Test
+    @DisplayName("Should store load reports per label and parse throughput and p99 samples")
+    void shouldStoreAndLoadLoadReports() throws Exception {
+        // Given
+        Path loadResults = Files.createDirectories(tempDir.resolve("load-results"));
+        Files.writeString(loadResults.resolve("batched-grouped.json"), """
+                {"scenario": "batched-grouped", "durationSeconds": 3, "throughputPerSecond": 19.5,
+                 "latencyMs": {"p99": 120.0},
+                 "timeline": [
+                   {"second": 1, "completedRate": 10, "p99Ms": 300.0},
+                   {"second": 2, "completedRate": 20, "p99Ms": 110.0},
+                   {"second": 3, "completedRate": 21, "p99Ms": 115.0},
+                   {"second": 4, "completedRate": 0, "p99Ms": 0.0}]}
+                """);
+        ResultsStore store = new ResultsStore(tempDir.resolve("perf-results"));
+
+        // When
+        int stored = store.save("baseline", tempDir.resolve("missing-jmh.json"), loadResults);
+        List<BenchmarkResult> results = store.load("baseline");
+
+        // Then - throughput samples skip the ramp-up second and the drain; p99 skips empty seconds
+        assertThat(stored).isEqualTo(1);
+        assertThat(results).extracting(BenchmarkResult::key)
+                .containsExactly("load:batched-grouped [throughput]", "load:batched-grouped [p99]");
+        assertThat(results.get(0).samples()).containsExactly(20.0, 21.0);
+        assertThat(results.get(1).value()).isEqualTo(120.0);
+        assertThat(results.get(1).samples()).containsExactly(300.0, 110.0, 115.0);
+        assertThat(store.exists("baseline")).isTrue();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private BenchmarkResult result(String name, String metric, boolean higherIsBetter, double value,
+                                   double... samples) {
+        return new BenchmarkResult(name, metric, "unit", higherIsBetter, value, samples);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.benchmark.regression;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark results on disk, one directory per label (commit, branch, "baseline"):
+ *
+ *   perf-results/<label>/jmh.json                JMH -rf json output
+ *   perf-results/<label>/load/<scenario>.json    PipelineLoadTest LoadReport
+ *
+ * Files are stored as produced, so they stay readable by other JMH tools, and
+ * parsed into BenchmarkResults on load:
+ * - JMH: primary score per benchmark + params; throughput for thrpt mode,
+ *   time per op otherwise; samples are the measurement iterations of every fork
+ * - Load harness: events/s with the per-second completion rate while sending
+ *   as samples, and p99 with the per-second p99 as samples
+ */
+final class ResultsStore {
+
+    static final String JMH_FILE = "jmh.json";
+    static final String LOAD_DIR = "load";
+
+    private final Path root;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ResultsStore(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Copy a run's output into root/label, replacing what was stored under that label.
+     *
+     * @param jmhResult   JMH JSON file (skipped if missing)
+     * @param loadResults Directory of LoadReport JSON files (skipped if missing)
+     * @return number of files stored
+     */
+    int save(String label, Path jmhResult, Path loadResults) throws IOException {
+        Path target = root.resolve(label);
+        Path loadTarget = target.resolve(LOAD_DIR);
+        Files.createDirectories(loadTarget);
+        int stored = 0;
+        if (Files.isRegularFile(jmhResult)) {
+            Files.copy(jmhResult, target.resolve(JMH_FILE), StandardCopyOption.REPLACE_EXISTING);
+            stored++;
+        }
+        if (Files.isDirectory(loadResults)) {
+            try (Stream<Path> files = Files.list(loadResults)) {
+                for (Path file : files.filter(ResultsStore::isJson).toList()) {
+                    Files.copy(file, loadTarget.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    stored++;
+                }
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * True when the label has at least one stored result file - save() creates the
+     * directory even when the run produced nothing.
+     */
+    boolean exists(String label) throws IOException {
+        Path dir = root.resolve(label);
+        if (Files.isRegularFile(dir.resolve(JMH_FILE))) {
+            return true;
+        }
+        Path load = dir.resolve(LOAD_DIR);
+        if (!Files.isDirectory(load)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(load)) {
+            return files.anyMatch(ResultsStore::isJson);
+        }
+    }
+
+    List<BenchmarkResult> load(String label) throws IOException {
+        Path dir = root.resolve(label);
+        List<BenchmarkResult> results = new ArrayList<>();
+        Path jmh = dir.resolve(JMH_FILE);
+        if (Files.isRegularFile(jmh)) {
+            results.addAll(parseJmh(mapper.readTree(jmh.toFile())));
+        }
+        Path load = dir.resolve(LOAD_DIR);
+        if (Files.isDirectory(load)) {
+            try (Stream<Path> files = Files.list(load)) {
+                for (Path file : files.filter(ResultsStore::isJson).sorted().toList()) {
+                    results.addAll(parseLoad(mapper.readTree(file.toFile())));
+                }
+            }
+        }
+        return results;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Parsing
+    // ═══════════════════════════════════════════════════════════════
+
+    static List<BenchmarkResult> parseJmh(JsonNode root) {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (JsonNode benchmark : root) {
+            JsonNode primary = benchmark.path("primaryMetric");
+            boolean throughput = "thrpt".equals(benchmark.path("mode").asText());
+            List<Double> samples = new ArrayList<>();
+            for (JsonNode fork : primary.path("rawData")) {
+                fork.forEach(value -> samples.add(value.asDouble()));
+            }
+            results.add(new BenchmarkResult(
+                    shortName(benchmark.path("benchmark").asText()) + params(benchmark.path("params")),
+                    throughput ? "throughput" : "time",
+                    primary.path("scoreUnit").asText(),
+                    throughput,
+                    primary.path("score").asDouble(),
+                    samples.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        return results;
+    }
+
+    static List<BenchmarkResult> parseLoad(JsonNode report) {
+        String name = "load:" + report.path("scenario").asText();
+        int durationSeconds = report.path("durationSeconds").asInt();
+        List<Double> rates = new ArrayList<>();
+        List<Double> p99s = new ArrayList<>();
+        for (JsonNode point : report.path("timeline")) {
+            int second = point.path("second").asInt();
+            // Second 1 ramps up and seconds after the send window only drain
+            if (second > 1 && second <= durationSeconds) {
+                rates.add(point.path("completedRate").asDouble());
+            }
+            if (point.path("completedRate").asLong() > 0) {
+                p99s.add(point.path("p99Ms").asDouble());
+            }
+        }
+        return List.of(
+                new BenchmarkResult(name, "throughput", "events/s", true,
+                        report.path("throughputPerSecond").asDouble(),
+                        rates.stream().mapToDouble(Double::doubleValue).toArray()),
+                new BenchmarkResult(name, "p99", "ms", false,
+                        report.path("latencyMs").path("p99").asDouble(),
+                        p99s.stream().mapToDouble(Double::doubleValue).toArray()));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * com.example.benchmark.OrderGroupingBenchmark.group → OrderGroupingBenchmark.group
+     */
+    private static String shortName(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        int type = benchmark.lastIndexOf('.', method - 1);
+        return benchmark.substring(type + 1);
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        List<String> values = new ArrayList<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            values.add(param.getKey() + "=" + param.getValue().asText());
+        }
+        return "(" + String.join(",", values) + ")";
+    }
+
+    private static boolean isJson(Path file) {
+        return file.getFileName().toString().endsWith(".json");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.benchmark.regression;
+
+import java.util.Arrays;
+
+/**
+ * Welch's unequal-variances t-test, two-sided.
+ *
+ * Benchmark samples (JMH iterations, per-second load-harness readings) from two
+ * runs rarely share a variance, so the pooled Student test does not apply.
+ * The p-value comes from the Student t distribution via the regularized
+ * incomplete beta function, so no statistics library is needed.
+ */
+final class WelchTTest {
+
+    /**
+     * @param t       Test statistic (positive when the second sample's mean is higher)
+     * @param df      Welch–Satterthwaite degrees of freedom
+     * @param pValue  Two-sided p-value; 1 when there is too little data to tell
+     */
+    record Result(double t, double df, double pValue) {
+    }
+
+    private WelchTTest() {
+    }
+
+    static Result test(double[] baseline, double[] current) {
+        if (baseline.length < 2 || current.length < 2) {
+            return new Result(0, 0, 1);
+        }
+        double m1 = mean(baseline);
+        double m2 = mean(current);
+        double v1 = variance(baseline, m1) / baseline.length;
+        double v2 = variance(current, m2) / current.length;
+        double standardError = Math.sqrt(v1 + v2);
+        if (standardError == 0) {
+            // Constant samples: any difference in means is certain
+            return new Result(0, 0, m1 == m2 ? 1 : 0);
+        }
+        double t = (m2 - m1) / standardError;
+        double df = (v1 + v2) * (v1 + v2)
+                / (v1 * v1 / (baseline.length - 1) + v2 * v2 / (current.length - 1));
+        return new Result(t, df, twoSidedP(t, df));
+    }
+
+    static double mean(double[] values) {
+        return Arrays.stream(values).average().orElse(0);
+    }
+
+    /**
+     * Sample variance (n - 1 denominator).
+     */
+    static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    /**
+     * P(|T| >= |t|) for Student's t with df degrees of freedom = I_x(df/2, 1/2), x = df / (df + t²).
+     */
+    static double twoSidedP(double t, double df) {
+        return regularizedBeta(df / (df + t * t), df / 2, 0.5);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Regularized incomplete beta I_x(a, b) by continued fraction (modified Lentz).
+     */
+    private static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        // The continued fraction converges fast only for x below the mean a / (a + b)
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+        }
+        return front * betaContinuedFraction(x, a, b) / a;
+    }
+
+    private static double betaContinuedFraction(double x, double a, double b) {
+        final double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double h = d;
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            double even = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 / nonZero(1 + even * d, tiny);
+            c = nonZero(1 + even / c, tiny);
+            h *= d * c;
+
+            double odd = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 / nonZero(1 + odd * d, tiny);
+            c = nonZero(1 + odd / c, tiny);
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-12) {
+                break;
+            }
+        }
+        return h;
+    }
+
+    private static double nonZero(double value, double tiny) {
+        return Math.abs(value) < tiny ? tiny : value;
+    }
+
+    /**
+     * Lanczos approximation (g = 7, n = 9), accurate to ~15 digits for x > 0.
+     */
+    private static double logGamma(double x) {
+        double[] coefficients = {
+                0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+                771.32342877765313, -176.61502916214059, 12.507343278686905,
+                -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7};
+        if (x < 0.5) {
+            // Reflection formula
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = coefficients[0];
+        for (int i = 1; i < coefficients.length; i++) {
+            sum += coefficients[i] / (x + i);
+        }
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.config;
+
+import com.example.config.StageMetrics.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StageMetrics.
+ *
+ * Tests verify:
+ * - The breakdown lists every stage in pipeline order, one entry per event type and grouping mode
+ * - Percentile labels (p50, p95, p99, p999)
+ * - Event types beyond max-event-types share the OTHER series
+ * - SLO compliance is the exact share of samples at or under each bound
+ */
+class StageMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private StageMetrics stageMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        stageMetrics = createStageMetrics(20);
+    }
+
+    @Test
+    @DisplayName("Breakdown should list stages in pipeline order with one entry per series")
+    void breakdownShouldListSeriesPerStage() {
+        // Given
+        stageMetrics.record(Stage.FETCH, "order_created", true, 10);
+        stageMetrics.record(Stage.FETCH, "ORDER_CREATED", true, 30);
+        stageMetrics.record(Stage.FETCH, "ORDER_CREATED", false, 5);
+        stageMetrics.record(Stage.TOTAL, null, false, 100);
+
+        // When
+        Map<String, List<Map<String, Object>>> breakdown = stageMetrics.breakdown();
+
+        // Then - event types are normalized to upper case, a missing type is NONE
+        assertThat(List.copyOf(breakdown.keySet())).containsExactly("fetch", "preload", "process", "publish", "total");
+        assertThat(breakdown.get("preload")).isEmpty();
+
+        List<Map<String, Object>> fetch = breakdown.get("fetch");
+        assertThat(fetch).extracting(series -> series.get("grouping")).containsExactly("grouped", "individual");
+        assertThat(fetch.getFirst())
+                .containsEntry("eventType", "ORDER_CREATED")
+                .containsEntry("count", 2L)
+                .containsEntry("maxMs", 30.0);
+        assertThat(breakdown.get("total").getFirst()).containsEntry("eventType", StageMetrics.NO_EVENT_TYPE);
+    }
+
+    @Test
+    @DisplayName("Should publish the configured percentiles under p-labels")
+    @SuppressWarnings("unchecked")
+    void shouldPublishPercentilesByLabel() {
+        // Given
+        for (int i = 1; i <= 100; i++) {
+            stageMetrics.record(Stage.PROCESS, "ORDER_CREATED", false, i);
+        }
+
+        // When
+        Map<String, Object> series = stageMetrics.breakdown().get("process").getFirst();
+
+        // Then
+        assertThat((Map<String, Object>) series.get("percentilesMs")).containsOnlyKeys("p50", "p95", "p99", "p999");
+    }
+
+    @Test
+    @DisplayName("percentileLabel should format fractions as p-labels")
+    void percentileLabelShouldFormatFractions() {
+        assertThat(StageMetrics.percentileLabel(0.5)).isEqualTo("p50");
+        assertThat(StageMetrics.percentileLabel(0.9)).isEqualTo("p90");
+        assertThat(StageMetrics.percentileLabel(0.95)).isEqualTo("p95");
+        assertThat(StageMetrics.percentileLabel(0.99)).isEqualTo("p99");
+        assertThat(StageMetrics.percentileLabel(0.999)).isEqualTo("p999");
+    }
+
+    @Test
+    @DisplayName("Event types beyond max-event-types should share the OTHER series")
+    void shouldCapEventTypesWithOther() {
+        // Given - room for two event types
+        stageMetrics = createStageMetrics(2);
+
+        // When
+        for (String eventType : List.of("A", "B", "C", "D", "A")) {
+            stageMetrics.record(Stage.PUBLISH, eventType, false, 10);
+        }
+
+        // Then
+        List<Map<String, Object>> publish = stageMetrics.breakdown().get("publish");
+        assertThat(publish).extracting(series -> series.get("eventType"))
+                .containsExactly("A", "B", StageMetrics.OTHER_EVENT_TYPE);
+        assertThat(publish).extracting(series -> series.get("count")).containsExactly(2L, 1L, 2L);
+        assertThat(registry.find(StageMetrics.METRIC_NAME).tag("eventType", "C").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("SLO compliance should be the share of samples at or under each bound")
+    @SuppressWarnings("unchecked")
+    void shouldReportSloCompliance() {
+        // Given - fetch SLOs are 20, 50, 100 and 250ms
+        for (long millis : new long[] {10, 20, 40, 300}) {
+            stageMetrics.record(Stage.FETCH, "ORDER_CREATED", false, millis);
+        }
+
+        // When
+        Map<String, Object> series = stageMetrics.breakdown().get("fetch").getFirst();
+
+        // Then - a sample equal to the bound counts as within it
+        assertThat((Map<String, Object>) series.get("sloCompliance"))
+                .containsExactly(
+                        Map.entry("<=20ms", "50.00%"),
+                        Map.entry("<=50ms", "75.00%"),
+                        Map.entry("<=100ms", "75.00%"),
+                        Map.entry("<=250ms", "75.00%"));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private StageMetrics createStageMetrics(int maxEventTypes) {
+        return new StageMetrics(registry,
+                new double[] {0.5, 0.95, 0.99, 0.999},
+                new long[] {20, 50, 100, 250},
+                new long[] {50, 100, 250, 500},
+                new long[] {50, 100, 250, 500},
+                new long[] {100, 250, 500, 1000},
+                new long[] {250, 500, 1000, 2000},
+                maxEventTypes);
+    }
+}
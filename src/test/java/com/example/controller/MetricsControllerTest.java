@@ -0,0 +1,90 @@
+package com.example.controller;
+
+import com.example.config.AppMetrics;
+import com.example.config.StageMetrics;
+import com.example.config.StageMetrics.Stage;
+import com.example.service.kafka.KafkaLagMonitor;
+import com.example.service.latency.LatencyRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the /api/metrics/stages endpoint of MetricsController.
+ *
+ * Tests verify:
+ * - The response carries a timestamp and the StageMetrics breakdown for every stage
+ * - Recorded series appear with their SLO compliance
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MetricsControllerTest {
+
+    @Mock private AppMetrics appMetrics;
+    @Mock private LatencyRecorder latencyRecorder;
+    @Mock private KafkaLagMonitor kafkaLagMonitor;
+
+    private StageMetrics stageMetrics;
+    private MetricsController controller;
+
+    @BeforeEach
+    void setUp() {
+        stageMetrics = new StageMetrics(new SimpleMeterRegistry(),
+                new double[] {0.5, 0.95, 0.99, 0.999},
+                new long[] {20, 50, 100, 250},
+                new long[] {50, 100, 250, 500},
+                new long[] {50, 100, 250, 500},
+                new long[] {100, 250, 500, 1000},
+                new long[] {250, 500, 1000, 2000},
+                20);
+        controller = new MetricsController(appMetrics, stageMetrics, latencyRecorder, kafkaLagMonitor);
+    }
+
+    @Test
+    @DisplayName("Stages endpoint should list every stage, empty before anything is recorded")
+    @SuppressWarnings("unchecked")
+    void stagesShouldListEveryStage() {
+        // When
+        Map<String, Object> response = controller.getStageMetrics();
+
+        // Then
+        assertThat(response).containsOnlyKeys("timestamp", "stages");
+        Map<String, List<Map<String, Object>>> stages = (Map<String, List<Map<String, Object>>>) response.get("stages");
+        assertThat(List.copyOf(stages.keySet())).containsExactly("fetch", "preload", "process", "publish", "total");
+        assertThat(stages.values()).allSatisfy(series -> assertThat(series).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Stages endpoint should report recorded series with SLO compliance")
+    @SuppressWarnings("unchecked")
+    void stagesShouldReportRecordedSeries() {
+        // Given
+        stageMetrics.record(Stage.TOTAL, "ORDER_CREATED", true, 200);
+        stageMetrics.record(Stage.TOTAL, "ORDER_CREATED", true, 800);
+
+        // When
+        Map<String, Object> response = controller.getStageMetrics();
+
+        // Then
+        Map<String, List<Map<String, Object>>> stages = (Map<String, List<Map<String, Object>>>) response.get("stages");
+        Map<String, Object> total = stages.get("total").getFirst();
+        assertThat(total)
+                .containsEntry("eventType", "ORDER_CREATED")
+                .containsEntry("grouping", "grouped")
+                .containsEntry("count", 2L);
+        assertThat((Map<String, Object>) total.get("sloCompliance"))
+                .containsEntry("<=250ms", "50.00%")
+                .containsEntry("<=1000ms", "100.00%");
+    }
+}
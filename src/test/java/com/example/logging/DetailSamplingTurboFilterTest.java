@@ -0,0 +1,114 @@
+package com.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.example.config.TraceContextManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for DetailSamplingTurboFilter.
+ *
+ * Tests verify:
+ * - WARN/ERROR, non-application loggers, the summary logger and untraced logs always pass
+ * - The decision is stable per traceId
+ * - The kept share of traces follows the sample rate
+ */
+class DetailSamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private Logger appLogger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        appLogger = context.getLogger("com.example.route.OrderEventProcessor");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should drop all traced detail logs at rate 0 but keep warnings")
+    void shouldDropDetailButKeepWarnings() {
+        // Given
+        DetailSamplingTurboFilter filter = createFilter(0.0);
+        MDC.put(TraceContextManager.TRACE_ID, "trace-1");
+
+        // When / Then
+        assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(filter, appLogger, Level.DEBUG)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(filter, appLogger, Level.WARN)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, appLogger, Level.ERROR)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("Should never sample summary, framework or untraced logs")
+    void shouldPassExemptLogs() {
+        // Given
+        DetailSamplingTurboFilter filter = createFilter(0.0);
+        Logger summary = context.getLogger(PipelineLogging.SUMMARY_LOGGER);
+        Logger framework = context.getLogger("org.apache.camel.impl.DefaultCamelContext");
+
+        // When / Then - no trace
+        assertThat(decide(filter, appLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+
+        // When / Then - traced
+        MDC.put(TraceContextManager.TRACE_ID, "trace-1");
+        assertThat(decide(filter, summary, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, framework, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("Should keep or drop all logs of one trace together")
+    void shouldDecidePerTrace() {
+        // Given
+        DetailSamplingTurboFilter filter = createFilter(0.5);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            String traceId = "trace-" + i;
+            assertThat(filter.isSampled(traceId)).isEqualTo(filter.isSampled(traceId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep roughly the configured share of traces")
+    void shouldFollowSampleRate() {
+        // Given
+        DetailSamplingTurboFilter filter = createFilter(0.1);
+
+        // When
+        long kept = IntStream.range(0, 100_000)
+                .mapToObj(i -> "trace-" + i)
+                .filter(filter::isSampled)
+                .count();
+
+        // Then
+        assertThat(kept).isBetween(9_000L, 11_000L);
+        assertThat(createFilter(1.0).isSampled("any")).isTrue();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private DetailSamplingTurboFilter createFilter(double rate) {
+        return new DetailSamplingTurboFilter("com.example.", PipelineLogging.SUMMARY_LOGGER, rate);
+    }
+
+    private FilterReply decide(DetailSamplingTurboFilter filter, Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message", null, null);
+    }
+}
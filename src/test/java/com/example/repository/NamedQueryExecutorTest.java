@@ -0,0 +1,150 @@
+package com.example.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for NamedQueryExecutor against an in-memory H2 database.
+ *
+ * Tests verify:
+ * - IN lists are padded to the next power of two without changing the result
+ * - Statement shapes are cached per query name and padded IN-list size
+ * - Fetch size follows the expected row count within the configured cap
+ * - Keyed results are mapped by column index into a map
+ * - First-row, duration and row metrics are recorded per query
+ */
+class NamedQueryExecutorTest {
+
+    private static final String QUERY = "findValues";
+
+    private SimpleMeterRegistry meterRegistry;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SqlTemplateLoader sqlLoader;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:named-query-executor;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().execute("DROP ALL OBJECTS");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE t_values (id INT PRIMARY KEY)");
+        IntStream.rangeClosed(1, 20).forEach(i ->
+                jdbcTemplate.getJdbcTemplate().update("INSERT INTO t_values(id) VALUES (?)", i));
+
+        sqlLoader = mock(SqlTemplateLoader.class);
+        when(sqlLoader.load(QUERY)).thenReturn("SELECT id FROM t_values WHERE id IN (:ids) ORDER BY id");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Padded IN lists should return the same rows and share one statement shape")
+    void shouldPadInListsAndCacheShape() {
+        // Given
+        NamedQueryExecutor executor = new NamedQueryExecutor(jdbcTemplate, sqlLoader, meterRegistry, 1000, true);
+
+        // When - 5, 6 and 8 ids all pad to 8
+        List<Integer> five = executor.queryForList(QUERY, ids(1, 2, 3, 4, 5), 5, (rs, rowNum) -> rs.getInt("id"));
+        List<Integer> six = executor.queryForList(QUERY, ids(1, 2, 3, 4, 5, 99), 6, (rs, rowNum) -> rs.getInt("id"));
+        executor.queryForList(QUERY, ids(1, 2, 3, 4, 5, 6, 7, 8), 8, (rs, rowNum) -> rs.getInt("id"));
+
+        // Then
+        assertThat(five).containsExactly(1, 2, 3, 4, 5);
+        assertThat(six).containsExactly(1, 2, 3, 4, 5);
+        assertThat(executor.cachedShapes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Without padding every IN-list size is its own statement shape")
+    void shouldCacheShapePerSizeWithoutPadding() {
+        // Given
+        NamedQueryExecutor executor = new NamedQueryExecutor(jdbcTemplate, sqlLoader, meterRegistry, 1000, false);
+
+        // When
+        executor.queryForList(QUERY, ids(1, 2, 3), 3, (rs, rowNum) -> rs.getInt("id"));
+        executor.queryForList(QUERY, ids(4, 5, 6), 3, (rs, rowNum) -> rs.getInt("id"));
+        executor.queryForList(QUERY, ids(1, 2, 3, 4), 4, (rs, rowNum) -> rs.getInt("id"));
+
+        // Then
+        assertThat(executor.cachedShapes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Padded size should be the next power of two, up to the SQL Server parameter limit")
+    void shouldComputePaddedSize() {
+        assertThat(NamedQueryExecutor.paddedSize(1)).isEqualTo(1);
+        assertThat(NamedQueryExecutor.paddedSize(3)).isEqualTo(4);
+        assertThat(NamedQueryExecutor.paddedSize(500)).isEqualTo(512);
+        assertThat(NamedQueryExecutor.paddedSize(2048)).isEqualTo(2048);
+        assertThat(NamedQueryExecutor.paddedSize(2050)).isEqualTo(2050);
+
+        MapSqlParameterSource padded = NamedQueryExecutor.padded(ids(1, 2, 3));
+        assertThat((List<?>) padded.getValue("ids")).containsExactly(1, 2, 3, 3);
+    }
+
+    @Test
+    @DisplayName("Fetch size should follow the expected rows within the cap")
+    void shouldCapFetchSize() {
+        // Given
+        NamedQueryExecutor executor = new NamedQueryExecutor(jdbcTemplate, sqlLoader, meterRegistry, 100, true);
+
+        // When / Then
+        assertThat(executor.fetchSizeFor(0)).isEqualTo(1);
+        assertThat(executor.fetchSizeFor(40)).isEqualTo(40);
+        assertThat(executor.fetchSizeFor(500)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should map rows into a map keyed by a column")
+    void shouldQueryForMap() {
+        // Given
+        NamedQueryExecutor executor = new NamedQueryExecutor(jdbcTemplate, sqlLoader, meterRegistry, 1000, true);
+        IndexedRowMapper<Integer> doubled = new IndexedRowMapper<>((rs, c) -> rs.getInt(c[0]) * 2, "id");
+
+        // When
+        Map<String, Integer> result = executor.queryForMap(QUERY, ids(1, 2, 3), 3, "id", doubled);
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of("1", 2, "2", 4, "3", 6));
+    }
+
+    @Test
+    @DisplayName("Should record first-row, duration and row metrics per query")
+    void shouldRecordQueryMetrics() {
+        // Given
+        NamedQueryExecutor executor = new NamedQueryExecutor(jdbcTemplate, sqlLoader, meterRegistry, 1000, true);
+
+        // When
+        int rows = executor.queryForEach(QUERY, ids(1, 2, 3), 3, rs -> { });
+        executor.queryForEach(QUERY, ids(100), 1, rs -> { });
+
+        // Then
+        assertThat(rows).isEqualTo(3);
+        assertThat(meterRegistry.get("db.query.first.row").tag("query", QUERY).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.query.duration").tag("query", QUERY).timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.query.rows").tag("query", QUERY).summary().totalAmount()).isEqualTo(3);
+        // Only the execution that returned rows has a read rate
+        assertThat(meterRegistry.get("db.query.rows.per.second").tag("query", QUERY).summary().count()).isEqualTo(1);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private static MapSqlParameterSource ids(Integer... ids) {
+        return new MapSqlParameterSource("ids", List.of(ids));
+    }
+}
@@ -3,11 +3,7 @@ package com.example.repository;
 import com.example.model.CustomerData;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataAccessException;
-import org.springframework.jdbc.core.ResultSetExtractor;
-import com.example.repository.SqlTemplateLoader;
-import org.mockito.ArgumentMatchers;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 import java.util.HashMap;
 import java.util.List;
@@ -15,7 +11,8 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -26,16 +23,14 @@ class OrderRepositoryChunkTest {
 
     @Test
     void batchFetchCustomerData_oneChunkFails_shouldContinueAndReturnPartialResults() {
-        NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
 
         // Use a small chunk size so the input list will be partitioned
         int chunkSize = 2;
-        SqlTemplateLoader sqlLoader = mock(SqlTemplateLoader.class);
-        when(sqlLoader.load("batchFetchCustomerData")).thenReturn("SELECT ...");
-        OrderRepository repo = new OrderRepository(jdbc, chunkSize, 0, 1L, sqlLoader);
+        OrderRepository repo = new OrderRepository(executor, chunkSize, 0, 1L);
 
-        // Mock jdbc.query to return results for normal chunks and throw for a chunk containing "bad"
-        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), ArgumentMatchers.<ResultSetExtractor<Map<String, CustomerData>>>any()))
+        // Mock the executor to return rows for normal chunks and throw for a chunk containing "bad"
+        when(executor.queryForMap(eq("batchFetchCustomerData"), any(MapSqlParameterSource.class), anyInt(), eq("order_id"), any(IndexedRowMapper.class)))
                 .thenAnswer(invocation -> {
                     MapSqlParameterSource params = invocation.getArgument(1);
                     @SuppressWarnings("unchecked")
@@ -45,11 +40,7 @@ class OrderRepositoryChunkTest {
                         throw new DataAccessException("simulated chunk failure") {};
                     }
 
-                    Map<String, CustomerData> result = new HashMap<>();
-                    for (String id : ids) {
-                        result.put(id, new CustomerData("cust-" + id, "Name-" + id, id + "@example.com", "standard"));
-                    }
-                    return result;
+                    return customerData(ids);
                 });
 
         List<String> orderIds = List.of("id1", "id2", "bad", "id3", "id4");
@@ -68,24 +59,18 @@ class OrderRepositoryChunkTest {
 
     @Test
     void batchFetchCustomerData_allChunksSucceed_shouldMergeAllResults() {
-        NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
 
         int chunkSize = 2;
-        SqlTemplateLoader sqlLoader = mock(SqlTemplateLoader.class);
-        when(sqlLoader.load("batchFetchCustomerData")).thenReturn("SELECT ...");
-        OrderRepository repo = new OrderRepository(jdbc, chunkSize, 0, 1L, sqlLoader);
+        OrderRepository repo = new OrderRepository(executor, chunkSize, 0, 1L);
 
-        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), ArgumentMatchers.<ResultSetExtractor<Map<String, CustomerData>>>any()))
+        when(executor.queryForMap(eq("batchFetchCustomerData"), any(MapSqlParameterSource.class), anyInt(), eq("order_id"), any(IndexedRowMapper.class)))
                 .thenAnswer(invocation -> {
                     MapSqlParameterSource params = invocation.getArgument(1);
                     @SuppressWarnings("unchecked")
                     List<String> ids = (List<String>) params.getValue("orderIds");
 
-                    Map<String, CustomerData> result = new HashMap<>();
-                    for (String id : ids) {
-                        result.put(id, new CustomerData("cust-" + id, "Name-" + id, id + "@example.com", "standard"));
-                    }
-                    return result;
+                    return customerData(ids);
                 });
 
         List<String> orderIds = List.of("id1", "id2", "id3", "id4");
@@ -98,4 +83,12 @@ class OrderRepositoryChunkTest {
         assertTrue(res.containsKey("id3"));
         assertTrue(res.containsKey("id4"));
     }
+
+    static Map<String, CustomerData> customerData(List<String> ids) {
+        Map<String, CustomerData> result = new HashMap<>();
+        for (String id : ids) {
+            result.put(id, new CustomerData("cust-" + id, "Name-" + id, id + "@example.com", "standard"));
+        }
+        return result;
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.repository;
 
 import com.example.model.CustomerData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class OrderRepositoryIntegrationTest {
 
     private NamedParameterJdbcTemplate jdbcTemplate;
+    private NamedQueryExecutor executor;
     private OrderRepository repo;
 
     @BeforeEach
@@ -46,7 +48,8 @@ class OrderRepositoryIntegrationTest {
         jdbcTemplate.getJdbcTemplate().update("INSERT INTO orders(order_id,customer_id,status,amount,created_at) VALUES('o1','cust1','NEW',10.0,NOW())");
 
         SqlTemplateLoader loader = new SqlTemplateLoader(new org.springframework.core.io.DefaultResourceLoader());
-        this.repo = new OrderRepository(jdbcTemplate, 500, 1, 1L, loader);
+        this.executor = new NamedQueryExecutor(jdbcTemplate, loader, new SimpleMeterRegistry(), 1000, true);
+        this.repo = new OrderRepository(executor, 500, 1, 1L);
     }
 
     @Test
@@ -63,4 +66,33 @@ class OrderRepositoryIntegrationTest {
         assertTrue(map.containsKey("o1"));
         assertEquals("cust1", map.get("o1").customerId());
     }
+
+    @Test
+    void findOrdersByIds_paddedInList_shouldReturnEachOrderOnceAndReuseShape() {
+        jdbcTemplate.getJdbcTemplate().update("INSERT INTO orders(order_id,customer_id,status,amount,created_at) VALUES('o2','cust1','NEW',20.0,NOW())");
+        jdbcTemplate.getJdbcTemplate().update("INSERT INTO orders(order_id,customer_id,status,amount,created_at) VALUES('o3','cust1','NEW',30.0,NOW())");
+
+        // 3 ids are padded to 4 by repeating o3; 4 ids use the same statement text
+        List<com.example.model.Order> three = repo.findOrdersByIds(List.of("o1", "o2", "o3"));
+        List<com.example.model.Order> four = repo.findOrdersByIds(List.of("o1", "o2", "o3", "missing"));
+
+        assertEquals(3, three.size());
+        assertEquals(3, four.size());
+        assertEquals(1, executor.cachedShapes());
+    }
+
+    @Test
+    void findOrdersByIds_shouldShareStatusInstancesAcrossRows() {
+        jdbcTemplate.getJdbcTemplate().update("INSERT INTO orders(order_id,customer_id,status,amount,created_at) VALUES('o2','cust1','NEW',20.0,NOW())");
+
+        List<com.example.model.Order> orders = repo.findOrdersByIds(List.of("o1", "o2"));
+
+        assertEquals(2, orders.size());
+        assertSame(orders.get(0).status(), orders.get(1).status());
+    }
+
+    @Test
+    void findTradingPartnerByName_unknownPartner_shouldReturnEmpty() {
+        assertTrue(repo.findTradingPartnerByName("nobody").isEmpty());
+    }
 }
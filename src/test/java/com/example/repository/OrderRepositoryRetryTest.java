@@ -3,41 +3,39 @@ package com.example.repository;
 import com.example.model.CustomerData;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataAccessException;
-import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class OrderRepositoryRetryTest {
 
     @Test
     void withRetry_transientFailure_thenSuccess() {
-        NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
-        SqlTemplateLoader sqlLoader = mock(SqlTemplateLoader.class);
-        when(sqlLoader.load("batchFetchCustomerData")).thenReturn("SELECT ...");
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
 
         // first call throws, second returns results
-        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class)))
+        when(executor.queryForMap(eq("batchFetchCustomerData"), any(MapSqlParameterSource.class), anyInt(), eq("order_id"), any(IndexedRowMapper.class)))
                 .thenThrow(new DataAccessException("transient") {})
                 .thenAnswer(invocation -> {
                     MapSqlParameterSource params = invocation.getArgument(1);
                     @SuppressWarnings("unchecked")
                     List<String> ids = (List<String>) params.getValue("orderIds");
-                    Map<String, CustomerData> result = new HashMap<>();
-                    for (String id : ids) result.put(id, new CustomerData("c-" + id, "n", "e", "t"));
-                    return result;
+                    return OrderRepositoryChunkTest.customerData(ids);
                 });
 
-        OrderRepository repo = new OrderRepository(jdbc, 5, 1, 1L, sqlLoader);
+        OrderRepository repo = new OrderRepository(executor, 5, 1, 1L);
 
         Map<String, CustomerData> res = repo.batchFetchCustomerData(List.of("a", "b"));
         assertEquals(2, res.size());
@@ -45,15 +43,55 @@ class OrderRepositoryRetryTest {
 
     @Test
     void withRetry_exhaustedRetries_shouldThrow() {
-        NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
-        SqlTemplateLoader sqlLoader = mock(SqlTemplateLoader.class);
-        when(sqlLoader.load("batchFetchCustomerData")).thenReturn("SELECT ...");
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
 
-        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), any(ResultSetExtractor.class)))
+        when(executor.queryForMap(eq("batchFetchCustomerData"), any(MapSqlParameterSource.class), anyInt(), eq("order_id"), any(IndexedRowMapper.class)))
                 .thenThrow(new DataAccessException("perm") {});
 
-        OrderRepository repo = new OrderRepository(jdbc, 5, 0, 1L, sqlLoader);
+        OrderRepository repo = new OrderRepository(executor, 5, 0, 1L);
 
         assertThrows(DataAccessException.class, () -> repo.batchFetchCustomerData(List.of("x")));
     }
+
+    @Test
+    void withRetry_guardWrapsEachAttempt() {
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
+
+        when(executor.queryForMap(eq("batchFetchCustomerData"), any(MapSqlParameterSource.class), anyInt(), eq("order_id"), any(IndexedRowMapper.class)))
+                .thenThrow(new DataAccessException("transient") {})
+                .thenAnswer(invocation -> OrderRepositoryChunkTest.customerData(List.of("a")));
+
+        OrderRepository repo = new OrderRepository(executor, 5, 1, 1L);
+        AtomicInteger attempts = new AtomicInteger();
+        OrderRepository.AttemptGuard guard = new OrderRepository.AttemptGuard() {
+            @Override
+            public <T> T call(Supplier<T> attempt) {
+                attempts.incrementAndGet();
+                return attempt.get();
+            }
+        };
+
+        Map<String, CustomerData> res = repo.batchFetchCustomerData(List.of("a"), guard);
+        assertEquals(1, res.size());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void withRetry_guardRejection_shouldNotRetry() {
+        NamedQueryExecutor executor = mock(NamedQueryExecutor.class);
+
+        OrderRepository repo = new OrderRepository(executor, 5, 3, 1L);
+        AtomicInteger attempts = new AtomicInteger();
+        OrderRepository.AttemptGuard openCircuit = new OrderRepository.AttemptGuard() {
+            @Override
+            public <T> T call(Supplier<T> attempt) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("circuit OPEN");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> repo.batchFetchCustomerData(List.of("x"), openCircuit));
+        assertEquals(1, attempts.get());
+        verify(executor, times(0)).queryForMap(any(), any(), anyInt(), any(), any());
+    }
 }
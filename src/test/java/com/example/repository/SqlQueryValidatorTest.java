@@ -0,0 +1,80 @@
+package com.example.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlQueryValidatorTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:validatordb;DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        ds.setPassword("");
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(ds);
+        jdbcTemplate.getJdbcTemplate().execute("DROP ALL OBJECTS");
+        jdbcTemplate.getJdbcTemplate().execute(
+                "CREATE TABLE trading_partners (partner_id VARCHAR(50), partner_name VARCHAR(100), "
+                        + "status VARCHAR(20), updated_at TIMESTAMP)");
+    }
+
+    @Test
+    void validQueries_shouldPass() {
+        SqlTemplateLoader loader = loaderWith("findTradingPartnerByName",
+                "SELECT partner_id, status FROM trading_partners WHERE partner_name = :partnerName");
+
+        assertDoesNotThrow(() -> new SqlQueryValidator(jdbcTemplate, loader, true).afterPropertiesSet());
+    }
+
+    @Test
+    void inListParameters_shouldBePreparedAsSinglePlaceholder() {
+        SqlTemplateLoader loader = loaderWith("byIds",
+                "SELECT partner_id FROM trading_partners WHERE partner_id IN (:ids)");
+
+        assertDoesNotThrow(() -> new SqlQueryValidator(jdbcTemplate, loader, true).afterPropertiesSet());
+    }
+
+    @Test
+    void malformedQuery_shouldFailStartupWithQueryName() {
+        SqlTemplateLoader loader = loaderWith("findBusinessUnitByName",
+                "SELECT unit_id FROM business_units WHERE unit_name = :unitName");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new SqlQueryValidator(jdbcTemplate, loader, true).afterPropertiesSet());
+        assertTrue(e.getMessage().contains("findBusinessUnitByName"));
+    }
+
+    @Test
+    void disabled_shouldSkipValidation() {
+        SqlTemplateLoader loader = loaderWith("broken", "SELEC nothing");
+
+        assertDoesNotThrow(() -> new SqlQueryValidator(jdbcTemplate, loader, false).afterPropertiesSet());
+    }
+
+    @Test
+    void shippedQueries_shouldMatchShippedSchema() {
+        jdbcTemplate.getJdbcTemplate().execute("DROP ALL OBJECTS");
+        jdbcTemplate.getJdbcTemplate().execute("RUNSCRIPT FROM 'classpath:/schema.sql'");
+        SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader(), "h2");
+
+        assertDoesNotThrow(() -> new SqlQueryValidator(jdbcTemplate, loader, true).afterPropertiesSet());
+    }
+
+    private SqlTemplateLoader loaderWith(String name, String sql) {
+        SqlTemplateLoader loader = mock(SqlTemplateLoader.class);
+        when(loader.names()).thenReturn(Set.of(name));
+        when(loader.load(name)).thenReturn(sql);
+        return loader;
+    }
+}
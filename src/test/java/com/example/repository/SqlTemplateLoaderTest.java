@@ -21,4 +21,48 @@ class SqlTemplateLoaderTest {
         SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader());
         assertThrows(IllegalArgumentException.class, () -> loader.load("no_such_query"));
     }
+
+    @Test
+    void names_shouldBeParsedEagerlyAndImmutable() {
+        SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader());
+
+        assertTrue(loader.names().contains("findOrdersByIds"));
+        assertTrue(loader.names().contains("findBusinessUnitByName"));
+        assertThrows(UnsupportedOperationException.class, () -> loader.names().add("extra"));
+    }
+
+    @Test
+    void dialectOverride_shouldReplaceOnlyOverriddenQueries() {
+        SqlTemplateLoader base = new SqlTemplateLoader(new DefaultResourceLoader());
+        SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader(), "testdialect");
+
+        assertTrue(loader.load("findTradingPartnerByName").startsWith("SELECT TOP 1"));
+        assertEquals(base.load("findOrdersByIds"), loader.load("findOrdersByIds"));
+        assertEquals(base.names(), loader.names());
+    }
+
+    @Test
+    void dialectWithoutOverrides_shouldUseBaseQueries() {
+        SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader(), "h2");
+
+        assertEquals("h2", loader.getDialect());
+        assertTrue(loader.load("findTradingPartnerByName").startsWith("SELECT partner_id"));
+    }
+
+    @Test
+    void overrideOfUnknownQuery_shouldFailAtConstruction() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new SqlTemplateLoader(new DefaultResourceLoader(), "baddialect"));
+        assertTrue(e.getMessage().contains("findTradingPartnerByNam"));
+    }
+
+    @Test
+    void autoDialect_shouldComeFromJdbcUrl() {
+        assertEquals("sqlserver", SqlTemplateLoader.dialectOf("jdbc:sqlserver://localhost:1433;databaseName=ordersdb"));
+        assertEquals("h2", SqlTemplateLoader.dialectOf("jdbc:h2:mem:ordersdb;DB_CLOSE_DELAY=-1"));
+        assertNull(SqlTemplateLoader.dialectOf(""));
+
+        SqlTemplateLoader loader = new SqlTemplateLoader(new DefaultResourceLoader(), "auto", "jdbc:testdialect:mem:x");
+        assertEquals("testdialect", loader.getDialect());
+    }
 }
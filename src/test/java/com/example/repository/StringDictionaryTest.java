@@ -0,0 +1,47 @@
+package com.example.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the bounded string dictionary.
+ *
+ * Tests verify:
+ * - Equal values share one canonical instance
+ * - Values beyond max size are returned as-is and not retained
+ * - Null passes through
+ */
+class StringDictionaryTest {
+
+    @Test
+    @DisplayName("Equal values should share the first instance seen")
+    void shouldReturnCanonicalInstance() {
+        // Given
+        StringDictionary dictionary = new StringDictionary(10);
+        String first = new String("GOLD");
+        String second = new String("GOLD");
+
+        // When / Then
+        assertThat(dictionary.intern(first)).isSameAs(first);
+        assertThat(dictionary.intern(second)).isSameAs(first);
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop admitting values once full")
+    void shouldBoundSize() {
+        // Given
+        StringDictionary dictionary = new StringDictionary(2);
+        dictionary.intern("A");
+        dictionary.intern("B");
+        String overflow = new String("C");
+
+        // When / Then
+        assertThat(dictionary.intern(overflow)).isSameAs(overflow);
+        assertThat(dictionary.intern(new String("C"))).isNotSameAs(overflow);
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.intern(null)).isNull();
+    }
+}
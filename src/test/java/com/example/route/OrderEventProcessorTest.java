@@ -6,6 +6,7 @@ import com.example.service.DeadLetterPublisher;
 import com.example.service.OrderFetchService;
 import com.example.service.OrderProcessingOrchestrator;
 import com.example.service.PartnerValidationService;
+import com.example.service.PartnerValidationService.ValidationResult;
 import com.example.service.cache.EventDeduplicationService;
 import io.micrometer.core.instrument.Timer;
 import org.apache.camel.Exchange;
@@ -25,6 +26,7 @@ import org.mockito.quality.Strictness;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
@@ -68,6 +70,8 @@ class OrderEventProcessorTest {
         when(metrics.getTotalEventTimer()).thenReturn(timer);
         // Default: allow all events (not duplicates)
         when(deduplicationService.tryAcquire(any(OrderEvent.class))).thenReturn(true);
+        when(partnerValidationService.validateEvent(any(OrderEvent.class)))
+                .thenReturn(new ValidationResult(true, Optional.empty(), Optional.empty(), null));
     }
 
     @Test
@@ -76,12 +80,12 @@ class OrderEventProcessorTest {
         // Given
         OrderEvent event = createTestEvent();
         List<Order> orders = List.of(createTestOrder("ORD-001"));
-        ProcessingResult result = new ProcessingResult(List.of(createProcessedOrder("ORD-001")), List.of(), 100);
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(List.of(createProcessedOrder("ORD-001")), List.of(), 100, 0, 0, 0);
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
@@ -89,7 +93,7 @@ class OrderEventProcessorTest {
         // Then
         InOrder inOrder = inOrder(orderFetchService, processingOrchestrator, manualCommit);
         inOrder.verify(orderFetchService).fetchOrdersForEvent(event);
-        inOrder.verify(processingOrchestrator).processOrders(orders, false);
+        inOrder.verify(processingOrchestrator).processOrdersWithTiming(eq(orders), eq(false), any());
         inOrder.verify(manualCommit).commit();
     }
 
@@ -119,22 +123,49 @@ class OrderEventProcessorTest {
         OrderEvent event = createTestEvent();
         List<Order> orders = List.of(createTestOrder("ORD-001"), createTestOrder("ORD-002"));
         List<FailedOrder> failures = List.of(new FailedOrder(createTestOrder("ORD-002"), "Processing error", "RuntimeException"));
-        ProcessingResult result = new ProcessingResult(
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(
                 List.of(createProcessedOrder("ORD-001")), 
                 failures, 
-                100
+                100, 0, 0, 0
         );
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
 
         // Then
-        verify(deadLetterPublisher).send(failures);
+        verify(deadLetterPublisher).send(event, failures);
+    }
+
+    @Test
+    @DisplayName("Should not dead-letter publish failures again")
+    void shouldNotDeadLetterPublishFailuresAgain() throws Exception {
+        // Given - ORD-002 failed processing, ORD-003 failed to publish (PublishingService dead-lettered it)
+        OrderEvent event = createTestEvent();
+        List<Order> orders = List.of(createTestOrder("ORD-001"), createTestOrder("ORD-002"), createTestOrder("ORD-003"));
+        FailedOrder processingFailure = new FailedOrder(createTestOrder("ORD-002"), "Processing error", "RuntimeException");
+        FailedOrder publishFailure = FailedOrder.fromProcessed(createProcessedOrder("ORD-003"),
+                "WMQ publish failed", FailedOrder.PUBLISH_FAILURE);
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(
+                List.of(createProcessedOrder("ORD-001")),
+                List.of(processingFailure, publishFailure),
+                100, 0, 0, 0
+        );
+
+        when(message.getBody(OrderEvent.class)).thenReturn(event);
+        when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
+        when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
+
+        // When
+        processor.process(exchange);
+
+        // Then
+        verify(deadLetterPublisher).send(event, List.of(processingFailure));
     }
 
     @Test
@@ -143,16 +174,16 @@ class OrderEventProcessorTest {
         // Given
         OrderEvent event = createTestEvent();
         List<Order> orders = List.of(createTestOrder("ORD-001"));
-        ProcessingResult result = new ProcessingResult(
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(
                 List.of(createProcessedOrder("ORD-001")), 
                 List.of(), // No failures
-                100
+                100, 0, 0, 0
         );
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
@@ -172,18 +203,18 @@ class OrderEventProcessorTest {
                 "WEST-REGION"
         );
         List<Order> orders = List.of(createTestOrder("ORD-001"));
-        ProcessingResult result = new ProcessingResult(List.of(createProcessedOrder("ORD-001")), List.of(), 100);
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(List.of(createProcessedOrder("ORD-001")), List.of(), 100, 0, 0, 0);
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
 
         // Then - verify grouping flag based on event type (BULK_ORDER requires grouping)
-        verify(processingOrchestrator).processOrders(eq(orders), eq(true));
+        verify(processingOrchestrator).processOrdersWithTiming(eq(orders), eq(true), any());
     }
 
     @Test
@@ -209,12 +240,12 @@ class OrderEventProcessorTest {
         // Given
         OrderEvent event = createTestEvent();
         List<Order> orders = List.of(createTestOrder("ORD-001"));
-        ProcessingResult result = new ProcessingResult(List.of(createProcessedOrder("ORD-001")), List.of(), 100);
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(List.of(createProcessedOrder("ORD-001")), List.of(), 100, 0, 0, 0);
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
@@ -229,12 +260,12 @@ class OrderEventProcessorTest {
         // Given
         OrderEvent event = createTestEvent();
         List<Order> orders = List.of(createTestOrder("ORD-001"));
-        ProcessingResult result = new ProcessingResult(List.of(createProcessedOrder("ORD-001")), List.of(), 100);
+        ProcessingResultWithTiming result = new ProcessingResultWithTiming(List.of(createProcessedOrder("ORD-001")), List.of(), 100, 0, 0, 0);
         
         when(message.getBody(OrderEvent.class)).thenReturn(event);
         when(message.getHeader(KafkaConstants.MANUAL_COMMIT)).thenReturn(manualCommit);
         when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(orders);
-        when(processingOrchestrator.processOrders(eq(orders), anyBoolean())).thenReturn(result);
+        when(processingOrchestrator.processOrdersWithTiming(eq(orders), anyBoolean(), any())).thenReturn(result);
 
         // When
         processor.process(exchange);
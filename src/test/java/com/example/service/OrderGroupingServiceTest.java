@@ -0,0 +1,254 @@
+package com.example.service;
+
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.example.service.OrderGroupingService.GroupingResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for OrderGroupingService.
+ *
+ * Tests verify:
+ * - Groups below the caps stay a single message
+ * - Oversized groups are split by order count and by estimated bytes
+ * - Split parts share a groupId and carry sequence numbers
+ * - COMPOSITE strategy builds multi-dimension keys in a single pass
+ */
+class OrderGroupingServiceTest {
+
+    private OrderGroupingService groupingService;
+
+    @BeforeEach
+    void setUp() {
+        groupingService = new OrderGroupingService();
+        ReflectionTestUtils.setField(groupingService, "groupingStrategy", "BY_WAREHOUSE");
+        ReflectionTestUtils.setField(groupingService, "compositeKeys", "CUSTOMER,WAREHOUSE");
+        ReflectionTestUtils.setField(groupingService, "highValueThreshold", new BigDecimal("1000"));
+        ReflectionTestUtils.setField(groupingService, "minGroupSize", 2);
+        ReflectionTestUtils.setField(groupingService, "maxOrdersPerMessage", 500);
+        ReflectionTestUtils.setField(groupingService, "maxMessageBytes", 1_048_576L);
+        groupingService.init();
+    }
+
+    @Test
+    @DisplayName("Should keep a small group as a single message")
+    void shouldKeepSmallGroupWhole() {
+        // When
+        GroupingResult result = groupingService.groupOrders(createOrders(10, "WAREHOUSE-A"));
+
+        // Then
+        assertThat(result.groupedMessages()).hasSize(1);
+        GroupedOrderMessage message = result.groupedMessages().getFirst();
+        assertThat(message.orderCount()).isEqualTo(10);
+        assertThat(message.sequenceNumber()).isEqualTo(1);
+        assertThat(message.sequenceCount()).isEqualTo(1);
+        assertThat(message.isPartial()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should split group by max orders per message")
+    void shouldSplitByOrderCount() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "maxOrdersPerMessage", 100);
+
+        // When
+        GroupingResult result = groupingService.groupOrders(createOrders(250, "WAREHOUSE-A"));
+
+        // Then
+        assertThat(result.groupedMessages()).hasSize(3);
+        assertThat(result.groupedMessages()).extracting(GroupedOrderMessage::orderCount)
+                .containsExactly(100, 100, 50);
+        assertThat(result.totalGroupedOrders()).isEqualTo(250);
+        assertThat(result.individualOrders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should split group by estimated message bytes")
+    void shouldSplitByEstimatedBytes() {
+        // Given - room for roughly 10 orders per message
+        List<ProcessedOrder> orders = createOrders(50, "WAREHOUSE-A");
+        long perOrder = OrderGroupingService.estimateSerializedBytes(orders.getFirst());
+        ReflectionTestUtils.setField(groupingService, "maxMessageBytes",
+                OrderGroupingService.GROUP_ENVELOPE_BYTES + perOrder * 10);
+
+        // When
+        GroupingResult result = groupingService.groupOrders(orders);
+
+        // Then
+        assertThat(result.groupedMessages()).hasSize(5);
+        assertThat(result.groupedMessages()).allMatch(m -> m.orderCount() == 10);
+    }
+
+    @Test
+    @DisplayName("Size estimate should count UTF-8 bytes and JSON escapes, not chars")
+    void estimateShouldCountUtf8Bytes() {
+        // Given - same char count, different encoded widths
+        ProcessedOrder nonAscii = new ProcessedOrder("ORD-1", "CUST-1", "東京商事", "GOLD",
+                new BigDecimal("10.00"), "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+        ProcessedOrder escaped = new ProcessedOrder("ORD-1", "CUST-1", "a\"b\n", "GOLD",
+                new BigDecimal("10.00"), "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+        ProcessedOrder plain = new ProcessedOrder("ORD-1", "CUST-1", "abcd", "GOLD",
+                new BigDecimal("10.00"), "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+
+        // When
+        long asciiBytes = OrderGroupingService.estimateSerializedBytes(plain);
+
+        // Then - 4 CJK chars are 12 UTF-8 bytes; '"' and control chars count at their escaped width
+        assertThat(OrderGroupingService.estimateSerializedBytes(nonAscii) - asciiBytes).isEqualTo(8);
+        assertThat(OrderGroupingService.estimateSerializedBytes(escaped) - asciiBytes).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Split parts should share groupId and carry sequence numbers")
+    void splitPartsShouldShareGroupIdAndSequence() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "maxOrdersPerMessage", 4);
+
+        // When
+        GroupingResult result = groupingService.groupOrders(createOrders(10, "WAREHOUSE-A"));
+
+        // Then
+        List<GroupedOrderMessage> parts = result.groupedMessages();
+        assertThat(parts).hasSize(3);
+        assertThat(parts).extracting(GroupedOrderMessage::groupId).containsOnly(parts.getFirst().groupId());
+        assertThat(parts).extracting(GroupedOrderMessage::sequenceNumber).containsExactly(1, 2, 3);
+        assertThat(parts).allMatch(m -> m.sequenceCount() == 3 && m.isPartial());
+    }
+
+    @Test
+    @DisplayName("groupId should be stable for the same key and orders and differ otherwise")
+    void groupIdShouldBeDeterministic() {
+        // Given
+        List<ProcessedOrder> orders = createOrders(5, "WAREHOUSE-A");
+        List<ProcessedOrder> reversed = orders.reversed();
+        List<ProcessedOrder> fewer = orders.subList(0, 4);
+
+        // When
+        String groupId = GroupedOrderMessage.groupId("WAREHOUSE-A", orders);
+
+        // Then - order sequence does not matter; key and membership do
+        assertThat(GroupedOrderMessage.groupId("WAREHOUSE-A", reversed)).isEqualTo(groupId);
+        assertThat(GroupedOrderMessage.groupId("WAREHOUSE-B", orders)).isNotEqualTo(groupId);
+        assertThat(GroupedOrderMessage.groupId("WAREHOUSE-A", fewer)).isNotEqualTo(groupId);
+    }
+
+    @Test
+    @DisplayName("Regrouping the same orders should reproduce the same groupIds")
+    void regroupingShouldReproduceGroupIds() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "maxOrdersPerMessage", 4);
+        List<ProcessedOrder> orders = createOrders(10, "WAREHOUSE-A");
+
+        // When
+        List<String> first = groupingService.groupOrders(orders).groupedMessages().stream()
+                .map(GroupedOrderMessage::groupId).toList();
+        List<String> second = groupingService.groupOrders(orders).groupedMessages().stream()
+                .map(GroupedOrderMessage::groupId).toList();
+
+        // Then
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("Split parts should carry their own totals")
+    void splitPartsShouldCarryOwnTotals() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "maxOrdersPerMessage", 3);
+
+        // When
+        GroupingResult result = groupingService.groupOrders(createOrders(6, "WAREHOUSE-A"));
+
+        // Then - each order costs 10.00
+        assertThat(result.groupedMessages()).extracting(GroupedOrderMessage::totalAmount)
+                .containsExactly(new BigDecimal("30.00"), new BigDecimal("30.00"));
+    }
+
+    @Test
+    @DisplayName("COMPOSITE strategy should group by customer and warehouse")
+    void compositeShouldGroupByCustomerAndWarehouse() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "groupingStrategy", "COMPOSITE");
+        List<ProcessedOrder> orders = List.of(
+                createOrder("ORD-1", "CUST-001", "WAREHOUSE-A", "10.00"),
+                createOrder("ORD-2", "CUST-001", "WAREHOUSE-A", "15.50"),
+                createOrder("ORD-3", "CUST-001", "WAREHOUSE-B", "20.00"),
+                createOrder("ORD-4", "CUST-002", "WAREHOUSE-A", "30.00"),
+                createOrder("ORD-5", "CUST-002", "WAREHOUSE-A", "40.00"));
+
+        // When
+        GroupingResult result = groupingService.groupOrders(orders);
+
+        // Then - first-seen key order, totals accumulated during the pass
+        assertThat(result.groupedMessages()).extracting(GroupedOrderMessage::groupingKey)
+                .containsExactly("CUST-001|WAREHOUSE-A", "CUST-002|WAREHOUSE-A");
+        assertThat(result.groupedMessages()).extracting(GroupedOrderMessage::totalAmount)
+                .containsExactly(new BigDecimal("25.50"), new BigDecimal("70.00"));
+        assertThat(result.groupedMessages()).allMatch(m -> m.groupType().equals("CUSTOMER|WAREHOUSE"));
+        assertThat(result.individualOrders()).extracting(ProcessedOrder::orderId).containsExactly("ORD-3");
+    }
+
+    @Test
+    @DisplayName("Unknown composite dimensions should fail at startup")
+    void compositeShouldRejectUnknownDimension() {
+        // Given
+        ReflectionTestUtils.setField(groupingService, "compositeKeys", "CUSTOMER,REGION");
+
+        // When / Then
+        assertThatThrownBy(() -> groupingService.init())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("REGION");
+    }
+
+    @Test
+    @DisplayName("Single-pass grouping should handle many distinct keys")
+    void shouldHandleManyDistinctKeys() {
+        // Given - 2,000 orders over 1,000 customers (2 orders each)
+        ReflectionTestUtils.setField(groupingService, "groupingStrategy", "BY_CUSTOMER");
+        List<ProcessedOrder> orders = IntStream.range(0, 2_000)
+                .mapToObj(i -> createOrder("ORD-" + i, "CUST-" + (i % 1_000), "WAREHOUSE-A", "1.00"))
+                .toList();
+
+        // When
+        GroupingResult result = groupingService.groupOrders(orders);
+
+        // Then
+        assertThat(result.groupedMessages()).hasSize(1_000);
+        assertThat(result.groupedMessages()).allMatch(m -> m.orderCount() == 2);
+        assertThat(result.individualOrders()).isEmpty();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private ProcessedOrder createOrder(String orderId, String customerId, String warehouse, String price) {
+        return new ProcessedOrder(orderId, customerId, "Test Customer", "GOLD",
+                new BigDecimal(price), warehouse, "READY_TO_SHIP", LocalDateTime.now(), "system");
+    }
+
+    private List<ProcessedOrder> createOrders(int count, String warehouse) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ProcessedOrder(
+                        "ORD-" + String.format("%05d", i),
+                        "CUST-" + (i % 7),
+                        "Test Customer",
+                        "GOLD",
+                        new BigDecimal("10.00"),
+                        warehouse,
+                        "READY_TO_SHIP",
+                        LocalDateTime.now(),
+                        "system"))
+                .toList();
+    }
+}
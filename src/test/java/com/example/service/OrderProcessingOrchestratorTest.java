@@ -25,6 +25,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,7 +36,7 @@ import static org.mockito.Mockito.*;
  * 
  * Tests verify:
  * - Pipeline stages execute in correct order
- * - Executor is passed to all services
+ * - Executor is passed to all services (shared, or the caller's own with its processing limiter)
  * - Results are properly aggregated
  * - Metrics are recorded
  */
@@ -63,6 +64,8 @@ class OrderProcessingOrchestratorTest {
         // Setup timer mocks
         when(metrics.getProcessingTimer()).thenReturn(timer);
         when(metrics.getTotalProcessingTimer()).thenReturn(timer);
+        when(publishingService.publish(anyList(), anyBoolean(), any(ExecutorService.class)))
+                .thenAnswer(inv -> PublishOutcome.sent(inv.<List<?>>getArgument(0).size()));
     }
 
     @Test
@@ -121,6 +124,31 @@ class OrderProcessingOrchestratorTest {
         verify(publishingService).publish(anyList(), anyBoolean(), any(ExecutorService.class));
     }
 
+    @Test
+    @DisplayName("Should run all stages on a caller-supplied executor and processing limiter")
+    void shouldUseCallerExecutorAndLimiter() {
+        // Given
+        List<Order> orders = List.of(createTestOrder("ORD-001"));
+        ProcessingContext context = createEmptyContext();
+        ProcessingOutput output = new ProcessingOutput(List.of(createProcessedOrder("ORD-001")), List.of());
+        ExecutorService replayExecutor = mock(ExecutorService.class);
+        Semaphore replayLimiter = new Semaphore(2);
+
+        when(preloadService.preloadData(anyList(), any(ExecutorService.class))).thenReturn(context);
+        when(businessLogicService.processOrders(anyList(), any(), any(ExecutorService.class), any(Semaphore.class)))
+                .thenReturn(output);
+
+        // When
+        ProcessingResult result = orchestrator.processOrders(orders, false, "SINGLE_ORDER", replayExecutor, replayLimiter);
+
+        // Then - the shared executor and processing limit are not used
+        verify(preloadService).preloadData(anyList(), same(replayExecutor));
+        verify(businessLogicService).processOrders(anyList(), same(context), same(replayExecutor), same(replayLimiter));
+        verify(businessLogicService, never()).processOrders(anyList(), any(), any(ExecutorService.class));
+        verify(publishingService).publish(anyList(), eq(false), same(replayExecutor));
+        assertThat(result.successes()).hasSize(1);
+    }
+
     @Test
     @DisplayName("Should pass useGrouping flag to publishing service")
     void shouldPassGroupingFlagToPublisher() {
@@ -171,6 +199,30 @@ class OrderProcessingOrchestratorTest {
         assertThat(result.processingTimeMs()).isGreaterThanOrEqualTo(0);
     }
 
+    @Test
+    @DisplayName("Should move orders that failed to publish into failures")
+    void shouldMoveUnpublishedOrdersToFailures() {
+        // Given
+        List<Order> orders = List.of(createTestOrder("ORD-001"), createTestOrder("ORD-002"));
+        ProcessedOrder unpublished = createProcessedOrder("ORD-002");
+        ProcessingOutput output = new ProcessingOutput(
+                List.of(createProcessedOrder("ORD-001"), unpublished), List.of());
+
+        when(preloadService.preloadData(anyList(), any(ExecutorService.class))).thenReturn(createEmptyContext());
+        when(businessLogicService.processOrders(anyList(), any(), any(ExecutorService.class))).thenReturn(output);
+        when(publishingService.publish(anyList(), anyBoolean(), any(ExecutorService.class)))
+                .thenReturn(new PublishOutcome(1, 0, List.of(unpublished)));
+
+        // When
+        ProcessingResult result = orchestrator.processOrders(orders, false);
+
+        // Then
+        assertThat(result.successes()).extracting(ProcessedOrder::orderId).containsExactly("ORD-001");
+        assertThat(result.failures()).extracting(f -> f.order().id()).containsExactly("ORD-002");
+        verify(metrics).incrementOrdersProcessed(1);
+        verify(metrics).incrementOrdersFailed(1);
+    }
+
     @Test
     @DisplayName("Should record metrics for successful processing")
     void shouldRecordMetrics() {
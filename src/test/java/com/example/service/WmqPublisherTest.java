@@ -0,0 +1,202 @@
+package com.example.service;
+
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.example.model.PublishOutcome;
+import com.example.service.OrderGroupingService.GroupingResult;
+import com.example.service.publishing.AsyncMqSender;
+import com.example.service.publishing.MessageSerializer;
+import com.example.service.publishing.MqProducerPool;
+import com.example.service.publishing.PublishRetryQueue;
+import com.example.service.publishing.PublishSettlement;
+import com.example.service.publishing.TransactedBatchSender;
+import com.example.service.publishing.TransactedBatchSender.BatchSendResult;
+import com.example.service.resilience.AdaptiveConcurrencyLimiter;
+import com.example.service.resilience.Bulkhead;
+import com.example.service.resilience.CircuitBreaker;
+import com.example.service.resilience.DependencyGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WmqPublisher failure handling.
+ *
+ * Tests verify:
+ * - A failed send is offered to the PublishRetryQueue and holds the settlement
+ *   until the retry queue settles it
+ * - Payloads the retry queue refuses are returned as failed orders
+ * - A failed grouped message part maps back to exactly the orders it carried
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WmqPublisherTest {
+
+    @Mock private JmsTemplate jmsTemplate;
+    @Mock private OrderGroupingService orderGroupingService;
+    @Mock private MessageSerializer messageSerializer;
+    @Mock private TransactedBatchSender batchSender;
+    @Mock private AsyncMqSender asyncSender;
+    @Mock private MqProducerPool producerPool;
+    @Mock private MqProducerPool.Lease lease;
+    @Mock private PublishRetryQueue retryQueue;
+    @Mock private Session session;
+    @Mock private MessageProducer producer;
+    @Mock private Message message;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger settled = new AtomicInteger();
+
+    private ExecutorService executor;
+    private WmqPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(producerPool.isAvailable()).thenReturn(true);
+        when(producerPool.isTransacted()).thenReturn(false);
+        when(producerPool.acquire()).thenReturn(lease);
+        when(lease.session()).thenReturn(session);
+        when(lease.producer()).thenReturn(producer);
+        when(messageSerializer.toMessage(eq(session), any())).thenReturn(message);
+        when(batchSender.isAvailable()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Failed send should be retry-queued and hold the settlement until it is settled")
+    void failedSendShouldHoldSettlementUntilRetrySettles() throws Exception {
+        // Given - ORD-2 fails to send, the retry queue accepts it
+        publisher = createPublisher("PER_MESSAGE");
+        List<ProcessedOrder> orders = List.of(createOrder("ORD-1"), createOrder("ORD-2"), createOrder("ORD-3"));
+        when(messageSerializer.toMessage(session, orders.get(1))).thenThrow(new JMSException("put failed"));
+        ArgumentCaptor<Runnable> onSettled = ArgumentCaptor.forClass(Runnable.class);
+        when(retryQueue.offer(any(), onSettled.capture())).thenReturn(true);
+        PublishSettlement settlement = new PublishSettlement(settled::incrementAndGet);
+
+        // When
+        PublishOutcome outcome = publisher.sendBatchWithoutGrouping(orders, executor, settlement);
+        settlement.release(); // the caller's hold
+
+        // Then - still held by the retry-queued message
+        assertThat(outcome.sentMessages()).isEqualTo(2);
+        assertThat(outcome.retryQueued()).isEqualTo(1);
+        assertThat(outcome.failedOrders()).isEmpty();
+        verify(retryQueue).offer(eq(orders.get(1)), any());
+        assertThat(settled.get()).isZero();
+
+        // When - the retry publishes it
+        onSettled.getValue().run();
+
+        // Then
+        assertThat(settled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Payloads refused by a full retry queue should be returned as failed orders")
+    void fullRetryQueueShouldReturnFailedOrders() throws Exception {
+        // Given
+        publisher = createPublisher("PER_MESSAGE");
+        List<ProcessedOrder> orders = List.of(createOrder("ORD-1"), createOrder("ORD-2"));
+        when(messageSerializer.toMessage(session, orders.get(1))).thenThrow(new JMSException("put failed"));
+        when(retryQueue.offer(any(), any())).thenReturn(false);
+        PublishSettlement settlement = new PublishSettlement(settled::incrementAndGet);
+
+        // When
+        PublishOutcome outcome = publisher.sendBatchWithoutGrouping(orders, executor, settlement);
+        settlement.release();
+
+        // Then - the refused message does not keep a hold
+        assertThat(outcome.sentMessages()).isEqualTo(1);
+        assertThat(outcome.retryQueued()).isZero();
+        assertThat(outcome.failedOrders()).extracting(ProcessedOrder::orderId).containsExactly("ORD-2");
+        assertThat(settled.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failed grouped part should map back to the orders it carried")
+    void failedGroupedPartShouldMapToItsOrders() {
+        // Given - one group split into two parts plus an individual order; part 2 fails
+        publisher = createPublisher("BATCHED");
+        List<ProcessedOrder> orders = List.of(createOrder("ORD-1"), createOrder("ORD-2"),
+                createOrder("ORD-3"), createOrder("ORD-4"), createOrder("ORD-5"));
+        GroupedOrderMessage part1 = createPart(orders.subList(0, 2), 1);
+        GroupedOrderMessage part2 = createPart(orders.subList(2, 4), 2);
+        when(orderGroupingService.groupOrders(orders))
+                .thenReturn(new GroupingResult(List.of(part1, part2), List.of(orders.get(4))));
+        when(batchSender.send(anyList(), eq(executor))).thenReturn(new BatchSendResult(2, List.of(part2), 1));
+        when(retryQueue.offer(any(), any())).thenReturn(false);
+
+        // When
+        PublishOutcome outcome = publisher.sendBatch(orders, executor, PublishSettlement.NONE);
+
+        // Then
+        assertThat(outcome.sentMessages()).isEqualTo(2);
+        assertThat(outcome.failedOrders()).extracting(ProcessedOrder::orderId)
+                .containsExactly("ORD-3", "ORD-4");
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private WmqPublisher createPublisher(String publishMode) {
+        WmqPublisher wmqPublisher = new WmqPublisher();
+        ReflectionTestUtils.setField(wmqPublisher, "jmsTemplate", jmsTemplate);
+        ReflectionTestUtils.setField(wmqPublisher, "orderGroupingService", orderGroupingService);
+        ReflectionTestUtils.setField(wmqPublisher, "messageSerializer", messageSerializer);
+        ReflectionTestUtils.setField(wmqPublisher, "batchSender", batchSender);
+        ReflectionTestUtils.setField(wmqPublisher, "asyncSender", asyncSender);
+        ReflectionTestUtils.setField(wmqPublisher, "producerPool", producerPool);
+        ReflectionTestUtils.setField(wmqPublisher, "retryQueue", retryQueue);
+        ReflectionTestUtils.setField(wmqPublisher, "publishLimiter",
+                new AdaptiveConcurrencyLimiter("test", 4, 1, 4, 0.5, 2.0, registry));
+        ReflectionTestUtils.setField(wmqPublisher, "mqGuard", new DependencyGuard("test",
+                new CircuitBreaker("test", 10, 4, 50, 0, 60_000, 1, registry),
+                new Bulkhead("test", 10, 0, registry), registry));
+        ReflectionTestUtils.setField(wmqPublisher, "wmqEnabled", true);
+        ReflectionTestUtils.setField(wmqPublisher, "queueName", "DEV.QUEUE.1");
+        ReflectionTestUtils.setField(wmqPublisher, "publishMode", publishMode);
+        wmqPublisher.init();
+        return wmqPublisher;
+    }
+
+    private static GroupedOrderMessage createPart(List<ProcessedOrder> orders, int sequenceNumber) {
+        return GroupedOrderMessage.create("GRP-1", "CUST-1", "CUSTOMER", orders,
+                new BigDecimal("20.00"), sequenceNumber, 2);
+    }
+
+    private static ProcessedOrder createOrder(String orderId) {
+        return new ProcessedOrder(orderId, "CUST-1", "Test Customer", "GOLD", new BigDecimal("10.00"),
+                "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.example.model.FailedOrder;
+import com.example.model.Order;
+import com.example.model.OrderEvent;
+import com.example.model.ProcessingResult;
+import com.example.service.DeadLetterPublisher;
+import com.example.service.OrderFetchService;
+import com.example.service.OrderProcessingOrchestrator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.MDC;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeadLetterReplayService.
+ *
+ * Tests verify:
+ * - Failures of the same partner/unit are merged (and deduplicated) per window
+ * - A resumed replay continues after the last checkpoint
+ * - Orders failing again are dead-lettered with the next attempt number
+ * - Whole-event failures re-fetch their orders
+ * - Replayed orders run on the replay's own executor and processing limit, tagged with their event type
+ * - Each replay group runs with its own traceId and eventId in the MDC
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DeadLetterReplayServiceTest {
+
+    @Mock private OrderProcessingOrchestrator orchestrator;
+    @Mock private OrderFetchService orderFetchService;
+    @Mock private DeadLetterPublisher deadLetterPublisher;
+
+    @TempDir Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private DeadLetterJournal journal;
+    private ExecutorService replayExecutor;
+    private ExecutorService replayWorkerExecutor;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        journal = new DeadLetterJournal(objectMapper, new SimpleMeterRegistry(), tempDir.resolve("dlq.jsonl").toString());
+        replayExecutor = Executors.newFixedThreadPool(2);
+        replayWorkerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        when(orchestrator.processOrders(anyList(), anyBoolean(), any(), any(ExecutorService.class), any(Semaphore.class)))
+                .thenAnswer(inv -> new ProcessingResult(List.of(), List.of(), 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        replayExecutor.shutdownNow();
+        replayWorkerExecutor.shutdownNow();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should merge failures of the same partner/unit into one processing call")
+    @SuppressWarnings("unchecked")
+    void shouldRegroupByPartnerAndUnit() throws Exception {
+        // Given
+        journal.append(batch("EVT-1", "ACME", "WEST", 1, "ORD-1", "ORD-2"));
+        journal.append(batch("EVT-2", "ACME", "EAST", 1, "ORD-9"));
+        journal.append(batch("EVT-3", "ACME", "WEST", 1, "ORD-2", "ORD-3"));
+        DeadLetterReplayService service = createService(10);
+
+        // When
+        service.replay(journalSource(), false);
+
+        // Then
+        ArgumentCaptor<List<Order>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orchestrator, times(2)).processOrders(captor.capture(), eq(false), any(), any(), any());
+        assertThat(captor.getAllValues())
+                .extracting(orders -> orders.stream().map(Order::id).toList())
+                .containsExactlyInAnyOrder(List.of("ORD-1", "ORD-2", "ORD-3"), List.of("ORD-9"));
+        assertThat(service.status().batches()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should resume after the last checkpoint")
+    void shouldResumeFromCheckpoint() throws Exception {
+        // Given - first run replays two batches
+        journal.append(batch("EVT-1", "ACME", "WEST", 1, "ORD-1"));
+        journal.append(batch("EVT-2", "ACME", "EAST", 1, "ORD-2"));
+        createService(1).replay(journalSource(), false);
+        journal.append(batch("EVT-3", "ACME", "NORTH", 1, "ORD-3"));
+        clearInvocations(orchestrator);
+
+        // When
+        DeadLetterReplayService resumed = createService(1);
+        resumed.replay(journalSource(), true);
+
+        // Then - only the new batch
+        verify(orchestrator, times(1)).processOrders(argThat(orders -> orders.getFirst().id().equals("ORD-3")),
+                eq(false), any(), any(), any());
+        assertThat(resumed.status().batches()).isEqualTo(1);
+        assertThat(resumed.status().positions()).containsKey(JournalReplaySource.POSITION_KEY);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter orders that fail again with the next attempt")
+    void shouldDeadLetterRepeatedFailures() throws Exception {
+        // Given
+        journal.append(batch("EVT-1", "ACME", "WEST", 2, "ORD-1"));
+        List<FailedOrder> failures = List.of(new FailedOrder(order("ORD-1"), "still failing", "PricingException"));
+        when(orchestrator.processOrders(anyList(), anyBoolean(), any(), any(ExecutorService.class), any(Semaphore.class)))
+                .thenReturn(new ProcessingResult(List.of(), failures, 1));
+
+        // When
+        DeadLetterReplayService service = createService(10);
+        service.replay(journalSource(), false);
+
+        // Then
+        verify(deadLetterPublisher).send(argThat(event -> event.tradingPartnerName().equals("ACME")), eq(failures), eq(3));
+        assertThat(service.status().ordersFailed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-fetch orders for whole-event failures")
+    void shouldRefetchEventFailures() throws Exception {
+        // Given
+        OrderEvent event = new OrderEvent("EVT-1", "BULK_ORDER", "ACME", "WEST");
+        journal.append(DeadLetterBatch.eventFailure(event, new IllegalStateException("Mongo down"), 3, "trace-1"));
+        when(orderFetchService.fetchOrdersForEvent(event)).thenReturn(List.of(order("ORD-1"), order("ORD-2")));
+
+        // When
+        createService(10).replay(journalSource(), false);
+
+        // Then - BULK_ORDER is a grouped event type
+        verify(orderFetchService).fetchOrdersForEvent(event);
+        verify(orchestrator).processOrders(argThat(orders -> orders.size() == 2), eq(true), eq("BULK_ORDER"),
+                any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay on the replay worker executor and limiter with the event type")
+    void shouldReplayOnOwnExecutorAndLimiter() throws Exception {
+        // Given
+        journal.append(batch("EVT-1", "ACME", "WEST", 1, "ORD-1"));
+
+        // When
+        createService(10).replay(journalSource(), false);
+
+        // Then - not the shared live-traffic executor and processing limit
+        ArgumentCaptor<Semaphore> limiter = ArgumentCaptor.forClass(Semaphore.class);
+        verify(orchestrator).processOrders(anyList(), eq(false), eq("SINGLE_ORDER"),
+                same(replayWorkerExecutor), limiter.capture());
+        assertThat(limiter.getValue().availablePermits()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should run each replay group with a traceId and eventId in the MDC")
+    void shouldSetTraceContextPerGroup() throws Exception {
+        // Given - two partners, so two groups
+        journal.append(batch("EVT-1", "ACME", "WEST", 1, "ORD-1"));
+        journal.append(batch("EVT-2", "GLOBEX", "EAST", 1, "ORD-2"));
+        Map<String, String> traceByEvent = new ConcurrentHashMap<>();
+        when(orchestrator.processOrders(anyList(), anyBoolean(), any(), any(ExecutorService.class), any(Semaphore.class)))
+                .thenAnswer(inv -> {
+                    traceByEvent.put(MDC.get("eventId"), MDC.get("traceId"));
+                    return new ProcessingResult(List.of(), List.of(), 1);
+                });
+
+        // When
+        createService(10).replay(journalSource(), false);
+
+        // Then - one fresh trace per group
+        assertThat(traceByEvent).containsOnlyKeys("replay-EVT-1", "replay-EVT-2");
+        assertThat(traceByEvent.values()).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private DeadLetterReplayService createService(int windowBatches) {
+        return new DeadLetterReplayService(orchestrator, orderFetchService, deadLetterPublisher, journal,
+                objectMapper, new SimpleMeterRegistry(), replayExecutor, replayWorkerExecutor, "localhost:9092",
+                "order-events-dlq", tempDir.resolve("checkpoints").toString(), windowBatches, 0, 4);
+    }
+
+    private JournalReplaySource journalSource() {
+        return new JournalReplaySource(journal.path(), objectMapper.readerFor(DeadLetterBatch.class));
+    }
+
+    private DeadLetterBatch batch(String eventId, String partner, String unit, int attempt, String... orderIds) {
+        OrderEvent event = new OrderEvent(eventId, "SINGLE_ORDER", partner, unit);
+        List<FailedOrder> failures = Arrays.stream(orderIds)
+                .map(id -> new FailedOrder(order(id), "failed", "RuntimeException"))
+                .toList();
+        return DeadLetterBatch.of(event, failures, attempt, "trace-1");
+    }
+
+    private Order order(String id) {
+        return new Order(id, "CUST-001", "PENDING", new BigDecimal("10.00"), LocalDateTime.now());
+    }
+}
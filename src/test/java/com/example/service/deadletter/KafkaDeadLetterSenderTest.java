@@ -0,0 +1,191 @@
+package com.example.service.deadletter;
+
+import com.example.model.DeadLetterBatch;
+import com.example.model.FailedOrder;
+import com.example.model.Order;
+import com.example.model.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaDeadLetterSender.
+ *
+ * Tests verify:
+ * - One record per event batch, keyed by partner|unit, with trace/exception/attempt headers
+ * - Batches Kafka rejects are written to the local journal
+ * - The caller is never blocked by a slow send
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class KafkaDeadLetterSenderTest {
+
+    private static final String TOPIC = "order-events-dlq";
+
+    @Mock private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @TempDir Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private DeadLetterJournal journal;
+    private KafkaDeadLetterSender sender;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        journal = new DeadLetterJournal(objectMapper, new SimpleMeterRegistry(),
+                tempDir.resolve("dlq/journal.jsonl").toString());
+        sender = new KafkaDeadLetterSender(kafkaTemplate, objectMapper, journal, new SimpleMeterRegistry(), TOPIC, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should publish one record per batch with key and headers")
+    @SuppressWarnings("unchecked")
+    void shouldPublishBatchWithHeaders() throws Exception {
+        // Given
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(inv -> acknowledged(inv.getArgument(0)));
+        DeadLetterBatch batch = createBatch();
+
+        // When
+        sender.send(batch);
+
+        // Then
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, timeout(5_000)).send(captor.capture());
+        ProducerRecord<String, byte[]> record = captor.getValue();
+        assertThat(record.topic()).isEqualTo(TOPIC);
+        assertThat(record.key()).isEqualTo("ACME|WEST");
+        assertThat(header(record, KafkaDeadLetterSender.HEADER_TRACE_ID)).isEqualTo("trace-123");
+        assertThat(header(record, KafkaDeadLetterSender.HEADER_EXCEPTION_TYPE)).isEqualTo("PricingException,TimeoutException");
+        assertThat(header(record, KafkaDeadLetterSender.HEADER_ATTEMPT)).isEqualTo("2");
+        assertThat(header(record, KafkaDeadLetterSender.HEADER_FAILURE_COUNT)).isEqualTo("3");
+        assertThat(objectMapper.readValue(record.value(), DeadLetterBatch.class).failures()).hasSize(3);
+        awaitUntil(() -> sender.pendingCount() == 0);
+        assertThat(Files.exists(journal.path())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should write batch to journal when Kafka send fails")
+    @SuppressWarnings("unchecked")
+    void shouldJournalOnSendFailure() throws Exception {
+        // Given
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        // When
+        sender.send(createBatch());
+
+        // Then
+        awaitUntil(() -> journalLines().size() == 1);
+        assertThat(journalLines().getFirst()).contains("\"eventId\":\"EVT-001\"", "ORD-002");
+        assertThat(sender.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not block the caller while Kafka send is blocked")
+    @SuppressWarnings("unchecked")
+    void shouldNotBlockCaller() throws Exception {
+        // Given - send blocks (e.g. waiting on metadata)
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            release.join();
+            return acknowledged(inv.getArgument(0));
+        });
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 12; i++) {
+            sender.send(createBatch());
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then - 10 pending, the 2 beyond max-pending went to the journal
+        assertThat(elapsedMs).isLessThan(1_000);
+        awaitUntil(() -> journalLines().size() == 2);
+        release.complete(null);
+        awaitUntil(() -> sender.pendingCount() == 0);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private DeadLetterBatch createBatch() {
+        OrderEvent event = new OrderEvent("EVT-001", "BULK_ORDER", "ACME", "WEST");
+        List<FailedOrder> failures = List.of(
+                failure("ORD-001", "PricingException"),
+                failure("ORD-002", "TimeoutException"),
+                failure("ORD-003", "PricingException"));
+        return DeadLetterBatch.of(event, failures, 2, "trace-123");
+    }
+
+    private FailedOrder failure(String orderId, String exceptionType) {
+        Order order = new Order(orderId, "CUST-001", "PENDING", new BigDecimal("10.00"), LocalDateTime.now());
+        return new FailedOrder(order, "failed", exceptionType);
+    }
+
+    private static CompletableFuture<SendResult<String, byte[]>> acknowledged(ProducerRecord<String, byte[]> record) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), 0L, 0, 0L, 0, 0);
+        return CompletableFuture.completedFuture(new SendResult<>(record, metadata));
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String key) {
+        return new String(record.headers().lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+
+    private List<String> journalLines() {
+        try {
+            return Files.exists(journal.path()) ? Files.readAllLines(journal.path()) : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.service.flight;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FlightRecorderService and the pipeline JFR events.
+ *
+ * Tests verify:
+ * - Stage events carry event id, partner, unit (from MDC) and order count
+ * - dump() writes a readable .jfr file
+ * - dump() is rejected when recording is disabled
+ */
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private FlightRecorderService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should record stage events with event context and dump them")
+    void shouldRecordAndDumpStageEvents() throws Exception {
+        // Given
+        service = new FlightRecorderService(true, "default", 5, 16, 0, dumpDir.toString());
+        service.start();
+        MDC.put(PipelineStageEvent.EVENT_ID, "EVT-1");
+        MDC.put(PipelineStageEvent.TRADING_PARTNER, "PARTNER-A");
+        MDC.put(PipelineStageEvent.BUSINESS_UNIT, "UNIT-1");
+
+        // When
+        MongoFetchEvent event = new MongoFetchEvent();
+        event.begin();
+        event.finish(42);
+        Path file = service.dump();
+
+        // Then
+        assertThat(file).exists().hasParent(dumpDir);
+        List<RecordedEvent> fetches = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.example.pipeline.MongoFetch"))
+                .toList();
+        assertThat(fetches).hasSize(1);
+        RecordedEvent recorded = fetches.getFirst();
+        assertThat(recorded.getString("eventId")).isEqualTo("EVT-1");
+        assertThat(recorded.getString("tradingPartner")).isEqualTo("PARTNER-A");
+        assertThat(recorded.getString("businessUnit")).isEqualTo("UNIT-1");
+        assertThat(recorded.getInt("orderCount")).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Should reject dump when recording is disabled")
+    void shouldRejectDumpWhenDisabled() {
+        // Given
+        service = new FlightRecorderService(false, "default", 5, 16, 0, dumpDir.toString());
+        service.start();
+
+        // When / Then
+        assertThatThrownBy(service::dump).isInstanceOf(IllegalStateException.class);
+        assertThat(service.status()).containsEntry("state", "NOT_STARTED");
+    }
+}
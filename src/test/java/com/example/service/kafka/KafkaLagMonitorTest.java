@@ -0,0 +1,124 @@
+package com.example.service.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.Message;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for KafkaLagMonitor (offset samples applied directly, no broker).
+ *
+ * Tests verify:
+ * - Lag per partition and in total from committed vs end offsets
+ * - Consume/produce rates and the time-to-drain estimate
+ * - Poll → process delay from the interceptor header
+ * - Per-partition process rate of this instance
+ */
+class KafkaLagMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private KafkaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new KafkaLagMonitor(registry, "order-events", "group", "localhost:9092", false, 10_000, 1_000);
+    }
+
+    @Test
+    @DisplayName("Should compute lag per partition and in total")
+    void shouldComputeLag() {
+        // When
+        monitor.update(Map.of(0, 100L, 1, 40L), Map.of(0, 150L, 1, 40L), 1_000);
+
+        // Then
+        assertThat(registry.get("kafka.consumer.lag").tag("partition", "0").gauge().value()).isEqualTo(50.0);
+        assertThat(registry.get("kafka.consumer.lag").tag("partition", "1").gauge().value()).isZero();
+        assertThat(registry.get("kafka.consumer.lag.total").gauge().value()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should estimate time to drain from consume and produce rates")
+    void shouldEstimateDrainTime() {
+        // Given - 1000 behind
+        monitor.update(Map.of(0, 0L), Map.of(0, 1_000L), 1_000);
+
+        // When - 10s later: consumed 1000, produced 500 → lag 500, net 50/s (smoothed 15/s)
+        monitor.update(Map.of(0, 1_000L), Map.of(0, 1_500L), 11_000);
+
+        // Then
+        double consumeRate = registry.get("kafka.consumer.consume.rate").tag("partition", "0").gauge().value();
+        assertThat(consumeRate).isCloseTo(KafkaLagMonitor.RATE_SMOOTHING * 100, within(0.001));
+        double netRate = KafkaLagMonitor.RATE_SMOOTHING * 50;
+        assertThat(monitor.drainSeconds()).isCloseTo(500 / netRate, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should report -1 when the lag is not shrinking and 0 when caught up")
+    void shouldReportNotDraining() {
+        // Given / When - producer outpaces consumer
+        monitor.update(Map.of(0, 0L), Map.of(0, 100L), 1_000);
+        monitor.update(Map.of(0, 10L), Map.of(0, 300L), 2_000);
+
+        // Then
+        assertThat(monitor.drainSeconds()).isEqualTo(-1.0);
+
+        // When - caught up
+        monitor.update(Map.of(0, 300L), Map.of(0, 300L), 3_000);
+
+        // Then
+        assertThat(monitor.drainSeconds()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record poll to process delay from the interceptor header")
+    void shouldRecordPollToProcess() {
+        // Given
+        Message message = mock(Message.class);
+        when(message.getHeader(PollTimestampInterceptor.HEADER))
+                .thenReturn(PollTimestampInterceptor.encode(System.currentTimeMillis() - 200));
+        when(message.getHeader(KafkaConstants.TIMESTAMP, Long.class)).thenReturn(System.currentTimeMillis() - 1_000);
+
+        // When
+        monitor.onRecordStart(message);
+
+        // Then
+        assertThat(registry.get("kafka.consumer.poll.to.process").timer().max(TimeUnit.MILLISECONDS))
+                .isBetween(200.0, 2_000.0);
+        assertThat(registry.get("kafka.consumer.record.age").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should compute process rate per partition")
+    void shouldComputeProcessRate() {
+        // Given
+        Message message = mock(Message.class);
+        when(message.getHeader(KafkaConstants.PARTITION, Integer.class)).thenReturn(2);
+        monitor.onRecordProcessed(message);
+        monitor.sampleProcessRates(1_000);
+
+        // When - 20 more records in 2s
+        for (int i = 0; i < 20; i++) {
+            monitor.onRecordProcessed(message);
+        }
+        monitor.sampleProcessRates(3_000);
+
+        // Then
+        assertThat(registry.get("kafka.consumer.process.rate").tag("partition", "2").gauge().value())
+                .isCloseTo(KafkaLagMonitor.RATE_SMOOTHING * 10, within(0.001));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> partitions = (List<Map<String, Object>>) monitor.snapshot().get("partitions");
+        assertThat(partitions).singleElement().satisfies(p -> assertThat(p.get("processed")).isEqualTo(21L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.service.latency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LatencyRecorder.
+ *
+ * Tests verify:
+ * - Recorded values show up in the interval and cumulative views after a merge
+ * - Interval view only covers the last interval, cumulative keeps accumulating
+ * - Concurrent writers from many threads lose no samples
+ * - Distribution output and reset
+ */
+class LatencyRecorderTest {
+
+    private LatencyRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        // Long interval - tests merge explicitly
+        recorder = new LatencyRecorder(3_600_000, 60_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report recorded values after merge")
+    void shouldReportAfterMerge() {
+        // Given
+        LatencyRecorder.Stage stage = recorder.stage("test");
+        for (int i = 1; i <= 100; i++) {
+            stage.record(TimeUnit.MICROSECONDS.toNanos(i * 10L));
+        }
+
+        // When
+        recorder.mergeIntervals();
+
+        // Then
+        Map<String, Object> interval = view("test", "interval");
+        assertThat(interval.get("count")).isEqualTo(100L);
+        assertThat((double) interval.get("p50Us")).isBetween(490.0, 510.0);
+        assertThat((double) interval.get("maxUs")).isBetween(990.0, 1010.0);
+    }
+
+    @Test
+    @DisplayName("Interval view should roll while cumulative view accumulates")
+    void shouldRollIntervalAndAccumulate() {
+        // Given
+        LatencyRecorder.Stage stage = recorder.stage("test");
+        stage.record(1_000_000);
+        recorder.mergeIntervals();
+
+        // When
+        stage.record(2_000_000);
+        stage.record(3_000_000);
+        recorder.mergeIntervals();
+
+        // Then
+        assertThat(view("test", "interval").get("count")).isEqualTo(2L);
+        assertThat(view("test", "cumulative").get("count")).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should not lose samples from concurrent writers")
+    void shouldHandleConcurrentWriters() throws Exception {
+        // Given
+        LatencyRecorder.Stage stage = recorder.stage("test");
+        int threads = 16;
+        int perThread = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // When - merge while writers are running
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        stage.recordSince(System.nanoTime() - 5_000);
+                    }
+                    done.countDown();
+                });
+            }
+            recorder.mergeIntervals();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+        recorder.mergeIntervals();
+
+        // Then
+        assertThat(view("test", "cumulative").get("count")).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    @DisplayName("Should output distribution and reset cumulative view")
+    void shouldOutputDistributionAndReset() {
+        // Given
+        recorder.stage("test").record(1_500_000);
+        recorder.mergeIntervals();
+
+        // When / Then
+        assertThat(recorder.distribution("test", true)).contains("Value").contains("Percentile");
+        assertThat(recorder.distribution("unknown", true)).isNull();
+
+        recorder.reset();
+        assertThat(view("test", "cumulative").get("count")).isEqualTo(0L);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> view(String stage, String name) {
+        Map<String, Object> summary = (Map<String, Object>) recorder.snapshot().get(stage);
+        return (Map<String, Object>) summary.get(name);
+    }
+}
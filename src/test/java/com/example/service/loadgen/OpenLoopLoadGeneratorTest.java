@@ -0,0 +1,153 @@
+package com.example.service.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the open-loop load generator's arrival schedule and step evaluation.
+ *
+ * Tests verify:
+ * - FIXED arrivals are evenly spaced; POISSON arrivals average 1/rate and vary
+ * - Latency is measured from the intended send time
+ * - A step is saturated when it does not drain, falls behind the offered rate,
+ *   or misses the p99 SLO
+ */
+class OpenLoopLoadGeneratorTest {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("FIXED arrivals should be exactly 1/rate apart")
+    void fixedArrivalsShouldBeEvenlySpaced() {
+        // When / Then
+        assertThat(ArrivalProcess.FIXED.nextIntervalNanos(100, new SplittableRandom(1)))
+                .isEqualTo(SECOND_NANOS / 100);
+    }
+
+    @Test
+    @DisplayName("POISSON arrivals should average 1/rate with varying gaps")
+    void poissonArrivalsShouldAverageRate() {
+        // Given
+        SplittableRandom random = new SplittableRandom(42);
+        int samples = 100_000;
+        long total = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+
+        // When
+        for (int i = 0; i < samples; i++) {
+            long gap = ArrivalProcess.POISSON.nextIntervalNanos(100, random);
+            total += gap;
+            min = Math.min(min, gap);
+            max = Math.max(max, gap);
+        }
+
+        // Then - exponential: mean 10ms, gaps well below and above it
+        assertThat((double) total / samples).isCloseTo(SECOND_NANOS / 100.0, within(SECOND_NANOS / 100.0 * 0.02));
+        assertThat(min).isLessThan(SECOND_NANOS / 1000);
+        assertThat(max).isGreaterThan(SECOND_NANOS / 20);
+    }
+
+    @Test
+    @DisplayName("Should not mark a drained step at the offered rate as saturated")
+    void shouldAcceptStepThatKeepsUp() {
+        // Given - 100 events/s for 10s, all completed within 50ms of their intended time
+        OpenLoopLoadGenerator.Step step = stepWithCompletions(100, 1000, 10_050, 50);
+
+        // When
+        step.finish(0.05, 1000);
+
+        // Then
+        assertThat(step.saturated()).isFalse();
+        assertThat(step.p99Ms()).isEqualTo(50);
+        assertThat(step.achievedRate()).isCloseTo(99.5, within(0.1));
+    }
+
+    @Test
+    @DisplayName("Should mark a step saturated when events are still outstanding")
+    void shouldSaturateWhenNotDrained() {
+        // Given
+        OpenLoopLoadGenerator.Step step = stepWithCompletions(100, 1000, 10_050, 50);
+        step.sent.addAndGet(10);
+
+        // When
+        step.finish(0.05, 1000);
+
+        // Then
+        assertThat(step.drained()).isFalse();
+        assertThat(step.saturated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark a step saturated when completions fall behind the offered rate")
+    void shouldSaturateWhenBehindOfferedRate() {
+        // Given - 1000 events took 20s to complete at an offered 100/s
+        OpenLoopLoadGenerator.Step step = stepWithCompletions(100, 1000, 20_000, 50);
+
+        // When
+        step.finish(0.05, 60_000);
+
+        // Then
+        assertThat(step.saturated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark a step saturated when p99 misses the SLO")
+    void shouldSaturateWhenP99MissesSlo() {
+        // Given
+        OpenLoopLoadGenerator.Step step = stepWithCompletions(100, 1000, 10_050, 1500);
+
+        // When
+        step.finish(0.05, 1000);
+
+        // Then
+        assertThat(step.p99Ms()).isGreaterThan(1000);
+        assertThat(step.saturated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report latency from the intended send time and count failures")
+    void shouldMeasureFromIntendedTime() {
+        // Given
+        OpenLoopLoadGenerator.Step step = new OpenLoopLoadGenerator.Step(0, 10);
+        step.startMillis = 0;
+        step.sent.addAndGet(2);
+
+        // When - intended at 100, completed at 2100 (sent late or queued: both count)
+        step.complete(100L, 2_100, false);
+        step.complete(200L, 2_200, true);
+        step.finish(0.05, 10_000);
+
+        // Then
+        assertThat(step.p99Ms()).isEqualTo(2000);
+        assertThat(step.failed.get()).isEqualTo(1);
+        assertThat(step.summary()).containsEntry("completed", 2L).containsEntry("drained", true);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Step that sent count events evenly from t=0 and completed them latencyMs later,
+     * stretched so the last one completes at lastCompletionMillis.
+     */
+    private OpenLoopLoadGenerator.Step stepWithCompletions(int rate, int count, long lastCompletionMillis,
+                                                           long latencyMs) {
+        OpenLoopLoadGenerator.Step step = new OpenLoopLoadGenerator.Step(0, rate);
+        step.startMillis = 0;
+        step.endMillis = count * 1000L / rate;
+        for (int i = 0; i < count; i++) {
+            long completedAt = (i + 1) * lastCompletionMillis / count;
+            step.sent.incrementAndGet();
+            step.complete(completedAt - latencyMs, completedAt, false);
+        }
+        return step;
+    }
+}
@@ -6,25 +6,34 @@ import com.example.model.InventoryData;
 import com.example.model.PricingData;
 import com.example.repository.OrderRepository;
 import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -35,6 +44,7 @@ import static org.mockito.Mockito.*;
  * - Queries run in parallel (not sequentially)
  * - Results are correctly assembled into ProcessingContext
  * - Executor is properly utilized
+ * - Every chunk query is a PreloadChunkEvent, failed ones included
  */
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -59,11 +69,11 @@ class DataPreloadServiceTest {
         // Given
         List<String> orderIds = List.of("ORD-001", "ORD-002");
         
-        when(orderRepository.batchFetchCustomerData(orderIds))
+        when(orderRepository.batchFetchCustomerData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createCustomerData("CUST-001")));
-        when(orderRepository.batchFetchInventoryData(orderIds))
+        when(orderRepository.batchFetchInventoryData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createInventoryData("ORD-001")));
-        when(orderRepository.batchFetchPricingData(orderIds))
+        when(orderRepository.batchFetchPricingData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createPricingData("ORD-001")));
 
         // When
@@ -77,9 +87,9 @@ class DataPreloadServiceTest {
         }
 
         // Verify all queries were called
-        verify(orderRepository).batchFetchCustomerData(orderIds);
-        verify(orderRepository).batchFetchInventoryData(orderIds);
-        verify(orderRepository).batchFetchPricingData(orderIds);
+        verify(orderRepository).batchFetchCustomerData(eq(orderIds), any());
+        verify(orderRepository).batchFetchInventoryData(eq(orderIds), any());
+        verify(orderRepository).batchFetchPricingData(eq(orderIds), any());
     }
 
     @Test
@@ -92,17 +102,17 @@ class DataPreloadServiceTest {
         CountDownLatch canProceed = new CountDownLatch(1);
         
         // Each mock waits until all 3 have started (proves parallelism)
-        when(orderRepository.batchFetchCustomerData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchCustomerData(anyList(), any())).thenAnswer(inv -> {
             allStarted.countDown();
             canProceed.await(); // Wait for signal
             return Map.of("ORD-001", createCustomerData("CUST-001"));
         });
-        when(orderRepository.batchFetchInventoryData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchInventoryData(anyList(), any())).thenAnswer(inv -> {
             allStarted.countDown();
             canProceed.await();
             return Map.of("ORD-001", createInventoryData("ORD-001"));
         });
-        when(orderRepository.batchFetchPricingData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchPricingData(anyList(), any())).thenAnswer(inv -> {
             allStarted.countDown();
             canProceed.await();
             return Map.of("ORD-001", createPricingData("ORD-001"));
@@ -154,18 +164,18 @@ class DataPreloadServiceTest {
         // Given
         List<String> orderIds = List.of("ORD-001");
         
-        when(orderRepository.batchFetchCustomerData(anyList())).thenReturn(Map.of());
-        when(orderRepository.batchFetchInventoryData(anyList())).thenReturn(Map.of());
-        when(orderRepository.batchFetchPricingData(anyList())).thenReturn(Map.of());
+        when(orderRepository.batchFetchCustomerData(anyList(), any())).thenReturn(Map.of());
+        when(orderRepository.batchFetchInventoryData(anyList(), any())).thenReturn(Map.of());
+        when(orderRepository.batchFetchPricingData(anyList(), any())).thenReturn(Map.of());
 
         // When
         try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
             ProcessingContext context = preloadService.preloadData(orderIds, executor);
 
             // Then - all 3 queries should have been called
-            verify(orderRepository).batchFetchCustomerData(orderIds);
-            verify(orderRepository).batchFetchInventoryData(orderIds);
-            verify(orderRepository).batchFetchPricingData(orderIds);
+            verify(orderRepository).batchFetchCustomerData(eq(orderIds), any());
+            verify(orderRepository).batchFetchInventoryData(eq(orderIds), any());
+            verify(orderRepository).batchFetchPricingData(eq(orderIds), any());
             
             // Context should be built correctly
             assertThat(context).isNotNull();
@@ -180,11 +190,11 @@ class DataPreloadServiceTest {
         CustomerData customer1 = createCustomerData("CUST-001");
         CustomerData customer2 = createCustomerData("CUST-002");
         
-        when(orderRepository.batchFetchCustomerData(orderIds))
+        when(orderRepository.batchFetchCustomerData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", customer1, "ORD-002", customer2));
-        when(orderRepository.batchFetchInventoryData(orderIds))
+        when(orderRepository.batchFetchInventoryData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createInventoryData("ORD-001"), "ORD-002", createInventoryData("ORD-002")));
-        when(orderRepository.batchFetchPricingData(orderIds))
+        when(orderRepository.batchFetchPricingData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createPricingData("ORD-001"), "ORD-002", createPricingData("ORD-002")));
 
         // When
@@ -209,21 +219,21 @@ class DataPreloadServiceTest {
                                          "ORD-005", "ORD-006", "ORD-007");
         
         // Mock returns data for any list of IDs
-        when(orderRepository.batchFetchCustomerData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchCustomerData(anyList(), any())).thenAnswer(inv -> {
             List<String> ids = inv.getArgument(0);
             return ids.stream().collect(java.util.stream.Collectors.toMap(
                     id -> id,
                     id -> createCustomerData("CUST-" + id.substring(4))
             ));
         });
-        when(orderRepository.batchFetchInventoryData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchInventoryData(anyList(), any())).thenAnswer(inv -> {
             List<String> ids = inv.getArgument(0);
             return ids.stream().collect(java.util.stream.Collectors.toMap(
                     id -> id,
                     id -> createInventoryData(id)
             ));
         });
-        when(orderRepository.batchFetchPricingData(anyList())).thenAnswer(inv -> {
+        when(orderRepository.batchFetchPricingData(anyList(), any())).thenAnswer(inv -> {
             List<String> ids = inv.getArgument(0);
             return ids.stream().collect(java.util.stream.Collectors.toMap(
                     id -> id,
@@ -242,9 +252,9 @@ class DataPreloadServiceTest {
             
             // Verify chunking occurred - should be called 3 times per data type
             // (chunks: [1,2,3], [4,5,6], [7])
-            verify(orderRepository, times(3)).batchFetchCustomerData(anyList());
-            verify(orderRepository, times(3)).batchFetchInventoryData(anyList());
-            verify(orderRepository, times(3)).batchFetchPricingData(anyList());
+            verify(orderRepository, times(3)).batchFetchCustomerData(anyList(), any());
+            verify(orderRepository, times(3)).batchFetchInventoryData(anyList(), any());
+            verify(orderRepository, times(3)).batchFetchPricingData(anyList(), any());
         }
     }
 
@@ -257,11 +267,11 @@ class DataPreloadServiceTest {
         
         List<String> orderIds = List.of("ORD-001", "ORD-002", "ORD-003");
         
-        when(orderRepository.batchFetchCustomerData(orderIds))
+        when(orderRepository.batchFetchCustomerData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createCustomerData("CUST-001")));
-        when(orderRepository.batchFetchInventoryData(orderIds))
+        when(orderRepository.batchFetchInventoryData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createInventoryData("ORD-001")));
-        when(orderRepository.batchFetchPricingData(orderIds))
+        when(orderRepository.batchFetchPricingData(eq(orderIds), any()))
                 .thenReturn(Map.of("ORD-001", createPricingData("ORD-001")));
 
         // When
@@ -269,12 +279,47 @@ class DataPreloadServiceTest {
             ProcessingContext context = preloadService.preloadData(orderIds, executor);
 
             // Then - should be called exactly once per data type (no chunking)
-            verify(orderRepository, times(1)).batchFetchCustomerData(orderIds);
-            verify(orderRepository, times(1)).batchFetchInventoryData(orderIds);
-            verify(orderRepository, times(1)).batchFetchPricingData(orderIds);
+            verify(orderRepository, times(1)).batchFetchCustomerData(eq(orderIds), any());
+            verify(orderRepository, times(1)).batchFetchInventoryData(eq(orderIds), any());
+            verify(orderRepository, times(1)).batchFetchPricingData(eq(orderIds), any());
         }
     }
 
+    @Test
+    @DisplayName("Should record a PreloadChunkEvent for a failed chunk query")
+    void shouldRecordFailedChunkEvent(@TempDir Path dumpDir) throws Exception {
+        // Given - the pricing query fails
+        List<String> orderIds = List.of("ORD-001");
+        when(orderRepository.batchFetchCustomerData(anyList(), any()))
+                .thenReturn(Map.of("ORD-001", createCustomerData("CUST-001")));
+        when(orderRepository.batchFetchInventoryData(anyList(), any()))
+                .thenReturn(Map.of("ORD-001", createInventoryData("ORD-001")));
+        when(orderRepository.batchFetchPricingData(anyList(), any()))
+                .thenThrow(new IllegalStateException("pricing query failed"));
+        Path file = dumpDir.resolve("preload.jfr");
+
+        // When
+        try (Recording recording = new Recording();
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("com.example.pipeline.PreloadChunk");
+            recording.start();
+            assertThatThrownBy(() -> preloadService.preloadData(orderIds, executor))
+                    .isInstanceOf(CompletionException.class)
+                    .hasRootCauseMessage("pricing query failed");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then - one event per data type, only pricing marked failed
+        List<RecordedEvent> chunks = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.example.pipeline.PreloadChunk"))
+                .toList();
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks).filteredOn(recorded -> recorded.getBoolean("failed"))
+                .extracting(recorded -> recorded.getString("dataType"))
+                .containsExactly("pricing");
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // Helper Methods
     // ═══════════════════════════════════════════════════════════════
@@ -0,0 +1,177 @@
+package com.example.service.publishing;
+
+import com.example.service.publishing.AsyncMqSender.AsyncSendResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncMqSender.
+ *
+ * Tests verify:
+ * - Success/fail counts come from completion callbacks
+ * - Unconfirmed sends are reported as failed after the timeout
+ * - The in-flight window is fully returned after a call, even when callbacks never fire
+ * - A send that cannot get a window slot in time is failed
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsyncMqSenderTest {
+
+    @Mock private MqProducerPool producerPool;
+    @Mock private MqProducerPool.Lease lease;
+    @Mock private MessageSerializer messageSerializer;
+    @Mock private Session session;
+    @Mock private MessageProducer producer;
+    @Mock private Message message;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(producerPool.isAvailable()).thenReturn(true);
+        when(producerPool.size()).thenReturn(4);
+        when(producerPool.queueName()).thenReturn("DEV.QUEUE.1");
+        when(producerPool.acquire()).thenReturn(lease);
+        when(lease.session()).thenReturn(session);
+        when(lease.producer()).thenReturn(producer);
+        when(messageSerializer.toMessage(eq(session), any())).thenReturn(message);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should count successes and failures from completion callbacks")
+    void shouldCountCompletions() throws Exception {
+        // Given - payload "bad-*" completes with an exception
+        doAnswer(inv -> {
+            CompletionListener listener = inv.getArgument(1);
+            listener.onCompletion(message);
+            return null;
+        }).when(producer).send(eq(message), any(CompletionListener.class));
+        when(messageSerializer.toMessage(session, "bad-1")).thenThrow(new JMSException("put failed"));
+        AsyncMqSender sender = createSender(30_000);
+
+        // When
+        AsyncSendResult result = sender.send(List.of("ok-1", "bad-1", "ok-2", "ok-3"), executor);
+
+        // Then
+        assertThat(result.sentCount()).isEqualTo(3);
+        assertThat(result.failedPayloads()).containsExactly("bad-1");
+        assertThat(sender.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report unconfirmed sends as failed after the completion timeout")
+    void shouldFailUnconfirmedSends() throws Exception {
+        // Given - MQ never confirms
+        doNothing().when(producer).send(eq(message), any(CompletionListener.class));
+        AsyncMqSender sender = createSender(50);
+
+        // When
+        AsyncSendResult result = sender.send(List.of("a", "b"), executor);
+
+        // Then
+        assertThat(result.sentCount()).isZero();
+        assertThat(result.failedPayloads()).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    @DisplayName("Should return the window when a completion callback never fires")
+    void shouldReleaseWindowForExpiredSends() throws Exception {
+        // Given - MQ never confirms the first call's sends
+        doNothing().when(producer).send(eq(message), any(CompletionListener.class));
+        AsyncMqSender sender = new AsyncMqSender(producerPool, messageSerializer, new SimpleMeterRegistry(),
+                2, 2, 50, 1_000);
+
+        // When
+        AsyncSendResult expired = sender.send(List.of("a", "b"), executor);
+
+        // Then - both permits are back, so the next call gets the full window
+        assertThat(expired.failedPayloads()).containsExactlyInAnyOrder("a", "b");
+        assertThat(sender.inFlight()).isZero();
+
+        doAnswer(inv -> {
+            CompletionListener listener = inv.getArgument(1);
+            listener.onCompletion(message);
+            return null;
+        }).when(producer).send(eq(message), any(CompletionListener.class));
+        AsyncSendResult next = sender.send(List.of("c", "d"), executor);
+
+        assertThat(next.sentCount()).isEqualTo(2);
+        assertThat(sender.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail a send that cannot get a window slot in time")
+    void shouldFailSendWhenWindowTimesOut() throws Exception {
+        // Given - window of 1 and MQ never confirms, so the second send cannot get a slot
+        doNothing().when(producer).send(eq(message), any(CompletionListener.class));
+        AsyncMqSender sender = new AsyncMqSender(producerPool, messageSerializer, new SimpleMeterRegistry(),
+                1, 1, 200, 50);
+
+        // When
+        AsyncSendResult result = sender.send(List.of("a", "b", "c"), executor);
+
+        // Then - only "a" was put; "b" and "c" failed without being sent
+        assertThat(result.sentCount()).isZero();
+        assertThat(result.failedPayloads()).containsExactlyInAnyOrder("a", "b", "c");
+        verify(producer, times(1)).send(eq(message), any(CompletionListener.class));
+        assertThat(sender.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep many sends in flight without a thread per send")
+    void shouldSendManyPayloadsOnFewSessions() throws Exception {
+        // Given
+        doAnswer(inv -> {
+            CompletionListener listener = inv.getArgument(1);
+            executor.execute(() -> listener.onCompletion(message));
+            return null;
+        }).when(producer).send(eq(message), any(CompletionListener.class));
+        AsyncMqSender sender = createSender(30_000);
+        List<String> payloads = IntStream.range(0, 1_000).mapToObj(i -> "p-" + i).toList();
+
+        // When
+        AsyncSendResult result = sender.send(payloads, executor);
+
+        // Then - 2 sessions (workers), 1,000 sends
+        assertThat(result.sentCount()).isEqualTo(1_000);
+        assertThat(result.failedPayloads()).isEmpty();
+        verify(producerPool, times(2)).acquire();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private AsyncMqSender createSender(long completionTimeoutMs) {
+        return new AsyncMqSender(producerPool, messageSerializer, new SimpleMeterRegistry(),
+                100, 2, completionTimeoutMs, 30_000);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.service.publishing;
+
+import com.example.config.JacksonConfig;
+import com.example.model.GroupedOrderMessage;
+import com.example.model.ProcessedOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageSerializer and PooledByteBuffer.
+ *
+ * Tests verify:
+ * - Pooled bytes are identical to ObjectMapper.writeValueAsBytes
+ * - Released buffers are reused by the next serialization
+ * - Buffers grown beyond max-retained-buffer-bytes are dropped, not pooled
+ * - A failed serialization hands its buffer back to the pool
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MessageSerializerTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Mock private Session session;
+    @Mock private BytesMessage bytesMessage;
+
+    @Test
+    @DisplayName("Pooled bytes should equal ObjectMapper.writeValueAsBytes")
+    void shouldMatchObjectMapperBytes() throws Exception {
+        // Given - initial buffer smaller than the payloads, so the buffer has to grow
+        MessageSerializer serializer = createSerializer(4, 16, 2_097_152);
+        ProcessedOrder order = createOrder("ORD-1", "Zoë Müller 東京");
+        GroupedOrderMessage group = GroupedOrderMessage.create("CUST-1", "CUSTOMER",
+                List.of(order, createOrder("ORD-2", "Test Customer")));
+
+        // When / Then
+        for (Object payload : List.of(order, group)) {
+            PooledByteBuffer buffer = serializer.serialize(payload);
+            try {
+                assertThat(Arrays.copyOf(buffer.array(), buffer.size()))
+                        .isEqualTo(objectMapper.writeValueAsBytes(payload));
+            } finally {
+                serializer.release(buffer);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("BytesMessage should carry exactly the serialized bytes")
+    void shouldWriteSerializedBytesIntoMessage() throws Exception {
+        // Given
+        MessageSerializer serializer = createSerializer(4, 4096, 2_097_152);
+        ProcessedOrder order = createOrder("ORD-1", "Test Customer");
+        byte[] expected = objectMapper.writeValueAsBytes(order);
+        when(session.createBytesMessage()).thenReturn(bytesMessage);
+
+        // When
+        serializer.toMessage(session, order);
+
+        // Then
+        verify(bytesMessage).writeBytes(argThat(bytes -> Arrays.equals(Arrays.copyOf(bytes, expected.length), expected)),
+                eq(0), eq(expected.length));
+        verify(bytesMessage).setStringProperty("contentType", "application/json");
+        assertThat(serializer.pooledBuffers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Released buffers should be reused")
+    void shouldReuseReleasedBuffers() throws Exception {
+        // Given
+        MessageSerializer serializer = createSerializer(4, 4096, 2_097_152);
+        PooledByteBuffer first = serializer.serialize(createOrder("ORD-1", "Test Customer"));
+        serializer.release(first);
+        assertThat(serializer.pooledBuffers()).isEqualTo(1);
+
+        // When
+        PooledByteBuffer second = serializer.serialize(createOrder("ORD-2", "Other Customer"));
+
+        // Then - same instance, reset before the second write
+        assertThat(second).isSameAs(first);
+        assertThat(serializer.pooledBuffers()).isZero();
+        assertThat(Arrays.copyOf(second.array(), second.size()))
+                .isEqualTo(objectMapper.writeValueAsBytes(createOrder("ORD-2", "Other Customer")));
+        serializer.release(second);
+    }
+
+    @Test
+    @DisplayName("Buffers above max-retained-buffer-bytes should be dropped")
+    void shouldDropOversizedBuffers() throws Exception {
+        // Given - a group large enough to grow the buffer past 1 KB
+        MessageSerializer serializer = createSerializer(4, 256, 1_024);
+        List<ProcessedOrder> orders = IntStream.range(0, 20)
+                .mapToObj(i -> createOrder("ORD-" + i, "Test Customer"))
+                .toList();
+        PooledByteBuffer buffer = serializer.serialize(GroupedOrderMessage.create("CUST-1", "CUSTOMER", orders));
+        assertThat(buffer.capacity()).isGreaterThan(1_024);
+
+        // When
+        serializer.release(buffer);
+
+        // Then
+        assertThat(serializer.pooledBuffers()).isZero();
+        assertThat(serializer.serialize(createOrder("ORD-1", "Test Customer"))).isNotSameAs(buffer);
+    }
+
+    @Test
+    @DisplayName("A failed serialization should return its buffer to the pool")
+    void shouldReleaseBufferOnFailure() {
+        // Given - Jackson cannot serialize a bean without properties
+        MessageSerializer serializer = createSerializer(4, 4096, 2_097_152);
+
+        // When / Then
+        assertThatThrownBy(() -> serializer.serialize(new Object())).isInstanceOf(IOException.class);
+        assertThat(serializer.pooledBuffers()).isEqualTo(1);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private MessageSerializer createSerializer(int poolSize, int initialBytes, int maxRetainedBytes) {
+        return new MessageSerializer(objectMapper, poolSize, initialBytes, maxRetainedBytes, "BYTES");
+    }
+
+    private static ProcessedOrder createOrder(String orderId, String customerName) {
+        return new ProcessedOrder(orderId, "CUST-1", customerName, "GOLD", new BigDecimal("10.00"),
+                "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.of(2025, 1, 15, 10, 30), "system");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.service.publishing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MqProducerPool.
+ *
+ * Tests verify:
+ * - Sessions/producers are reused across leases (no per-send churn)
+ * - Concurrent leases get distinct slots; extra borrowers wait
+ * - Invalidated leases reopen their session
+ * - Utilization metrics
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MqProducerPoolTest {
+
+    @Mock private ConnectionFactory connectionFactory;
+    @Mock private ObjectProvider<ConnectionFactory> connectionFactoryProvider;
+    @Mock private Connection connection;
+    @Mock private Queue queue;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        registry = new SimpleMeterRegistry();
+        when(connectionFactoryProvider.getIfAvailable()).thenReturn(connectionFactory);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenAnswer(inv -> {
+            Session session = mock(Session.class);
+            when(session.createQueue(anyString())).thenReturn(queue);
+            when(session.createProducer(queue)).thenReturn(mock(MessageProducer.class));
+            return session;
+        });
+    }
+
+    @Test
+    @DisplayName("Should reuse the same session and producer across leases")
+    void shouldReuseSessionAcrossLeases() throws Exception {
+        // Given
+        MqProducerPool pool = createPool(1, "PER_MESSAGE");
+
+        // When
+        Session first;
+        MessageProducer firstProducer;
+        try (MqProducerPool.Lease lease = pool.acquire()) {
+            first = lease.session();
+            firstProducer = lease.producer();
+        }
+        Session second;
+        try (MqProducerPool.Lease lease = pool.acquire()) {
+            second = lease.session();
+        }
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(connection, times(1)).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        verify(firstProducer, never()).close();
+    }
+
+    @Test
+    @DisplayName("Concurrent leases should get distinct slots and extra borrowers should wait")
+    void concurrentLeasesShouldGetDistinctSlots() throws Exception {
+        // Given
+        MqProducerPool pool = createPool(2, "PER_MESSAGE");
+        MqProducerPool.Lease a = pool.acquire();
+        MqProducerPool.Lease b = pool.acquire();
+
+        // When - third borrower blocks until a slot is returned
+        CompletableFuture<Session> waiting = CompletableFuture.supplyAsync(() -> {
+            try (MqProducerPool.Lease lease = pool.acquire()) {
+                return lease.session();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+        a.close();
+
+        // Then
+        assertThat(b.session()).isNotSameAs(a.session());
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(a.session());
+        assertThat(registry.get("mq.producer.pool.waits").counter().count()).isEqualTo(1.0);
+        b.close();
+    }
+
+    @Test
+    @DisplayName("Invalidated lease should reopen its session on next acquire")
+    void invalidatedLeaseShouldReopenSession() throws Exception {
+        // Given
+        MqProducerPool pool = createPool(1, "BATCHED");
+        Session broken;
+        try (MqProducerPool.Lease lease = pool.acquire()) {
+            broken = lease.session();
+            lease.invalidate();
+        }
+
+        // When
+        Session reopened;
+        try (MqProducerPool.Lease lease = pool.acquire()) {
+            reopened = lease.session();
+        }
+
+        // Then
+        assertThat(reopened).isNotSameAs(broken);
+        verify(broken).close();
+        verify(connection, times(2)).createSession(true, Session.SESSION_TRANSACTED);
+    }
+
+    @Test
+    @DisplayName("Should report utilization of leased slots")
+    void shouldReportUtilization() throws Exception {
+        // Given
+        MqProducerPool pool = createPool(4, "PER_MESSAGE");
+
+        // When
+        MqProducerPool.Lease lease = pool.acquire();
+
+        // Then
+        assertThat(registry.get("mq.producer.pool.active").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("mq.producer.pool.utilization").gauge().value()).isEqualTo(0.25);
+
+        lease.close();
+        assertThat(pool.activeCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject acquire when MQ is disabled")
+    void shouldRejectAcquireWhenUnavailable() {
+        // Given
+        when(connectionFactoryProvider.getIfAvailable()).thenReturn(null);
+        MqProducerPool pool = createPool(2, "PER_MESSAGE");
+
+        // When / Then
+        assertThat(pool.isAvailable()).isFalse();
+        assertThatThrownBy(pool::acquire).isInstanceOf(IllegalStateException.class);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private MqProducerPool createPool(int size, String publishMode) {
+        return new MqProducerPool(connectionFactoryProvider, registry, "DEV.QUEUE.1", size, 1, publishMode);
+    }
+}
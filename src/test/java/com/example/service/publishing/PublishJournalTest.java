@@ -0,0 +1,141 @@
+package com.example.service.publishing;
+
+import com.example.model.ProcessedOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PublishJournal.
+ *
+ * Tests verify:
+ * - Unacknowledged batches are recovered by the next journal instance
+ * - Acknowledged batches are not recovered
+ * - Full, fully acknowledged segments are deleted
+ */
+class PublishJournalTest {
+
+    @TempDir Path tempDir;
+
+    private PublishJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover only unacknowledged batches after restart")
+    void shouldRecoverUnacknowledgedBatches() throws Exception {
+        // Given
+        journal = createJournal(1 << 20);
+        PublishJournal.Ticket published = journal.append(List.of(createOrder("ORD-001")), false);
+        journal.append(List.of(createOrder("ORD-002"), createOrder("ORD-003")), true);
+        journal.acknowledge(published);
+
+        // When - simulated crash + restart
+        journal.close();
+        journal = createJournal(1 << 20);
+
+        // Then
+        assertThat(journal.recoveredEntries()).hasSize(1);
+        PublishJournal.PendingEntry entry = journal.recoveredEntries().getFirst();
+        assertThat(entry.useGrouping()).isTrue();
+        assertThat(entry.orders()).extracting(ProcessedOrder::orderId).containsExactly("ORD-002", "ORD-003");
+        assertThat(journal.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete previous-run segment once its entries are acknowledged")
+    void shouldDeleteRecoveredSegmentAfterAck() throws Exception {
+        // Given
+        journal = createJournal(1 << 20);
+        journal.append(List.of(createOrder("ORD-001")), false);
+        journal.close();
+        journal = createJournal(1 << 20);
+
+        // When
+        journal.acknowledge(journal.recoveredEntries().getFirst().ticket());
+
+        // Then
+        assertThat(journal.pendingCount()).isZero();
+        assertThat(segmentFiles()).isEmpty();
+
+        // And a clean restart recovers nothing
+        journal.close();
+        journal = createJournal(1 << 20);
+        assertThat(journal.recoveredEntries()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete full acknowledged ones")
+    void shouldRollAndRetireSegments() throws Exception {
+        // Given - segments fit roughly two batches
+        journal = createJournal(600);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            journal.acknowledge(journal.append(List.of(createOrder("ORD-" + i)), false));
+        }
+        PublishJournal.Ticket pending = journal.append(List.of(createOrder("ORD-PENDING")), false);
+
+        // Then - only the active segment is left
+        assertThat(journal.segmentCount()).isEqualTo(1);
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(pending.sequence()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated acknowledgements")
+    void shouldIgnoreRepeatedAcks() throws Exception {
+        // Given
+        journal = createJournal(1 << 20);
+        PublishJournal.Ticket ticket = journal.append(List.of(createOrder("ORD-001")), false);
+        journal.append(List.of(createOrder("ORD-002")), false);
+
+        // When
+        journal.acknowledge(ticket);
+        journal.acknowledge(ticket);
+
+        // Then
+        assertThat(journal.pendingCount()).isEqualTo(1);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private PublishJournal createJournal(int segmentBytes) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new PublishJournal(objectMapper, new SimpleMeterRegistry(), tempDir.toString(), segmentBytes, false);
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).toList();
+        }
+    }
+
+    private ProcessedOrder createOrder(String orderId) {
+        return new ProcessedOrder(orderId, "CUST-001", "Test Customer", "GOLD",
+                new BigDecimal("10.00"), "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+    }
+}
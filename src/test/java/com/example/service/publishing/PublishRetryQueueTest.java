@@ -0,0 +1,160 @@
+package com.example.service.publishing;
+
+import com.example.model.FailedOrder;
+import com.example.model.ProcessedOrder;
+import com.example.service.DeadLetterPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PublishRetryQueue.
+ *
+ * Tests verify:
+ * - Failed payloads are retried until they succeed
+ * - Payloads are dead-lettered after max attempts
+ * - Offers beyond max-queued are rejected
+ * - onSettled runs once a payload is published or dead-lettered
+ */
+@ExtendWith(MockitoExtension.class)
+class PublishRetryQueueTest {
+
+    @Mock private DeadLetterPublisher deadLetterPublisher;
+
+    private PublishRetryQueue retryQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (retryQueue != null) {
+            retryQueue.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry until the send succeeds")
+    void shouldRetryUntilSuccess() throws Exception {
+        // Given - first two retries fail
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        retryQueue = createQueue(100, 5);
+        retryQueue.start(payload -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("MQ unavailable");
+            }
+            delivered.countDown();
+        });
+
+        // When
+        boolean accepted = retryQueue.offer(createOrder("ORD-001"));
+
+        // Then
+        assertThat(accepted).isTrue();
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts.get()).isEqualTo(3);
+        verifyNoInteractions(deadLetterPublisher);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter payload after max attempts")
+    @SuppressWarnings("unchecked")
+    void shouldDeadLetterAfterMaxAttempts() {
+        // Given
+        retryQueue = createQueue(100, 2);
+        retryQueue.start(payload -> {
+            throw new IllegalStateException("MQ unavailable");
+        });
+
+        // When
+        retryQueue.offer(createOrder("ORD-001"));
+
+        // Then
+        ArgumentCaptor<List<FailedOrder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deadLetterPublisher, timeout(5_000)).send(isNull(), captor.capture(), eq(3));
+        assertThat(captor.getValue()).extracting(f -> f.order().id()).containsExactly("ORD-001");
+        assertThat(captor.getValue().getFirst().exceptionType()).isEqualTo("IllegalStateException");
+    }
+
+    @Test
+    @DisplayName("Should run onSettled once the payload is published or dead-lettered")
+    void shouldSettleOnSuccessAndDeadLetter() throws Exception {
+        // Given - ORD-001 succeeds on its first retry, ORD-002 never does
+        CountDownLatch settled = new CountDownLatch(2);
+        AtomicInteger settlements = new AtomicInteger();
+        retryQueue = createQueue(100, 2);
+        retryQueue.start(payload -> {
+            if (((ProcessedOrder) payload).orderId().equals("ORD-002")) {
+                throw new IllegalStateException("MQ unavailable");
+            }
+        });
+
+        // When
+        retryQueue.offer(createOrder("ORD-001"), () -> {
+            settlements.incrementAndGet();
+            settled.countDown();
+        });
+        retryQueue.offer(createOrder("ORD-002"), () -> {
+            settlements.incrementAndGet();
+            settled.countDown();
+        });
+
+        // Then - once each, the failing one only after it was dead-lettered
+        assertThat(settled.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(deadLetterPublisher).send(isNull(), anyList(), eq(3));
+        assertThat(settlements.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject offers beyond max queued")
+    void shouldRejectWhenFull() {
+        // Given - sender never completes quickly enough to drain
+        retryQueue = createQueue(2, 5);
+        retryQueue.start(payload -> {
+            throw new IllegalStateException("MQ unavailable");
+        });
+
+        // When / Then
+        assertThat(retryQueue.offer(createOrder("ORD-001"))).isTrue();
+        assertThat(retryQueue.offer(createOrder("ORD-002"))).isTrue();
+        assertThat(retryQueue.offer(createOrder("ORD-003"))).isFalse();
+        assertThat(retryQueue.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject offers before the queue is started")
+    void shouldRejectWhenNotStarted() {
+        // Given
+        retryQueue = createQueue(100, 5);
+
+        // When / Then
+        assertThat(retryQueue.offer(createOrder("ORD-001"))).isFalse();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private PublishRetryQueue createQueue(int maxQueued, int maxAttempts) {
+        return new PublishRetryQueue(deadLetterPublisher, new SimpleMeterRegistry(),
+                maxQueued, maxAttempts, 10, 40, 4);
+    }
+
+    private ProcessedOrder createOrder(String orderId) {
+        return new ProcessedOrder(orderId, "CUST-001", "Test Customer", "GOLD",
+                new BigDecimal("10.00"), "WAREHOUSE-A", "READY_TO_SHIP", LocalDateTime.now(), "system");
+    }
+}
@@ -1,25 +1,40 @@
 package com.example.service.publishing;
 
 import com.example.config.AppMetrics;
+import com.example.model.FailedOrder;
 import com.example.model.ProcessedOrder;
+import com.example.model.PublishOutcome;
+import com.example.service.DeadLetterPublisher;
 import com.example.service.WmqPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -31,28 +46,39 @@ import static org.mockito.Mockito.*;
  * - Grouping flag is passed correctly
  * - Metrics are recorded
  * - Empty list handling
+ * - Orders WMQ rejects are dead-lettered before the journal entry is acknowledged
+ * - Journal entries are acknowledged only once every message is settled; entries
+ *   with messages still in the retry queue are republished after a restart
  */
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class PublishingServiceTest {
 
     @Mock private WmqPublisher wmqPublisher;
+    @Mock private DeadLetterPublisher deadLetterPublisher;
     @Mock private AppMetrics metrics;
     @Mock private Timer timer;
 
+    @TempDir Path tempDir;
+
     private PublishingService publishingService;
     private ExecutorService executor;
+    private final List<PublishJournal> journals = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
-        publishingService = new PublishingService(wmqPublisher, metrics);
+        publishingService = new PublishingService(wmqPublisher, deadLetterPublisher, metrics);
         executor = Executors.newVirtualThreadPerTaskExecutor();
         when(metrics.getWmqPublishTimer()).thenReturn(timer);
+        when(wmqPublisher.sendBatch(anyList(), any(), any(PublishSettlement.class))).thenReturn(PublishOutcome.sent(1));
+        when(wmqPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class)))
+                .thenReturn(PublishOutcome.sent(1));
     }
     
     @AfterEach
     void tearDown() {
         executor.shutdown();
+        journals.forEach(PublishJournal::close);
     }
 
     @Test
@@ -65,8 +91,8 @@ class PublishingServiceTest {
         publishingService.publish(orders, true, executor);
 
         // Then
-        verify(wmqPublisher).sendBatch(eq(orders), eq(executor));
-        verify(wmqPublisher, never()).sendBatchWithoutGrouping(anyList(), any());
+        verify(wmqPublisher).sendBatch(eq(orders), eq(executor), any());
+        verify(wmqPublisher, never()).sendBatchWithoutGrouping(anyList(), any(), any());
     }
 
     @Test
@@ -79,8 +105,8 @@ class PublishingServiceTest {
         publishingService.publish(orders, false, executor);
 
         // Then
-        verify(wmqPublisher).sendBatchWithoutGrouping(eq(orders), eq(executor));
-        verify(wmqPublisher, never()).sendBatch(anyList(), any());
+        verify(wmqPublisher).sendBatchWithoutGrouping(eq(orders), eq(executor), any());
+        verify(wmqPublisher, never()).sendBatch(anyList(), any(), any());
     }
 
     @Test
@@ -116,7 +142,7 @@ class PublishingServiceTest {
         publishingService.publish(orders, true, executor);
 
         // Then
-        verify(wmqPublisher).sendBatch(anyList(), eq(executor));
+        verify(wmqPublisher).sendBatch(anyList(), eq(executor), any());
     }
 
     @Test
@@ -129,7 +155,7 @@ class PublishingServiceTest {
         publishingService.publishGrouped(orders, executor);
 
         // Then
-        verify(wmqPublisher).sendBatch(eq(orders), eq(executor));
+        verify(wmqPublisher).sendBatch(eq(orders), eq(executor), any());
     }
 
     @Test
@@ -142,7 +168,7 @@ class PublishingServiceTest {
         publishingService.publishIndividual(orders, executor);
 
         // Then
-        verify(wmqPublisher).sendBatchWithoutGrouping(eq(orders), eq(executor));
+        verify(wmqPublisher).sendBatchWithoutGrouping(eq(orders), eq(executor), any());
     }
 
     @Test
@@ -159,13 +185,155 @@ class PublishingServiceTest {
         publishingService.publish(orders, false, executor);
 
         // Then
-        verify(wmqPublisher).sendBatchWithoutGrouping(argThat(list -> list.size() == 3), eq(executor));
+        verify(wmqPublisher).sendBatchWithoutGrouping(argThat(list -> list.size() == 3), eq(executor), any());
+    }
+
+    @Test
+    @DisplayName("Should return publisher outcome with failed orders")
+    void shouldReturnPublisherOutcome() {
+        // Given
+        ProcessedOrder failed = createProcessedOrder("ORD-002");
+        List<ProcessedOrder> orders = List.of(createProcessedOrder("ORD-001"), failed);
+        when(wmqPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class)))
+                .thenReturn(new PublishOutcome(1, 0, List.of(failed)));
+
+        // When
+        PublishOutcome outcome = publishingService.publish(orders, false, executor);
+
+        // Then
+        assertThat(outcome.hasFailures()).isTrue();
+        assertThat(outcome.failedOrders()).containsExactly(failed);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter rejected orders before acknowledging the journal entry")
+    void shouldDeadLetterRejectedOrdersBeforeAcknowledging() throws Exception {
+        // Given - ORD-002 is neither published nor retry-queued
+        PublishJournal journal = useJournal();
+        ProcessedOrder failed = createProcessedOrder("ORD-002");
+        when(wmqPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class)))
+                .thenReturn(new PublishOutcome(1, 0, List.of(failed)));
+        AtomicInteger pendingAtDeadLetter = new AtomicInteger(-1);
+        doAnswer(inv -> {
+            pendingAtDeadLetter.set(journal.pendingCount());
+            return null;
+        }).when(deadLetterPublisher).send(anyList());
+
+        // When
+        publishingService.publish(List.of(createProcessedOrder("ORD-001"), failed), false, executor);
+
+        // Then - still pending while dead-lettering, acknowledged afterwards
+        verify(deadLetterPublisher).send(argThat((List<FailedOrder> failures) -> failures.size() == 1
+                && failures.getFirst().order().id().equals("ORD-002")
+                && failures.getFirst().isPublishFailure()));
+        assertThat(pendingAtDeadLetter.get()).isEqualTo(1);
+        assertThat(journal.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge the journal entry when all messages are sent")
+    void shouldAcknowledgeSentBatch() throws Exception {
+        // Given
+        PublishJournal journal = useJournal();
+
+        // When
+        publishingService.publish(List.of(createProcessedOrder("ORD-001")), false, executor);
+
+        // Then
+        assertThat(journal.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a retry-queued batch only once its retries settle")
+    void shouldAcknowledgeAfterRetriesSettle() throws Exception {
+        // Given - one message goes to the retry queue
+        PublishJournal journal = useJournal();
+        AtomicReference<PublishSettlement> settlement = retryQueueOneMessage();
+
+        // When
+        PublishOutcome outcome = publishingService.publish(List.of(createProcessedOrder("ORD-001")), false, executor);
+
+        // Then - pending until the retry publishes (or dead-letters) the message
+        assertThat(outcome.retryQueued()).isEqualTo(1);
+        assertThat(journal.pendingCount()).isEqualTo(1);
+        settlement.get().release();
+        assertThat(journal.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the journal entry pending when the publisher throws")
+    void shouldNotAcknowledgeWhenPublisherThrows() throws Exception {
+        // Given
+        PublishJournal journal = useJournal();
+        when(wmqPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class)))
+                .thenThrow(new IllegalStateException("MQ connection lost"));
+
+        // When
+        assertThatThrownBy(() -> publishingService.publish(List.of(createProcessedOrder("ORD-001")), false, executor))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(journal.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should republish a retry-queued batch after a restart")
+    void shouldRepublishRetryQueuedBatchAfterRestart() throws Exception {
+        // Given - a message is in the in-memory retry queue when the JVM dies
+        PublishJournal journal = useJournal();
+        retryQueueOneMessage();
+        List<ProcessedOrder> orders = List.of(createProcessedOrder("ORD-001"), createProcessedOrder("ORD-002"));
+        publishingService.publish(orders, false, executor);
+        journal.close();
+
+        // When - restart: a new journal on the same directory, then recovery
+        PublishJournal restarted = openJournal();
+        journals.add(restarted);
+        WmqPublisher restartedPublisher = mock(WmqPublisher.class);
+        when(restartedPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class)))
+                .thenReturn(PublishOutcome.sent(2));
+        new PublishJournalRecovery(restarted, restartedPublisher, mock(DeadLetterPublisher.class), executor)
+                .republishPending();
+
+        // Then
+        verify(restartedPublisher).sendBatchWithoutGrouping(
+                argThat(list -> list.stream().map(ProcessedOrder::orderId).toList().equals(List.of("ORD-001", "ORD-002"))),
+                eq(executor), any(PublishSettlement.class));
+        assertThat(restarted.pendingCount()).isZero();
     }
 
     // ═══════════════════════════════════════════════════════════════
     // Helper Methods
     // ═══════════════════════════════════════════════════════════════
 
+    private PublishJournal useJournal() throws Exception {
+        PublishJournal journal = openJournal();
+        journals.add(journal);
+        ReflectionTestUtils.setField(publishingService, "publishJournal", journal);
+        return journal;
+    }
+
+    private PublishJournal openJournal() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new PublishJournal(objectMapper, new SimpleMeterRegistry(), tempDir.toString(), 1 << 20, false);
+    }
+
+    /**
+     * The publisher hands one message to the retry queue, which holds the settlement
+     * as WmqPublisher does; the returned reference releases it.
+     */
+    private AtomicReference<PublishSettlement> retryQueueOneMessage() {
+        AtomicReference<PublishSettlement> settlement = new AtomicReference<>();
+        when(wmqPublisher.sendBatchWithoutGrouping(anyList(), any(), any(PublishSettlement.class))).thenAnswer(inv -> {
+            settlement.set(inv.getArgument(2));
+            settlement.get().retain();
+            return new PublishOutcome(0, 1, List.of());
+        });
+        return settlement;
+    }
+
     private ProcessedOrder createProcessedOrder(String orderId) {
         return new ProcessedOrder(
                 orderId,
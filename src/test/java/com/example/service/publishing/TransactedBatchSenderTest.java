@@ -0,0 +1,170 @@
+package com.example.service.publishing;
+
+import com.example.service.publishing.TransactedBatchSender.BatchSendResult;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransactedBatchSender.
+ *
+ * Tests verify:
+ * - One commit per full batch, plus one for the remainder
+ * - A failed send rolls back its whole batch and reports it as failed
+ * - A partial batch is committed when linger-ms expires
+ * - An interrupted worker fails its batch and everything still queued
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransactedBatchSenderTest {
+
+    /** Long enough that batches only close when full or at end-of-stream. */
+    private static final long NO_LINGER_FLUSH_MS = 10_000;
+
+    @Mock private MqProducerPool producerPool;
+    @Mock private MqProducerPool.Lease lease;
+    @Mock private MessageSerializer messageSerializer;
+    @Mock private Session session;
+    @Mock private MessageProducer producer;
+    @Mock private Message message;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        when(producerPool.isAvailable()).thenReturn(true);
+        when(producerPool.isTransacted()).thenReturn(true);
+        when(producerPool.size()).thenReturn(4);
+        when(producerPool.queueName()).thenReturn("DEV.QUEUE.1");
+        when(producerPool.acquire()).thenReturn(lease);
+        when(lease.session()).thenReturn(session);
+        when(lease.producer()).thenReturn(producer);
+        when(messageSerializer.toMessage(eq(session), any())).thenReturn(message);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should commit once per batch-size messages")
+    void shouldCommitPerBatch() throws Exception {
+        // Given
+        TransactedBatchSender sender = createSender(4, NO_LINGER_FLUSH_MS);
+
+        // When
+        BatchSendResult result = sender.send(payloads(10), executor);
+
+        // Then - batches of 4, 4 and 2
+        assertThat(result.sentCount()).isEqualTo(10);
+        assertThat(result.committedBatches()).isEqualTo(3);
+        assertThat(result.failedPayloads()).isEmpty();
+        verify(producer, times(10)).send(message);
+        verify(session, times(3)).commit();
+        verify(session, never()).rollback();
+    }
+
+    @Test
+    @DisplayName("Should roll back and fail the whole batch when one send fails")
+    void shouldRollBackFailedBatch() throws Exception {
+        // Given
+        when(messageSerializer.toMessage(session, "bad")).thenThrow(new JMSException("put failed"));
+        TransactedBatchSender sender = createSender(2, NO_LINGER_FLUSH_MS);
+
+        // When - batches [a, b] and [bad, c]
+        BatchSendResult result = sender.send(List.of("a", "b", "bad", "c"), executor);
+
+        // Then
+        assertThat(result.sentCount()).isEqualTo(2);
+        assertThat(result.committedBatches()).isEqualTo(1);
+        assertThat(result.failedPayloads()).containsExactly("bad", "c");
+        verify(session).rollback();
+        verify(lease).invalidate();
+    }
+
+    @Test
+    @DisplayName("Should commit a partial batch when linger expires")
+    void shouldFlushOnLinger() throws Exception {
+        // Given - the third payload reaches the queue 300ms after the first two
+        List<Object> slowPayloads = new AbstractList<>() {
+            @Override
+            public Object get(int index) {
+                if (index == 2) {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "p-" + index;
+            }
+
+            @Override
+            public int size() {
+                return 4;
+            }
+        };
+        TransactedBatchSender sender = createSender(100, 20);
+
+        // When
+        BatchSendResult result = sender.send(slowPayloads, executor);
+
+        // Then - [p-0, p-1] flushed by linger, [p-2, p-3] at end-of-stream
+        assertThat(result.sentCount()).isEqualTo(4);
+        assertThat(result.committedBatches()).isEqualTo(2);
+        verify(session, times(2)).commit();
+    }
+
+    @Test
+    @DisplayName("Should fail queued payloads when the worker is interrupted")
+    void shouldFailQueuedPayloadsOnInterrupt() throws Exception {
+        // Given - the worker is interrupted while sending the first message
+        doAnswer(inv -> {
+            Thread.currentThread().interrupt();
+            return null;
+        }).doNothing().when(producer).send(message);
+        TransactedBatchSender sender = createSender(1, NO_LINGER_FLUSH_MS);
+
+        // When
+        BatchSendResult result = sender.send(payloads(5), executor);
+
+        // Then - p-0 was committed, nothing else is silently dropped
+        assertThat(result.sentCount()).isEqualTo(1);
+        assertThat(result.failedPayloads()).containsExactlyInAnyOrder("p-1", "p-2", "p-3", "p-4");
+        assertThat(result.sentCount() + result.failedPayloads().size()).isEqualTo(5);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private TransactedBatchSender createSender(int batchSize, long lingerMs) {
+        return new TransactedBatchSender(producerPool, messageSerializer, batchSize, lingerMs, 1);
+    }
+
+    private static List<Object> payloads(int count) {
+        return IntStream.range(0, count).<Object>mapToObj(i -> "p-" + i).toList();
+    }
+}
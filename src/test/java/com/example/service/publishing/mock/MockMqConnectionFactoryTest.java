@@ -0,0 +1,227 @@
+package com.example.service.publishing.mock;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageFormatRuntimeException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TransactionRolledBackException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for MockMqConnectionFactory.
+ *
+ * Tests verify:
+ * - JmsTemplate sends work unchanged against the mock
+ * - Transacted puts are delivered only on commit
+ * - Async sends complete via the CompletionListener
+ * - JMSContext sends behave like the classic API
+ * - Oversized messages and simulated failures surface as JMSException
+ * - Latency and throughput cap are applied
+ */
+class MockMqConnectionFactoryTest {
+
+    private MockMqConnectionFactory factory;
+
+    @AfterEach
+    void tearDown() {
+        if (factory != null) {
+            factory.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept JmsTemplate sends")
+    void shouldAcceptJmsTemplateSends() {
+        // Given
+        factory = new MockMqConnectionFactory(MockMqSettings.instant());
+        JmsTemplate template = new JmsTemplate(factory);
+
+        // When
+        template.convertAndSend("DEV.QUEUE.1", "{\"orderId\":\"ORD-001\"}");
+        template.convertAndSend("DEV.QUEUE.1", "{\"orderId\":\"ORD-002\"}");
+
+        // Then
+        assertThat(factory.stats().delivered()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should deliver transacted puts only on commit")
+    void shouldDeliverOnCommit() throws Exception {
+        // Given
+        factory = new MockMqConnectionFactory(MockMqSettings.instant());
+        Connection connection = factory.createConnection();
+        Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+        MessageProducer producer = session.createProducer(session.createQueue("DEV.QUEUE.1"));
+
+        // When
+        producer.send(session.createTextMessage("a"));
+        producer.send(session.createTextMessage("b"));
+        assertThat(factory.stats().delivered()).isZero();
+        session.commit();
+        producer.send(session.createTextMessage("c"));
+        session.rollback();
+
+        // Then
+        assertThat(session.getTransacted()).isTrue();
+        assertThat(factory.stats()).isEqualTo(new MockMqConnectionFactory.Stats(2, 0, 0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should complete async sends through the completion listener")
+    void shouldCompleteAsyncSends() throws Exception {
+        // Given
+        factory = new MockMqConnectionFactory(new MockMqSettings(100, 100, 100, 100, 0, 0, 0, 0));
+        Session session = factory.createConnection().createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(session.createQueue("DEV.QUEUE.1"));
+        Message[] messages = {session.createTextMessage("a"), session.createTextMessage("b"), session.createTextMessage("c")};
+        CountDownLatch completed = new CountDownLatch(3);
+
+        // When
+        long start = System.nanoTime();
+        for (Message message : messages) {
+            producer.send(message, listener(completed, new AtomicInteger()));
+        }
+        long sendNanos = System.nanoTime() - start;
+
+        // Then - sends return before the 100ms round trip completes
+        assertThat(sendNanos).isLessThan(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(factory.stats().delivered()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should send through a JMSContext")
+    void shouldSendThroughJmsContext() throws Exception {
+        // Given
+        factory = new MockMqConnectionFactory(MockMqSettings.instant());
+        CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        try (JMSContext context = factory.createContext()) {
+            context.createProducer().send(context.createQueue("DEV.QUEUE.1"), "{\"orderId\":\"ORD-001\"}");
+            context.createProducer().send(context.createQueue("DEV.QUEUE.1"), new byte[]{1, 2, 3});
+            context.createProducer()
+                    .setAsync(listener(completed, new AtomicInteger()))
+                    .send(context.createQueue("DEV.QUEUE.1"), context.createTextMessage("async"));
+        }
+        try (JMSContext transacted = factory.createContext(JMSContext.SESSION_TRANSACTED)) {
+            transacted.createProducer().send(transacted.createQueue("DEV.QUEUE.1"), "a");
+            transacted.createProducer().send(transacted.createQueue("DEV.QUEUE.1"), "b");
+            transacted.commit();
+            assertThat(transacted.getTransacted()).isTrue();
+
+            // Then - unsupported bodies fail with the JMS 2.0 runtime exception
+            assertThatThrownBy(() -> transacted.createProducer().send(transacted.createQueue("DEV.QUEUE.1"), 42))
+                    .isInstanceOf(MessageFormatRuntimeException.class);
+        }
+
+        // Then
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(factory.stats().delivered()).isEqualTo(5);
+        assertThat(factory.stats().commits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject messages above max message bytes")
+    void shouldRejectOversizedMessages() throws Exception {
+        // Given
+        factory = new MockMqConnectionFactory(new MockMqSettings(0, 0, 0, 0, 0, 0, 0, 10));
+        Session session = factory.createConnection().createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(session.createQueue("DEV.QUEUE.1"));
+        BytesMessage message = session.createBytesMessage();
+        message.writeBytes(new byte[11]);
+
+        // When / Then
+        assertThatThrownBy(() -> producer.send(message))
+                .isInstanceOf(JMSException.class)
+                .hasMessageContaining("MQRC_MSG_TOO_BIG_FOR_Q")
+                .satisfies(e -> assertThat(((JMSException) e).getErrorCode()).isEqualTo("2030"));
+        assertThat(factory.stats().rejectedTooBig()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail puts and roll back commits at the configured failure rate")
+    void shouldSimulateFailures() throws Exception {
+        // Given - every call fails
+        factory = new MockMqConnectionFactory(new MockMqSettings(0, 0, 0, 0, 0, 0, 1.0, 0));
+        Session plain = factory.createConnection().createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Session transacted = factory.createConnection().createSession(true, Session.SESSION_TRANSACTED);
+        AtomicInteger asyncFailures = new AtomicInteger();
+        CountDownLatch asyncDone = new CountDownLatch(1);
+
+        // When / Then
+        assertThatThrownBy(() -> plain.createProducer(plain.createQueue("Q")).send(plain.createTextMessage("x")))
+                .isInstanceOf(JMSException.class);
+        assertThatThrownBy(transacted::commit).isInstanceOf(TransactionRolledBackException.class);
+        plain.createProducer(plain.createQueue("Q")).send(plain.createTextMessage("y"), listener(asyncDone, asyncFailures));
+        assertThat(asyncDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(asyncFailures.get()).isEqualTo(1);
+        assertThat(factory.stats().delivered()).isZero();
+        assertThat(factory.stats().failed()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should pace puts to the throughput cap")
+    void shouldApplyThroughputCap() throws Exception {
+        // Given - 100 msg/s = 10ms per put
+        factory = new MockMqConnectionFactory(new MockMqSettings(0, 0, 0, 0, 0, 100, 0, 0));
+        Session session = factory.createConnection().createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(session.createQueue("DEV.QUEUE.1"));
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            producer.send(session.createTextMessage("m" + i));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then - first put is immediate, the other five wait their slot
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Should sample latency within the configured percentiles")
+    void shouldSampleLatencyWithinRange() {
+        // Given
+        MockMqSettings settings = new MockMqSettings(2, 5, 20, 100, 0, 0, 0, 0);
+
+        // When / Then
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(settings.sampleLatencyNanos()).isBetween(1_000_000L, 100_000_000L);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private CompletionListener listener(CountDownLatch done, AtomicInteger failures) {
+        return new CompletionListener() {
+            @Override
+            public void onCompletion(Message message) {
+                done.countDown();
+            }
+
+            @Override
+            public void onException(Message message, Exception exception) {
+                failures.incrementAndGet();
+                done.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ *
+ * Tests verify:
+ * - Limit decreases multiplicatively on errors, never below min
+ * - Limit grows additively on healthy calls while in use, never above max
+ * - Callers beyond the limit wait for a permit
+ * - Ignored (never made) calls leave the limit unchanged
+ * - Metrics are registered per limiter
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on errors down to min limit")
+    void shouldBackOffOnErrors() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(20, 4, 100);
+
+        // When - one failure
+        limiter.acquire().release();
+
+        // Then - 20 * 0.5
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        // When - many failures
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().release();
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should grow limit on healthy calls while the limit is in use")
+    void shouldGrowWhenUtilized() throws Exception {
+        // Given - limit 2, both permits held at completion time
+        AdaptiveConcurrencyLimiter limiter = createLimiter(2, 1, 3);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimiter.Permit a = limiter.acquire();
+            AdaptiveConcurrencyLimiter.Permit b = limiter.acquire();
+            a.success();
+            a.release();
+            b.success();
+            b.release();
+        }
+
+        // Then - capped at max
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not grow limit when it is not in use")
+    void shouldNotGrowWhenIdle() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 1, 100);
+
+        // When - one call at a time
+        for (int i = 0; i < 50; i++) {
+            limiter.supply(() -> "ok");
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should make callers beyond the limit wait for a permit")
+    void shouldBlockBeyondLimit() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 1, 1);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire();
+
+        // When
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> limiter.supply(() -> "done"));
+        Thread.sleep(50);
+
+        // Then
+        assertThat(waiting).isNotDone();
+        held.success();
+        held.release();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("supply should count exceptions as failures")
+    void supplyShouldCountExceptionsAsFailures() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 1, 100);
+
+        // When / Then
+        assertThatThrownBy(() -> limiter.supply(() -> {
+            throw new IllegalStateException("DB down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave limit unchanged for ignored calls")
+    void shouldNotAdjustForIgnoredCalls() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(10, 1, 100);
+
+        // When - call shed before reaching the downstream
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        permit.ignore();
+        permit.release();
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should register limit and queue delay metrics")
+    void shouldRegisterMetrics() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = createLimiter(8, 1, 100);
+
+        // When
+        limiter.supply(() -> "ok");
+
+        // Then
+        assertThat(registry.get("concurrency.limit").tag("limiter", "test").gauge().value()).isEqualTo(8.0);
+        assertThat(registry.get("concurrency.queue.delay").tag("limiter", "test").timer().count()).isEqualTo(1);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private AdaptiveConcurrencyLimiter createLimiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter("test", initial, min, max, 0.5, 2.0, registry);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.service.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for DependencyGuard (CircuitBreaker + Bulkhead).
+ *
+ * Tests verify:
+ * - Circuit opens once the failure rate over the window reaches the threshold
+ * - Open circuit rejects without calling the dependency
+ * - Half-open probes close the circuit on success and reopen it on failure
+ * - Slow calls count as failures
+ * - Full bulkhead rejects and does not consume a half-open probe
+ * - State and call metrics are registered per dependency
+ */
+class DependencyGuardTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should open after failure threshold and reject without calling the dependency")
+    void shouldOpenOnFailures() {
+        // Given - 50% of at least 4 calls
+        DependencyGuard guard = createGuard(0, 60_000, 10);
+
+        // When
+        guard.supply(() -> "ok");
+        guard.supply(() -> "ok");
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        fail(guard);
+
+        // Then
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        int[] calls = {0};
+        assertThatThrownBy(() -> guard.supply(() -> ++calls[0]))
+                .isInstanceOf(DependencyUnavailableException.class)
+                .hasMessageContaining("test");
+        assertThat(calls[0]).isZero();
+    }
+
+    @Test
+    @DisplayName("Should close after successful half-open probe")
+    void shouldCloseAfterSuccessfulProbe() throws Exception {
+        // Given
+        DependencyGuard guard = createGuard(0, 20, 10);
+        openCircuit(guard);
+        Thread.sleep(50);
+
+        // When
+        guard.supply(() -> "probe");
+
+        // Then
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a half-open probe fails and allow only the probe budget")
+    void shouldReopenAfterFailedProbe() throws Exception {
+        // Given - one probe allowed
+        DependencyGuard guard = createGuard(0, 20, 10);
+        openCircuit(guard);
+        Thread.sleep(50);
+
+        // When - probe in flight, a second caller arrives
+        DependencyGuard.Permit probe = guard.acquire();
+        assertThatThrownBy(guard::acquire).isInstanceOf(DependencyUnavailableException.class);
+        probe.release();
+
+        // Then
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should count slow calls as failures")
+    void shouldCountSlowCalls() {
+        // Given - anything over 1ms is slow
+        DependencyGuard guard = createGuard(1, 60_000, 10);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            guard.supply(() -> {
+                sleep(5);
+                return "slow";
+            });
+        }
+
+        // Then
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should reject when bulkhead is full")
+    void shouldRejectWhenBulkheadFull() throws Exception {
+        // Given
+        DependencyGuard guard = createGuard(0, 60_000, 1);
+        DependencyGuard.Permit held = guard.acquire();
+
+        // When / Then
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(DependencyUnavailableException.class)
+                .hasMessageContaining("bulkhead");
+        held.success();
+        held.release();
+        assertThat(guard.supply(() -> "ok")).isEqualTo("ok");
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should register state and call metrics")
+    void shouldRegisterMetrics() {
+        // Given
+        DependencyGuard guard = createGuard(0, 60_000, 10);
+
+        // When
+        guard.supply(() -> "ok");
+        openCircuit(guard);
+        assertThatThrownBy(() -> guard.supply(() -> "x")).isInstanceOf(DependencyUnavailableException.class);
+
+        // Then
+        assertThat(registry.get("resilience.circuit.state").tag("dependency", "test").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("resilience.calls").tag("outcome", "success").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("resilience.calls").tag("outcome", "rejected").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("resilience.bulkhead.available").tag("dependency", "test").gauge().value()).isEqualTo(10.0);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Helper Methods
+    // ═══════════════════════════════════════════════════════════════
+
+    private DependencyGuard createGuard(long slowCallMs, long openMs, int maxConcurrent) {
+        CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 50, slowCallMs, openMs, 1, registry);
+        Bulkhead bulkhead = new Bulkhead("test", maxConcurrent, 0, registry);
+        return new DependencyGuard("test", breaker, bulkhead, registry);
+    }
+
+    private void openCircuit(DependencyGuard guard) {
+        while (guard.getState() != CircuitBreaker.State.OPEN) {
+            fail(guard);
+        }
+    }
+
+    private void fail(DependencyGuard guard) {
+        assertThatThrownBy(() -> guard.supply(() -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Dialect override fixture for SqlTemplateLoaderTest: no such base query
+
+-- name: findTradingPartnerByNam
+SELECT partner_id FROM trading_partners WHERE partner_name = :partnerName
@@ -0,0 +1,6 @@
+-- Dialect override fixture for SqlTemplateLoaderTest
+
+-- name: findTradingPartnerByName
+SELECT TOP 1 partner_id, partner_name, status, updated_at
+FROM trading_partners
+WHERE partner_name = :partnerName